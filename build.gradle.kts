@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,6 +24,9 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    implementation(libs.micrometer.registry.prometheus)
+    implementation(libs.reactor.core)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -45,8 +49,36 @@ tasks.getByName("bootJar") {
 tasks.getByName("jar") {
     enabled = false
 }
+// benchmark tasks
+// ./gradlew jmh -PjmhInclude=PointServiceBenchmark -PjmhThreads=16
+// 결과는 build/reports/jmh/results.json 에 JSON 으로 저장되어 릴리즈 간 비교에 사용
+jmh {
+    jmhVersion.set(libs.versions.jmh.asProvider().get())
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    timeOnIteration.set("1s")
+    warmup.set("1s")
+    profilers.set(listOf("gc"))
+    jvmArgs.set(listOf("-Xmx4g"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+    providers.gradleProperty("jmhInclude").orNull?.let { includes.set(listOf(it)) }
+    providers.gradleProperty("jmhThreads").orNull?.let { threads.set(it.toInt()) }
+}
 // test tasks
 tasks.test {
     ignoreFailures = true
     useJUnitPlatform()
 }
+// 가상 스레드 테스트는 Java 21 런타임에서만 실행되므로 JDK 21 툴체인으로 따로 실행
+// ./gradlew virtualThreadTest
+tasks.register<Test>("virtualThreadTest") {
+    group = "verification"
+    description = "Runs the virtual thread tests on a Java 21 runtime."
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    javaLauncher.set(javaToolchains.launcherFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+    useJUnitPlatform()
+    filter { includeTestsMatching("io.hhplus.tdd.point.PointExecutorConfigTest") }
+}
@@ -0,0 +1,46 @@
+package io.hhplus.tdd.database;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 벤치마크용 PointHistoryTable
+ * 이력 조회는 PointHistoryRepository 색인으로 처리되므로 테이블에는 기록 횟수만 남기고 무작위 지연은 끄고 켤 수 있음
+ */
+public class BenchmarkPointHistoryTable extends PointHistoryTable {
+
+	private final LongAdder insertCount = new LongAdder();
+	private final boolean throttle;
+
+	public BenchmarkPointHistoryTable(boolean throttle) {
+		this.throttle = throttle;
+	}
+
+	@Override
+	public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+		if (throttle) {
+			try {
+				TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(300));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		insertCount.increment();
+		return null;
+	}
+
+	@Override
+	public List<PointHistory> selectAllByUserId(long userId) {
+		return List.of();
+	}
+
+	public long insertCount() {
+		return insertCount.sum();
+	}
+}
@@ -0,0 +1,47 @@
+package io.hhplus.tdd.database;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 벤치마크용 UserPointTable
+ * 원본 테이블의 무작위 지연을 끄고 켤 수 있으며, 여러 유저가 동시에 써도 안전하도록 ConcurrentHashMap 에 저장
+ */
+public class BenchmarkUserPointTable extends UserPointTable {
+
+	private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+	private final boolean throttle;
+
+	public BenchmarkUserPointTable(boolean throttle) {
+		this.throttle = throttle;
+	}
+
+	@Override
+	public UserPoint selectById(Long id) {
+		throttle(200);
+		return table.getOrDefault(id, UserPoint.empty(id));
+	}
+
+	@Override
+	public UserPoint insertOrUpdate(long id, long amount) {
+		throttle(300);
+		UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+		table.put(id, userPoint);
+		return userPoint;
+	}
+
+	private void throttle(long millis) {
+		if (!throttle)
+			return;
+
+		try {
+			TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(millis));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package io.hhplus.tdd.database;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * 이력 저장 방식별 메모리, 유저 이력 조회 비교
+ * - table : PointHistoryTable 과 같이 ArrayList 에 PointHistory 를 쌓고 유저 조회는 전체를 걸러냄
+ * - repository : PointHistoryRepository 의 유저별 컬럼 저장 (WAL 미사용, 테이블 기록은 버림)
+ * - 시작할 때 rowCount 건을 userCount 명에게 나누어 채운 뒤 Full GC 후 남은 힙을 이력당 바이트로 출력
+ * - scanUser : 무작위 유저 전체 이력, latestPage : 무작위 유저 최신 20건
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointHistoryStoreBenchmark {
+
+	private static final PointHistoryQuery LATEST_PAGE = new PointHistoryQuery(20, null, null, null, null, null);
+
+	@Param({"table", "repository"})
+	private String store;
+
+	@Param({"10000000"})
+	private int rowCount;
+
+	@Param({"10000", "100000"})
+	private int userCount;
+
+	private List<PointHistory> table;
+	private PointHistoryRepository pointHistoryRepository;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		System.gc();
+		long baseline = memory.getHeapMemoryUsage().getUsed();
+
+		if (store.equals("table")) {
+			table = new ArrayList<>();
+		} else {
+			PointMetrics pointMetrics = new PointMetrics(new CompositeMeterRegistry());
+			PointProperties pointProperties = new PointProperties();
+			pointHistoryRepository = new PointHistoryRepository(new BenchmarkPointHistoryTable(false),
+				new WriteAheadLog(pointProperties, pointMetrics), pointProperties, pointMetrics);
+		}
+
+		// 초당 만건 정도로 쌓인 이력을 가정해 시각은 천천히 증가, 금액은 충전/사용 단위의 임의 값
+		SplittableRandom random = new SplittableRandom(1);
+		long startMillis = System.currentTimeMillis();
+		for (int i = 0; i < rowCount; i++) {
+			long userId = random.nextInt(userCount) + 1;
+			long amount = random.nextInt(1, 1000) * 100L;
+			TransactionType type = random.nextInt(3) == 0 ? TransactionType.USE : TransactionType.CHARGE;
+			long updateMillis = startMillis + i / 10;
+
+			if (table != null)
+				table.add(new PointHistory(i + 1, userId, amount, type, updateMillis));
+			else
+				pointHistoryRepository.save(userId, amount, type, updateMillis);
+		}
+
+		System.gc();
+		long retained = memory.getHeapMemoryUsage().getUsed() - baseline;
+		System.out.printf("%n%s %d 건 유지 힙 %dMB, 이력당 %.1fB%n", store, rowCount, retained >> 20,
+			(double)retained / rowCount);
+	}
+
+	@Benchmark
+	public List<PointHistory> scanUser() {
+		long userId = ThreadLocalRandom.current().nextInt(userCount) + 1;
+		if (table != null)
+			return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+
+		return pointHistoryRepository.findAllByUserId(userId);
+	}
+
+	@Benchmark
+	public void latestPage(Blackhole blackhole) {
+		long userId = ThreadLocalRandom.current().nextInt(userCount) + 1;
+		if (table != null) {
+			List<PointHistory> histories = table.stream()
+				.filter(pointHistory -> pointHistory.userId() == userId)
+				.toList();
+			blackhole.consume(histories.subList(Math.max(histories.size() - 20, 0), histories.size()));
+			return;
+		}
+
+		blackhole.consume(pointHistoryRepository.findAllByUserId(userId, LATEST_PAGE));
+	}
+}
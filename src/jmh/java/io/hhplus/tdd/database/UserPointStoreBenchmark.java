@@ -0,0 +1,97 @@
+package io.hhplus.tdd.database;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 유저 잔액 저장소 메모리, GC 비교 (ConcurrentHashMap&lt;Long, UserPoint&gt; / UserPointStore)
+ * - 시작할 때 유저 수만큼 채운 뒤 Full GC 후 남은 힙을 유저당 바이트로 출력
+ * - fullGc : 저장소가 살아있는 상태에서 Full GC 한번에 걸리는 시간 (GC 가 따라가야 하는 객체 수에 비례)
+ * - get / put : 무작위 유저 조회, 갱신 (gc 프로파일러의 gc.count, gc.time 으로 Young GC 비용 비교)
+ * - 1억 유저 map 은 힙이 10GB 가까이 필요하므로 힙이 부족하면 채우기 전에 실패 처리
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4600m", "-Xmn256m"})
+public class UserPointStoreBenchmark {
+
+	// ConcurrentHashMap 유저당 대략 Node 32B + Long 16B + UserPoint 32B + 테이블 슬롯
+	private static final long MAP_BYTES_PER_USER = 96;
+
+	@Param({"map", "primitive"})
+	private String store;
+
+	@Param({"10000000", "100000000"})
+	private int userCount;
+
+	private Map<Long, UserPoint> map;
+	private UserPointStore userPointStore;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		System.gc();
+		long baseline = memory.getHeapMemoryUsage().getUsed();
+
+		if (store.equals("map")) {
+			long required = userCount * MAP_BYTES_PER_USER;
+			if (required > Runtime.getRuntime().maxMemory())
+				throw new IllegalStateException("map " + userCount + " users needs about " + (required >> 20)
+					+ "MB heap, max " + (Runtime.getRuntime().maxMemory() >> 20) + "MB");
+
+			map = new ConcurrentHashMap<>(userCount);
+			for (long id = 1; id <= userCount; id++)
+				map.put(id, new UserPoint(id, id, id));
+		} else {
+			userPointStore = new UserPointStore();
+			for (long id = 1; id <= userCount; id++)
+				userPointStore.put(id, id, id);
+		}
+
+		System.gc();
+		long retained = memory.getHeapMemoryUsage().getUsed() - baseline;
+		System.out.printf("%n%s %d 유저 유지 힙 %dMB, 유저당 %.1fB%n", store, userCount, retained >> 20,
+			(double)retained / userCount);
+	}
+
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void fullGc() {
+		System.gc();
+	}
+
+	@Benchmark
+	public UserPoint get() {
+		long id = ThreadLocalRandom.current().nextLong(1, userCount + 1);
+		return map != null ? map.get(id) : userPointStore.get(id);
+	}
+
+	@Benchmark
+	public void put() {
+		long id = ThreadLocalRandom.current().nextLong(1, userCount + 1);
+		long now = System.currentTimeMillis();
+		if (map != null)
+			map.put(id, new UserPoint(id, id, now));
+		else
+			userPointStore.put(id, id, now);
+	}
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크가 만든 WAL 디렉토리 정리
+ */
+final class WalBenchmarkFiles {
+
+	private WalBenchmarkFiles() {
+	}
+
+	static void delete(Path directory) throws IOException {
+		try (Stream<Path> paths = Files.walk(directory)) {
+			for (Path path : paths.sorted(Comparator.reverseOrder()).toList())
+				Files.deleteIfExists(path);
+		}
+	}
+}
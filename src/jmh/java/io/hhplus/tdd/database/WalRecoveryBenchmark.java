@@ -0,0 +1,116 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.util.unit.DataSize;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * WAL 복구 시간
+ * - 서비스처럼 요청 한건마다 잔액 레코드와 이력 레코드를 하나씩 기록한 WAL 을 미리 만들어둠 (기본 5천만 레코드)
+ * - snapshot=true 이면 기록 후 스냅샷을 두번 남겨 앞선 세그먼트의 잔액 레코드를 압축한 상태에서 측정
+ * - open : 세그먼트 검증(CRC)까지
+ * - recoverBalances : 검증 후 잔액 저장소를 다시 채우기까지
+ * - recover : 검증 후 잔액 저장소와 이력 저장소를 다시 채우기까지 (실제 시작 과정과 같음)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class WalRecoveryBenchmark {
+
+	@Param({"50000000"})
+	private int recordCount;
+
+	@Param({"1000000"})
+	private int userCount;
+
+	@Param({"false", "true"})
+	private boolean snapshot;
+
+	private Path directory;
+	private PointProperties pointProperties;
+	private PointMetrics pointMetrics;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("wal-recovery-benchmark");
+		pointProperties = new PointProperties();
+		pointProperties.getWal().setEnabled(true);
+		pointProperties.getWal().setDirectory(directory.toString());
+		pointProperties.getWal().setSegmentSize(DataSize.ofMegabytes(256));
+		pointProperties.getWal().setFsyncPolicy(WalFsyncPolicy.INTERVAL);
+		pointMetrics = new PointMetrics(new CompositeMeterRegistry());
+
+		try (WriteAheadLog writeAheadLog = new WriteAheadLog(pointProperties, pointMetrics)) {
+			UserPoint[] userPoints = new UserPoint[userCount];
+			int lastId = recordCount / 2;
+			for (int id = 1; id <= lastId; id++) {
+				int userId = id % userCount;
+				userPoints[userId] = new UserPoint(userId, id, id);
+				writeAheadLog.appendBalance(userPoints[userId]);
+				writeAheadLog.appendHistory(new PointHistory(id, userId, 1000, TransactionType.CHARGE, id));
+			}
+
+			if (snapshot) {
+				writeAheadLog.snapshot(Arrays.asList(userPoints), lastId);
+				writeAheadLog.appendBalance(userPoints[0]);
+				writeAheadLog.snapshot(Arrays.asList(userPoints), lastId);
+			}
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		WalBenchmarkFiles.delete(directory);
+	}
+
+	@Benchmark
+	public WriteAheadLog.Stats open() {
+		try (WriteAheadLog writeAheadLog = new WriteAheadLog(pointProperties, pointMetrics)) {
+			return writeAheadLog.stats();
+		}
+	}
+
+	@Benchmark
+	public UserPointRepository recoverBalances() {
+		try (WriteAheadLog writeAheadLog = new WriteAheadLog(pointProperties, pointMetrics)) {
+			return new UserPointRepository(new BenchmarkUserPointTable(false), writeAheadLog, pointProperties,
+				pointMetrics);
+		}
+	}
+
+	@Benchmark
+	public void recover(Blackhole blackhole) {
+		try (WriteAheadLog writeAheadLog = new WriteAheadLog(pointProperties, pointMetrics)) {
+			blackhole.consume(new UserPointRepository(new BenchmarkUserPointTable(false), writeAheadLog,
+				pointProperties, pointMetrics));
+			blackhole.consume(new PointHistoryRepository(new BenchmarkPointHistoryTable(false), writeAheadLog,
+				pointProperties, pointMetrics));
+		}
+	}
+}
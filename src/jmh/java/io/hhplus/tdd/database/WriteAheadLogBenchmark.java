@@ -0,0 +1,66 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.util.unit.DataSize;
+
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * 디스크 반영 방식별 WAL 기록 처리량
+ * 저장소와 같이 잔액 레코드 하나를 기록하고 반영을 기다린 시점까지를 한건으로 셈
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class WriteAheadLogBenchmark {
+
+	@Param({"PER_OP", "GROUP", "INTERVAL"})
+	private WalFsyncPolicy fsyncPolicy;
+
+	private Path directory;
+	private WriteAheadLog writeAheadLog;
+
+	@Setup(Level.Iteration)
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("wal-benchmark");
+
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getWal().setEnabled(true);
+		pointProperties.getWal().setDirectory(directory.toString());
+		pointProperties.getWal().setSegmentSize(DataSize.ofMegabytes(64));
+		pointProperties.getWal().setFsyncPolicy(fsyncPolicy);
+		writeAheadLog = new WriteAheadLog(pointProperties, new PointMetrics(new CompositeMeterRegistry()));
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() throws IOException {
+		writeAheadLog.close();
+		WalBenchmarkFiles.delete(directory);
+	}
+
+	@Benchmark
+	public long appendBalance() {
+		long position = writeAheadLog.appendBalance(new UserPoint(1, 1000, 1));
+		writeAheadLog.sync(position);
+		return position;
+	}
+}
@@ -0,0 +1,142 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 한 유저에게 요청이 몰릴 때 다른 유저 요청의 지연 시간
+ * - 요청 처리 스레드 workerThreads 개(톰캣 스레드 풀 역할)를 두고, 다른 유저들의 충전 요청 지연 시간 분포를 잼
+ * - flood 이면 별도 스레드가 유저 1 의 충전, 사용 요청을 처리 중인 요청이 floodRequests 개가 될 때까지,
+ *   최대 초당 약 2,000 건씩 계속 밀어넣음
+ * - admission 이면 요청 처리 스레드에서 서비스에 들어가기 전에 PointAdmissionInterceptor 로 거절 여부를 먼저 확인
+ * - 테이블 지연을 켜서 유저 락을 잡고 있는 시간이 수백 ms 가 되도록 함
+ * - 끝날 때 몰린 유저의 처리, 거절 수를 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class PointAdmissionBenchmark {
+
+	private static final long HOT_USER_ID = 1;
+	private static final int USER_COUNT = 10_000;
+
+	@Param({"false", "true"})
+	private boolean flood;
+
+	@Param({"false", "true"})
+	private boolean admission;
+
+	@Param({"16"})
+	private int workerThreads;
+
+	@Param({"64"})
+	private int floodRequests;
+
+	private PointService pointService;
+	private PointAdmissionInterceptor pointAdmissionInterceptor;
+	private ExecutorService workerExecutor;
+	private Thread floodThread;
+	private final LongAdder hotProcessedCount = new LongAdder();
+	private final LongAdder hotRejectedCount = new LongAdder();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getRateLimit().setEnabled(admission);
+		pointProperties.getRateLimit().setMaxLockWaiters(workerThreads / 4);
+		PointServiceFixture fixture = PointServiceFixture.create(pointProperties, true);
+		pointService = fixture.pointService();
+		workerExecutor = Executors.newFixedThreadPool(workerThreads);
+
+		PointRateLimiter pointRateLimiter = new PointRateLimiter(pointProperties);
+		PointBatchService pointBatchService = new PointBatchService(pointService, workerExecutor, pointRateLimiter,
+			pointProperties, fixture.pointMetrics());
+		PointShardRouter pointShardRouter = new PointShardRouter(List.of(new PointShard(0, pointService,
+			pointBatchService)), new PointNodes(pointProperties, new ObjectMapper(), fixture.pointMetrics()),
+			pointProperties, fixture.pointMetrics());
+		pointAdmissionInterceptor = new PointAdmissionInterceptor(pointRateLimiter,
+			pointShardRouter, pointProperties, fixture.pointMetrics());
+
+		fixture.userPointRepository().save(HOT_USER_ID, 50_000);
+		if (flood) {
+			floodThread = new Thread(this::flood, "point-flood");
+			floodThread.setDaemon(true);
+			floodThread.start();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		if (floodThread != null) {
+			floodThread.interrupt();
+			floodThread.join();
+		}
+		workerExecutor.shutdownNow();
+		System.out.printf("%n몰린 유저 처리 %d 건, 거절 %d 건%n", hotProcessedCount.sum(), hotRejectedCount.sum());
+	}
+
+	@Benchmark
+	public Object otherUser() throws ExecutionException, InterruptedException {
+		long userId = ThreadLocalRandom.current().nextLong(HOT_USER_ID + 1, HOT_USER_ID + 1 + USER_COUNT);
+		return workerExecutor.submit(() -> {
+			try {
+				pointAdmissionInterceptor.admit(userId, true);
+				return pointService.chargeUserPoint(userId, 1000);
+			} catch (PointException e) {
+				return e.getError();
+			}
+		}).get();
+	}
+
+	private void flood() {
+		Semaphore outstanding = new Semaphore(floodRequests);
+		boolean charge = true;
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				outstanding.acquire();
+				TimeUnit.MICROSECONDS.sleep(500);
+				boolean chargeRequest = charge;
+				charge = !charge;
+				workerExecutor.execute(() -> {
+					try {
+						pointAdmissionInterceptor.admit(HOT_USER_ID, true);
+						if (chargeRequest)
+							pointService.chargeUserPoint(HOT_USER_ID, 1000);
+						else
+							pointService.useUserPoint(HOT_USER_ID, 1000);
+						hotProcessedCount.increment();
+					} catch (PointRateLimitException e) {
+						hotRejectedCount.increment();
+					} catch (PointException e) {
+						hotProcessedCount.increment();
+					} finally {
+						outstanding.release();
+					}
+				});
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
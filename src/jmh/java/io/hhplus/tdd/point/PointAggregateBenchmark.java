@@ -0,0 +1,91 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+
+/**
+ * 유저 집계 조회와 이력 합산 조회 비교
+ * - 유저 userCount 명에게 이력을 historiesPerUser 개씩 미리 쌓음 (충전, 사용 번갈아)
+ * - summary : 누적 집계 조회 (이력 수와 관계없이 일정해야 함)
+ * - sumHistories : 지금까지의 방식대로 유저 이력을 모두 읽어 합산 (테이블 지연은 끔)
+ * - topUsers : 거래량 상위 10 명 조회 (후보 카운터 수에만 비례)
+ * - record : 이력 저장마다 더해지는 집계 비용
+ * - 시작할 때 저장된 이력으로 집계를 다시 만드는 시간(재시작 비용)을 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointAggregateBenchmark {
+
+	@Param({"100"})
+	private int userCount;
+
+	@Param({"100", "10000"})
+	private int historiesPerUser;
+
+	private PointService pointService;
+	private PointAggregates pointAggregates;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		PointProperties pointProperties = new PointProperties();
+		PointServiceFixture fixture = PointServiceFixture.create(pointProperties, false);
+		pointService = fixture.pointService();
+		pointAggregates = fixture.pointAggregates();
+
+		PointHistoryRepository pointHistoryRepository = fixture.pointHistoryRepository();
+		long nowMillis = System.currentTimeMillis();
+		for (int i = 0; i < historiesPerUser; i++) {
+			TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+			for (int user = 1; user <= userCount; user++)
+				pointAggregates.record(pointHistoryRepository.save(user, 1000, type, nowMillis));
+		}
+
+		long startNanos = System.nanoTime();
+		PointAggregates rebuilt = new PointAggregates(pointHistoryRepository, pointProperties);
+		System.out.printf("%n이력 %d 개로 집계를 다시 만드는 데 %dms, %s%n", (long)userCount * historiesPerUser,
+			TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), rebuilt.stats());
+	}
+
+	@Benchmark
+	public PointSummary summary() {
+		return pointService.getUserPointSummary(randomUser());
+	}
+
+	@Benchmark
+	public long sumHistories() {
+		long total = 0;
+		for (PointHistory pointHistory : pointService.getUserPointHistories(randomUser()))
+			total += pointHistory.amount();
+		return total;
+	}
+
+	@Benchmark
+	public List<PointVolume> topUsers() {
+		return pointService.getTopUsers(10);
+	}
+
+	@Benchmark
+	public PointAggregates record() {
+		pointAggregates.record(new PointHistory(0, randomUser(), 1000, TransactionType.CHARGE,
+			System.currentTimeMillis()));
+		return pointAggregates;
+	}
+
+	private long randomUser() {
+		return ThreadLocalRandom.current().nextInt(userCount) + 1;
+	}
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 일괄 처리와 단건 반복 호출 비교
+ * 같은 요청 목록(기본 1,000 유저에게 10,000건)을 한번의 일괄 처리와 단건 호출 반복으로 각각 처리
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PointBatchBenchmark {
+
+	@Param({"10000"})
+	private int commandCount;
+
+	@Param({"1000"})
+	private int userCount;
+
+	@Param({"false"})
+	private boolean throttle;
+
+	private List<PointCommand> commands;
+	private ExecutorService pointExecutor;
+	private PointService pointService;
+	private PointBatchService pointBatchService;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		// 유저마다 충전 후 사용을 번갈아 요청하여 잔액이 부족하지 않도록 함
+		commands = new ArrayList<>(commandCount);
+		for (int i = 0; i < commandCount; i++) {
+			long userId = i % userCount + 1;
+			TransactionType type = (i / userCount) % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+			commands.add(new PointCommand(userId, type, 1000));
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpIteration() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getBatch().setMaxSize(commandCount);
+		// 요청 수 제한 없이 일괄 처리량만 측정
+		pointProperties.getRateLimit().setEnabled(false);
+
+		PointServiceFixture fixture = PointServiceFixture.create(pointProperties, throttle);
+		pointService = fixture.pointService();
+		pointExecutor = new PointExecutorConfig().pointExecutor(pointProperties);
+		pointBatchService = new PointBatchService(pointService, pointExecutor, new PointRateLimiter(pointProperties),
+			pointProperties, fixture.pointMetrics());
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDownIteration() {
+		pointExecutor.shutdown();
+	}
+
+	@Benchmark
+	public List<PointCommandResult> batch() {
+		return pointBatchService.execute(commands);
+	}
+
+	@Benchmark
+	public void single(Blackhole blackhole) {
+		for (PointCommand command : commands) {
+			try {
+				blackhole.consume(command.type() == TransactionType.CHARGE
+					? pointService.chargeUserPoint(command.userId(), command.amount())
+					: pointService.useUserPoint(command.userId(), command.amount()));
+			} catch (PointException e) {
+				blackhole.consume(e.getError());
+			}
+		}
+	}
+}
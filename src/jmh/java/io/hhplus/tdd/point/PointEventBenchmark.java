@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * 구독자 수에 따른 포인트 변경 비용
+ * - 유저 userCount 명에게 구독자를 subscribers 명 나누어 붙이고 무작위 유저의 충전, 사용을 반복
+ * - 구독자는 SSE 전송처럼 이벤트를 JSON 으로 직렬화하고, 전체 유저 구독자 하나는 받지 않고 멈춰 있음 (느린 구독자)
+ *   멈춘 구독자는 send-timeout 이 지나면 끊기고 그동안 전달 스레드를 하나 더 두므로 다른 구독자 전달은 계속됨
+ * - 시작할 때 구독자당 유지 힙을, 끝날 때 전달, 구독 해제 수를 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointEventBenchmark {
+
+	@Param({"0", "50000"})
+	private int subscribers;
+
+	@Param({"50000"})
+	private int userCount;
+
+	private PointService pointService;
+	private PointEventHub pointEventHub;
+	private final List<PointEventHub.Subscription> subscriptions = new ArrayList<>();
+	private final CountDownLatch stalled = new CountDownLatch(1);
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		PointServiceFixture fixture = PointServiceFixture.create(new PointProperties(), false);
+		pointService = fixture.pointService();
+		pointEventHub = fixture.pointEventHub();
+		ObjectWriter writer = new ObjectMapper().writerFor(PointChangedEvent.class);
+
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		System.gc();
+		long baseline = memory.getHeapMemoryUsage().getUsed();
+
+		for (int i = 0; i < subscribers; i++) {
+			subscriptions.add(pointEventHub.subscribe((long)(i % userCount + 1), writer::writeValueAsBytes, () -> {
+			}));
+		}
+
+		System.gc();
+		if (subscribers > 0) {
+			System.out.printf("%n구독자 %d 명 유지 힙 %dKB, 구독자당 %dB%n", subscribers,
+				(memory.getHeapMemoryUsage().getUsed() - baseline) >> 10,
+				(memory.getHeapMemoryUsage().getUsed() - baseline) / subscribers);
+			pointEventHub.subscribe(null, event -> stalled.await(), () -> {
+			});
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		System.out.printf("%n%s%n", pointEventHub.stats());
+		stalled.countDown();
+		subscriptions.forEach(PointEventHub.Subscription::close);
+		pointEventHub.close();
+	}
+
+	@Benchmark
+	public UserPoint chargeAndUse() {
+		long userId = ThreadLocalRandom.current().nextInt(userCount) + 1;
+		pointService.chargeUserPoint(userId, 1000);
+		return pointService.useUserPoint(userId, 1000);
+	}
+}
@@ -0,0 +1,107 @@
+package io.hhplus.tdd.point;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 남은 묶음이 많을 때 만료 tick 하나의 처리 비용
+ * - 유저 userCount 명에게 묶음을 lotsPerUser 개씩 미리 쌓고 (기본 1,000,000 명 x 10 개 = 1,000 만 개)
+ *   만료 시각을 tick 마다 lotsPerTick 개씩 만료되도록 고르게 나눔
+ * - 호출마다 시각을 tick 하나씩 앞으로 옮기며 만료를 실행 (만료된 묶음마다 잔액 저장과 EXPIRE 이력 기록 포함)
+ * - tick 비용은 남은 묶음 수가 아니라 그 tick 에 만료되는 묶음 수에 비례해야 함
+ * - 시작할 때 묶음당 유지 힙을, 끝날 때 만료한 묶음 수와 초당 만료 수를 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointExpiryBenchmark {
+
+	private static final Duration TTL = Duration.ofDays(365);
+	private static final Duration TICK = Duration.ofSeconds(1);
+	// 백그라운드 만료 스레드(실제 시각)가 미리 쌓은 묶음에 닿지 않도록 한시간 뒤부터 만료되게 함
+	private static final long OFFSET_MILLIS = Duration.ofHours(1).toMillis();
+
+	@Param({"1000000"})
+	private int userCount;
+
+	@Param({"10"})
+	private int lotsPerUser;
+
+	@Param({"100", "1000"})
+	private int lotsPerTick;
+
+	private PointLotBook pointLotBook;
+	private PointExpiryScheduler pointExpiryScheduler;
+	private ExecutorService pointExecutor;
+	private long nowMillis;
+	private long expiredCount;
+	private long elapsedNanos;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getExpiry().setEnabled(true);
+		pointProperties.getExpiry().setTtl(TTL);
+		pointProperties.getExpiry().setTick(TICK);
+		PointServiceFixture fixture = PointServiceFixture.create(pointProperties, false);
+		pointLotBook = fixture.pointLotBook();
+		pointExecutor = new PointExecutorConfig().pointExecutor(pointProperties);
+		pointExpiryScheduler = new PointExpiryScheduler(fixture.pointService(), pointLotBook,
+			fixture.pointHistoryRepository(), pointExecutor, pointProperties);
+
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		System.gc();
+		long baseline = memory.getHeapMemoryUsage().getUsed();
+
+		// 묶음 순번 n 의 만료 시각은 startMillis + n * (tick / lotsPerTick), 유저마다 묶음은 만료 순서대로 쌓임
+		long startMillis = System.currentTimeMillis() + OFFSET_MILLIS;
+		double spacingMillis = (double)TICK.toMillis() / lotsPerTick;
+		for (int lot = 0; lot < lotsPerUser; lot++) {
+			for (int user = 0; user < userCount; user++) {
+				long expireMillis = startMillis + (long)(((long)lot * userCount + user) * spacingMillis);
+				pointLotBook.record(new PointHistory(0, user + 1, 1000, TransactionType.CHARGE,
+					expireMillis - TTL.toMillis()));
+			}
+		}
+
+		System.gc();
+		long lots = (long)userCount * lotsPerUser;
+		long retained = memory.getHeapMemoryUsage().getUsed() - baseline;
+		System.out.printf("%n묶음 %d 개 유지 힙 %dMB, 묶음당 %dB, %s%n", lots, retained >> 20, retained / lots,
+			pointLotBook.stats());
+
+		nowMillis = startMillis;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		System.out.printf("%n만료 %d 개, 초당 %d 개, %s%n", expiredCount,
+			elapsedNanos == 0 ? 0 : expiredCount * TimeUnit.SECONDS.toNanos(1) / elapsedNanos, pointLotBook.stats());
+		pointExpiryScheduler.close();
+		pointExecutor.shutdown();
+	}
+
+	@Benchmark
+	public int expireTick() {
+		nowMillis += TICK.toMillis();
+		long startNanos = System.nanoTime();
+		int expired = pointExpiryScheduler.expire(nowMillis);
+		elapsedNanos += System.nanoTime() - startNanos;
+		expiredCount += expired;
+		return expired;
+	}
+}
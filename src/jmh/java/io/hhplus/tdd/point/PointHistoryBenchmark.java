@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+
+/**
+ * 전체 이력 수에 따른 유저 이력 조회 지연
+ * - 전체 이력 수(historyCount)를 늘려도 유저당 이력 수가 같으면 조회 시간이 같아야함
+ * - 유저당 이력 수는 perUserCount 로 고정하고 나머지 이력은 다른 유저들에게 나누어 저장
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PointHistoryBenchmark {
+
+	private static final int TARGET_USER_COUNT = 100;
+	private static final int OTHER_USER_COUNT = 100_000;
+	private static final PointHistoryQuery LATEST_PAGE = new PointHistoryQuery(20, null, null, null, null, null);
+
+	@Param({"10000", "1000000", "10000000"})
+	private int historyCount;
+
+	@Param({"100"})
+	private int perUserCount;
+
+	private PointService pointService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		PointServiceFixture fixture = PointServiceFixture.create(new PointProperties(), false);
+		PointHistoryRepository pointHistoryRepository = fixture.pointHistoryRepository();
+
+		// 조회 대상 유저(1 ~ TARGET_USER_COUNT)의 이력은 전체 이력 사이사이에 고르게 섞어서 저장
+		int targetCount = TARGET_USER_COUNT * perUserCount;
+		int interval = Math.max(historyCount / targetCount, 1);
+		for (int i = 0; i < historyCount; i++) {
+			boolean target = i % interval == 0 && i / interval < targetCount;
+			long userId = target
+				? (i / interval) % TARGET_USER_COUNT + 1
+				: TARGET_USER_COUNT + 1 + i % OTHER_USER_COUNT;
+			TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+			pointHistoryRepository.save(userId, 1000, type, i);
+		}
+
+		pointService = fixture.pointService();
+	}
+
+	@Benchmark
+	public List<PointHistory> getUserPointHistories() {
+		return pointService.getUserPointHistories(targetUserId());
+	}
+
+	@Benchmark
+	public List<PointHistory> getUserPointHistoriesLatestPage() {
+		return pointService.getUserPointHistories(targetUserId(), LATEST_PAGE);
+	}
+
+	private static long targetUserId() {
+		return ThreadLocalRandom.current().nextInt(TARGET_USER_COUNT) + 1;
+	}
+}
@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+
+/**
+ * 지표 기록 비용
+ * NOOP 과 PROMETHEUS 의 chargeAndUse 차이가 요청 한건(충전 + 사용 = 2건)당 지표 기록 비용
+ * 목표는 요청 한건당 1 마이크로초 미만
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PointMetricsBenchmark {
+
+	private static final int USER_COUNT = 1024;
+
+	@Param({"NOOP", "PROMETHEUS"})
+	private String registry;
+
+	private PointMetrics pointMetrics;
+	private PointService pointService;
+	private long userId;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		MeterRegistry meterRegistry = registry.equals("PROMETHEUS")
+			? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+			: new CompositeMeterRegistry();
+		PointServiceFixture fixture = PointServiceFixture.create(new PointProperties(), false, meterRegistry);
+		pointService = fixture.pointService();
+		pointMetrics = fixture.pointMetrics();
+	}
+
+	@Benchmark
+	public void chargeAndUse(Blackhole blackhole) {
+		userId = (userId + 1) & (USER_COUNT - 1);
+
+		blackhole.consume(pointService.chargeUserPoint(userId, 1000));
+		blackhole.consume(pointService.useUserPoint(userId, 1000));
+	}
+
+	@Benchmark
+	public void recordOperation() {
+		pointMetrics.recordOperation(TransactionType.CHARGE, 1_000);
+	}
+
+	@Benchmark
+	public void recordRejection() {
+		pointMetrics.recordRejection(PointError.NOT_ENOUGH_POINT_TO_USE);
+	}
+}
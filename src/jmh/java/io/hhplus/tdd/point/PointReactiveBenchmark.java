@@ -0,0 +1,178 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.hhplus.tdd.TddApplication;
+
+/**
+ * 동시 연결 수가 많을 때 서블릿 API(/point)와 리액티브 API(/reactive/point)의 처리량과 메모리
+ * - 애플리케이션을 원본 테이블(무작위 지연 포함) 그대로 별도 프로세스로 띄우고
+ *   유저 connections 명에게 충전 요청을 한꺼번에 보내 모두 응답받을 때까지의 시간을 잼
+ * - 연결을 모두 받아두도록 두 API 모두 Tomcat 최대 연결 수와 대기열을 connections 보다 크게 설정하고 요청 수 제한은 끔
+ * - 원본 이력 테이블은 기록 스레드 하나가 한 건씩 기록하므로 이력 기록 대기열은 모든 반복의 이력을 담을 수 있게 두고,
+ *   끝날 때 남은 이력은 기다리지 않고 서버를 종료
+ * - 리액티브 API 는 요청 처리 스레드가 요청을 읽고 응답을 쓰기만 하므로 Tomcat 스레드를 16 개로 줄여 띄움
+ *   (테이블 호출은 point.reactive.scheduler-threads 개 스레드에서 실행)
+ * - 서버 JIT 가 충분히 돌도록 측정 전에 같은 요청을 WARMUP_ROUNDS 번 보냄
+ * - 서버 프로세스의 최대 RSS 와 최대 스레드 수를 /proc 에서 읽어 끝날 때 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class PointReactiveBenchmark {
+
+	private static final int WARMUP_ROUNDS = 2;
+	private static final int REACTIVE_TOMCAT_THREADS = 16;
+
+	@Param({"point", "reactive/point"})
+	private String api;
+
+	@Param({"10000"})
+	private int connections;
+
+	private Process server;
+	private String baseUrl;
+	private HttpClient httpClient;
+	private Thread sampler;
+	private volatile long peakRssKb;
+	private volatile long peakThreads;
+	private final AtomicInteger iteration = new AtomicInteger();
+	private final AtomicInteger failedCount = new AtomicInteger();
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		baseUrl = "http://localhost:" + port;
+
+		Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+		List<String> command = new ArrayList<>(List.of(java.toString(), "-Xmx1g", "-cp",
+			System.getProperty("java.class.path"), TddApplication.class.getName(),
+			"--server.port=" + port,
+			"--server.tomcat.max-connections=" + (connections * 2),
+			"--server.tomcat.accept-count=" + connections,
+			"--point.rate-limit.enabled=false",
+			"--point.history.queue-capacity=" + (connections * (WARMUP_ROUNDS + 6)),
+			"--logging.level.root=WARN"));
+		if (api.startsWith("reactive"))
+			command.add("--server.tomcat.threads.max=" + REACTIVE_TOMCAT_THREADS);
+		server = new ProcessBuilder(command)
+			.redirectErrorStream(true)
+			.redirectOutput(ProcessBuilder.Redirect.DISCARD)
+			.start();
+
+		httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(60)).build();
+		waitUntilStarted();
+		for (int i = 0; i < WARMUP_ROUNDS; i++)
+			chargeAll();
+		failedCount.set(0);
+
+		sampler = new Thread(this::sample, "server-sampler");
+		sampler.setDaemon(true);
+		sampler.start();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws InterruptedException {
+		sampler.interrupt();
+		server.destroy();
+		if (!server.waitFor(30, TimeUnit.SECONDS))
+			server.destroyForcibly().waitFor();
+		System.out.printf("%n/%s 연결 %d 개: 서버 최대 RSS %dMB, 최대 스레드 %d 개, 실패 %d 건%n", api, connections,
+			peakRssKb >> 10, peakThreads, failedCount.get());
+	}
+
+	/**
+	 * 반복마다 다른 유저에게 충전하여 최대 보유 포인트에 걸리지 않도록 함
+	 */
+	@Benchmark
+	public int chargeAll() {
+		long firstUserId = (long)iteration.getAndIncrement() * connections + 1;
+		List<CompletableFuture<HttpResponse<Void>>> responses = new ArrayList<>(connections);
+		for (long userId = firstUserId; userId < firstUserId + connections; userId++) {
+			HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/" + api + "/" + userId + "/charge"))
+				.timeout(Duration.ofMinutes(5))
+				.header("Content-Type", "application/json")
+				.method("PATCH", HttpRequest.BodyPublishers.ofString("1000"))
+				.build();
+			responses.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+		}
+
+		int succeeded = 0;
+		for (CompletableFuture<HttpResponse<Void>> response : responses) {
+			try {
+				if (response.join().statusCode() == 200)
+					succeeded++;
+				else
+					failedCount.incrementAndGet();
+			} catch (RuntimeException e) {
+				failedCount.incrementAndGet();
+			}
+		}
+		return succeeded;
+	}
+
+	private void waitUntilStarted() throws InterruptedException {
+		HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).build();
+		long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(2);
+		while (System.nanoTime() < deadline) {
+			try {
+				if (httpClient.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+					return;
+			} catch (IOException e) {
+				// 아직 시작 중
+			}
+			TimeUnit.MILLISECONDS.sleep(200);
+		}
+		throw new IllegalStateException("서버가 시작되지 않았습니다.");
+	}
+
+	private void sample() {
+		Path status = Path.of("/proc", String.valueOf(server.pid()), "status");
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				for (String line : Files.readAllLines(status)) {
+					if (line.startsWith("VmRSS:"))
+						peakRssKb = Math.max(peakRssKb, Long.parseLong(line.replaceAll("\\D", "")));
+					else if (line.startsWith("Threads:"))
+						peakThreads = Math.max(peakThreads, Long.parseLong(line.replaceAll("\\D", "")));
+				}
+				TimeUnit.MILLISECONDS.sleep(100);
+			} catch (IOException e) {
+				return;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
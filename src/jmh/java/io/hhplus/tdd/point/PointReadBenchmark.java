@@ -0,0 +1,67 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import io.hhplus.tdd.database.UserPointRepository;
+
+/**
+ * 소수 유저에게 잔액 조회가 몰리는 상황의 테이블 조회 수
+ * - 캐시를 끄고 테이블 지연을 켜서 모든 조회가 테이블까지 가도록 함
+ * - coalesceLoads 에 따른 처리량과 함께 반복(iteration)마다 초당 테이블 조회 수와 조회 한건당 테이블 조회 수를 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(64)
+public class PointReadBenchmark {
+
+	@Param({"true", "false"})
+	private boolean coalesceLoads;
+
+	@Param({"16"})
+	private int userCount;
+
+	private PointService pointService;
+	private UserPointRepository userPointRepository;
+	private long startNanos;
+
+	@Setup(Level.Iteration)
+	public void setUp() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getCache().setEnabled(false);
+		pointProperties.getCache().setCoalesceLoads(coalesceLoads);
+
+		PointServiceFixture fixture = PointServiceFixture.create(pointProperties, true);
+		pointService = fixture.pointService();
+		userPointRepository = fixture.userPointRepository();
+		startNanos = System.nanoTime();
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDown() {
+		UserPointRepository.LoadStats stats = userPointRepository.loadStats();
+		double seconds = (System.nanoTime() - startNanos) / 1e9;
+		long reads = stats.selectCount() + stats.coalescedCount();
+
+		System.out.printf("%n테이블 조회 %.1f/s, 조회 한건당 테이블 조회 %.3f%n",
+			stats.selectCount() / seconds, reads == 0 ? 0 : (double)stats.selectCount() / reads);
+	}
+
+	@Benchmark
+	public UserPoint getUserPoint() {
+		return pointService.getUserPoint(ThreadLocalRandom.current().nextInt(userCount) + 1);
+	}
+}
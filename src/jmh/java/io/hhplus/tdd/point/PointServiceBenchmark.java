@@ -0,0 +1,101 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 포인트 충전, 사용 처리량
+ * - 변경 방식(LOCK, GROUP_COMMIT, OPTIMISTIC)과 유저 분포(UNIFORM, ZIPFIAN, HOT)별로 측정
+ * - 스레드 수는 -PjmhThreads 로 바꿔가며 측정 (기본 8)
+ * - throttle=false 이면 테이블 지연 없이 서비스 자체의 비용만 측정
+ * - 측정 중 쌓이는 이력이 메모리를 채우지 않도록 반복(iteration)마다 서비스를 새로 만듦
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class PointServiceBenchmark {
+
+	private static final int SAMPLE_COUNT = 1 << 16;
+	private static final long AMOUNT = 1000;
+
+	@Param({"LOCK", "GROUP_COMMIT", "OPTIMISTIC"})
+	private PointUpdateMode updateMode;
+
+	@Param({"UNIFORM", "ZIPFIAN", "HOT"})
+	private UserKeyDistribution distribution;
+
+	@Param({"10000"})
+	private int userCount;
+
+	@Param({"false"})
+	private boolean throttle;
+
+	private long[] userIds;
+	private PointService pointService;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		userIds = distribution.sample(userCount, SAMPLE_COUNT, 42);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpIteration() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.setUpdateMode(updateMode);
+
+		pointService = PointServiceFixture.create(pointProperties, throttle).pointService();
+	}
+
+	/**
+	 * 같은 스레드가 충전 후 같은 금액을 사용하므로 잔액은 0 아래로 내려가지 않음
+	 * OPTIMISTIC 모드에서 재시도 횟수를 모두 써서 거절된 요청도 처리한 요청으로 셈
+	 */
+	@Benchmark
+	public void chargeAndUse(Cursor cursor, Blackhole blackhole) {
+		long userId = userIds[cursor.next()];
+
+		try {
+			blackhole.consume(pointService.chargeUserPoint(userId, AMOUNT));
+			blackhole.consume(pointService.useUserPoint(userId, AMOUNT));
+		} catch (PointException e) {
+			blackhole.consume(e.getError());
+		}
+	}
+
+	@Benchmark
+	public UserPoint getUserPoint(Cursor cursor) {
+		return pointService.getUserPoint(userIds[cursor.next()]);
+	}
+
+	/**
+	 * 스레드마다 다른 위치에서 미리 뽑아둔 유저 ID 를 순서대로 읽음
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+
+		private int position;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			position = ThreadLocalRandom.current().nextInt(SAMPLE_COUNT);
+		}
+
+		private int next() {
+			position = (position + 1) & (SAMPLE_COUNT - 1);
+			return position;
+		}
+	}
+}
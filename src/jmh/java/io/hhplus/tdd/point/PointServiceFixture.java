@@ -0,0 +1,62 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.BenchmarkPointHistoryTable;
+import io.hhplus.tdd.database.BenchmarkUserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.WriteAheadLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * 벤치마크용 PointService 구성
+ * 테이블은 지연을 끄고 켤 수 있는 벤치마크용 테이블을 사용하고 나머지 구성요소는 실제 구현을 사용
+ * @param pointService 포인트 서비스
+ * @param userPointRepository 잔액 저장소 (테이블 조회 통계 확인용)
+ * @param pointHistoryRepository 이력 저장소 (이력을 미리 채울 때 사용)
+ * @param pointMetrics 포인트 지표
+ * @param pointEventHub 변경 이벤트 허브 (구독자를 붙일 때 사용)
+ * @param pointLotBook 포인트 묶음 장부 (만료 예약을 확인할 때 사용)
+ * @param pointAggregates 포인트 누적 집계
+ */
+public record PointServiceFixture(
+	PointService pointService,
+	UserPointRepository userPointRepository,
+	PointHistoryRepository pointHistoryRepository,
+	PointMetrics pointMetrics,
+	PointEventHub pointEventHub,
+	PointLotBook pointLotBook,
+	PointAggregates pointAggregates
+) {
+
+	/**
+	 * 지표는 기록하지 않는 레지스트리로 구성
+	 */
+	public static PointServiceFixture create(PointProperties pointProperties, boolean throttle) {
+		return create(pointProperties, throttle, new CompositeMeterRegistry());
+	}
+
+	public static PointServiceFixture create(PointProperties pointProperties, boolean throttle,
+		MeterRegistry meterRegistry) {
+		PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+		WriteAheadLog writeAheadLog = new WriteAheadLog(pointProperties, pointMetrics);
+		UserPointRepository userPointRepository = new UserPointRepository(new BenchmarkUserPointTable(throttle),
+			writeAheadLog, pointProperties, pointMetrics);
+		PointHistoryRepository pointHistoryRepository = new PointHistoryRepository(
+			new BenchmarkPointHistoryTable(throttle), writeAheadLog, pointProperties, pointMetrics);
+		UserLockManager userLockManager = new UserLockManager(pointMetrics);
+		PointEventHub pointEventHub = new PointEventHub(pointProperties);
+		PointLotBook pointLotBook = new PointLotBook(pointProperties);
+		PointAggregates pointAggregates = new PointAggregates(pointHistoryRepository, pointProperties);
+		OptimisticPointStore optimisticPointStore = new OptimisticPointStore(userPointRepository,
+			pointHistoryRepository, userLockManager, pointEventHub, pointLotBook, pointAggregates, pointProperties);
+		IdempotencyCache idempotencyCache = new IdempotencyCache(pointProperties, pointMetrics);
+
+		PointService pointService = new PointService(userPointRepository, pointHistoryRepository, userLockManager,
+			optimisticPointStore, idempotencyCache, pointEventHub, pointLotBook, pointAggregates, pointProperties,
+			pointMetrics);
+
+		return new PointServiceFixture(pointService, userPointRepository, pointHistoryRepository, pointMetrics,
+			pointEventHub, pointLotBook, pointAggregates);
+	}
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.database.BenchmarkPointHistoryTable;
+import io.hhplus.tdd.database.BenchmarkUserPointTable;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+
+/**
+ * 샤드 수에 따른 일괄 처리 처리량
+ * 같은 요청 목록(기본 1,000 유저에게 충전 후 사용 2,000건)을 shardCount 개 샤드로 나누어 처리
+ * 샤드마다 테이블과 실행 스레드를 따로 가지므로 테이블 지연(throttle)이 있으면 샤드 수만큼 동시에 기다릴 수 있음
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class PointShardBenchmark {
+
+	@Param({"2000"})
+	private int commandCount;
+
+	@Param({"1000"})
+	private int userCount;
+
+	@Param({"1", "2", "4", "8"})
+	private int shardCount;
+
+	@Param({"false", "true"})
+	private boolean throttle;
+
+	private List<PointCommand> commands;
+	private PointShardRouter pointShardRouter;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		// 유저마다 충전 후 사용을 번갈아 요청하여 잔액이 부족하지 않도록 함
+		commands = new ArrayList<>(commandCount);
+		for (int i = 0; i < commandCount; i++) {
+			long userId = i % userCount + 1;
+			TransactionType type = (i / userCount) % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+			commands.add(new PointCommand(userId, type, 1000));
+		}
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpIteration() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getBatch().setMaxSize(commandCount);
+		// 요청 수 제한 없이 샤드별 처리량만 측정
+		pointProperties.getRateLimit().setEnabled(false);
+		PointRateLimiter pointRateLimiter = new PointRateLimiter(pointProperties);
+		PointMetrics pointMetrics = new PointMetrics(new CompositeMeterRegistry());
+
+		PointEventHub pointEventHub = new PointEventHub(pointProperties);
+		List<PointShard> shards = new ArrayList<>(shardCount);
+		for (int index = 0; index < shardCount; index++) {
+			shards.add(PointShard.create(index, new BenchmarkUserPointTable(throttle),
+				new BenchmarkPointHistoryTable(throttle), pointEventHub, pointRateLimiter, pointProperties,
+				pointMetrics));
+		}
+		pointShardRouter = new PointShardRouter(shards, new PointNodes(pointProperties, new ObjectMapper(),
+			pointMetrics), pointProperties, pointMetrics);
+	}
+
+	@TearDown(Level.Iteration)
+	public void tearDownIteration() {
+		pointShardRouter.close();
+	}
+
+	@Benchmark
+	public List<PointCommandResult> batch() {
+		return pointShardRouter.execute(commands);
+	}
+}
@@ -0,0 +1,81 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * 유저 간 무작위 이체 처리량
+ * - userCount 명이 서로 무작위로 이체 (유저가 적을수록 같은 유저 락을 두고 경합이 심함)
+ * - 끝날 때 전체 포인트가 처음과 같은지 확인하고 성공, 거절 수를 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+public class PointTransferBenchmark {
+
+	private static final long INIT_POINT = 50_000;
+
+	@Param({"10", "1000"})
+	private int userCount;
+
+	@Param({"LOCK", "OPTIMISTIC"})
+	private PointUpdateMode updateMode;
+
+	private PointService pointService;
+	private final LongAdder rejectedCount = new LongAdder();
+	private final LongAdder transferredCount = new LongAdder();
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.setUpdateMode(updateMode);
+		pointService = PointServiceFixture.create(pointProperties, false).pointService();
+
+		for (long userId = 1; userId <= userCount; userId++)
+			pointService.chargeUserPoint(userId, INIT_POINT);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		long total = 0;
+		for (long userId = 1; userId <= userCount; userId++)
+			total += pointService.getUserPoint(userId).point();
+
+		System.out.printf("%n이체 %d 건, 거절 %d 건, 전체 포인트 %d (처음 %d)%n", transferredCount.sum(),
+			rejectedCount.sum(), total, INIT_POINT * userCount);
+		if (total != INIT_POINT * userCount)
+			throw new IllegalStateException("전체 포인트가 보존되지 않았습니다.");
+	}
+
+	@Benchmark
+	public PointTransfer transfer() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		long from = random.nextInt(userCount) + 1;
+		long to = random.nextInt(userCount - 1) + 1;
+		if (to >= from)
+			to++;
+
+		try {
+			PointTransfer transfer = pointService.transferUserPoint(from, to, random.nextInt(1, 1000));
+			transferredCount.increment();
+			return transfer;
+		} catch (PointException e) {
+			rejectedCount.increment();
+			return null;
+		}
+	}
+}
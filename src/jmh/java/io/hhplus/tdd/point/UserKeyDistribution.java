@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import java.util.Random;
+
+/**
+ * 벤치마크 요청이 어떤 유저에게 몰리는지 결정하는 분포
+ * 측정 중에는 난수를 만들지 않도록 미리 뽑아둔 유저 ID 배열을 순서대로 사용
+ */
+public enum UserKeyDistribution {
+
+	/**
+	 * 모든 유저에게 고르게 분산
+	 */
+	UNIFORM,
+
+	/**
+	 * 소수 유저에게 요청이 몰리는 Zipf 분포 (s = 0.99)
+	 */
+	ZIPFIAN,
+
+	/**
+	 * 모든 요청이 한 유저에게 집중
+	 */
+	HOT;
+
+	private static final double ZIPF_EXPONENT = 0.99;
+
+	/**
+	 * @param userCount 유저 수 (유저 ID 는 1 부터 userCount 까지)
+	 * @param sampleCount 뽑을 유저 ID 수
+	 * @param seed 난수 시드
+	 * @return 분포에 따라 뽑은 유저 ID 배열
+	 */
+	public long[] sample(int userCount, int sampleCount, long seed) {
+		Random random = new Random(seed);
+		long[] userIds = new long[sampleCount];
+
+		switch (this) {
+			case UNIFORM -> {
+				for (int i = 0; i < sampleCount; i++)
+					userIds[i] = random.nextInt(userCount) + 1;
+			}
+			case ZIPFIAN -> {
+				double[] cumulative = zipfCumulative(userCount);
+				for (int i = 0; i < sampleCount; i++)
+					userIds[i] = lowerBound(cumulative, random.nextDouble()) + 1;
+			}
+			case HOT -> {
+				for (int i = 0; i < sampleCount; i++)
+					userIds[i] = 1;
+			}
+		}
+
+		return userIds;
+	}
+
+	private static double[] zipfCumulative(int userCount) {
+		double[] cumulative = new double[userCount];
+		double sum = 0;
+		for (int rank = 1; rank <= userCount; rank++) {
+			sum += 1 / Math.pow(rank, ZIPF_EXPONENT);
+			cumulative[rank - 1] = sum;
+		}
+		for (int i = 0; i < userCount; i++)
+			cumulative[i] /= sum;
+
+		return cumulative;
+	}
+
+	/**
+	 * @return cumulative 중 value 이상인 첫 위치
+	 */
+	private static int lowerBound(double[] cumulative, double value) {
+		int low = 0;
+		int high = cumulative.length - 1;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (cumulative[mid] < value)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return low;
+	}
+}
@@ -0,0 +1,52 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * UserPoint 검증 비용과 할당량
+ * gc 프로파일러 결과의 gc.alloc.rate.norm 으로 호출당 할당 바이트를 확인
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class UserPointBenchmark {
+
+	private long point = 50_000;
+	private long amount = 1000;
+	private long overAmount = 60_000;
+	private UserPoint userPoint = new UserPoint(1, point, 0);
+
+	@Benchmark
+	public UserPoint validate() {
+		return userPoint.validate(amount, TransactionType.CHARGE);
+	}
+
+	/**
+	 * 그룹 커밋, 낙관적 방식처럼 검증할 때마다 UserPoint 를 새로 만드는 경우
+	 */
+	@Benchmark
+	public long newAndValidate() {
+		UserPoint validated = new UserPoint(1, point, 0).validate(amount, TransactionType.USE);
+		return TransactionType.USE.apply(validated.point(), amount);
+	}
+
+	/**
+	 * 검증 실패시 PointException 생성 비용 (스택 트레이스 포함)
+	 */
+	@Benchmark
+	public PointError validateRejected() {
+		try {
+			userPoint.validate(overAmount, TransactionType.USE);
+			return null;
+		} catch (PointException e) {
+			return e.getError();
+		}
+	}
+}
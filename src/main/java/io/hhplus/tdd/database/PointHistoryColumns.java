@@ -0,0 +1,372 @@
+package io.hhplus.tdd.database;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 한 유저의 포인트 이력을 컬럼별로 압축해 보관
+ * - ID, 변경 시각 : 직전 이력과의 차이를 varint 로 기록 (유저별로 오름차순이라 대부분 1 ~ 3 바이트)
+ * - 금액 : varint
+ * - 타입 : 이력마다 TYPE_BITS 비트씩 long 배열에 채움
+ * - BLOCK_SIZE 건마다 직전 ID, 직전 시각과 컬럼별 위치를 블록 색인에 남겨 중간 블록부터 풀 수 있음
+ * - PointHistory 는 조회 결과로 돌려줄 때만 만들어짐
+ * - 추가는 appendLock 을 잡은 상태에서만 호출되고, 조회는 락 없이 공개된 건수까지만 읽음
+ */
+final class PointHistoryColumns {
+
+	static final int BLOCK_SIZE = 64;
+
+	private static final TransactionType[] TYPES = TransactionType.values();
+	// 타입 값이 long 경계에 걸치지 않도록 2의 거듭제곱 비트로 기록 (타입이 늘어나도 형식이 그대로 유지됨)
+	private static final int TYPE_BITS = Integer.highestOneBit(
+		Math.max(1, 32 - Integer.numberOfLeadingZeros(TYPES.length - 1)) * 2 - 1);
+	private static final int TYPES_PER_WORD = Long.SIZE / TYPE_BITS;
+	private static final long TYPE_MASK = (1L << TYPE_BITS) - 1;
+	private static final int BLOCK_STRIDE = 4;
+	private static final int MAX_VARINT_BYTES = 10;
+
+	/**
+	 * 추가 락 (추가하면서 대기열, WAL 처럼 멈출 수 있는 작업도 함께 하므로 가상 스레드를 점유하지 않도록 ReentrantLock 사용)
+	 */
+	final ReentrantLock appendLock = new ReentrantLock();
+
+	private final long userId;
+
+	private volatile byte[] ids = new byte[MAX_VARINT_BYTES];
+	private volatile byte[] millis = new byte[MAX_VARINT_BYTES];
+	private volatile byte[] amounts = new byte[MAX_VARINT_BYTES];
+	private volatile long[] types = new long[1];
+	// 두번째 블록부터 [직전 ID, 직전 시각, ID 위치, 시각 위치 << 32 | 금액 위치]
+	private volatile long[] blocks;
+	private volatile int size;
+
+	// 추가하는 쪽에서만 사용
+	private int idsLength;
+	private int millisLength;
+	private int amountsLength;
+	private long lastId;
+	private long lastMillis;
+
+	PointHistoryColumns(long userId) {
+		this.userId = userId;
+	}
+
+	/**
+	 * 이력 추가 (ID 는 이전 이력보다 커야함)
+	 */
+	void append(long id, long amount, TransactionType type, long updateMillis) {
+		int row = size;
+		if (row > 0 && row % BLOCK_SIZE == 0)
+			appendBlock(row / BLOCK_SIZE);
+
+		byte[] currentIds = ensureCapacity(ids, idsLength);
+		idsLength = writeVarint(currentIds, idsLength, id - lastId);
+		byte[] currentMillis = ensureCapacity(millis, millisLength);
+		millisLength = writeVarint(currentMillis, millisLength, updateMillis - lastMillis);
+		byte[] currentAmounts = ensureCapacity(amounts, amountsLength);
+		amountsLength = writeVarint(currentAmounts, amountsLength, amount);
+		if (currentIds != ids)
+			ids = currentIds;
+		if (currentMillis != millis)
+			millis = currentMillis;
+		if (currentAmounts != amounts)
+			amounts = currentAmounts;
+
+		long[] currentTypes = types;
+		int word = row / TYPES_PER_WORD;
+		if (word == currentTypes.length) {
+			currentTypes = Arrays.copyOf(currentTypes, grow(currentTypes.length));
+			types = currentTypes;
+		}
+		currentTypes[word] |= (long)type.ordinal() << (row % TYPES_PER_WORD * TYPE_BITS);
+
+		lastId = id;
+		lastMillis = updateMillis;
+		size = row + 1;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return ID 오름차순 전체 이력
+	 */
+	List<PointHistory> findAll() {
+		int currentSize = size;
+		List<PointHistory> histories = new ArrayList<>(currentSize);
+		Block block = new Block();
+		for (int index = 0; index * BLOCK_SIZE < currentSize; index++) {
+			decode(index, currentSize, block);
+			for (int i = 0; i < block.size; i++)
+				histories.add(block.toPointHistory(i));
+		}
+		return histories;
+	}
+
+	/**
+	 * 조건에 맞는 이력 조회
+	 * 커서 위치는 블록 색인에서 이진 탐색으로 찾고, 조건에 맞는 이력만 PointHistory 로 만듦
+	 * @return ID 오름차순 이력
+	 */
+	List<PointHistory> find(PointHistoryQuery query) {
+		int currentSize = size;
+		if (currentSize == 0)
+			return List.of();
+
+		long afterId = query.afterId() == null ? Long.MIN_VALUE : query.afterId();
+		long beforeId = query.beforeId() == null ? Long.MAX_VALUE : query.beforeId();
+		int limit = query.limit() == null ? Integer.MAX_VALUE : query.limit();
+		int blockCount = (currentSize + BLOCK_SIZE - 1) / BLOCK_SIZE;
+
+		List<PointHistory> histories = new ArrayList<>(Math.min(limit, 64));
+		Block block = new Block();
+		if (query.latestFirst()) {
+			int start = beforeId == Long.MAX_VALUE ? blockCount - 1 : blockContaining(beforeId - 1, currentSize);
+			for (int index = start; index >= 0 && histories.size() < limit; index--) {
+				decode(index, currentSize, block);
+				for (int i = block.size - 1; i >= 0 && histories.size() < limit; i--) {
+					if (block.ids[i] < beforeId && block.matches(i, query))
+						histories.add(block.toPointHistory(i));
+				}
+			}
+			Collections.reverse(histories);
+		} else {
+			int start = afterId == Long.MIN_VALUE ? 0 : blockContaining(afterId, currentSize);
+			for (int index = start; index < blockCount && histories.size() < limit; index++) {
+				decode(index, currentSize, block);
+				for (int i = 0; i < block.size && histories.size() < limit; i++) {
+					if (block.ids[i] >= beforeId)
+						return histories;
+					if (block.ids[i] > afterId && block.matches(i, query))
+						histories.add(block.toPointHistory(i));
+				}
+			}
+		}
+
+		return histories;
+	}
+
+	/**
+	 * 조건에 맞는 이력을 목록을 만들지 않고 블록 하나씩 풀며 순회
+	 * 최신 이력부터 limit 개를 찾는 조회는 결과가 limit 개로 제한되므로 find 결과를 그대로 순회
+	 * @return ID 오름차순 이력 Iterator (만들 때까지 공개된 이력까지만 순회)
+	 */
+	Iterator<PointHistory> iterate(PointHistoryQuery query) {
+		if (query.latestFirst())
+			return find(query).iterator();
+
+		int currentSize = size;
+		long afterId = query.afterId() == null ? Long.MIN_VALUE : query.afterId();
+		long beforeId = query.beforeId() == null ? Long.MAX_VALUE : query.beforeId();
+		int limit = query.limit() == null ? Integer.MAX_VALUE : query.limit();
+		int blockCount = (currentSize + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		int start = currentSize == 0 || afterId == Long.MIN_VALUE ? 0 : blockContaining(afterId, currentSize);
+
+		return new Iterator<>() {
+
+			private final Block block = new Block();
+			private int index = start;
+			private int row = BLOCK_SIZE;
+			private int count;
+			private PointHistory next = find();
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public PointHistory next() {
+				if (next == null)
+					throw new NoSuchElementException();
+
+				PointHistory current = next;
+				next = find();
+				return current;
+			}
+
+			private PointHistory find() {
+				while (count < limit) {
+					if (row >= block.size) {
+						if (index >= blockCount)
+							return null;
+						decode(index++, currentSize, block);
+						row = 0;
+						continue;
+					}
+
+					int i = row++;
+					if (block.ids[i] >= beforeId)
+						return null;
+					if (block.ids[i] > afterId && block.matches(i, query)) {
+						count++;
+						return block.toPointHistory(i);
+					}
+				}
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * @return 해당 ID 의 이력, 없으면 null
+	 */
+	PointHistory findById(long id) {
+		int currentSize = size;
+		if (currentSize == 0)
+			return null;
+
+		Block block = new Block();
+		decode(blockContaining(id - 1, currentSize), currentSize, block);
+		for (int i = 0; i < block.size; i++) {
+			if (block.ids[i] == id)
+				return block.toPointHistory(i);
+		}
+		return null;
+	}
+
+	/**
+	 * @return 컬럼과 블록 색인에 할당된 바이트 수 (메모리 사용량 확인용)
+	 */
+	long allocatedBytes() {
+		long[] currentBlocks = blocks;
+		return ids.length + millis.length + amounts.length + (long)types.length * Long.BYTES
+			+ (currentBlocks == null ? 0 : (long)currentBlocks.length * Long.BYTES);
+	}
+
+	/**
+	 * @return 직전 ID 가 id 이하인 마지막 블록 (id 다음 이력이 들어있거나 그 앞 블록)
+	 */
+	private int blockContaining(long id, int currentSize) {
+		long[] currentBlocks = blocks;
+		int low = 0;
+		int high = (currentSize - 1) / BLOCK_SIZE;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (currentBlocks[(mid - 1) * BLOCK_STRIDE] <= id)
+				low = mid;
+			else
+				high = mid - 1;
+		}
+		return low;
+	}
+
+	private void appendBlock(int index) {
+		long[] currentBlocks = blocks;
+		int offset = (index - 1) * BLOCK_STRIDE;
+		if (currentBlocks == null)
+			currentBlocks = new long[BLOCK_STRIDE];
+		else if (offset == currentBlocks.length)
+			currentBlocks = Arrays.copyOf(currentBlocks, grow(currentBlocks.length / BLOCK_STRIDE) * BLOCK_STRIDE);
+
+		currentBlocks[offset] = lastId;
+		currentBlocks[offset + 1] = lastMillis;
+		currentBlocks[offset + 2] = idsLength;
+		currentBlocks[offset + 3] = (long)millisLength << 32 | amountsLength;
+		blocks = currentBlocks;
+	}
+
+	/**
+	 * index 번째 블록을 공개된 건수(currentSize) 까지만 풀어서 block 에 담음
+	 */
+	private void decode(int index, int currentSize, Block block) {
+		long baseId = 0;
+		long baseMillis = 0;
+		int idsOffset = 0;
+		int millisOffset = 0;
+		int amountsOffset = 0;
+		if (index > 0) {
+			long[] currentBlocks = blocks;
+			int offset = (index - 1) * BLOCK_STRIDE;
+			baseId = currentBlocks[offset];
+			baseMillis = currentBlocks[offset + 1];
+			idsOffset = (int)currentBlocks[offset + 2];
+			millisOffset = (int)(currentBlocks[offset + 3] >>> 32);
+			amountsOffset = (int)currentBlocks[offset + 3];
+		}
+
+		int first = index * BLOCK_SIZE;
+		int count = Math.min(BLOCK_SIZE, currentSize - first);
+
+		readVarints(ids, idsOffset, count, block.ids);
+		readVarints(millis, millisOffset, count, block.millis);
+		readVarints(amounts, amountsOffset, count, block.amounts);
+		long[] currentTypes = types;
+		for (int i = 0; i < count; i++) {
+			int row = first + i;
+			baseId += block.ids[i];
+			block.ids[i] = baseId;
+			baseMillis += block.millis[i];
+			block.millis[i] = baseMillis;
+			block.types[i] = (byte)((currentTypes[row / TYPES_PER_WORD] >>> (row % TYPES_PER_WORD * TYPE_BITS))
+				& TYPE_MASK);
+		}
+		block.size = count;
+	}
+
+	private static byte[] ensureCapacity(byte[] column, int length) {
+		if (length + MAX_VARINT_BYTES <= column.length)
+			return column;
+		return Arrays.copyOf(column, Math.max(grow(column.length), length + MAX_VARINT_BYTES));
+	}
+
+	/**
+	 * 배열 증가 폭을 작게 유지하여 남는 공간을 줄임
+	 */
+	private static int grow(int length) {
+		return length + (length >> 2) + 2;
+	}
+
+	private static int writeVarint(byte[] column, int offset, long value) {
+		while ((value & ~0x7FL) != 0) {
+			column[offset++] = (byte)((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		column[offset++] = (byte)value;
+		return offset;
+	}
+
+	private static void readVarints(byte[] column, int offset, int count, long[] values) {
+		for (int i = 0; i < count; i++) {
+			long value = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = column[offset++];
+				value |= (long)(b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			values[i] = value;
+		}
+	}
+
+	/**
+	 * 블록 하나를 푼 결과
+	 */
+	private final class Block {
+
+		private final long[] ids = new long[BLOCK_SIZE];
+		private final long[] millis = new long[BLOCK_SIZE];
+		private final long[] amounts = new long[BLOCK_SIZE];
+		private final byte[] types = new byte[BLOCK_SIZE];
+		private int size;
+
+		private boolean matches(int i, PointHistoryQuery query) {
+			return query.matches(millis[i], TYPES[types[i]]);
+		}
+
+		private PointHistory toPointHistory(int i) {
+			return new PointHistory(ids[i], userId, amounts[i], TYPES[types[i]], millis[i]);
+		}
+	}
+}
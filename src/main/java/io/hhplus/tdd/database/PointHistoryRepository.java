@@ -0,0 +1,290 @@
+package io.hhplus.tdd.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 포인트 이력 저장소
+ * - 이력은 유저별로 PointHistoryColumns 에 컬럼 단위로 압축해 보관하고, ID 로 찾을 수 있도록 청크 배열에 ID 별 소유 유저만 기록
+ * - 유저 이력 조회는 해당 유저의 이력 수에만 비례하고 전체 이력 수와는 무관함
+ * - PointHistory 객체를 보관하지 않고 조회할 때만 만들어 이력 한건당 메모리를 줄임
+ * - 서로 다른 유저의 이력은 전역 락 없이 동시에 추가됨
+ * - PointHistoryTable 에도 그대로 기록하지만 조회는 이 저장소의 색인으로만 처리
+ * - PointHistoryTable 은 동시 추가에 안전하지 않으므로 테이블 기록은 항상 PointHistoryWriter 의 기록 스레드 하나가 처리
+ *   (이력 ID 는 이 저장소가 발급하며, 테이블이 매기는 ID 와는 유저별 순서만 같음)
+ * - 비동기 기록(point.history.async-write, 기본값)은 테이블 기록을 기다리지 않고, 끄면 자기 이력이 테이블에 기록될 때까지만 기다림
+ *   어느 쪽이든 요청 스레드는 테이블 지연 동안 락을 잡지 않으며, 색인에는 저장 즉시 추가되므로 저장 직후 조회에도 방금 저장한 이력이 포함됨
+ * - WAL 을 사용하면 저장할 때마다 기록하고, 시작할 때 WAL 에서 이력과 색인을 복구 (테이블에는 다시 기록하지 않음)
+ */
+@Component
+public class PointHistoryRepository {
+
+	private static final int CHUNK_BITS = 14;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int MAX_CHUNK_COUNT = 1 << 16;
+	private static final long STORE_WAIT_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final PointHistoryTable pointHistoryTable;
+	private final PointHistoryWriter pointHistoryWriter;
+	private final boolean asyncWrite;
+	private final WriteAheadLog writeAheadLog;
+	private final PointMetrics pointMetrics;
+
+	private final AtomicLong sequence = new AtomicLong();
+	private final AtomicReferenceArray<AtomicReferenceArray<PointHistoryColumns>> owners =
+		new AtomicReferenceArray<>(MAX_CHUNK_COUNT);
+	private final ConcurrentHashMap<Long, PointHistoryColumns> userColumns = new ConcurrentHashMap<>();
+
+	/**
+	 * 복구한 이력 중 가장 큰 ID
+	 * 장애 직전 ID 만 발급되고 기록되지 못한 이력은 빈 자리로 남으므로 순회할 때 이 ID 까지는 빈 자리를 건너뜀
+	 */
+	private final long recoveredLastId;
+
+	public PointHistoryRepository(PointHistoryTable pointHistoryTable, WriteAheadLog writeAheadLog,
+		PointProperties pointProperties, PointMetrics pointMetrics) {
+		PointProperties.History history = pointProperties.getHistory();
+
+		this.pointHistoryTable = pointHistoryTable;
+		this.writeAheadLog = writeAheadLog;
+		this.pointMetrics = pointMetrics;
+		this.asyncWrite = history.isAsyncWrite();
+		this.pointHistoryWriter = new PointHistoryWriter(pointHistoryTable, history.getQueueCapacity(),
+			history.getMaxBatchSize(), pointMetrics);
+
+		writeAheadLog.replayHistories(this::restore);
+		this.recoveredLastId = sequence.get();
+	}
+
+	/**
+	 * 포인트 이력 저장
+	 * @param userId 유저 ID
+	 * @param amount 변경 금액
+	 * @param type 변경 타입
+	 * @param updateMillis 변경 시각
+	 * @return 저장된 포인트 이력
+	 */
+	public PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+		return saveAll(List.of(new PointCommand(userId, type, amount)), updateMillis).get(0);
+	}
+
+	/**
+	 * 한 유저의 포인트 이력 여러 건을 순서대로 저장
+	 * 유저 추가 락을 한번만 잡아 다른 유저 이력이 사이에 끼지 않고 연속된 ID 를 받으며, WAL 반영과 테이블 기록도 한번만 기다림
+	 * (PointHistoryTable 에는 일괄 저장 API 가 없으므로 기록 스레드가 한건씩 기록)
+	 * @param commands 저장할 변경 목록 (모두 같은 유저)
+	 * @param updateMillis 변경 시각
+	 * @return 변경 순서와 같은 순서의 저장된 포인트 이력 목록
+	 */
+	public List<PointHistory> saveAll(List<PointCommand> commands, long updateMillis) {
+		long userId = commands.get(0).userId();
+		if (commands.stream().anyMatch(command -> command.userId() != userId))
+			throw new IllegalArgumentException("한 유저의 이력만 함께 저장할 수 있습니다.");
+
+		PointHistoryColumns columns = userColumns.computeIfAbsent(userId, PointHistoryColumns::new);
+		List<PointHistory> pointHistories = new ArrayList<>(commands.size());
+		long walPosition = 0;
+		// 같은 유저의 이력은 순서대로 기록되므로 마지막 이력이 기록되면 앞 이력도 모두 기록된 것
+		CompletableFuture<Void> written = asyncWrite ? null : new CompletableFuture<>();
+
+		// ID 발급부터 색인 추가까지 유저 단위로 묶어 유저별 이력이 항상 ID 오름차순이 되도록 함
+		// 기록 대기열에도 같은 블록 안에서 넣어 유저별 테이블 기록 순서가 ID 순서와 같도록 함
+		// WAL 에도 같은 블록 안에서 기록하여 복구할 때 유저별 이력이 ID 순서대로 읽히도록 하고, 디스크 반영은 블록 밖에서 기다림
+		columns.appendLock.lock();
+		try {
+			for (int i = 0; i < commands.size(); i++) {
+				PointCommand command = commands.get(i);
+				PointHistory pointHistory = new PointHistory(sequence.incrementAndGet(), userId, command.amount(),
+					command.type(), updateMillis);
+				store(pointHistory, columns);
+				pointHistoryWriter.write(pointHistory, i == commands.size() - 1 ? written : null);
+				walPosition = writeAheadLog.appendHistory(pointHistory);
+				pointHistories.add(pointHistory);
+			}
+		} finally {
+			columns.appendLock.unlock();
+		}
+
+		if (written != null)
+			written.join();
+		writeAheadLog.sync(walPosition);
+		return pointHistories;
+	}
+
+	/**
+	 * 유저 포인트 이력 조회
+	 * @param userId 조회할 유저 ID
+	 * @return ID 오름차순 포인트 이력 목록
+	 */
+	public List<PointHistory> findAllByUserId(long userId) {
+		PointHistoryColumns columns = userColumns.get(userId);
+		return columns == null ? List.of() : columns.findAll();
+	}
+
+	/**
+	 * 조건에 맞는 유저 포인트 이력 조회
+	 * 커서 위치는 유저 블록 색인에서 이진 탐색으로 찾고, limit 개를 채우면 더 읽지 않음
+	 * @param userId 조회할 유저 ID
+	 * @param query 조회 조건
+	 * @return ID 오름차순 포인트 이력 목록
+	 */
+	public List<PointHistory> findAllByUserId(long userId, PointHistoryQuery query) {
+		PointHistoryColumns columns = userColumns.get(userId);
+		return columns == null ? List.of() : columns.find(query);
+	}
+
+	/**
+	 * 조건에 맞는 유저 포인트 이력을 목록을 만들지 않고 순회
+	 * @param userId 조회할 유저 ID
+	 * @param query 조회 조건
+	 * @return ID 오름차순 포인트 이력 Iterator
+	 */
+	public Iterator<PointHistory> iterateByUserId(long userId, PointHistoryQuery query) {
+		PointHistoryColumns columns = userColumns.get(userId);
+		return columns == null ? Collections.emptyIterator() : columns.iterate(query);
+	}
+
+	/**
+	 * 전체 포인트 이력을 ID 순서대로 순회
+	 * 목록을 만들지 않고 ID 별 소유 유저를 따라가며, 순회를 시작할 때까지 발급된 ID 까지만 순회함 (이후 이력은 마지막 ID 로 이어받기)
+	 * ID 는 색인 추가 직전에 발급되므로 아직 저장 중인 ID 를 만나면 건너뛰거나 멈추지 않고 저장될 때까지 기다림
+	 * @param afterId 이 ID 다음 이력부터 순회 (처음부터는 0)
+	 * @return ID 오름차순 포인트 이력 Iterator
+	 * @throws IllegalStateException 발급된 ID 가 끝내 저장되지 않은 경우 (빈 자리를 건너뛰어 일부만 내보내지 않도록 함)
+	 */
+	public Iterator<PointHistory> iterateAfter(long afterId) {
+		long lastId = sequence.get();
+		return new Iterator<>() {
+
+			private long nextId = Math.max(afterId, 0) + 1;
+			private PointHistory next = find();
+
+			@Override
+			public boolean hasNext() {
+				return next != null;
+			}
+
+			@Override
+			public PointHistory next() {
+				if (next == null)
+					throw new NoSuchElementException();
+
+				PointHistory current = next;
+				nextId++;
+				next = find();
+				return current;
+			}
+
+			private PointHistory find() {
+				for (; nextId <= lastId; nextId++) {
+					PointHistory pointHistory = findById(nextId);
+					// 복구한 범위의 빈 자리는 장애로 기록되지 못한 ID
+					if (pointHistory == null && nextId > recoveredLastId)
+						pointHistory = awaitStored(nextId);
+					if (pointHistory != null)
+						return pointHistory;
+				}
+				return null;
+			}
+		};
+	}
+
+	/**
+	 * @param id 이력 ID
+	 * @return 포인트 이력, 없으면 null
+	 */
+	public PointHistory findById(long id) {
+		if (id < 1 || id > sequence.get())
+			return null;
+
+		AtomicReferenceArray<PointHistoryColumns> chunk = owners.get((int)((id - 1) >>> CHUNK_BITS));
+		PointHistoryColumns columns = chunk == null ? null : chunk.get((int)((id - 1) & (CHUNK_SIZE - 1)));
+		return columns == null ? null : columns.findById(id);
+	}
+
+	/**
+	 * 발급된 ID 의 이력이 색인에 추가될 때까지 대기
+	 * 발급부터 색인 추가까지는 같은 유저 블록 안의 메모리 작업뿐이므로 잠깐씩 쉬며 다시 확인함
+	 */
+	private PointHistory awaitStored(long id) {
+		long deadline = System.nanoTime() + STORE_WAIT_NANOS;
+		PointHistory pointHistory;
+		while ((pointHistory = findById(id)) == null) {
+			if (System.nanoTime() - deadline > 0)
+				throw new IllegalStateException("포인트 이력 " + id + " 이 저장되지 않았습니다.");
+			LockSupport.parkNanos(10_000);
+		}
+		return pointHistory;
+	}
+
+	/**
+	 * @return 마지막으로 발급된 이력 ID
+	 */
+	public long lastId() {
+		return sequence.get();
+	}
+
+	/**
+	 * @return 이력 테이블 기록 통계
+	 */
+	public PointHistoryWriter.Stats writerStats() {
+		return pointHistoryWriter.stats();
+	}
+
+	/**
+	 * 종료 시 기록 대기 중인 이력을 모두 테이블에 기록
+	 */
+	@PreDestroy
+	public void close() {
+		pointHistoryWriter.close();
+	}
+
+	/**
+	 * WAL 에서 읽은 이력을 저장소와 색인에 추가
+	 * 시작할 때 한 스레드에서만 호출됨
+	 */
+	private void restore(PointHistory pointHistory) {
+		if (pointHistory.id() > sequence.get())
+			sequence.set(pointHistory.id());
+
+		store(pointHistory, userColumns.computeIfAbsent(pointHistory.userId(), PointHistoryColumns::new));
+	}
+
+	/**
+	 * 유저 컬럼에 추가한 뒤 ID 별 소유 유저를 기록 (소유 유저가 보이면 해당 유저 컬럼에서도 보임)
+	 */
+	private void store(PointHistory pointHistory, PointHistoryColumns columns) {
+		int chunkIndex = (int)((pointHistory.id() - 1) >>> CHUNK_BITS);
+		if (chunkIndex >= MAX_CHUNK_COUNT)
+			throw new IllegalStateException("포인트 이력 저장 공간이 부족합니다.");
+
+		columns.append(pointHistory.id(), pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+
+		AtomicReferenceArray<PointHistoryColumns> chunk = owners.get(chunkIndex);
+		if (chunk == null) {
+			owners.compareAndSet(chunkIndex, null, new AtomicReferenceArray<>(CHUNK_SIZE));
+			chunk = owners.get(chunkIndex);
+		}
+
+		chunk.set((int)((pointHistory.id() - 1) & (CHUNK_SIZE - 1)), columns);
+	}
+}
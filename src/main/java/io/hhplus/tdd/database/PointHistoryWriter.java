@@ -0,0 +1,227 @@
+package io.hhplus.tdd.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+
+/**
+ * 포인트 이력 테이블 기록
+ * - PointHistoryTable 은 동시 추가에 안전하지 않으므로 테이블에는 이 기록 스레드 하나만 기록함
+ * - 이력은 크기가 정해진 대기열에 넣고 바로 반환하며, 백그라운드 스레드 하나가 모아서 PointHistoryTable 에 기록
+ * - 테이블 기록을 기다려야 하면 기록이 끝날 때 완료되는 future 를 함께 넣음 (요청 스레드는 테이블 락 없이 자기 이력만 기다림)
+ * - 기록 스레드가 하나이고 같은 유저의 이력은 ID 순서대로 대기열에 들어오므로 유저별 기록 순서가 유지됨
+ * - 대기열이 가득 차면 빈 자리가 생길 때까지 기다려(backpressure) 메모리가 무한히 늘어나지 않음
+ * - close 시 더 받지 않고 대기열에 남은 이력을 모두 기록한 뒤 종료
+ *   (종료 여부 확인과 대기열 추가는 읽기 락, 종료 표시는 쓰기 락으로 묶어 종료 뒤 대기열에 들어와 남는 이력이 없도록 함)
+ */
+public class PointHistoryWriter implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(PointHistoryWriter.class);
+
+	private static final long POLL_TIMEOUT_MILLIS = 100;
+
+	private final PointHistoryTable pointHistoryTable;
+	private final BlockingQueue<Pending> queue;
+	private final int maxBatchSize;
+	private final PointMetrics pointMetrics;
+	private final Thread writerThread;
+	private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+	private final CountDownLatch terminated = new CountDownLatch(1);
+	private volatile boolean closed;
+
+	private final LongAdder writtenCount = new LongAdder();
+	private final LongAdder flushCount = new LongAdder();
+	private final LongAdder flushNanos = new LongAdder();
+	private final AtomicLong maxFlushNanos = new AtomicLong();
+	private final LongAdder blockedCount = new LongAdder();
+	private final LongAdder failedCount = new LongAdder();
+
+	public PointHistoryWriter(PointHistoryTable pointHistoryTable, int queueCapacity, int maxBatchSize,
+		PointMetrics pointMetrics) {
+		this.pointHistoryTable = pointHistoryTable;
+		this.queue = new ArrayBlockingQueue<>(queueCapacity);
+		this.maxBatchSize = maxBatchSize;
+		this.pointMetrics = pointMetrics;
+		this.writerThread = new Thread(this::run, "point-history-writer");
+		this.writerThread.setDaemon(true);
+		this.writerThread.start();
+	}
+
+	/**
+	 * 이력 기록 요청
+	 * 대기열이 가득 차 있으면 자리가 생길 때까지 기다리고,
+	 * 종료된 뒤에는 대기열에 남은 이력이 모두 기록되기를 기다렸다가 호출한 스레드에서 기록하여 유저별 기록 순서를 지킴
+	 * @param pointHistory 기록할 포인트 이력
+	 */
+	public void write(PointHistory pointHistory) {
+		write(pointHistory, null);
+	}
+
+	/**
+	 * 테이블에 기록되면 완료되는 이력 기록 요청
+	 * 기록에 실패해도 비동기 기록과 같이 실패 수만 세고 future 는 완료함
+	 * @param pointHistory 기록할 포인트 이력
+	 * @param written 테이블 기록이 끝나면 완료할 future (기다리지 않으면 null)
+	 */
+	public void write(PointHistory pointHistory, CompletableFuture<Void> written) {
+		Pending pending = new Pending(pointHistory, written);
+		if (enqueue(pending))
+			return;
+
+		if (closed) {
+			try {
+				terminated.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		insert(List.of(pending));
+	}
+
+	/**
+	 * 종료 전이면 대기열에 넣음
+	 * 읽기 락을 잡은 채 기다리지만 기록 스레드는 락 없이 대기열을 비우므로 close 는 기다리던 이력이 들어간 뒤 진행됨
+	 * @return 대기열에 넣었으면 true, 종료되었거나 기다리다 인터럽트되어 호출한 스레드가 직접 기록해야 하면 false
+	 */
+	private boolean enqueue(Pending pending) {
+		closeLock.readLock().lock();
+		try {
+			if (closed)
+				return false;
+
+			if (queue.offer(pending))
+				return true;
+
+			blockedCount.increment();
+			queue.put(pending);
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} finally {
+			closeLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * 새 이력을 더 받지 않고 대기열에 남은 이력을 모두 기록한 뒤 반환
+	 */
+	@Override
+	public void close() {
+		closeLock.writeLock().lock();
+		try {
+			closed = true;
+		} finally {
+			closeLock.writeLock().unlock();
+		}
+
+		try {
+			writerThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		// 기록 스레드가 인터럽트되어 먼저 끝났으면 남은 이력을 직접 기록
+		List<Pending> remaining = new ArrayList<>();
+		queue.drainTo(remaining);
+		if (!remaining.isEmpty())
+			insert(remaining);
+		terminated.countDown();
+	}
+
+	public Stats stats() {
+		return new Stats(queue.size(), writtenCount.sum(), flushCount.sum(), flushNanos.sum(), maxFlushNanos.get(),
+			blockedCount.sum(), failedCount.sum());
+	}
+
+	private void run() {
+		List<Pending> batch = new ArrayList<>(maxBatchSize);
+		while (!closed || !queue.isEmpty()) {
+			try {
+				Pending first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+				if (first == null)
+					continue;
+
+				batch.add(first);
+				queue.drainTo(batch, maxBatchSize - 1);
+				insert(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	/**
+	 * PointHistoryTable 에는 일괄 저장 API 가 없으므로 모은 이력을 순서대로 한건씩 기록
+	 */
+	private void insert(List<Pending> batch) {
+		long startNanos = System.nanoTime();
+		for (Pending pending : batch) {
+			PointHistory pointHistory = pending.pointHistory();
+			long insertStartNanos = System.nanoTime();
+			try {
+				pointHistoryTable.insert(pointHistory.userId(), pointHistory.amount(), pointHistory.type(),
+					pointHistory.updateMillis());
+				pointMetrics.recordPointHistoryInsert(System.nanoTime() - insertStartNanos);
+				writtenCount.increment();
+			} catch (RuntimeException e) {
+				failedCount.increment();
+				log.error("포인트 이력 기록에 실패했습니다. (id {})", pointHistory.id(), e);
+			}
+			if (pending.written() != null)
+				pending.written().complete(null);
+		}
+
+		long elapsedNanos = System.nanoTime() - startNanos;
+		flushCount.increment();
+		flushNanos.add(elapsedNanos);
+		maxFlushNanos.accumulateAndGet(elapsedNanos, Math::max);
+	}
+
+	/**
+	 * 기록 대기 중인 이력
+	 * @param written 테이블 기록이 끝나면 완료할 future (기다리지 않으면 null)
+	 */
+	private record Pending(
+		PointHistory pointHistory,
+		CompletableFuture<Void> written
+	) {
+	}
+
+	/**
+	 * 이력 테이블 기록 통계
+	 * @param queueDepth 기록 대기 중인 이력 수
+	 * @param writtenCount 테이블에 기록한 이력 수
+	 * @param flushCount 대기열에서 꺼내 기록한 횟수
+	 * @param flushNanos 기록에 걸린 시간 합계
+	 * @param maxFlushNanos 한번 기록에 걸린 최대 시간
+	 * @param blockedCount 대기열이 가득 차 기다린 횟수
+	 * @param failedCount 테이블 기록에 실패한 이력 수
+	 */
+	public record Stats(
+		int queueDepth,
+		long writtenCount,
+		long flushCount,
+		long flushNanos,
+		long maxFlushNanos,
+		long blockedCount,
+		long failedCount
+	) {
+	}
+}
@@ -0,0 +1,211 @@
+package io.hhplus.tdd.database;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 유저 포인트 잔액 캐시
+ * - 세그먼트별 LRU(접근 순서) 로 최대 크기를 넘으면 가장 오래 접근하지 않은 유저부터 제거
+ * - 마지막 접근 후 expireAfterAccess 가 지난 유저도 제거
+ * - 조회 중 같은 세그먼트에 쓰기가 있었다면 조회 결과로 캐시를 채우지 않아 오래된 값이 덮어쓰지 않음
+ */
+public class UserPointCache {
+
+	private static final int SEGMENT_COUNT = 32;
+
+	private final Segment[] segments = new Segment[SEGMENT_COUNT];
+	private final long expireAfterAccessNanos;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+
+	public UserPointCache(long maximumSize, Duration expireAfterAccess) {
+		int segmentCapacity = (int)Math.max(1, (maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+		for (int i = 0; i < SEGMENT_COUNT; i++)
+			segments[i] = new Segment(segmentCapacity);
+		this.expireAfterAccessNanos = expireAfterAccess.toNanos();
+	}
+
+	/**
+	 * 캐시된 유저 포인트 조회
+	 * @param id 유저 ID
+	 * @return 캐시된 유저 포인트, 없거나 만료되었으면 null
+	 */
+	public UserPoint get(long id) {
+		Segment segment = segmentFor(id);
+		long now = System.nanoTime();
+
+		segment.lock.lock();
+		try {
+			Entry entry = segment.entries.get(id);
+			if (entry == null) {
+				missCount.increment();
+				return null;
+			}
+
+			if (now - entry.lastAccessNanos > expireAfterAccessNanos) {
+				segment.entries.remove(id);
+				evictionCount.increment();
+				missCount.increment();
+				return null;
+			}
+
+			entry.lastAccessNanos = now;
+			hitCount.increment();
+			return entry.userPoint;
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * 조회 전 세그먼트 쓰기 버전
+	 * 조회한 값으로 캐시를 채울 때 putIfUnchanged 에 그대로 전달
+	 * @param id 유저 ID
+	 * @return 세그먼트 쓰기 버전
+	 */
+	public long writeVersion(long id) {
+		Segment segment = segmentFor(id);
+
+		segment.lock.lock();
+		try {
+			return segment.writeVersion;
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * 쓰기 후 캐시 갱신
+	 * @param id 유저 ID
+	 * @param userPoint 저장된 유저 포인트
+	 */
+	public void put(long id, UserPoint userPoint) {
+		Segment segment = segmentFor(id);
+
+		segment.lock.lock();
+		try {
+			segment.writeVersion++;
+			store(segment, id, userPoint);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	/**
+	 * 조회한 값으로 캐시 채우기
+	 * 조회하는 동안 같은 세그먼트에 쓰기가 있었다면 더 최신 값이 있을 수 있으므로 채우지 않음
+	 * @param id 유저 ID
+	 * @param userPoint 조회한 유저 포인트
+	 * @param writeVersion 조회 전 writeVersion 으로 얻은 값
+	 */
+	public void putIfUnchanged(long id, UserPoint userPoint, long writeVersion) {
+		Segment segment = segmentFor(id);
+
+		segment.lock.lock();
+		try {
+			if (segment.writeVersion == writeVersion)
+				store(segment, id, userPoint);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	public void invalidate(long id) {
+		Segment segment = segmentFor(id);
+
+		segment.lock.lock();
+		try {
+			segment.writeVersion++;
+			segment.entries.remove(id);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	public long size() {
+		long size = 0;
+		for (Segment segment : segments) {
+			segment.lock.lock();
+			try {
+				size += segment.entries.size();
+			} finally {
+				segment.lock.unlock();
+			}
+		}
+		return size;
+	}
+
+	public Stats stats() {
+		return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum(), size());
+	}
+
+	private void store(Segment segment, long id, UserPoint userPoint) {
+		long now = System.nanoTime();
+		segment.entries.put(id, new Entry(userPoint, now));
+
+		// 접근 순서이므로 앞쪽부터 용량 초과분과 만료된 항목만 확인하면 됨
+		Iterator<Entry> iterator = segment.entries.values().iterator();
+		while (iterator.hasNext()) {
+			Entry eldest = iterator.next();
+			boolean overCapacity = segment.entries.size() > segment.capacity;
+			boolean expired = now - eldest.lastAccessNanos > expireAfterAccessNanos;
+			if (!overCapacity && !expired)
+				break;
+
+			iterator.remove();
+			evictionCount.increment();
+		}
+	}
+
+	private Segment segmentFor(long id) {
+		int hash = Long.hashCode(id);
+		hash ^= hash >>> 16;
+		return segments[hash & (SEGMENT_COUNT - 1)];
+	}
+
+	/**
+	 * 캐시 통계
+	 * @param hitCount 캐시 적중 횟수
+	 * @param missCount 캐시 미스 횟수
+	 * @param evictionCount 용량 초과 또는 만료로 제거된 횟수
+	 * @param size 현재 캐시된 유저 수
+	 */
+	public record Stats(
+		long hitCount,
+		long missCount,
+		long evictionCount,
+		long size
+	) {
+	}
+
+	private static class Segment {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Map<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+		private final int capacity;
+		private long writeVersion;
+
+		private Segment(int capacity) {
+			this.capacity = capacity;
+		}
+	}
+
+	private static class Entry {
+
+		private final UserPoint userPoint;
+		private long lastAccessNanos;
+
+		private Entry(UserPoint userPoint, long lastAccessNanos) {
+			this.userPoint = userPoint;
+			this.lastAccessNanos = lastAccessNanos;
+		}
+	}
+}
@@ -0,0 +1,180 @@
+package io.hhplus.tdd.database;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * UserPointTable 앞단의 잔액 캐시
+ * - UserPointTable 에 쓰는 곳은 이 저장소뿐이므로 캐시를 신뢰할 수 있는 값으로 사용
+ * - 조회 시 캐시에 없으면 테이블에서 읽어 채우고, 저장 시 테이블에 쓴 결과로 캐시를 갱신
+ * - save 는 유저 락 안에서 호출되어야 캐시와 테이블의 순서가 어긋나지 않음
+ * - WAL 을 사용하면 저장할 때마다 기록하고, 모든 유저의 최신 잔액을 메모리에 따로 유지하여 테이블보다 먼저 조회
+ *   (시작할 때 WAL 로 복구하며 스냅샷의 원본으로도 사용, 유저 수만큼 객체를 두지 않도록 UserPointStore 에 보관)
+ * - 같은 유저를 동시에 테이블에서 조회하면 먼저 시작한 조회 한번의 결과를 함께 사용 (point.cache.coalesce-loads)
+ * - 테이블 호출 시간은 PointMetrics 로 기록
+ */
+@Component
+public class UserPointRepository {
+
+	private final UserPointTable userPointTable;
+	private final WriteAheadLog writeAheadLog;
+	private final UserPointCache userPointCache;
+	private final boolean cacheEnabled;
+	private final boolean coalesceLoads;
+	private final PointMetrics pointMetrics;
+
+	private final UserPointStore durablePoints = new UserPointStore();
+	private final ConcurrentHashMap<Long, CompletableFuture<UserPoint>> inFlightLoads = new ConcurrentHashMap<>();
+	private final LongAdder selectCount = new LongAdder();
+	private final LongAdder coalescedCount = new LongAdder();
+
+	public UserPointRepository(UserPointTable userPointTable, WriteAheadLog writeAheadLog,
+		PointProperties pointProperties, PointMetrics pointMetrics) {
+		PointProperties.Cache cache = pointProperties.getCache();
+
+		this.userPointTable = userPointTable;
+		this.writeAheadLog = writeAheadLog;
+		this.pointMetrics = pointMetrics;
+		this.userPointCache = new UserPointCache(cache.getMaximumSize(), cache.getExpireAfterAccess());
+		this.cacheEnabled = cache.isEnabled();
+		this.coalesceLoads = cache.isCoalesceLoads();
+
+		writeAheadLog.replayBalances(durablePoints::put);
+	}
+
+	/**
+	 * 유저 포인트 조회
+	 * @param id 조회할 유저 ID
+	 * @return 조회한 유저 포인트
+	 */
+	public UserPoint findById(long id) {
+		if (cacheEnabled) {
+			UserPoint cached = userPointCache.get(id);
+			if (cached != null)
+				return cached;
+		}
+
+		if (writeAheadLog.isEnabled()) {
+			UserPoint durable = durablePoints.get(id);
+			if (durable != null)
+				return durable;
+		}
+
+		if (!coalesceLoads)
+			return load(id);
+
+		CompletableFuture<UserPoint> loading = new CompletableFuture<>();
+		CompletableFuture<UserPoint> inFlight = inFlightLoads.putIfAbsent(id, loading);
+		if (inFlight != null) {
+			coalescedCount.increment();
+			return join(inFlight);
+		}
+
+		try {
+			UserPoint userPoint = load(id);
+			loading.complete(userPoint);
+			return userPoint;
+		} catch (RuntimeException | Error e) {
+			loading.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlightLoads.remove(id, loading);
+		}
+	}
+
+	/**
+	 * 유저 포인트 저장 후 캐시 갱신
+	 * @param id 저장할 유저 ID
+	 * @param point 저장할 포인트
+	 * @return 저장된 유저 포인트
+	 */
+	public UserPoint save(long id, long point) {
+		long startNanos = System.nanoTime();
+		UserPoint userPoint = userPointTable.insertOrUpdate(id, point);
+		pointMetrics.recordUserPointUpdate(System.nanoTime() - startNanos);
+
+		// 스냅샷이 WAL 위치를 정한 뒤 잔액을 읽으므로, WAL 에 기록하기 전에 메모리 잔액을 먼저 갱신해야 함
+		if (writeAheadLog.isEnabled()) {
+			durablePoints.put(userPoint);
+			writeAheadLog.sync(writeAheadLog.appendBalance(userPoint));
+		}
+
+		if (cacheEnabled)
+			userPointCache.put(id, userPoint);
+
+		// 저장 전에 시작한 조회에는 이후 요청이 합류하지 않도록 떼어냄
+		if (coalesceLoads)
+			inFlightLoads.remove(id);
+
+		return userPoint;
+	}
+
+	public UserPointCache.Stats cacheStats() {
+		return userPointCache.stats();
+	}
+
+	public LoadStats loadStats() {
+		return new LoadStats(selectCount.sum(), coalescedCount.sum(), inFlightLoads.size());
+	}
+
+	/**
+	 * @return WAL 에 기록된 유저별 최신 잔액 (스냅샷 원본, 순회 중에도 변경될 수 있음)
+	 */
+	public Iterable<UserPoint> durablePoints() {
+		return durablePoints::iterator;
+	}
+
+	/**
+	 * 테이블에서 읽어 캐시 채우기
+	 */
+	private UserPoint load(long id) {
+		if (!cacheEnabled)
+			return select(id);
+
+		long writeVersion = userPointCache.writeVersion(id);
+		UserPoint userPoint = select(id);
+		userPointCache.putIfUnchanged(id, userPoint, writeVersion);
+
+		return userPoint;
+	}
+
+	private UserPoint select(long id) {
+		selectCount.increment();
+		long startNanos = System.nanoTime();
+		UserPoint userPoint = userPointTable.selectById(id);
+		pointMetrics.recordUserPointSelect(System.nanoTime() - startNanos);
+
+		return userPoint;
+	}
+
+	private static UserPoint join(CompletableFuture<UserPoint> inFlight) {
+		try {
+			return inFlight.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause)
+				throw cause;
+			throw e;
+		}
+	}
+
+	/**
+	 * 테이블 조회 통계
+	 * @param selectCount 테이블을 조회한 횟수
+	 * @param coalescedCount 진행 중인 같은 유저 조회의 결과를 함께 사용한 횟수
+	 * @param inFlight 현재 진행 중인 조회 수
+	 */
+	public record LoadStats(
+		long selectCount,
+		long coalescedCount,
+		long inFlight
+	) {
+	}
+}
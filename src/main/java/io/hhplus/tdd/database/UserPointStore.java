@@ -0,0 +1,302 @@
+package io.hhplus.tdd.database;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.StampedLock;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * long 유저 ID 로 찾는 잔액 저장소
+ * - 유저마다 Long 키와 UserPoint 객체를 두는 대신 세그먼트별 long[] 하나에 [id, point, updateMillis] 를 이어서 저장 (오픈 어드레싱, 선형 탐사)
+ * - 배열 안에 참조가 없어 GC 가 유저 수만큼 객체를 따라가지 않으며, 유저당 24B / 적재율 만큼만 사용
+ * - UserPoint 는 조회 결과로 돌려줄 때만 만들어짐
+ * - 쓰기는 세그먼트 락, 조회는 낙관적 읽기 후 쓰기와 겹쳤을 때만 읽기 락으로 다시 읽음
+ * - 삭제는 지원하지 않음 (잔액은 한번 생기면 사라지지 않음)
+ */
+public class UserPointStore implements Iterable<UserPoint> {
+
+	private static final int SEGMENT_COUNT = 64;
+	private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(SEGMENT_COUNT);
+	private static final int STRIDE = 3;
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int MAXIMUM_CAPACITY = 1 << 29;
+	private static final long EMPTY = 0;
+	private static final int ITERATOR_CHUNK = 1024;
+
+	private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+	public UserPointStore() {
+		this(0);
+	}
+
+	/**
+	 * @param expectedSize 예상 유저 수 (미리 공간을 잡아 중간 확장을 줄임)
+	 */
+	public UserPointStore(long expectedSize) {
+		long perSegment = (expectedSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT;
+		for (int i = 0; i < SEGMENT_COUNT; i++)
+			segments[i] = new Segment(capacityFor(perSegment));
+	}
+
+	/**
+	 * @param id 유저 ID
+	 * @return 저장된 유저 포인트, 없으면 null
+	 */
+	public UserPoint get(long id) {
+		long hash = hash(id);
+		Segment segment = segments[(int)(hash >>> SEGMENT_SHIFT)];
+
+		long stamp = segment.lock.tryOptimisticRead();
+		if (stamp != 0) {
+			UserPoint userPoint = segment.find(id, hash);
+			if (segment.lock.validate(stamp))
+				return userPoint;
+		}
+
+		stamp = segment.lock.readLock();
+		try {
+			return segment.find(id, hash);
+		} finally {
+			segment.lock.unlockRead(stamp);
+		}
+	}
+
+	public void put(UserPoint userPoint) {
+		put(userPoint.id(), userPoint.point(), userPoint.updateMillis());
+	}
+
+	public void put(long id, long point, long updateMillis) {
+		long hash = hash(id);
+		Segment segment = segments[(int)(hash >>> SEGMENT_SHIFT)];
+
+		long stamp = segment.lock.writeLock();
+		try {
+			segment.put(id, hash, point, updateMillis);
+		} finally {
+			segment.lock.unlockWrite(stamp);
+		}
+	}
+
+	public long size() {
+		long size = 0;
+		for (Segment segment : segments) {
+			long stamp = segment.lock.readLock();
+			try {
+				size += segment.size + (segment.hasZero ? 1 : 0);
+			} finally {
+				segment.lock.unlockRead(stamp);
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * 할당된 슬롯 배열 크기 합 (메모리 사용량 확인용)
+	 */
+	public long allocatedBytes() {
+		long bytes = 0;
+		for (Segment segment : segments) {
+			long stamp = segment.lock.readLock();
+			try {
+				bytes += (long)segment.slots.length * Long.BYTES;
+			} finally {
+				segment.lock.unlockRead(stamp);
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * 전체 유저 순회
+	 * - 세그먼트 일부씩 읽기 락 안에서 복사하므로 순회 중에도 쓰기가 오래 막히지 않음
+	 * - 순회 중 변경된 유저는 변경 전 또는 후 값 중 하나로 나오고, 세그먼트가 확장되면 그 세그먼트를 처음부터 다시 읽어
+	 *   같은 유저가 한번 더 나올 수 있음 (뒤에 나온 값이 더 최신)
+	 */
+	@Override
+	public Iterator<UserPoint> iterator() {
+		return new ChunkIterator();
+	}
+
+	/**
+	 * 유저 ID 를 섞어 상위 비트로 세그먼트, 하위 비트로 슬롯을 고름 (연속된 ID 도 고르게 퍼지도록)
+	 */
+	private static long hash(long id) {
+		long hash = id * 0x9E3779B97F4A7C15L;
+		return hash ^ (hash >>> 32);
+	}
+
+	private static int capacityFor(long size) {
+		// 적재율 3/4 이하 유지
+		long required = Math.max(INITIAL_CAPACITY, size + size / 3 + 1);
+		if (required > MAXIMUM_CAPACITY)
+			throw new IllegalStateException("UserPointStore segment capacity exceeded: " + size);
+		return Integer.highestOneBit((int)required - 1) << 1;
+	}
+
+	private static class Segment {
+
+		private final StampedLock lock = new StampedLock();
+		private long[] slots;
+		private int size;
+		private int resizeCount;
+
+		// 빈 슬롯 표시로 0 을 쓰므로 ID 0 은 따로 보관
+		private boolean hasZero;
+		private long zeroPoint;
+		private long zeroUpdateMillis;
+
+		private Segment(int capacity) {
+			this.slots = new long[capacity * STRIDE];
+		}
+
+		/**
+		 * 락 없이 불릴 수 있으므로 필드를 한번만 읽고, 쓰기와 겹쳐 깨진 값을 읽어도 끝나도록 탐사 횟수를 용량으로 제한
+		 */
+		private UserPoint find(long id, long hash) {
+			if (id == EMPTY)
+				return hasZero ? new UserPoint(id, zeroPoint, zeroUpdateMillis) : null;
+
+			long[] slots = this.slots;
+			int capacity = slots.length / STRIDE;
+			int mask = capacity - 1;
+			int index = (int)hash & mask;
+			for (int probe = 0; probe < capacity; probe++) {
+				int offset = index * STRIDE;
+				long key = slots[offset];
+				if (key == id)
+					return new UserPoint(id, slots[offset + 1], slots[offset + 2]);
+				if (key == EMPTY)
+					return null;
+				index = (index + 1) & mask;
+			}
+			return null;
+		}
+
+		private void put(long id, long hash, long point, long updateMillis) {
+			if (id == EMPTY) {
+				hasZero = true;
+				zeroPoint = point;
+				zeroUpdateMillis = updateMillis;
+				return;
+			}
+
+			if (insert(slots, id, hash, point, updateMillis))
+				size++;
+
+			if (size > slots.length / STRIDE / 4 * 3)
+				resize();
+		}
+
+		private void resize() {
+			int capacity = slots.length / STRIDE;
+			if (capacity >= MAXIMUM_CAPACITY)
+				throw new IllegalStateException("UserPointStore segment capacity exceeded: " + size);
+
+			long[] resized = new long[capacity * 2 * STRIDE];
+			for (int offset = 0; offset < slots.length; offset += STRIDE) {
+				long key = slots[offset];
+				if (key != EMPTY)
+					insert(resized, key, hash(key), slots[offset + 1], slots[offset + 2]);
+			}
+			slots = resized;
+			resizeCount++;
+		}
+
+		/**
+		 * @return 새 유저가 추가되었으면 true, 기존 유저를 갱신했으면 false
+		 */
+		private static boolean insert(long[] slots, long id, long hash, long point, long updateMillis) {
+			int mask = slots.length / STRIDE - 1;
+			int index = (int)hash & mask;
+			while (true) {
+				int offset = index * STRIDE;
+				long key = slots[offset];
+				if (key == id || key == EMPTY) {
+					slots[offset] = id;
+					slots[offset + 1] = point;
+					slots[offset + 2] = updateMillis;
+					return key == EMPTY;
+				}
+				index = (index + 1) & mask;
+			}
+		}
+	}
+
+	/**
+	 * 세그먼트를 ITERATOR_CHUNK 슬롯씩 읽기 락 안에서 복사해 순회
+	 */
+	private class ChunkIterator implements Iterator<UserPoint> {
+
+		private final long[] buffer = new long[ITERATOR_CHUNK * STRIDE];
+		private int bufferSize;
+		private int bufferIndex;
+
+		private int segmentIndex;
+		private int slotIndex = -1;
+		private int resizeCount;
+
+		@Override
+		public boolean hasNext() {
+			while (bufferIndex == bufferSize) {
+				if (segmentIndex == SEGMENT_COUNT)
+					return false;
+				fill(segments[segmentIndex]);
+			}
+			return true;
+		}
+
+		@Override
+		public UserPoint next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+
+			int offset = bufferIndex++ * STRIDE;
+			return new UserPoint(buffer[offset], buffer[offset + 1], buffer[offset + 2]);
+		}
+
+		private void fill(Segment segment) {
+			bufferSize = 0;
+			bufferIndex = 0;
+
+			long stamp = segment.lock.readLock();
+			try {
+				// slotIndex -1 은 세그먼트의 ID 0 자리
+				if (slotIndex < 0) {
+					resizeCount = segment.resizeCount;
+					if (segment.hasZero)
+						append(EMPTY, segment.zeroPoint, segment.zeroUpdateMillis);
+					slotIndex = 0;
+					return;
+				}
+
+				if (segment.resizeCount != resizeCount) {
+					resizeCount = segment.resizeCount;
+					slotIndex = 0;
+				}
+
+				long[] slots = segment.slots;
+				int end = Math.min(slots.length, (slotIndex + ITERATOR_CHUNK) * STRIDE);
+				for (int offset = slotIndex * STRIDE; offset < end; offset += STRIDE) {
+					if (slots[offset] != EMPTY)
+						append(slots[offset], slots[offset + 1], slots[offset + 2]);
+				}
+				slotIndex = end / STRIDE;
+
+				if (end == slots.length) {
+					segmentIndex++;
+					slotIndex = -1;
+				}
+			} finally {
+				segment.lock.unlockRead(stamp);
+			}
+		}
+
+		private void append(long id, long point, long updateMillis) {
+			int offset = bufferSize++ * STRIDE;
+			buffer[offset] = id;
+			buffer[offset + 1] = point;
+			buffer[offset + 2] = updateMillis;
+		}
+	}
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.database;
+
+/**
+ * WAL 을 디스크에 반영(fsync)하는 시점
+ * - PER_OP : 기록할 때마다 바로 반영하고 반환
+ * - GROUP : 기록 후 반영을 기다리되, 동시에 기다리는 기록들을 한번의 반영으로 묶음
+ * - INTERVAL : 기록 즉시 반환하고 백그라운드에서 주기적으로 반영 (장애시 마지막 주기의 기록은 유실될 수 있음)
+ */
+public enum WalFsyncPolicy {
+	PER_OP, GROUP, INTERVAL
+}
@@ -0,0 +1,231 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * WAL 세그먼트 파일 하나
+ * - 파일 전체를 미리 할당하여 메모리 매핑하고, 레코드는 [길이 4B][CRC32C 4B][본문] 형식으로 이어서 기록
+ * - 본문과 CRC 를 먼저 쓰고 길이를 마지막에 써서, 길이가 0 이면 기록의 끝으로 판단
+ * - 파일 이름은 세그먼트 첫 레코드의 로그 위치(전체 로그에서의 바이트 위치)
+ * - 압축(compact)된 세그먼트는 남길 레코드만 담은 크기로 다시 쓰이며 더 이상 기록하지 않음
+ */
+class WalSegment implements AutoCloseable {
+
+	static final int HEADER_SIZE = 8;
+	static final String SUFFIX = ".wal";
+
+	private final long basePosition;
+	private final Path path;
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private int writeOffset;
+	private boolean compacted;
+
+	private WalSegment(long basePosition, Path path, FileChannel channel, MappedByteBuffer buffer) {
+		this.basePosition = basePosition;
+		this.path = path;
+		this.channel = channel;
+		this.buffer = buffer;
+	}
+
+	/**
+	 * @param size 매핑할 최소 크기 (0 이면 파일 크기만큼만 매핑)
+	 */
+	static WalSegment open(Path directory, long basePosition, int size) {
+		Path path = directory.resolve(fileName(basePosition));
+		try {
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+			int mappedSize = (int)Math.max(size, channel.size());
+			return new WalSegment(basePosition, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0,
+				mappedSize));
+		} catch (IOException e) {
+			throw new UncheckedIOException("WAL 세그먼트를 열 수 없습니다. (" + path + ")", e);
+		}
+	}
+
+	static String fileName(long basePosition) {
+		return String.format("%020d%s", basePosition, SUFFIX);
+	}
+
+	static long basePosition(Path path) {
+		String fileName = path.getFileName().toString();
+		return Long.parseLong(fileName.substring(0, fileName.length() - SUFFIX.length()));
+	}
+
+	/**
+	 * 기록된 레코드를 처음부터 검증하며 읽고, 검증된 마지막 레코드 다음 위치를 쓰기 위치로 정함
+	 * @return 끝까지 정상이면 true, 중간에 잘렸거나 CRC 가 맞지 않는 레코드가 있으면 false
+	 */
+	boolean recover() {
+		CRC32C crc = new CRC32C();
+		int offset = 0;
+		boolean clean = true;
+
+		while (offset + HEADER_SIZE <= buffer.capacity()) {
+			int length = buffer.getInt(offset);
+			if (length == 0)
+				break;
+
+			if (length < 0 || offset + HEADER_SIZE + length > buffer.capacity()) {
+				clean = false;
+				break;
+			}
+
+			crc.reset();
+			crc.update(buffer.slice(offset + HEADER_SIZE, length));
+			if ((int)crc.getValue() != buffer.getInt(offset + Integer.BYTES)) {
+				clean = false;
+				break;
+			}
+
+			offset += HEADER_SIZE + length;
+		}
+
+		writeOffset = offset;
+		return clean;
+	}
+
+	/**
+	 * 검증이 끝난 레코드를 순서대로 읽음
+	 * @param endOffset 읽을 끝 위치 (세그먼트 내 위치)
+	 * @param visitor 레코드 본문을 받을 visitor
+	 */
+	void read(int endOffset, PayloadVisitor visitor) {
+		// 레코드마다 slice 를 만들지 않고 하나의 view 를 옮겨가며 읽음
+		ByteBuffer view = buffer.duplicate();
+		int offset = 0;
+		while (offset < endOffset) {
+			int start = offset + HEADER_SIZE;
+			int end = start + buffer.getInt(offset);
+			view.limit(end).position(start);
+			visitor.visit(view);
+			offset = end;
+		}
+	}
+
+	/**
+	 * 쓰기 위치 뒤에 남은 손상된 기록을 지워, 새 레코드 뒤에 예전 기록이 이어서 읽히지 않도록 함
+	 */
+	void truncateTail() {
+		for (int i = writeOffset; i < buffer.capacity(); i++)
+			buffer.put(i, (byte)0);
+		force(writeOffset, buffer.capacity() - writeOffset);
+	}
+
+	/**
+	 * 레코드 본문 첫 바이트(레코드 종류)가 kind 인 레코드만 헤더와 CRC 를 포함해 그대로 복사
+	 * @return 복사한 바이트 수
+	 */
+	long copyTo(FileChannel target, byte kind) throws IOException {
+		ByteBuffer staging = ByteBuffer.allocateDirect(1 << 20);
+		ByteBuffer view = buffer.duplicate();
+		long copied = 0;
+		int offset = 0;
+
+		while (offset < writeOffset) {
+			int end = offset + HEADER_SIZE + buffer.getInt(offset);
+			if (buffer.get(offset + HEADER_SIZE) == kind) {
+				if (staging.remaining() < end - offset)
+					drain(target, staging);
+				staging.put(view.limit(end).position(offset));
+				copied += end - offset;
+			}
+			offset = end;
+		}
+
+		drain(target, staging);
+		return copied;
+	}
+
+	boolean hasRoom(int payloadLength) {
+		return writeOffset + HEADER_SIZE + payloadLength <= buffer.capacity();
+	}
+
+	/**
+	 * 레코드 본문을 쓸 자리를 받아 writer 로 채운 뒤 CRC 와 길이를 기록
+	 * @return 기록한 레코드의 세그먼트 내 시작 위치
+	 */
+	int append(int payloadLength, PayloadWriter writer) {
+		int offset = writeOffset;
+		ByteBuffer payload = buffer.slice(offset + HEADER_SIZE, payloadLength);
+		writer.write(payload);
+
+		CRC32C crc = new CRC32C();
+		crc.update(payload.flip());
+		buffer.putInt(offset + Integer.BYTES, (int)crc.getValue());
+		buffer.putInt(offset, payloadLength);
+
+		writeOffset = offset + HEADER_SIZE + payloadLength;
+		return offset;
+	}
+
+	void force(int offset, int length) {
+		if (length > 0)
+			buffer.force(offset, length);
+	}
+
+	boolean isCompacted() {
+		return compacted;
+	}
+
+	void markCompacted() {
+		compacted = true;
+	}
+
+	int capacity() {
+		return buffer.capacity();
+	}
+
+	long basePosition() {
+		return basePosition;
+	}
+
+	/**
+	 * @return 세그먼트 끝(다음 레코드가 기록될 위치)의 로그 위치
+	 */
+	long endPosition() {
+		return basePosition + writeOffset;
+	}
+
+	int writeOffset() {
+		return writeOffset;
+	}
+
+	Path path() {
+		return path;
+	}
+
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static void drain(FileChannel target, ByteBuffer staging) throws IOException {
+		staging.flip();
+		while (staging.hasRemaining())
+			target.write(staging);
+		staging.clear();
+	}
+
+	@FunctionalInterface
+	interface PayloadWriter {
+		void write(ByteBuffer payload);
+	}
+
+	@FunctionalInterface
+	interface PayloadVisitor {
+		void visit(ByteBuffer payload);
+	}
+}
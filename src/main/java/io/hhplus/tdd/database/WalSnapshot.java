@@ -0,0 +1,149 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 전체 유저 잔액 스냅샷 파일
+ * - [헤더 24B: 매직, 버전, WAL 위치, 마지막 이력 ID][잔액 24B * n][개수 8B][CRC32C 4B]
+ * - 임시 파일에 모두 쓰고 디스크에 반영한 뒤 이름을 바꿔, 완성된 스냅샷만 보이도록 함
+ * - 파일 이름은 스냅샷을 시작한 WAL 위치이며, 이 위치 이후의 잔액 레코드만 다시 읽으면 됨
+ */
+final class WalSnapshot {
+
+	static final String SUFFIX = ".snapshot";
+
+	private static final int MAGIC = 0x50534E50;
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 2;
+	private static final int ENTRY_SIZE = Long.BYTES * 3;
+	private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+	private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+	private WalSnapshot() {
+	}
+
+	static String fileName(long walPosition) {
+		return String.format("%020d%s", walPosition, SUFFIX);
+	}
+
+	static long walPosition(Path path) {
+		String fileName = path.getFileName().toString();
+		return Long.parseLong(fileName.substring(0, fileName.length() - SUFFIX.length()));
+	}
+
+	/**
+	 * 스냅샷 기록
+	 * 잔액은 유저마다 변경이 끝난 값을 하나씩 읽으므로 기록 중에도 잔액 변경을 멈추지 않음
+	 * @param directory 스냅샷 디렉토리
+	 * @param walPosition 잔액을 읽기 시작하기 전의 WAL 위치
+	 * @param lastHistoryId 잔액을 읽기 시작하기 전의 마지막 이력 ID
+	 * @param userPoints 유저별 최신 잔액
+	 * @return 기록한 잔액 수
+	 */
+	static long write(Path directory, long walPosition, long lastHistoryId, Iterable<UserPoint> userPoints) {
+		Path path = directory.resolve(fileName(walPosition));
+		Path temporary = directory.resolve(fileName(walPosition) + ".tmp");
+		CRC32C crc = new CRC32C();
+		long count = 0;
+
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+			StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+			buffer.putInt(MAGIC).putInt(VERSION).putLong(walPosition).putLong(lastHistoryId);
+
+			for (UserPoint userPoint : userPoints) {
+				if (buffer.remaining() < ENTRY_SIZE)
+					flush(channel, buffer, crc);
+				buffer.putLong(userPoint.id()).putLong(userPoint.point()).putLong(userPoint.updateMillis());
+				count++;
+			}
+
+			if (buffer.remaining() < TRAILER_SIZE)
+				flush(channel, buffer, crc);
+			buffer.putLong(count);
+			flush(channel, buffer, crc);
+			buffer.putInt((int)crc.getValue());
+			flush(channel, buffer, crc);
+
+			channel.force(true);
+		} catch (IOException e) {
+			throw new UncheckedIOException("스냅샷을 기록할 수 없습니다. (" + temporary + ")", e);
+		}
+
+		try {
+			Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException("스냅샷을 기록할 수 없습니다. (" + path + ")", e);
+		}
+
+		return count;
+	}
+
+	/**
+	 * 스냅샷 읽기
+	 * 전체 CRC 를 먼저 확인하고, 정상일 때만 잔액을 전달함
+	 * @param path 스냅샷 파일
+	 * @param handler 잔액 처리
+	 * @return 스냅샷 헤더, 손상되었으면 null
+	 */
+	static Header read(Path path, Consumer<UserPoint> handler) {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size < HEADER_SIZE + TRAILER_SIZE || (size - HEADER_SIZE - TRAILER_SIZE) % ENTRY_SIZE != 0)
+				return null;
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			CRC32C crc = new CRC32C();
+			crc.update(buffer.slice(0, (int)size - Integer.BYTES));
+			if ((int)crc.getValue() != buffer.getInt((int)size - Integer.BYTES))
+				return null;
+
+			long count = buffer.getLong((int)size - TRAILER_SIZE);
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION
+				|| count != (size - HEADER_SIZE - TRAILER_SIZE) / ENTRY_SIZE)
+				return null;
+
+			Header header = new Header(buffer.getLong(Integer.BYTES * 2), buffer.getLong(Integer.BYTES * 2 + Long.BYTES),
+				count);
+			buffer.position(HEADER_SIZE);
+			for (long i = 0; i < count; i++)
+				handler.accept(new UserPoint(buffer.getLong(), buffer.getLong(), buffer.getLong()));
+
+			return header;
+		} catch (IOException e) {
+			throw new UncheckedIOException("스냅샷을 읽을 수 없습니다. (" + path + ")", e);
+		}
+	}
+
+	private static void flush(FileChannel channel, ByteBuffer buffer, CRC32C crc) throws IOException {
+		buffer.flip();
+		crc.update(buffer.duplicate());
+		while (buffer.hasRemaining())
+			channel.write(buffer);
+		buffer.clear();
+	}
+
+	/**
+	 * @param walPosition 스냅샷을 시작한 WAL 위치
+	 * @param lastHistoryId 스냅샷을 시작할 때의 마지막 이력 ID
+	 * @param count 스냅샷에 담긴 잔액 수
+	 */
+	record Header(
+		long walPosition,
+		long lastHistoryId,
+		long count
+	) {
+	}
+}
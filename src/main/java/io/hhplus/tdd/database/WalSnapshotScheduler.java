@@ -0,0 +1,82 @@
+package io.hhplus.tdd.database;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.PointProperties;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 주기적인 WAL 스냅샷
+ * - point.wal.snapshot-interval 마다 백그라운드 스레드에서 잔액 스냅샷을 남기고 로그를 압축
+ * - 종료할 때 한번 더 남겨 다음 시작시 다시 읽을 잔액 레코드가 없도록 함
+ * - WAL 을 사용하지 않거나 주기가 0 이면 아무것도 하지 않음
+ */
+@Component
+public class WalSnapshotScheduler {
+
+	private static final Logger log = LoggerFactory.getLogger(WalSnapshotScheduler.class);
+
+	private final UserPointRepository userPointRepository;
+	private final PointHistoryRepository pointHistoryRepository;
+	private final WriteAheadLog writeAheadLog;
+	private final Thread snapshotThread;
+
+	public WalSnapshotScheduler(UserPointRepository userPointRepository,
+		PointHistoryRepository pointHistoryRepository, WriteAheadLog writeAheadLog, PointProperties pointProperties) {
+		this.userPointRepository = userPointRepository;
+		this.pointHistoryRepository = pointHistoryRepository;
+		this.writeAheadLog = writeAheadLog;
+
+		Duration interval = pointProperties.getWal().getSnapshotInterval();
+		if (writeAheadLog.isEnabled() && !interval.isZero() && !interval.isNegative()) {
+			this.snapshotThread = new Thread(() -> run(interval.toNanos()), "point-wal-snapshot");
+			this.snapshotThread.setDaemon(true);
+			this.snapshotThread.start();
+		} else {
+			this.snapshotThread = null;
+		}
+	}
+
+	/**
+	 * 지금 잔액으로 스냅샷을 남김
+	 * @return 스냅샷 위치, 이전 스냅샷 이후 기록이 없으면 0
+	 */
+	public long snapshot() {
+		return writeAheadLog.snapshot(userPointRepository.durablePoints(), pointHistoryRepository.lastId());
+	}
+
+	@PreDestroy
+	public void close() {
+		if (snapshotThread == null)
+			return;
+
+		snapshotThread.interrupt();
+		try {
+			snapshotThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		snapshot();
+	}
+
+	private void run(long intervalNanos) {
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(intervalNanos);
+			} catch (InterruptedException e) {
+				return;
+			}
+
+			try {
+				snapshot();
+			} catch (RuntimeException e) {
+				log.error("WAL 스냅샷을 남기지 못했습니다.", e);
+			}
+		}
+	}
+}
@@ -0,0 +1,594 @@
+package io.hhplus.tdd.database;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 잔액 변경과 포인트 이력을 기록하는 WAL (write-ahead log)
+ * - 레코드는 메모리 매핑한 세그먼트 파일에 이어서 기록하고, 세그먼트가 가득 차면 새 세그먼트로 넘어감
+ * - 디스크 반영 시점은 point.wal.fsync-policy 로 정함 (WalFsyncPolicy)
+ * - 시작할 때 세그먼트를 순서대로 검증하며, 마지막 세그먼트 끝의 잘린 기록은 지우고 그 자리부터 이어서 기록
+ * - 저장소들은 시작할 때 replayBalances, replayHistories 로 기록을 다시 읽어 메모리 상태를 복구함
+ * - snapshot 으로 전체 잔액 스냅샷을 남기면 잔액 복구는 스냅샷과 그 이후 잔액 레코드만 읽음 (WalSnapshot)
+ * - point.wal.enabled 가 false 이면 아무것도 기록하지 않음
+ */
+@Component
+public class WriteAheadLog implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(WriteAheadLog.class);
+
+	private static final byte BALANCE = 1;
+	private static final byte HISTORY = 2;
+	private static final int BALANCE_SIZE = 1 + Long.BYTES * 3;
+	private static final int HISTORY_SIZE = 1 + Long.BYTES * 4 + 1;
+
+	private final boolean enabled;
+	private final Path directory;
+	private final int segmentSize;
+	private final WalFsyncPolicy fsyncPolicy;
+	private final PointMetrics pointMetrics;
+
+	private final ReentrantLock appendLock = new ReentrantLock();
+	private final List<WalSegment> segments = new ArrayList<>();
+	private WalSegment activeSegment;
+
+	private final ReentrantLock forceLock = new ReentrantLock();
+	private final ReentrantLock syncLock = new ReentrantLock();
+	private final Condition synced = syncLock.newCondition();
+	private volatile long durablePosition;
+	private boolean syncing;
+
+	private final ReentrantLock snapshotLock = new ReentrantLock();
+	private volatile long snapshotPosition;
+
+	private final Thread fsyncThread;
+	private volatile boolean closed;
+
+	private final LongAdder appendCount = new LongAdder();
+	private final LongAdder syncCount = new LongAdder();
+
+	@Autowired
+	public WriteAheadLog(PointProperties pointProperties, PointMetrics pointMetrics) {
+		this(pointProperties, Path.of(pointProperties.getWal().getDirectory()), pointMetrics);
+	}
+
+	/**
+	 * point.wal.directory 대신 지정한 디렉토리에 기록 (샤드마다 로그를 따로 둘 때 사용)
+	 */
+	public WriteAheadLog(PointProperties pointProperties, Path directory, PointMetrics pointMetrics) {
+		PointProperties.Wal wal = pointProperties.getWal();
+
+		this.enabled = wal.isEnabled();
+		this.directory = directory;
+		this.segmentSize = (int)Math.min(wal.getSegmentSize().toBytes(), Integer.MAX_VALUE);
+		this.fsyncPolicy = wal.getFsyncPolicy();
+		this.pointMetrics = pointMetrics;
+
+		if (segmentSize < WalSegment.HEADER_SIZE + HISTORY_SIZE)
+			throw new IllegalArgumentException("WAL 세그먼트 크기가 너무 작습니다. (" + segmentSize + ")");
+
+		if (enabled)
+			open();
+
+		if (enabled && fsyncPolicy == WalFsyncPolicy.INTERVAL) {
+			long intervalNanos = wal.getFsyncInterval().toNanos();
+			this.fsyncThread = new Thread(() -> runInterval(intervalNanos), "point-wal-fsync");
+			this.fsyncThread.setDaemon(true);
+			this.fsyncThread.start();
+		} else {
+			this.fsyncThread = null;
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 잔액 변경 기록
+	 * @param userPoint 저장된 유저 포인트
+	 * @return 기록이 끝난 로그 위치 (sync 에 전달), 사용하지 않으면 0
+	 */
+	public long appendBalance(UserPoint userPoint) {
+		if (!enabled)
+			return 0;
+
+		return append(BALANCE_SIZE, payload -> payload
+			.put(BALANCE)
+			.putLong(userPoint.id())
+			.putLong(userPoint.point())
+			.putLong(userPoint.updateMillis()));
+	}
+
+	/**
+	 * 포인트 이력 기록
+	 * TransactionType 은 순서값(ordinal)으로 기록하므로 새 타입은 항상 마지막에 추가해야 함
+	 * @param pointHistory 저장된 포인트 이력
+	 * @return 기록이 끝난 로그 위치 (sync 에 전달), 사용하지 않으면 0
+	 */
+	public long appendHistory(PointHistory pointHistory) {
+		if (!enabled)
+			return 0;
+
+		return append(HISTORY_SIZE, payload -> payload
+			.put(HISTORY)
+			.putLong(pointHistory.id())
+			.putLong(pointHistory.userId())
+			.putLong(pointHistory.amount())
+			.put((byte)pointHistory.type().ordinal())
+			.putLong(pointHistory.updateMillis()));
+	}
+
+	/**
+	 * 로그 위치까지 디스크에 반영될 때까지 대기
+	 * GROUP 일 때만 기다리며, 먼저 도착한 스레드가 그때까지 쌓인 기록을 한번에 반영하고 나머지는 그 결과를 기다림
+	 * (가상 스레드가 기다리는 동안 캐리어 스레드를 점유하지 않도록 모니터 대신 Condition 으로 기다림)
+	 * PER_OP 는 기록할 때 이미 반영했고, INTERVAL 은 기다리지 않음
+	 * @param position append 가 반환한 로그 위치
+	 */
+	public void sync(long position) {
+		if (fsyncPolicy != WalFsyncPolicy.GROUP || position <= durablePosition)
+			return;
+
+		boolean leader = false;
+		syncLock.lock();
+		try {
+			while (durablePosition < position && !leader) {
+				if (syncing) {
+					waitForSync();
+				} else {
+					syncing = true;
+					leader = true;
+				}
+			}
+		} finally {
+			syncLock.unlock();
+		}
+
+		if (!leader)
+			return;
+
+		try {
+			force();
+		} finally {
+			syncLock.lock();
+			try {
+				syncing = false;
+				synced.signalAll();
+			} finally {
+				syncLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * 잔액 복구
+	 * 손상되지 않은 가장 최근 스냅샷의 잔액을 먼저 전달하고, 스냅샷 위치 이후의 잔액 레코드만 순서대로 다시 읽음
+	 * @param handler 잔액 처리 (같은 유저는 나중에 전달된 값이 최신)
+	 */
+	public void replayBalances(Consumer<UserPoint> handler) {
+		if (!enabled)
+			return;
+
+		long fromPosition = loadSnapshot(handler);
+		replay(BALANCE, fromPosition, payload -> handler.accept(
+			new UserPoint(payload.getLong(), payload.getLong(), payload.getLong())));
+	}
+
+	/**
+	 * 기록된 이력 레코드를 순서대로 다시 읽음
+	 * @param handler 이력 레코드 처리
+	 */
+	public void replayHistories(Consumer<PointHistory> handler) {
+		TransactionType[] transactionTypes = TransactionType.values();
+		replay(HISTORY, 0, payload -> handler.accept(new PointHistory(payload.getLong(), payload.getLong(),
+			payload.getLong(), transactionTypes[payload.get()], payload.getLong())));
+	}
+
+	/**
+	 * 전체 잔액 스냅샷 기록 후 로그 압축
+	 * - 스냅샷 위치는 잔액을 읽기 전에 정하므로, 읽는 동안 들어온 변경은 스냅샷에 없더라도 위치 이후 레코드로 복구됨
+	 *   (잔액 저장소가 WAL 에 기록하기 전에 메모리 잔액을 먼저 갱신해야 함)
+	 * - 최신 스냅샷이 손상되어도 직전 스냅샷으로 복구할 수 있도록 스냅샷은 두개를 남기고,
+	 *   직전 스냅샷 위치보다 앞선 세그먼트에서만 잔액 레코드를 지움 (이력 레코드는 그대로 남김)
+	 * @param userPoints 유저별 최신 잔액
+	 * @param lastHistoryId 잔액을 읽기 전의 마지막 이력 ID
+	 * @return 스냅샷 위치, 사용하지 않거나 이전 스냅샷 이후 기록이 없으면 0
+	 */
+	public long snapshot(Iterable<UserPoint> userPoints, long lastHistoryId) {
+		if (!enabled)
+			return 0;
+
+		snapshotLock.lock();
+		try {
+			long position;
+			appendLock.lock();
+			try {
+				position = activeSegment.endPosition();
+			} finally {
+				appendLock.unlock();
+			}
+
+			if (position == snapshotPosition)
+				return 0;
+
+			long startNanos = System.nanoTime();
+			long count = WalSnapshot.write(directory, position, lastHistoryId, userPoints);
+			snapshotPosition = position;
+
+			List<Path> snapshots = listSnapshots();
+			if (snapshots.size() >= 2) {
+				compact(WalSnapshot.walPosition(snapshots.get(snapshots.size() - 2)));
+				for (Path old : snapshots.subList(0, snapshots.size() - 2))
+					Files.deleteIfExists(old);
+			}
+
+			log.info("WAL 스냅샷을 기록했습니다. (위치 {}, 잔액 {}건, {}ms)", position, count,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+			return position;
+		} catch (IOException e) {
+			throw new UncheckedIOException("이전 WAL 스냅샷을 정리할 수 없습니다.", e);
+		} finally {
+			snapshotLock.unlock();
+		}
+	}
+
+	public Stats stats() {
+		appendLock.lock();
+		try {
+			long position = activeSegment == null ? 0 : activeSegment.endPosition();
+			return new Stats(appendCount.sum(), position, durablePosition, syncCount.sum(), segments.size(),
+				snapshotPosition);
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	/**
+	 * 남은 기록을 모두 디스크에 반영하고 세그먼트를 닫음
+	 */
+	@PreDestroy
+	@Override
+	public void close() {
+		if (!enabled)
+			return;
+
+		appendLock.lock();
+		try {
+			if (closed)
+				return;
+			closed = true;
+		} finally {
+			appendLock.unlock();
+		}
+
+		if (fsyncThread != null) {
+			fsyncThread.interrupt();
+			try {
+				fsyncThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		force();
+		appendLock.lock();
+		try {
+			segments.forEach(WalSegment::close);
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	/**
+	 * 세그먼트를 위치 순서대로 열어 검증하고 마지막 세그먼트 끝을 쓰기 위치로 정함
+	 * 마지막이 아닌 세그먼트가 손상되었다면 이후 기록을 신뢰할 수 없으므로 시작하지 않음
+	 */
+	private void open() {
+		try {
+			Files.createDirectories(directory);
+			List<Path> paths;
+			try (Stream<Path> files = Files.list(directory)) {
+				paths = files.filter(path -> path.getFileName().toString().endsWith(WalSegment.SUFFIX))
+					.sorted(Comparator.comparingLong(WalSegment::basePosition))
+					.toList();
+			}
+
+			for (int i = 0; i < paths.size(); i++) {
+				// 기록을 이어갈 마지막 세그먼트만 세그먼트 크기로 매핑하고, 나머지는 파일 크기만큼만 매핑
+				boolean last = i == paths.size() - 1;
+				WalSegment segment = WalSegment.open(directory, WalSegment.basePosition(paths.get(i)),
+					last ? segmentSize : 0);
+				if (!last && segment.capacity() != segmentSize)
+					segment.markCompacted();
+
+				boolean clean = segment.recover();
+				if (!clean && !last)
+					throw new IllegalStateException("WAL 세그먼트가 손상되었습니다. (" + segment.path() + ")");
+
+				if (!clean) {
+					log.warn("WAL 마지막 세그먼트 끝의 잘린 기록을 지웁니다. ({}, 위치 {})", segment.path(),
+						segment.endPosition());
+					segment.truncateTail();
+				}
+				segments.add(segment);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("WAL 디렉토리를 열 수 없습니다. (" + directory + ")", e);
+		}
+
+		if (segments.isEmpty())
+			segments.add(WalSegment.open(directory, 0, segmentSize));
+
+		activeSegment = segments.get(segments.size() - 1);
+		durablePosition = activeSegment.endPosition();
+
+		List<Path> snapshots = listSnapshots();
+		if (!snapshots.isEmpty())
+			snapshotPosition = WalSnapshot.walPosition(snapshots.get(snapshots.size() - 1));
+
+		// 디스크에 반영되지 못한 끝부분이 유실되어 로그가 스냅샷 위치보다 짧아졌다면,
+		// 새 기록이 스냅샷 위치 앞에 쓰여 복구할 때 건너뛰어지지 않도록 스냅샷 위치에서 새 세그먼트를 시작함
+		if (snapshotPosition > activeSegment.endPosition()) {
+			activeSegment = WalSegment.open(directory, snapshotPosition, segmentSize);
+			segments.add(activeSegment);
+			durablePosition = snapshotPosition;
+		}
+	}
+
+	/**
+	 * @return 스냅샷 파일 목록 (WAL 위치 오름차순)
+	 */
+	private List<Path> listSnapshots() {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(path -> path.getFileName().toString().endsWith(WalSnapshot.SUFFIX))
+				.sorted(Comparator.comparingLong(WalSnapshot::walPosition))
+				.toList();
+		} catch (IOException e) {
+			throw new UncheckedIOException("WAL 디렉토리를 읽을 수 없습니다. (" + directory + ")", e);
+		}
+	}
+
+	/**
+	 * 가장 최근의 손상되지 않은 스냅샷 잔액을 전달
+	 * @return 스냅샷 위치 (이 위치부터 잔액 레코드를 다시 읽어야 함), 스냅샷이 없으면 0
+	 */
+	private long loadSnapshot(Consumer<UserPoint> handler) {
+		List<Path> snapshots = listSnapshots();
+		for (int i = snapshots.size() - 1; i >= 0; i--) {
+			WalSnapshot.Header header = WalSnapshot.read(snapshots.get(i), handler);
+			if (header != null) {
+				log.info("WAL 스냅샷에서 잔액을 복구합니다. (위치 {}, 잔액 {}건, 마지막 이력 ID {})",
+					header.walPosition(), header.count(), header.lastHistoryId());
+				return header.walPosition();
+			}
+			log.warn("손상된 WAL 스냅샷을 건너뜁니다. ({})", snapshots.get(i));
+		}
+		return 0;
+	}
+
+	/**
+	 * position 보다 앞선 세그먼트를 이력 레코드만 남기도록 다시 씀
+	 * 남길 레코드가 없으면 세그먼트 파일을 지움
+	 */
+	private void compact(long position) throws IOException {
+		List<WalSegment> targets = new ArrayList<>();
+		appendLock.lock();
+		try {
+			for (int i = 0; i < segments.size() - 1; i++) {
+				WalSegment segment = segments.get(i);
+				if (!segment.isCompacted() && segments.get(i + 1).basePosition() <= position)
+					targets.add(segment);
+			}
+		} finally {
+			appendLock.unlock();
+		}
+
+		for (WalSegment segment : targets) {
+			Path temporary = segment.path().resolveSibling(segment.path().getFileName() + ".tmp");
+			long copied;
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+				copied = segment.copyTo(channel, HISTORY);
+				channel.force(true);
+			}
+
+			WalSegment compacted = null;
+			if (copied == 0) {
+				Files.delete(temporary);
+				Files.delete(segment.path());
+			} else {
+				Files.move(temporary, segment.path(), StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+				compacted = WalSegment.open(directory, segment.basePosition(), 0);
+				compacted.recover();
+				compacted.markCompacted();
+			}
+
+			appendLock.lock();
+			try {
+				int index = segments.indexOf(segment);
+				if (compacted == null)
+					segments.remove(index);
+				else
+					segments.set(index, compacted);
+			} finally {
+				appendLock.unlock();
+			}
+			segment.close();
+		}
+	}
+
+	/**
+	 * 종류가 같은 레코드만 본문을 읽어 전달 (다른 종류는 객체를 만들지 않고 건너뜀)
+	 * @param fromPosition 이 로그 위치부터 읽음 (압축된 세그먼트는 위치와 관계없이 모두 읽음)
+	 */
+	private void replay(byte kind, long fromPosition, WalSegment.PayloadVisitor visitor) {
+		if (!enabled)
+			return;
+
+		List<WalSegment> targets;
+		int activeEndOffset;
+		appendLock.lock();
+		try {
+			targets = List.copyOf(segments);
+			activeEndOffset = activeSegment.writeOffset();
+		} finally {
+			appendLock.unlock();
+		}
+
+		for (int i = 0; i < targets.size(); i++) {
+			WalSegment segment = targets.get(i);
+			boolean last = i == targets.size() - 1;
+			int endOffset = last ? activeEndOffset : segment.writeOffset();
+			if (!segment.isCompacted() && segment.basePosition() + endOffset <= fromPosition)
+				continue;
+
+			long skipBefore = segment.isCompacted() ? 0 : fromPosition - segment.basePosition();
+			segment.read(endOffset, payload -> {
+				if (payload.position() - WalSegment.HEADER_SIZE >= skipBefore && payload.get() == kind)
+					visitor.visit(payload);
+			});
+		}
+	}
+
+	private long append(int payloadLength, WalSegment.PayloadWriter writer) {
+		appendLock.lock();
+		try {
+			if (closed)
+				throw new IllegalStateException("WAL 이 닫혔습니다.");
+
+			if (!activeSegment.hasRoom(payloadLength))
+				roll();
+
+			int offset = activeSegment.append(payloadLength, writer);
+			appendCount.increment();
+
+			if (fsyncPolicy == WalFsyncPolicy.PER_OP) {
+				long startNanos = System.nanoTime();
+				activeSegment.force(offset, WalSegment.HEADER_SIZE + payloadLength);
+				durablePosition = activeSegment.endPosition();
+				recordSync(startNanos);
+			}
+
+			return activeSegment.endPosition();
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	/**
+	 * 현재 세그먼트를 모두 디스크에 반영한 뒤 새 세그먼트로 넘어감
+	 * 이후 반영은 새 세그먼트만 확인하면 되도록 넘어가기 전에 반영함
+	 */
+	private void roll() {
+		activeSegment.force(0, activeSegment.writeOffset());
+		activeSegment = WalSegment.open(directory, activeSegment.endPosition(), segmentSize);
+		segments.add(activeSegment);
+	}
+
+	/**
+	 * 현재 세그먼트에서 아직 반영하지 않은 기록을 디스크에 반영
+	 */
+	private void force() {
+		forceLock.lock();
+		try {
+			WalSegment segment;
+			long endPosition;
+			appendLock.lock();
+			try {
+				segment = activeSegment;
+				endPosition = segment.endPosition();
+			} finally {
+				appendLock.unlock();
+			}
+
+			long from = Math.max(durablePosition, segment.basePosition());
+			if (endPosition <= from)
+				return;
+
+			long startNanos = System.nanoTime();
+			int offset = (int)(from - segment.basePosition());
+			segment.force(offset, (int)(endPosition - from));
+			durablePosition = endPosition;
+			recordSync(startNanos);
+		} finally {
+			forceLock.unlock();
+		}
+	}
+
+	private void runInterval(long intervalNanos) {
+		while (!closed) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(intervalNanos);
+			} catch (InterruptedException e) {
+				return;
+			}
+
+			try {
+				force();
+			} catch (RuntimeException e) {
+				log.error("WAL 을 디스크에 반영하지 못했습니다.", e);
+			}
+		}
+	}
+
+	private void waitForSync() {
+		try {
+			synced.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("WAL 반영을 기다리는 중 중단되었습니다.", e);
+		}
+	}
+
+	private void recordSync(long startNanos) {
+		syncCount.increment();
+		pointMetrics.recordWalSync(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * WAL 통계
+	 * @param appendCount 기록한 레코드 수
+	 * @param position 기록이 끝난 로그 위치 (바이트)
+	 * @param durablePosition 디스크 반영이 끝난 로그 위치 (바이트)
+	 * @param syncCount 디스크에 반영한 횟수
+	 * @param segmentCount 세그먼트 파일 수
+	 * @param snapshotPosition 가장 최근 스냅샷의 로그 위치 (없으면 0)
+	 */
+	public record Stats(
+		long appendCount,
+		long position,
+		long durablePosition,
+		long syncCount,
+		int segmentCount,
+		long snapshotPosition
+	) {
+	}
+}
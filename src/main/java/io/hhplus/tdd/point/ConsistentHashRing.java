@@ -0,0 +1,95 @@
+package io.hhplus.tdd.point;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 유저 ID 를 샤드(노드)에 나누는 일관된 해시 링
+ * - 샤드마다 이름에서 만든 가상 노드 virtualNodes 개를 링에 배치하고, 유저는 해시 값 이후 처음 만나는 가상 노드의 샤드가 맡음
+ * - 샤드를 더하거나 빼도 그 샤드의 가상 노드 구간에 있던 유저만 옮겨감
+ * - 가상 노드는 정렬된 long 배열로 두고 이진 탐색으로 찾음
+ */
+public final class ConsistentHashRing {
+
+	private final List<String> names;
+	private final long[] points;
+	private final int[] owners;
+
+	/**
+	 * @param names 샤드 이름 목록 (같은 이름이면 어느 프로세스에서 만들어도 같은 링이 됨)
+	 * @param virtualNodes 샤드마다 배치할 가상 노드 수
+	 */
+	public ConsistentHashRing(List<String> names, int virtualNodes) {
+		if (names.isEmpty() || virtualNodes < 1)
+			throw new IllegalArgumentException("샤드와 가상 노드는 1개 이상이어야 합니다.");
+
+		this.names = List.copyOf(names);
+
+		int size = names.size() * virtualNodes;
+		long[] hashes = new long[size];
+		for (int owner = 0; owner < names.size(); owner++) {
+			for (int replica = 0; replica < virtualNodes; replica++)
+				hashes[owner * virtualNodes + replica] = hash(names.get(owner) + "#" + replica);
+		}
+
+		// 해시 값 순서로 정렬하면서 어느 샤드의 가상 노드인지 함께 옮김
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++)
+			order[i] = i;
+		Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+
+		this.points = new long[size];
+		this.owners = new int[size];
+		for (int i = 0; i < size; i++) {
+			points[i] = hashes[order[i]];
+			owners[i] = order[i] / virtualNodes;
+		}
+	}
+
+	/**
+	 * @param userId 유저 ID
+	 * @return 유저를 맡은 샤드 번호 (names 의 순서)
+	 */
+	public int ownerOf(long userId) {
+		long hash = mix(userId);
+		int low = 0;
+		int high = points.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (points[mid] < hash)
+				low = mid + 1;
+			else
+				high = mid;
+		}
+		return owners[low == points.length ? 0 : low];
+	}
+
+	public String nameOf(int owner) {
+		return names.get(owner);
+	}
+
+	public int size() {
+		return names.size();
+	}
+
+	private static long hash(String name) {
+		// FNV-1a 후 섞기
+		long hash = 0xCBF29CE484222325L;
+		for (byte b : name.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b;
+			hash *= 0x100000001B3L;
+		}
+		return mix(hash);
+	}
+
+	/**
+	 * 연속된 유저 ID 도 링 전체에 고르게 퍼지도록 비트를 섞음 (splitmix64)
+	 */
+	private static long mix(long value) {
+		long z = value + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -0,0 +1,293 @@
+package io.hhplus.tdd.point;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 멱등키별 처리 결과 캐시
+ * - 같은 유저, 같은 변경 타입, 같은 멱등키로 다시 들어온 요청은 처음 요청의 결과(성공 또는 거절)를 그대로 반환
+ * - 처음 요청이 아직 처리 중이면 새로 처리하지 않고 그 결과를 함께 기다림
+ * - 세그먼트별 삽입 순서로 최대 크기를 넘거나 expireAfterWrite 가 지난 항목부터 제거 (처리 중인 항목은 제외)
+ * - 예상하지 못한 예외나 동시 변경 충돌 같은 일시적인 거절로 실패한 요청은 결과를 남기지 않아 재시도시 다시 처리됨
+ */
+@Component
+public class IdempotencyCache {
+
+	private static final int SEGMENT_COUNT = 32;
+	private static final int MAX_KEY_LENGTH = 255;
+
+	/**
+	 * 항목 하나가 차지하는 대략적인 크기 (키 문자열 제외, 해시맵 노드 + 항목 + 결과 future)
+	 */
+	private static final long ENTRY_OVERHEAD_BYTES = 160;
+
+	private final Segment[] segments = new Segment[SEGMENT_COUNT];
+	private final long expireAfterWriteNanos;
+	private final PointMetrics pointMetrics;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder coalescedCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
+	private final LongAdder keyChars = new LongAdder();
+
+	public IdempotencyCache(PointProperties pointProperties, PointMetrics pointMetrics) {
+		PointProperties.Idempotency idempotency = pointProperties.getIdempotency();
+		this.pointMetrics = pointMetrics;
+
+		long maximumSize = idempotency.getMaximumSize();
+		int segmentCapacity = (int)Math.max(1, (maximumSize + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+		for (int i = 0; i < SEGMENT_COUNT; i++)
+			segments[i] = new Segment(segmentCapacity);
+		this.expireAfterWriteNanos = idempotency.getExpireAfterWrite().toNanos();
+	}
+
+	/**
+	 * 멱등키로 한번만 처리
+	 * @param idempotencyKey 멱등키
+	 * @param userId 유저 ID
+	 * @param transactionType 변경 타입
+	 * @param amount 변경 금액 (같은 멱등키로 다른 금액을 요청하면 거절)
+	 * @param operation 처음 요청일 때 실행할 처리
+	 * @return 처음 요청의 처리 결과
+	 */
+	public UserPoint execute(String idempotencyKey, long userId, TransactionType transactionType, long amount,
+		Supplier<UserPoint> operation) {
+		Claim claim = claim(idempotencyKey, userId, transactionType, amount);
+		if (claim.owner()) {
+			try {
+				complete(claim, operation.get(), null);
+			} catch (RuntimeException | Error e) {
+				complete(claim, null, e);
+			}
+		}
+
+		return claim.entry().join();
+	}
+
+	/**
+	 * 멱등키로 한번만 처리하되 처리가 끝나기를 스레드를 멈추지 않고 기다림 (리액티브 API 용)
+	 * 처리 중인 같은 요청이 있으면 그 결과를 함께 기다리며, 유저 락은 처리 안에서만 잡으므로
+	 * 서블릿 요청과 같은 순서(멱등키 다음 유저 락)로 잡혀 서로를 기다리지 않음
+	 * @param operation 처음 요청일 때 시작할 처리 (처리가 끝나면 완료되는 future 반환)
+	 * @return 처음 요청의 처리 결과
+	 */
+	public CompletableFuture<UserPoint> executeAsync(String idempotencyKey, long userId,
+		TransactionType transactionType, long amount, Supplier<CompletableFuture<UserPoint>> operation) {
+		Claim claim = claim(idempotencyKey, userId, transactionType, amount);
+		if (claim.owner()) {
+			CompletableFuture<UserPoint> started;
+			try {
+				started = operation.get();
+			} catch (RuntimeException | Error e) {
+				started = CompletableFuture.failedFuture(e);
+			}
+			started.whenComplete((userPoint, e) -> complete(claim, userPoint, e));
+		}
+
+		return claim.entry().result.copy();
+	}
+
+	/**
+	 * 멱등키 항목을 찾거나 처음 요청이면 처리 중 항목으로 등록
+	 */
+	private Claim claim(String idempotencyKey, long userId, TransactionType transactionType, long amount) {
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH)
+			throw reject(PointError.INVALID_IDEMPOTENCY_KEY);
+
+		Key key = new Key(userId, transactionType, idempotencyKey);
+		Segment segment = segmentFor(key);
+		Entry entry;
+		boolean owner = false;
+		long now = System.nanoTime();
+
+		segment.lock.lock();
+		try {
+			entry = segment.entries.get(key);
+			if (entry != null && now - entry.createdNanos > expireAfterWriteNanos) {
+				remove(segment, key);
+				entry = null;
+			}
+
+			if (entry == null) {
+				entry = new Entry(amount, now);
+				store(segment, key, entry, now);
+				owner = true;
+				missCount.increment();
+			} else if (entry.result.isDone()) {
+				hitCount.increment();
+			} else {
+				coalescedCount.increment();
+			}
+		} finally {
+			segment.lock.unlock();
+		}
+
+		if (entry.amount != amount)
+			throw reject(PointError.IDEMPOTENCY_KEY_REUSED);
+
+		return new Claim(segment, key, entry, owner);
+	}
+
+	public Stats stats() {
+		long size = 0;
+		for (Segment segment : segments) {
+			segment.lock.lock();
+			try {
+				size += segment.entries.size();
+			} finally {
+				segment.lock.unlock();
+			}
+		}
+
+		return new Stats(hitCount.sum(), coalescedCount.sum(), missCount.sum(), evictionCount.sum(), size,
+			size * ENTRY_OVERHEAD_BYTES + keyChars.sum() * Character.BYTES);
+	}
+
+	private PointException reject(PointError error) {
+		pointMetrics.recordRejection(error);
+		return new PointException(error);
+	}
+
+	/**
+	 * 처음 요청의 처리 결과를 남김
+	 * 검증에 의한 거절은 다시 요청해도 같은 결과여야 하므로 남겨두고, 일시적인 거절과 예상하지 못한 예외는 재시도할 수 있도록 지움
+	 */
+	private void complete(Claim claim, UserPoint userPoint, Throwable e) {
+		if (e == null) {
+			claim.entry().result.complete(userPoint);
+			return;
+		}
+
+		Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+		if (!(cause instanceof PointException pointException) || pointException.getError().isTransient())
+			evict(claim.segment(), claim.key(), claim.entry());
+		claim.entry().result.completeExceptionally(cause);
+	}
+
+	/**
+	 * 결과를 남기지 않도록 처리 중인 항목을 제거 (이미 다른 항목으로 바뀌었으면 그대로 둠)
+	 */
+	private void evict(Segment segment, Key key, Entry entry) {
+		segment.lock.lock();
+		try {
+			if (segment.entries.get(key) == entry)
+				remove(segment, key);
+		} finally {
+			segment.lock.unlock();
+		}
+	}
+
+	private void store(Segment segment, Key key, Entry entry, long now) {
+		segment.entries.put(key, entry);
+		keyChars.add(key.idempotencyKey.length());
+
+		// 삽입 순서이므로 앞쪽부터 용량 초과분과 만료된 항목만 확인하면 됨
+		Iterator<Map.Entry<Key, Entry>> iterator = segment.entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<Key, Entry> eldest = iterator.next();
+			boolean overCapacity = segment.entries.size() > segment.capacity;
+			boolean expired = now - eldest.getValue().createdNanos > expireAfterWriteNanos;
+			if (!overCapacity && !expired)
+				break;
+
+			// 처리 중인 요청은 중복 요청이 합류할 수 있도록 끝날 때까지 남겨둠 (동시 처리 수만큼만 초과)
+			if (!eldest.getValue().result.isDone())
+				continue;
+
+			iterator.remove();
+			keyChars.add(-eldest.getKey().idempotencyKey.length());
+			evictionCount.increment();
+		}
+	}
+
+	private void remove(Segment segment, Key key) {
+		if (segment.entries.remove(key) != null)
+			keyChars.add(-key.idempotencyKey.length());
+	}
+
+	private Segment segmentFor(Key key) {
+		int hash = key.hashCode();
+		hash ^= hash >>> 16;
+		return segments[hash & (SEGMENT_COUNT - 1)];
+	}
+
+	/**
+	 * 멱등키 캐시 통계
+	 * @param hitCount 처리가 끝난 결과를 그대로 반환한 횟수
+	 * @param coalescedCount 처리 중인 같은 요청의 결과를 기다린 횟수
+	 * @param missCount 처음 들어와 새로 처리한 횟수
+	 * @param evictionCount 용량 초과 또는 만료로 제거된 횟수
+	 * @param size 현재 보관 중인 멱등키 수
+	 * @param estimatedBytes 보관 중인 항목이 차지하는 대략적인 메모리 크기
+	 */
+	public record Stats(
+		long hitCount,
+		long coalescedCount,
+		long missCount,
+		long evictionCount,
+		long size,
+		long estimatedBytes
+	) {
+	}
+
+	/**
+	 * 찾거나 등록한 멱등키 항목
+	 * @param owner 처음 요청이라 처리해야 하는지 여부
+	 */
+	private record Claim(
+		Segment segment,
+		Key key,
+		Entry entry,
+		boolean owner
+	) {
+	}
+
+	private record Key(
+		long userId,
+		TransactionType transactionType,
+		String idempotencyKey
+	) {
+	}
+
+	private static class Entry {
+
+		private final long amount;
+		private final long createdNanos;
+		private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+		private Entry(long amount, long createdNanos) {
+			this.amount = amount;
+			this.createdNanos = createdNanos;
+		}
+
+		private UserPoint join() {
+			try {
+				return result.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException cause)
+					throw cause;
+				throw e;
+			}
+		}
+	}
+
+	private static class Segment {
+
+		private final ReentrantLock lock = new ReentrantLock();
+		private final Map<Key, Entry> entries = new LinkedHashMap<>();
+		private final int capacity;
+
+		private Segment(int capacity) {
+			this.capacity = capacity;
+		}
+	}
+}
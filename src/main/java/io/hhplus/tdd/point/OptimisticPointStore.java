@@ -0,0 +1,315 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 낙관적(CAS) 방식 포인트 변경
+ * - 유저별 잔액을 버전과 함께 메모리에 두고, 검증과 반영은 compareAndSet 한번으로 결정
+ * - 결정이 끝난 변경은 대기 목록에 버전 순서대로 쌓이고, 테이블 저장은 결정 이후 한 스레드가 모아서 처리
+ * - 다른 요청과 충돌하면 최대 maxRetries 번까지 다시 시도하고 재시도, 충돌 횟수를 기록
+ * - 메모리에 유지하는 유저 수가 maximumSize 를 넘으면 저장이 끝난 유저부터 내려놓음
+ */
+@Component
+@RequiredArgsConstructor
+public class OptimisticPointStore {
+
+	private static final VersionedPoint RETIRED = new VersionedPoint(-1, -1, null);
+
+	private final UserPointRepository userPointRepository;
+	private final PointHistoryRepository pointHistoryRepository;
+	private final UserLockManager userLockManager;
+	private final PointEventHub pointEventHub;
+	private final PointLotBook pointLotBook;
+	private final PointAggregates pointAggregates;
+	private final PointProperties pointProperties;
+
+	private final ConcurrentHashMap<Long, BalanceHolder> holders = new ConcurrentHashMap<>();
+
+	private final LongAdder commitCount = new LongAdder();
+	private final LongAdder retryCount = new LongAdder();
+	private final LongAdder conflictCount = new LongAdder();
+
+	/**
+	 * 유저 포인트 조회
+	 * 아직 테이블에 저장 중인 변경도 반영된 잔액을 응답
+	 * @param userId 조회할 유저 ID
+	 * @return 조회한 유저 포인트
+	 */
+	public UserPoint find(long userId) {
+		BalanceHolder holder = holders.get(userId);
+		if (holder != null) {
+			VersionedPoint current = holder.state.get();
+			if (current != RETIRED)
+				return new UserPoint(userId, current.point, holder.updateMillis);
+		}
+
+		return userPointRepository.findById(userId);
+	}
+
+	/**
+	 * 포인트 변경
+	 * @param userId 변경할 유저 ID
+	 * @param amount 변경할 포인트 금액
+	 * @param transactionType 변경 타입
+	 * @return 변경 후 유저 포인트 (테이블 저장까지 끝난 뒤 반환)
+	 */
+	public UserPoint apply(long userId, long amount, TransactionType transactionType) {
+		int maxRetries = pointProperties.getOptimistic().getMaxRetries();
+
+		for (int attempt = 0; attempt <= maxRetries; ) {
+			BalanceHolder holder = holderFor(userId);
+			VersionedPoint current = holder.state.get();
+			if (current == RETIRED)
+				continue;
+
+			new UserPoint(userId, current.point, holder.updateMillis).validate(amount, transactionType);
+
+			long point = transactionType.apply(current.point, amount);
+			PendingChange change = new PendingChange(amount, transactionType, point, current.pending);
+			if (holder.state.compareAndSet(current, new VersionedPoint(point, current.version + 1, change))) {
+				commitCount.increment();
+				flush(userId, holder);
+				return change.join();
+			}
+
+			retryCount.increment();
+			attempt++;
+		}
+
+		conflictCount.increment();
+		throw new PointException(PointError.CONCURRENT_UPDATE_CONFLICT);
+	}
+
+	/**
+	 * 메모리에 있는 유저 잔액을 테이블에 모두 저장한 뒤 내려놓음 (유저 락을 잡은 상태에서 호출)
+	 * 락을 놓기 전까지는 새 변경이 메모리 잔액을 다시 만들지 못하므로 테이블 잔액을 기준으로 여러 유저를 함께 변경할 수 있음
+	 * @param userId 내려놓을 유저 ID
+	 */
+	void release(long userId) {
+		BalanceHolder holder = holders.get(userId);
+		if (holder == null)
+			return;
+
+		while (true) {
+			VersionedPoint current = holder.state.get();
+			if (current == RETIRED)
+				return;
+
+			// 남은 변경이 있으면 직접 저장하고, 다른 스레드가 저장 중이면 끝날 때까지 기다림
+			if (current.pending != null || holder.flushing.get()) {
+				flush(userId, holder);
+				holder.awaitFlushed();
+				continue;
+			}
+
+			if (holder.state.compareAndSet(current, RETIRED)) {
+				holders.remove(userId, holder);
+				return;
+			}
+		}
+	}
+
+	public Stats stats() {
+		return new Stats(holders.size(), commitCount.sum(), retryCount.sum(), conflictCount.sum());
+	}
+
+	/**
+	 * 메모리에 있는 유저 잔액을 가져오거나 테이블에서 읽어 등록
+	 * 등록과 내려놓기는 유저 락 안에서만 일어나므로 내려놓는 중인 이전 값을 다시 읽어오지 않음
+	 */
+	private BalanceHolder holderFor(long userId) {
+		BalanceHolder holder = holders.get(userId);
+		if (holder != null && holder.state.get() != RETIRED)
+			return holder;
+
+		try (UserLockManager.UserLock ignored = userLockManager.acquire(userId)) {
+			holder = holders.get(userId);
+			if (holder != null && holder.state.get() != RETIRED)
+				return holder;
+
+			UserPoint userPoint = userPointRepository.findById(userId);
+			BalanceHolder loaded = new BalanceHolder(userPoint);
+			holders.put(userId, loaded);
+			return loaded;
+		}
+	}
+
+	/**
+	 * 쌓인 변경을 버전 순서대로 테이블에 저장
+	 * 저장 중인 스레드가 있으면 그 스레드가 이어서 처리하고, 플래그를 내려놓은 뒤 다시 확인하여 누락을 막음
+	 * 저장에 실패하면 메모리 잔액에 실패한 변경이 들어있으므로 유저를 내려놓고 그 뒤에 쌓인 변경도 함께 실패시킴
+	 * (다음 요청은 테이블에서 잔액을 다시 읽음)
+	 */
+	private void flush(long userId, BalanceHolder holder) {
+		while (holder.hasPending() && holder.flushing.compareAndSet(false, true)) {
+			try {
+				VersionedPoint taken = holder.takePending();
+
+				Deque<PendingChange> changes = new ArrayDeque<>();
+				for (PendingChange change = taken.pending; change != null; change = change.previous)
+					changes.addFirst(change);
+
+				try {
+					UserPoint saved = userPointRepository.save(userId, taken.point);
+					holder.updateMillis = saved.updateMillis();
+					for (PendingChange change : changes) {
+						PointHistory pointHistory = pointHistoryRepository.save(userId, change.amount,
+							change.transactionType, System.currentTimeMillis());
+						pointLotBook.record(pointHistory);
+						pointAggregates.record(pointHistory);
+						change.result.complete(new UserPoint(userId, change.point, saved.updateMillis()));
+						if (pointEventHub.hasSubscribers()) {
+							pointEventHub.publish(new PointChangedEvent(userId, change.transactionType, change.amount,
+								change.point, saved.updateMillis()));
+						}
+					}
+				} catch (RuntimeException e) {
+					changes.forEach(change -> change.result.completeExceptionally(e));
+					VersionedPoint rest = holder.state.getAndSet(RETIRED);
+					holders.remove(userId, holder);
+					for (PendingChange change = rest.pending; change != null; change = change.previous)
+						change.result.completeExceptionally(e);
+				}
+			} finally {
+				holder.finishFlush();
+			}
+		}
+
+		if (holders.size() > pointProperties.getOptimistic().getMaximumSize())
+			retire(userId, holder);
+	}
+
+	private void retire(long userId, BalanceHolder holder) {
+		try (UserLockManager.UserLock ignored = userLockManager.acquire(userId)) {
+			VersionedPoint current = holder.state.get();
+			if (current == RETIRED || current.pending != null || holder.flushing.get())
+				return;
+
+			if (holder.state.compareAndSet(current, RETIRED))
+				holders.remove(userId, holder);
+		}
+	}
+
+	/**
+	 * 낙관적 변경 통계
+	 * @param liveStates 메모리에 유지 중인 유저 수
+	 * @param commitCount CAS 로 결정된 변경 수
+	 * @param retryCount 충돌로 다시 시도한 횟수
+	 * @param conflictCount 재시도 횟수를 모두 써서 실패한 요청 수
+	 */
+	public record Stats(
+		long liveStates,
+		long commitCount,
+		long retryCount,
+		long conflictCount
+	) {
+	}
+
+	/**
+	 * 버전이 붙은 잔액과 아직 저장되지 않은 변경 목록 (최신 변경이 맨 앞)
+	 */
+	private record VersionedPoint(
+		long point,
+		long version,
+		PendingChange pending
+	) {
+	}
+
+	private static class BalanceHolder {
+
+		private final AtomicReference<VersionedPoint> state;
+		private final AtomicBoolean flushing = new AtomicBoolean();
+		private final ReentrantLock flushLock = new ReentrantLock();
+		private final Condition flushed = flushLock.newCondition();
+		private volatile long updateMillis;
+
+		private BalanceHolder(UserPoint userPoint) {
+			this.state = new AtomicReference<>(new VersionedPoint(userPoint.point(), 0, null));
+			this.updateMillis = userPoint.updateMillis();
+		}
+
+		/**
+		 * 저장 플래그를 내려놓고 기다리는 스레드를 깨움
+		 */
+		private void finishFlush() {
+			flushLock.lock();
+			try {
+				flushing.set(false);
+				flushed.signalAll();
+			} finally {
+				flushLock.unlock();
+			}
+		}
+
+		/**
+		 * 다른 스레드의 저장이 끝날 때까지 대기 (테이블 저장은 수백 ms 걸릴 수 있으므로 돌며 기다리지 않음)
+		 */
+		private void awaitFlushed() {
+			flushLock.lock();
+			try {
+				while (flushing.get())
+					flushed.awaitUninterruptibly();
+			} finally {
+				flushLock.unlock();
+			}
+		}
+
+		private boolean hasPending() {
+			VersionedPoint current = state.get();
+			return current != RETIRED && current.pending != null;
+		}
+
+		/**
+		 * 잔액과 버전은 그대로 두고 대기 목록만 비운 상태로 교체
+		 * @return 교체 직전 상태 (저장할 변경 목록 포함)
+		 */
+		private VersionedPoint takePending() {
+			while (true) {
+				VersionedPoint current = state.get();
+				if (state.compareAndSet(current, new VersionedPoint(current.point, current.version, null)))
+					return current;
+			}
+		}
+	}
+
+	private static class PendingChange {
+
+		private final long amount;
+		private final TransactionType transactionType;
+		private final long point;
+		private final PendingChange previous;
+		private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+
+		private PendingChange(long amount, TransactionType transactionType, long point, PendingChange previous) {
+			this.amount = amount;
+			this.transactionType = transactionType;
+			this.point = point;
+			this.previous = previous;
+		}
+
+		private UserPoint join() {
+			try {
+				return result.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException cause)
+					throw cause;
+				throw e;
+			}
+		}
+	}
+}
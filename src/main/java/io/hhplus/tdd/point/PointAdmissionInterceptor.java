@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 컨트롤러(PointService) 에 들어가기 전에 요청을 받을지 결정
+ * - 한 유저에게 몰린 요청이 그 유저 락 앞에 줄을 서서 요청 처리 스레드를 모두 차지하지 않도록,
+ *   락을 기다리기 전에 거절하여 스레드를 바로 돌려줌
+ * - 순서: 유저 락 대기 수(변경 요청만) -> 유저 버킷 -> 노드 전체 버킷
+ *   (유저 버킷을 먼저 보아 한 유저의 요청이 노드 전체 토큰을 다 써버리지 못하게 함)
+ * - 거절하면 PointRateLimitException 을 던지고 ApiControllerAdvice 가 429 로 응답
+ * - 유저가 없는 일괄 처리 요청은 여기서 노드 전체 토큰 하나만 꺼내고, 유저별 제한은 PointBatchService 가 요청마다 적용
+ * - 비동기 응답(SSE, 내보내기)의 두번째 디스패치는 다시 세지 않음
+ */
+@Component
+public class PointAdmissionInterceptor implements HandlerInterceptor {
+
+	private static final long LOCK_WAITERS_RETRY_AFTER_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+	private final PointRateLimiter pointRateLimiter;
+	private final PointShardRouter pointShardRouter;
+	private final PointProperties pointProperties;
+	private final PointMetrics pointMetrics;
+
+	public PointAdmissionInterceptor(PointRateLimiter pointRateLimiter, PointShardRouter pointShardRouter,
+		PointProperties pointProperties, PointMetrics pointMetrics) {
+		this.pointRateLimiter = pointRateLimiter;
+		this.pointShardRouter = pointShardRouter;
+		this.pointProperties = pointProperties;
+		this.pointMetrics = pointMetrics;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		if (request.getDispatcherType() == DispatcherType.ASYNC)
+			return true;
+
+		admit(userIdOf(request), !HttpMethod.GET.matches(request.getMethod()));
+		return true;
+	}
+
+	/**
+	 * @param userId 요청 대상 유저 ID, 유저가 없는 요청(일괄 처리, 전체 구독 등)이면 null
+	 * @param updating 유저 락을 잡는 변경 요청인지 여부
+	 * @throws PointRateLimitException 받지 않는 요청
+	 */
+	public void admit(Long userId, boolean updating) {
+		if (!pointRateLimiter.isEnabled())
+			return;
+
+		if (userId != null) {
+			if (updating && pointShardRouter.lockWaiters(userId) >= pointProperties.getRateLimit().getMaxLockWaiters())
+				reject(PointError.TOO_MANY_LOCK_WAITERS, LOCK_WAITERS_RETRY_AFTER_MILLIS);
+
+			long retryAfterMillis = pointRateLimiter.acquireUser(userId);
+			if (retryAfterMillis > 0)
+				reject(PointError.TOO_MANY_USER_REQUESTS, retryAfterMillis);
+		}
+
+		long retryAfterMillis = pointRateLimiter.acquireGlobal();
+		if (retryAfterMillis > 0)
+			reject(PointError.TOO_MANY_REQUESTS, retryAfterMillis);
+	}
+
+	private void reject(PointError error, long retryAfterMillis) {
+		pointMetrics.recordRejection(error);
+		throw new PointRateLimitException(error, retryAfterMillis);
+	}
+
+	private static Long userIdOf(HttpServletRequest request) {
+		if (!(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables)
+			|| !(variables.get("id") instanceof String id))
+			return null;
+
+		try {
+			return Long.parseLong(id);
+		} catch (NumberFormatException e) {
+			// long 범위를 넘는 ID 는 컨트롤러가 400 으로 응답
+			return null;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+
+/**
+ * 포인트 변경 누적 집계
+ * - 이력을 저장할 때마다 유저별 합계, 분/시간 구간별 전체 합계, 거래량 상위 유저 후보에 더해두어 조회할 때 이력을 다시 읽지 않음
+ * - 유저별 합계는 유저마다 고정 크기(이력 수와 무관)로 객체 없이 long 배열에 담고 (UserAggregateStore), 구간 합계는 최근 point.aggregate.*-buckets 개 구간만,
+ *   상위 유저 후보는 point.aggregate.top-users 개 카운터(SpaceSavingCounter)만 유지
+ * - 시작할 때 저장된 이력(WAL 로 복구한 이력 포함)으로 다시 만듦
+ * - 샤드마다 따로 두고, 여러 샤드의 구간 합계와 상위 유저는 PointShardRouter 가 합침
+ */
+@Component
+public class PointAggregates {
+
+	private final UserAggregateStore userAggregates = new UserAggregateStore();
+	private final RollupRing minuteRollups;
+	private final RollupRing hourRollups;
+	private final SpaceSavingCounter topUsers;
+
+	public PointAggregates(PointHistoryRepository pointHistoryRepository, PointProperties pointProperties) {
+		PointProperties.Aggregate aggregate = pointProperties.getAggregate();
+		this.minuteRollups = new RollupRing(PointRollupUnit.MINUTE.duration().toMillis(),
+			aggregate.getMinuteBuckets());
+		this.hourRollups = new RollupRing(PointRollupUnit.HOUR.duration().toMillis(), aggregate.getHourBuckets());
+		this.topUsers = new SpaceSavingCounter(aggregate.getTopUsers());
+
+		Iterator<PointHistory> histories = pointHistoryRepository.iterateAfter(0);
+		while (histories.hasNext())
+			record(histories.next());
+	}
+
+	/**
+	 * 저장된 포인트 변경 이력을 집계에 더함
+	 */
+	public void record(PointHistory pointHistory) {
+		userAggregates.add(pointHistory.userId(), pointHistory.type(), pointHistory.amount(),
+			pointHistory.updateMillis());
+
+		minuteRollups.record(pointHistory);
+		hourRollups.record(pointHistory);
+
+		if (pointHistory.type() != TransactionType.EXPIRE) {
+			synchronized (topUsers) {
+				topUsers.add(pointHistory.userId(), pointHistory.amount());
+			}
+		}
+	}
+
+	/**
+	 * @return 유저 누적 집계 (이력이 없으면 모두 0)
+	 */
+	public PointSummary summary(long userId) {
+		return userAggregates.summary(userId);
+	}
+
+	/**
+	 * 거래량 상위 유저
+	 * 후보는 SpaceSavingCounter 에서 고르고 순위는 유저별 합계의 실제 거래량으로 매김
+	 * @return 거래량이 큰 순서로 최대 limit 명 (point.aggregate.top-users 명까지)
+	 */
+	public List<PointVolume> topUsers(int limit) {
+		List<SpaceSavingCounter.Entry> candidates;
+		synchronized (topUsers) {
+			candidates = topUsers.top(topUsers.size());
+		}
+
+		List<PointVolume> volumes = new ArrayList<>(candidates.size());
+		for (SpaceSavingCounter.Entry candidate : candidates)
+			volumes.add(new PointVolume(candidate.key(), volume(summary(candidate.key()))));
+		volumes.sort(Comparator.comparingLong(PointVolume::volume).reversed());
+		return volumes.size() > limit ? volumes.subList(0, limit) : volumes;
+	}
+
+	/**
+	 * @return nowMillis 까지 최근 구간 중 변경이 있는 구간의 합계 (오래된 구간부터)
+	 */
+	public List<PointRollup> rollups(PointRollupUnit unit, long nowMillis) {
+		return (unit == PointRollupUnit.MINUTE ? minuteRollups : hourRollups).snapshot(nowMillis);
+	}
+
+	public Stats stats() {
+		int candidates;
+		long replacedCount;
+		synchronized (topUsers) {
+			candidates = topUsers.size();
+			replacedCount = topUsers.replacedCount();
+		}
+		return new Stats(userAggregates.size(), userAggregates.allocatedBytes(), candidates, replacedCount);
+	}
+
+	private static long volume(PointSummary summary) {
+		return summary.totalCharged() + summary.totalUsed() + summary.totalTransferredIn()
+			+ summary.totalTransferredOut();
+	}
+
+	/**
+	 * 집계 통계
+	 * @param users 집계 중인 유저 수
+	 * @param allocatedBytes 유저별 합계에 할당된 배열 크기
+	 * @param topCandidates 상위 유저 후보 수
+	 * @param topReplacedCount 상위 유저 후보가 다른 유저로 바뀐 횟수
+	 */
+	public record Stats(
+		long users,
+		long allocatedBytes,
+		long topCandidates,
+		long topReplacedCount
+	) {
+	}
+}
@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class PointBatchService {
+
+	private static final Logger log = LoggerFactory.getLogger(PointBatchService.class);
+
+	private final PointService pointService;
+	private final ExecutorService pointExecutor;
+	private final PointRateLimiter pointRateLimiter;
+	private final PointProperties pointProperties;
+	private final PointMetrics pointMetrics;
+
+	/**
+	 * 포인트 충전, 사용 일괄 처리
+	 * 유저별로 묶어 서로 다른 유저는 병렬로, 같은 유저는 요청 순서대로 처리
+	 * 각 요청은 단건 충전, 사용과 동일한 유저 락과 검증을 거치며 실패해도 나머지 요청은 계속 처리됨
+	 * 일괄 처리 요청에는 유저가 없어 PointAdmissionInterceptor 가 유저별 제한을 볼 수 없으므로,
+	 * 요청마다 단건과 같은 순서(유저 락 대기 수 -> 유저 버킷 -> 노드 전체 버킷)로 토큰을 꺼내고 받지 않은 요청은 TOO_MANY_* 실패로 응답
+	 * 비어있거나 변경 타입이 없는 요청, 예상하지 못한 예외로 실패한 요청도 해당 요청만 실패 결과로 응답
+	 * @param commands 처리할 요청 목록
+	 * @return 요청 순서와 같은 순서의 요청별 결과 목록
+	 */
+	public List<PointCommandResult> execute(List<PointCommand> commands) {
+		if (commands.size() > pointProperties.getBatch().getMaxSize()) {
+			pointMetrics.recordRejection(PointError.EXCEED_MAX_BATCH_SIZE);
+			throw new PointException(PointError.EXCEED_MAX_BATCH_SIZE);
+		}
+
+		PointCommandResult[] results = new PointCommandResult[commands.size()];
+		Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+		for (int i = 0; i < commands.size(); i++) {
+			PointCommand command = commands.get(i);
+			if (command == null || command.type() == null) {
+				pointMetrics.recordRejection(PointError.INVALID_BATCH_COMMAND);
+				results[i] = PointCommandResult.failure(command, PointError.INVALID_BATCH_COMMAND);
+				continue;
+			}
+			indexesByUser.computeIfAbsent(command.userId(), id -> new ArrayList<>()).add(i);
+		}
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>(indexesByUser.size());
+		for (List<Integer> indexes : indexesByUser.values()) {
+			futures.add(CompletableFuture.runAsync(() -> {
+				for (int index : indexes)
+					results[index] = executeCommand(commands.get(index));
+			}, pointExecutor));
+		}
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+		return List.of(results);
+	}
+
+	private PointCommandResult executeCommand(PointCommand command) {
+		PointError rejection = admit(command.userId());
+		if (rejection != null) {
+			pointMetrics.recordRejection(rejection);
+			return PointCommandResult.failure(command, rejection);
+		}
+
+		try {
+			UserPoint userPoint = switch (command.type()) {
+				case CHARGE -> pointService.chargeUserPoint(command.userId(), command.amount());
+				case USE -> pointService.useUserPoint(command.userId(), command.amount());
+				default -> throw new PointException(PointError.UNSUPPORTED_BATCH_TYPE);
+			};
+
+			return PointCommandResult.success(command, userPoint);
+		} catch (PointException e) {
+			return PointCommandResult.failure(command, e.getError());
+		} catch (RuntimeException e) {
+			log.error("일괄 처리 요청을 처리하지 못했습니다. ({})", command, e);
+			return PointCommandResult.failure(command, PointError.BATCH_COMMAND_FAILED);
+		}
+	}
+
+	/**
+	 * @return 받는 요청이면 null, 아니면 거절 사유
+	 */
+	private PointError admit(long userId) {
+		if (!pointRateLimiter.isEnabled())
+			return null;
+
+		if (pointService.lockWaiters(userId) >= pointProperties.getRateLimit().getMaxLockWaiters())
+			return PointError.TOO_MANY_LOCK_WAITERS;
+		if (pointRateLimiter.acquireUser(userId) > 0)
+			return PointError.TOO_MANY_USER_REQUESTS;
+		if (pointRateLimiter.acquireGlobal() > 0)
+			return PointError.TOO_MANY_REQUESTS;
+
+		return null;
+	}
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 변경 이벤트
+ * @param userId 유저 ID
+ * @param type 변경 타입
+ * @param amount 변경한 포인트 금액
+ * @param point 변경 후 포인트
+ * @param updateMillis 변경 후 잔액 저장 시각
+ */
+public record PointChangedEvent(
+	long userId,
+	TransactionType type,
+	long amount,
+	long point,
+	long updateMillis
+) {
+}
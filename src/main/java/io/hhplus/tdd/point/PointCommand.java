@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리할 포인트 변경 요청
+ * @param userId 유저 ID
+ * @param type 충전(CHARGE) 또는 사용(USE)
+ * @param amount 변경할 포인트 금액
+ */
+public record PointCommand(
+	long userId,
+	TransactionType type,
+	long amount
+) {
+}
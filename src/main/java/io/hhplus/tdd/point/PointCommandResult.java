@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 요청별 결과
+ * 성공하면 userPoint 에 변경 후 포인트가, 실패하면 error 와 message 에 거절 사유가 담김
+ */
+public record PointCommandResult(
+	long userId,
+	TransactionType type,
+	long amount,
+	UserPoint userPoint,
+	PointError error,
+	String message
+) {
+
+	public static PointCommandResult success(PointCommand command, UserPoint userPoint) {
+		return new PointCommandResult(command.userId(), command.type(), command.amount(), userPoint, null, null);
+	}
+
+	/**
+	 * @param command 실패한 요청, 요청 자체가 비어있으면 null
+	 */
+	public static PointCommandResult failure(PointCommand command, PointError error) {
+		if (command == null)
+			return new PointCommandResult(0, null, 0, null, error, error.getMessage());
+
+		return new PointCommandResult(command.userId(), command.type(), command.amount(), null, error,
+			error.getMessage());
+	}
+}
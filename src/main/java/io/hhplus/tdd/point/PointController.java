@@ -1,15 +1,27 @@
 package io.hhplus.tdd.point;
 
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -20,35 +32,170 @@ public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
 
-    private final PointService pointService;
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final PointShardRouter pointShardRouter;
+    private final PointEventHub pointEventHub;
+    private final PointProperties pointProperties;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("{id}")
     public UserPoint point(
             @PathVariable long id
     ) {
-        return pointService.getUserPoint(id);
+        return pointShardRouter.getUserPoint(id);
     }
 
+    /**
+     * 쿼리 파라미터(limit, afterId, beforeId, from, to, type)가 없으면 전체 이력을 반환
+     */
     @GetMapping("{id}/histories")
     public List<PointHistory> history(
+            @PathVariable long id,
+            PointHistoryQuery query
+    ) {
+        return pointShardRouter.getUserPointHistories(id, query);
+    }
+
+    /**
+     * 만료되지 않고 남은 충전 묶음을 먼저 만료되는 순서로 반환 (만료를 사용하지 않으면 빈 목록)
+     */
+    @GetMapping("{id}/lots")
+    public List<PointLot> lots(
+            @PathVariable long id
+    ) {
+        return pointShardRouter.getUserPointLots(id);
+    }
+
+    /**
+     * 충전, 사용, 이체, 만료 합계와 이력 수, 마지막 이력 시각 (이력을 다시 읽지 않고 누적해둔 값)
+     */
+    @GetMapping("{id}/summary")
+    public PointSummary summary(
             @PathVariable long id
     ) {
-        return pointService.getUserPointHistories(id);
+        return pointShardRouter.getUserPointSummary(id);
     }
 
+    /**
+     * 이 노드에서 거래량(충전, 사용, 이체 금액 합계)이 큰 유저 (최대 point.aggregate.top-users 명)
+     */
+    @GetMapping("top")
+    public List<PointVolume> top(
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return pointShardRouter.getTopUsers(limit);
+    }
+
+    /**
+     * 이 노드의 최근 1분(MINUTE) 또는 1시간(HOUR) 구간별 합계 (변경이 없는 구간은 제외, 오래된 구간부터)
+     */
+    @GetMapping("rollups")
+    public List<PointRollup> rollups(
+            @RequestParam(defaultValue = "MINUTE") PointRollupUnit unit
+    ) {
+        return pointShardRouter.getPointRollups(unit);
+    }
+
+    /**
+     * 이 노드의 전체 유저 포인트 이력을 ID 순서대로 한 줄에 하나씩(NDJSON) 내려줌
+     * 목록을 만들지 않고 순회하면서 바로 쓰므로 이력 수와 관계없이 메모리 사용량이 일정함
+     * @param afterId 이 ID 다음 이력부터 내보냄 (이어받기)
+     */
+    @GetMapping("histories/export")
+    public ResponseEntity<StreamingResponseBody> exportHistories(
+            @RequestParam(defaultValue = "0") long afterId
+    ) {
+        Iterator<PointHistory> histories = pointShardRouter.iteratePointHistories(afterId);
+        ObjectWriter writer = objectMapper.writerFor(PointHistory.class);
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            while (histories.hasNext()) {
+                out.write(writer.writeValueAsBytes(histories.next()));
+                out.write('\n');
+            }
+            out.flush();
+        };
+
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * 유저 포인트가 바뀔 때마다 변경 이벤트(point)를 SSE 로 내려줌
+     * 받지 못한 이벤트가 쌓이면(느린 클라이언트) 연결을 끊으므로, 다시 연결한 뒤 잔액을 한번 조회하면 됨
+     */
+    @GetMapping(value = "{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @PathVariable long id
+    ) {
+        return subscribe(id);
+    }
+
+    /**
+     * 이 노드의 전체 유저 포인트 변경 이벤트를 SSE 로 내려줌 (관리용)
+     */
+    @GetMapping(value = "stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAll() {
+        return subscribe(null);
+    }
+
+    /**
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청에 처음 요청의 결과를 그대로 응답
+     */
     @PatchMapping("{id}/charge")
     public UserPoint charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return pointService.chargeUserPoint(id, amount);
+        return pointShardRouter.chargeUserPoint(id, amount, idempotencyKey);
     }
 
+    /**
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청에 처음 요청의 결과를 그대로 응답
+     */
     @PatchMapping("{id}/use")
     public UserPoint use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return pointShardRouter.useUserPoint(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 다른 유저에게 포인트 이체
+     * 두 유저 잔액과 이력을 함께 변경하고 이체 후 두 유저 포인트를 응답
+     */
+    @PatchMapping("{id}/transfer")
+    public PointTransfer transfer(
+            @PathVariable long id,
+            @RequestBody PointTransferRequest request
     ) {
-        return pointService.useUserPoint(id, amount);
+        return pointShardRouter.transferUserPoint(id, request.toUserId(), request.amount());
+    }
+
+    /**
+     * 여러 유저의 충전, 사용 요청 일괄 처리
+     * 요청별로 성공시 변경 후 포인트, 실패시 거절 사유를 요청 순서대로 응답
+     */
+    @PatchMapping("batch")
+    public List<PointCommandResult> batch(
+            @RequestBody List<PointCommand> commands
+    ) {
+        return pointShardRouter.execute(commands);
+    }
+
+    private SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(pointProperties.getStream().getTimeout().toMillis());
+        PointEventHub.Subscription subscription = pointEventHub.subscribe(userId,
+                event -> emitter.send(SseEmitter.event().name("point").data(event, MediaType.APPLICATION_JSON)),
+                emitter::complete);
+
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        return emitter;
     }
 }
@@ -10,7 +10,32 @@ public enum PointError {
 	NOT_ENOUGH_POINT_TO_USE("사용가능한 포인트가 부족합니다."),
 	EXCEED_MAX_USE_POINT("최대 사용가능한 포인트는 5000원 입니다."),
 	BELOW_MIN_CHARGE_POINT("최소 충전 포인트는 500원 이상이어야 합니다."),
-	EXCEED_MAX_HOLD_POINT("유저의 보유 포인트는 10만원을 넘을 수 없습니다.");
+	EXCEED_MAX_HOLD_POINT("유저의 보유 포인트는 10만원을 넘을 수 없습니다."),
+	INVALID_HISTORY_LIMIT("이력 조회 개수는 1개 이상 1000개 이하이어야 합니다."),
+	EXCEED_MAX_BATCH_SIZE("한번에 처리할 수 있는 요청 수를 초과했습니다."),
+	CONCURRENT_UPDATE_CONFLICT("동시에 처리 중인 요청이 많아 포인트를 변경하지 못했습니다. 잠시 후 다시 시도해주세요."),
+	INVALID_IDEMPOTENCY_KEY("멱등키는 1자 이상 255자 이하이어야 합니다."),
+	IDEMPOTENCY_KEY_REUSED("이미 다른 금액의 요청에 사용된 멱등키입니다."),
+	INVALID_TRANSFER_AMOUNT("이체 포인트는 0보다 커야 합니다."),
+	SELF_TRANSFER("자기 자신에게는 포인트를 이체할 수 없습니다."),
+	CROSS_NODE_TRANSFER("다른 노드가 맡은 유저에게는 포인트를 이체할 수 없습니다."),
+	UNSUPPORTED_BATCH_TYPE("일괄 처리는 충전, 사용 요청만 가능합니다."),
+	INVALID_BATCH_COMMAND("일괄 처리 요청에는 유저 ID 와 변경 타입이 있어야 합니다."),
+	BATCH_COMMAND_FAILED("요청을 처리하지 못했습니다. 잠시 후 다시 시도해주세요."),
+	TOO_MANY_REQUESTS("요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+	TOO_MANY_USER_REQUESTS("같은 유저의 요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+	TOO_MANY_LOCK_WAITERS("같은 유저의 처리를 기다리는 요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+	INVALID_TOP_LIMIT("상위 유저 조회 수는 1명 이상 point.aggregate.top-users 명 이하이어야 합니다.");
 
 	private final String message;
+
+	/**
+	 * @return 잔액이나 요청 내용이 아니라 순간적인 경합, 혼잡으로 거절되어 잠시 후 같은 요청을 다시 보내면 처리될 수 있는지 여부
+	 */
+	public boolean isTransient() {
+		return switch (this) {
+			case CONCURRENT_UPDATE_CONFLICT, TOO_MANY_REQUESTS, TOO_MANY_USER_REQUESTS, TOO_MANY_LOCK_WAITERS -> true;
+			default -> false;
+		};
+	}
 }
@@ -0,0 +1,422 @@
+package io.hhplus.tdd.point;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 포인트 변경 이벤트를 구독자에게 전달
+ * - 변경을 반영한 스레드는 구독자별 버퍼에 넣기만 하고, 구독자에게 보내는 일은 전달 스레드가 맡음
+ * - 버퍼가 가득 찬(느린) 구독자는 기다리지 않고 구독을 끊으므로 변경 처리는 구독자 때문에 멈추지 않음
+ *   (끊긴 클라이언트는 다시 연결한 뒤 잔액을 한번 조회하면 됨)
+ * - 구독자가 없으면 이벤트를 만들지도 않음
+ * - 같은 유저의 이벤트는 유저 락(또는 그룹 커밋, 낙관적 저장) 안에서 발행되므로 변경 순서대로 전달됨
+ * - 한번 보내는 데 sendTimeout 보다 오래 걸리는(소켓이 막힌) 구독자는 감시 스레드가 끊고, 그 전달 스레드가 풀려날 때까지
+ *   전달 스레드를 하나 더 두어 다른 구독자 전달이 멈추지 않게 함
+ * - SseEmitter 의 send 와 complete 는 같은 모니터를 잡으므로, 보내는 중에 끊긴 구독자의 onDisconnect 는
+ *   발행하는 스레드나 감시 스레드가 아닌 보내던 전달 스레드가 전송을 마친 뒤 호출함
+ */
+@Component
+public class PointEventHub {
+
+	private static final Logger log = LoggerFactory.getLogger(PointEventHub.class);
+
+	private static final Subscription[] EMPTY = new Subscription[0];
+
+	/**
+	 * 한 구독자에게 연달아 보낼 최대 이벤트 수 (넘으면 다른 구독자에게 전달 스레드를 넘겨줌)
+	 */
+	private static final int MAX_EVENTS_PER_DISPATCH = 16;
+
+	private static final int IDLE = 0;
+	private static final int SENDING = 1;
+	private static final int SENDING_DISCONNECTED = 2;
+	private static final int STALLED = 3;
+	private static final int CLOSED = 4;
+
+	private final PointProperties pointProperties;
+
+	private final ConcurrentHashMap<Long, Subscription[]> userSubscriptions = new ConcurrentHashMap<>();
+	private volatile Subscription[] allUserSubscriptions = EMPTY;
+	private final AtomicInteger subscriberCount = new AtomicInteger();
+	private volatile ThreadPoolExecutor dispatcher;
+	private ScheduledThreadPoolExecutor watchdog;
+	/**
+	 * 끊겼지만 아직 보내는 중이라 구독 목록에서는 빠진 구독 (감시 스레드가 계속 지켜봄)
+	 */
+	private final Set<Subscription> detachedSubscriptions = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger stalledSenders = new AtomicInteger();
+
+	private final LongAdder publishedCount = new LongAdder();
+	private final LongAdder deliveredCount = new LongAdder();
+	private final LongAdder disconnectedCount = new LongAdder();
+
+	public PointEventHub(PointProperties pointProperties) {
+		this.pointProperties = pointProperties;
+	}
+
+	/**
+	 * @return 구독자가 있어 이벤트를 발행할 필요가 있는지 여부
+	 */
+	public boolean hasSubscribers() {
+		return subscriberCount.get() > 0;
+	}
+
+	/**
+	 * 변경 이벤트를 그 유저의 구독자와 전체 유저 구독자의 버퍼에 넣음 (기다리지 않음)
+	 */
+	public void publish(PointChangedEvent event) {
+		if (!hasSubscribers())
+			return;
+
+		publishedCount.increment();
+		Subscription[] subscriptions = userSubscriptions.get(event.userId());
+		if (subscriptions != null) {
+			for (Subscription subscription : subscriptions)
+				subscription.offer(event);
+		}
+		for (Subscription subscription : allUserSubscriptions)
+			subscription.offer(event);
+	}
+
+	/**
+	 * @param userId 구독할 유저 ID, null 이면 전체 유저
+	 * @param listener 이벤트를 받을 구독자 (전달 스레드에서 호출되며 예외를 던지면 구독을 끊음)
+	 * @param onDisconnect 구독자가 느리거나 전달에 실패해 허브가 구독을 끊을 때 호출
+	 * @return 구독 (구독자가 떠나면 close)
+	 */
+	public Subscription subscribe(Long userId, Listener listener, Runnable onDisconnect) {
+		Subscription subscription = new Subscription(userId, listener, onDisconnect,
+			pointProperties.getStream().getBufferSize());
+
+		synchronized (this) {
+			if (dispatcher == null)
+				start();
+
+			if (userId == null)
+				allUserSubscriptions = append(allUserSubscriptions, subscription);
+			else
+				userSubscriptions.compute(userId, (id, current) -> append(current == null ? EMPTY : current, subscription));
+			subscriberCount.incrementAndGet();
+		}
+		return subscription;
+	}
+
+	public Stats stats() {
+		return new Stats(subscriberCount.get(), publishedCount.sum(), deliveredCount.sum(), disconnectedCount.sum(),
+			stalledSenders.get());
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		if (watchdog != null)
+			watchdog.shutdownNow();
+		if (dispatcher != null)
+			dispatcher.shutdownNow();
+	}
+
+	private void start() {
+		PointProperties.Stream stream = pointProperties.getStream();
+		AtomicInteger threadNumber = new AtomicInteger();
+		dispatcher = new ThreadPoolExecutor(stream.getDispatcherThreads(), stream.getDispatcherThreads(), 60,
+			TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+				Thread thread = new Thread(runnable, "point-event-dispatcher-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+
+		long sendTimeoutNanos = stream.getSendTimeout().toNanos();
+		long periodNanos = Math.max(sendTimeoutNanos / 2, TimeUnit.MILLISECONDS.toNanos(1));
+		watchdog = new ScheduledThreadPoolExecutor(1, runnable -> {
+			Thread thread = new Thread(runnable, "point-event-watchdog");
+			thread.setDaemon(true);
+			return thread;
+		});
+		watchdog.scheduleWithFixedDelay(() -> detectStalled(sendTimeoutNanos), periodNanos, periodNanos,
+			TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * sendTimeout 보다 오래 보내고 있는 구독자를 끊고, 멈춘 전달 스레드 대신 일할 스레드를 하나 늘림
+	 */
+	private void detectStalled(long sendTimeoutNanos) {
+		long now = System.nanoTime();
+		for (Subscription subscription : allUserSubscriptions)
+			subscription.detectStalled(now, sendTimeoutNanos);
+		for (Subscription[] subscriptions : userSubscriptions.values()) {
+			for (Subscription subscription : subscriptions)
+				subscription.detectStalled(now, sendTimeoutNanos);
+		}
+		for (Subscription subscription : detachedSubscriptions)
+			subscription.detectStalled(now, sendTimeoutNanos);
+	}
+
+	/**
+	 * 멈춘 전달 스레드 수만큼 전달 스레드 수를 늘리거나 (풀려나면) 되돌림
+	 * 늘릴 때는 최대 크기부터, 줄일 때는 기본 크기부터 바꿔야 기본 크기가 최대 크기를 넘지 않음
+	 */
+	private synchronized void resizeDispatcher(int delta) {
+		int threads = pointProperties.getStream().getDispatcherThreads() + stalledSenders.addAndGet(delta);
+		if (dispatcher.isShutdown())
+			return;
+
+		if (delta > 0) {
+			dispatcher.setMaximumPoolSize(threads);
+			dispatcher.setCorePoolSize(threads);
+		} else {
+			dispatcher.setCorePoolSize(threads);
+			dispatcher.setMaximumPoolSize(threads);
+		}
+	}
+
+	private synchronized void remove(Subscription subscription) {
+		if (subscription.userId == null) {
+			Subscription[] removed = without(allUserSubscriptions, subscription);
+			if (removed != allUserSubscriptions) {
+				allUserSubscriptions = removed;
+				subscriberCount.decrementAndGet();
+			}
+			return;
+		}
+
+		Subscription[] current = userSubscriptions.get(subscription.userId);
+		if (current == null)
+			return;
+		Subscription[] removed = without(current, subscription);
+		if (removed == current)
+			return;
+		if (removed.length == 0)
+			userSubscriptions.remove(subscription.userId);
+		else
+			userSubscriptions.put(subscription.userId, removed);
+		subscriberCount.decrementAndGet();
+	}
+
+	private static Subscription[] append(Subscription[] subscriptions, Subscription subscription) {
+		Subscription[] appended = Arrays.copyOf(subscriptions, subscriptions.length + 1);
+		appended[subscriptions.length] = subscription;
+		return appended;
+	}
+
+	private static Subscription[] without(Subscription[] subscriptions, Subscription subscription) {
+		for (int i = 0; i < subscriptions.length; i++) {
+			if (subscriptions[i] != subscription)
+				continue;
+
+			Subscription[] removed = new Subscription[subscriptions.length - 1];
+			System.arraycopy(subscriptions, 0, removed, 0, i);
+			System.arraycopy(subscriptions, i + 1, removed, i, subscriptions.length - i - 1);
+			return removed;
+		}
+		return subscriptions;
+	}
+
+	/**
+	 * 이벤트를 받을 구독자
+	 */
+	@FunctionalInterface
+	public interface Listener {
+
+		void onEvent(PointChangedEvent event) throws Exception;
+	}
+
+	/**
+	 * 구독자 하나의 버퍼와 전달 상태
+	 * 버퍼에 이벤트가 들어오면 전달 스레드에 한번만 예약하고, 예약된 전달이 버퍼를 비움
+	 * sendState 는 CAS 로만 바꾸어 보내던 전달 스레드와 끊는 쪽 중 한쪽만 onDisconnect 를 호출함
+	 * (IDLE -> SENDING -> IDLE, 보내는 중에 끊기면 SENDING_DISCONNECTED, 시간을 넘기면 STALLED, 끝나면 CLOSED)
+	 */
+	public final class Subscription implements AutoCloseable {
+
+		private final Long userId;
+		private final Listener listener;
+		private final Runnable onDisconnect;
+		private final ArrayBlockingQueue<PointChangedEvent> buffer;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private final AtomicBoolean closed = new AtomicBoolean();
+		private final AtomicInteger sendState = new AtomicInteger(IDLE);
+		private volatile long sendStartedNanos;
+		private volatile boolean disconnected;
+
+		private Subscription(Long userId, Listener listener, Runnable onDisconnect, int bufferSize) {
+			this.userId = userId;
+			this.listener = listener;
+			this.onDisconnect = onDisconnect;
+			this.buffer = new ArrayBlockingQueue<>(bufferSize);
+		}
+
+		/**
+		 * 구독자가 떠날 때 구독 해제
+		 */
+		@Override
+		public void close() {
+			if (closed.compareAndSet(false, true)) {
+				remove(this);
+				buffer.clear();
+				// 보내는 중에 떠났으면 그 전송이 멈추는지 계속 지켜봄
+				detachedSubscriptions.add(this);
+				int state = sendState.get();
+				if (state != SENDING && state != SENDING_DISCONNECTED)
+					detachedSubscriptions.remove(this);
+			}
+		}
+
+		public boolean isClosed() {
+			return closed.get();
+		}
+
+		private void offer(PointChangedEvent event) {
+			if (closed.get())
+				return;
+
+			if (!buffer.offer(event)) {
+				log.debug("느린 구독자 구독 해제 (유저 {})", userId == null ? "전체" : userId);
+				disconnect();
+				return;
+			}
+			schedule();
+		}
+
+		private void schedule() {
+			if (!scheduled.compareAndSet(false, true))
+				return;
+
+			try {
+				dispatcher.execute(this::dispatch);
+			} catch (RejectedExecutionException e) {
+				// 종료 중
+				scheduled.set(false);
+			}
+		}
+
+		private void dispatch() {
+			try {
+				PointChangedEvent event;
+				for (int sent = 0; sent < MAX_EVENTS_PER_DISPATCH && !closed.get()
+					&& (event = buffer.poll()) != null; sent++) {
+					if (!send(event))
+						return;
+				}
+			} finally {
+				scheduled.set(false);
+			}
+
+			if (!closed.get() && !buffer.isEmpty())
+				schedule();
+		}
+
+		/**
+		 * @return 이어서 보내도 되는지 여부 (끊겼으면 false)
+		 */
+		private boolean send(PointChangedEvent event) {
+			sendStartedNanos = System.nanoTime();
+			if (!sendState.compareAndSet(IDLE, SENDING))
+				return false;
+
+			Exception failure = null;
+			try {
+				listener.onEvent(event);
+				deliveredCount.increment();
+			} catch (Exception e) {
+				failure = e;
+			}
+
+			int state;
+			while ((state = sendState.get()) == SENDING && !sendState.compareAndSet(SENDING, IDLE)) {
+				// 끊는 쪽과 경합하면 바뀐 상태를 다시 읽음
+			}
+			if (state != SENDING) {
+				// 보내는 중에 끊겼으므로 끊는 쪽 대신 onDisconnect 호출
+				sendState.set(CLOSED);
+				detachedSubscriptions.remove(this);
+				if (state == STALLED)
+					resizeDispatcher(-1);
+				if (disconnected)
+					onDisconnect.run();
+				return false;
+			}
+			if (closed.get())
+				detachedSubscriptions.remove(this);
+
+			if (failure != null) {
+				log.debug("구독자에게 이벤트를 전달하지 못해 구독 해제 (유저 {})", userId == null ? "전체" : userId, failure);
+				disconnect();
+				return false;
+			}
+			return true;
+		}
+
+		private void detectStalled(long now, long sendTimeoutNanos) {
+			int state = sendState.get();
+			if ((state != SENDING && state != SENDING_DISCONNECTED) || now - sendStartedNanos < sendTimeoutNanos)
+				return;
+
+			if (state == SENDING) {
+				log.debug("전송이 멈춘 구독자 구독 해제 (유저 {})", userId == null ? "전체" : userId);
+				disconnect();
+				state = sendState.get();
+			}
+			if ((state == SENDING || state == SENDING_DISCONNECTED) && sendState.compareAndSet(state, STALLED))
+				resizeDispatcher(1);
+		}
+
+		private void disconnect() {
+			if (!closed.compareAndSet(false, true))
+				return;
+
+			disconnected = true;
+			remove(this);
+			buffer.clear();
+			disconnectedCount.increment();
+
+			// 보내는 중이면 onDisconnect 는 보내던 전달 스레드가 전송을 마친 뒤 호출
+			detachedSubscriptions.add(this);
+			while (true) {
+				int state = sendState.get();
+				if (state == SENDING && sendState.compareAndSet(SENDING, SENDING_DISCONNECTED))
+					return;
+				if (state == IDLE && sendState.compareAndSet(IDLE, CLOSED)) {
+					detachedSubscriptions.remove(this);
+					onDisconnect.run();
+					return;
+				}
+				if (state != SENDING && state != IDLE) {
+					detachedSubscriptions.remove(this);
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * 이벤트 전달 통계
+	 * @param subscribers 현재 구독자 수
+	 * @param publishedCount 구독자가 있을 때 발행된 이벤트 수
+	 * @param deliveredCount 구독자에게 전달한 이벤트 수
+	 * @param disconnectedCount 느리거나 전달에 실패해 허브가 끊은 구독 수
+	 * @param stalledSenders 전송이 멈춰 sendTimeout 을 넘긴 뒤에도 아직 풀려나지 않은 전달 스레드 수
+	 */
+	public record Stats(
+		long subscribers,
+		long publishedCount,
+		long deliveredCount,
+		long disconnectedCount,
+		long stalledSenders
+	) {
+	}
+}
@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point;
+
+import lombok.Getter;
+
+/**
+ * 포인트 정책 위반 예외
+ * - 어떤 PointError 로 거절되었는지 함께 전달
+ * - IllegalArgumentException 을 상속하여 기존 400 응답 처리를 그대로 따름
+ */
+@Getter
+public class PointException extends IllegalArgumentException {
+
+	private final PointError error;
+
+	public PointException(PointError error) {
+		super(error.getMessage());
+		this.error = error;
+	}
+}
@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 요청 처리 스레드 종류
+ * - PLATFORM : 크기가 정해진 플랫폼 스레드 풀
+ * - VIRTUAL : 작업마다 가상 스레드 (Java 21 이상에서만 동작하고 그 외에는 PLATFORM 으로 동작)
+ */
+public enum PointExecutionMode {
+	PLATFORM, VIRTUAL
+}
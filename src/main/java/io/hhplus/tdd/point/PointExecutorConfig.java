@@ -0,0 +1,112 @@
+package io.hhplus.tdd.point;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 포인트 처리 스레드 설정
+ * 처리 시간 대부분이 테이블 지연과 유저 락(ReentrantLock) 대기이므로 VIRTUAL 모드에서는
+ * 요청 처리와 일괄 처리를 모두 가상 스레드에서 실행함
+ * 유저 락, 이력 추가 락, WAL 반영 대기는 synchronized 가 아닌 ReentrantLock 이라 대기 중에도 캐리어 스레드를 점유(pinning)하지 않음
+ * 가상 스레드 Executor 는 빈마다 한번만 만들고, Tomcat 은 pointExecutor 를 함께 써서 스프링 종료 시 함께 닫힘
+ */
+@Configuration
+public class PointExecutorConfig {
+
+	private static final Logger log = LoggerFactory.getLogger(PointExecutorConfig.class);
+
+	/**
+	 * 유저별 일괄 처리를 병렬로 실행하는 스레드 풀 (VIRTUAL 모드에서는 Tomcat 요청 처리도 이 Executor 에서 실행)
+	 * 작업 대부분이 테이블 지연과 유저 락 대기이므로 CPU 수보다 크게 잡음
+	 */
+	@Bean(destroyMethod = "shutdown")
+	public ExecutorService pointExecutor(PointProperties pointProperties) {
+		if (pointProperties.getExecutionMode() == PointExecutionMode.VIRTUAL) {
+			Optional<ExecutorService> virtualThreadExecutor = newVirtualThreadExecutor();
+			if (virtualThreadExecutor.isPresent())
+				return virtualThreadExecutor.get();
+		}
+
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "point-executor-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+
+		return Executors.newFixedThreadPool(pointProperties.getBatch().getParallelism(), threadFactory);
+	}
+
+	/**
+	 * 리액티브 API(ReactivePointController)가 테이블 호출처럼 멈추는 작업을 실행하는 스케줄러
+	 * - bounded elastic 과 같이 필요할 때 schedulerThreads 개까지 스레드를 만들고 60초 쉬면 정리하며, 대기 작업 수도 제한함
+	 * - Schedulers.boundedElastic 은 대기 작업을 스레드별 대기열에 나누어 넣어, 테이블 지연이 긴 작업 뒤에 놓인 작업은
+	 *   다른 스레드가 놀고 있어도 기다려야 하므로 모든 스레드가 하나의 대기열을 함께 쓰는 ThreadPoolExecutor 로 만듦
+	 * - VIRTUAL 모드에서는 작업마다 가상 스레드 (Executor 는 스케줄러를 닫을 때 함께 닫힘)
+	 */
+	@Bean(destroyMethod = "dispose")
+	public Scheduler pointReactiveScheduler(PointProperties pointProperties) {
+		if (pointProperties.getExecutionMode() == PointExecutionMode.VIRTUAL) {
+			Optional<ExecutorService> virtualThreadExecutor = newVirtualThreadExecutor();
+			if (virtualThreadExecutor.isPresent())
+				return Schedulers.fromExecutorService(virtualThreadExecutor.get(), "point-reactive");
+		}
+
+		PointProperties.Reactive reactive = pointProperties.getReactive();
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(reactive.getSchedulerThreads(),
+			reactive.getSchedulerThreads(), 60, TimeUnit.SECONDS,
+			new LinkedBlockingQueue<>(reactive.getSchedulerQueueSize()), runnable -> {
+				Thread thread = new Thread(runnable, "point-reactive-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		executor.allowCoreThreadTimeOut(true);
+		return Schedulers.fromExecutorService(executor, "point-reactive");
+	}
+
+	/**
+	 * VIRTUAL 모드에서 Tomcat 요청 처리 스레드를 pointExecutor 의 가상 스레드로 교체
+	 * Tomcat 은 밖에서 받은 Executor 를 닫지 않으므로 새로 만들지 않고 스프링이 닫는 pointExecutor 를 씀
+	 * 가상 스레드를 지원하지 않아 pointExecutor 가 고정 크기 풀이면 Tomcat 스레드는 그대로 둠
+	 */
+	@Bean
+	@ConditionalOnProperty(prefix = "point", name = "execution-mode", havingValue = "VIRTUAL")
+	public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService pointExecutor) {
+		return protocolHandler -> {
+			if (!(pointExecutor instanceof ThreadPoolExecutor))
+				protocolHandler.setExecutor(pointExecutor);
+		};
+	}
+
+	/**
+	 * 소스 호환 버전이 17 이므로 Java 21 의 Executors.newVirtualThreadPerTaskExecutor 를 리플렉션으로 호출
+	 * @return 가상 스레드 Executor, 지원하지 않는 런타임이면 empty
+	 */
+	static Optional<ExecutorService> newVirtualThreadExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return Optional.of((ExecutorService)factory.invoke(null));
+		} catch (ReflectiveOperationException e) {
+			log.warn("가상 스레드를 지원하지 않는 런타임입니다. 플랫폼 스레드로 실행합니다. (java {})", Runtime.version());
+			return Optional.empty();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * 포인트 만료 스케줄러
+ * - 시작할 때 저장된 이력(WAL 로 복구한 이력 포함)으로 묶음 장부를 다시 만듦
+ * - point.expiry.tick 마다 타이밍 휠에서 만료 시각이 된 유저만 꺼내 유저별 만료를 실행 스레드에서 나누어 처리
+ *   (전체 유저를 훑지 않으므로 한번에 처리하는 양은 그 사이 만료된 유저 수에 비례)
+ * - point.expiry.enabled 가 false 면 아무것도 하지 않음
+ */
+@Component
+public class PointExpiryScheduler {
+
+	private static final Logger log = LoggerFactory.getLogger(PointExpiryScheduler.class);
+
+	/**
+	 * 실행 스레드 작업 하나가 처리할 유저 수
+	 */
+	private static final int USERS_PER_TASK = 256;
+
+	private final PointService pointService;
+	private final PointLotBook pointLotBook;
+	private final ExecutorService pointExecutor;
+	private final Thread expiryThread;
+
+	public PointExpiryScheduler(PointService pointService, PointLotBook pointLotBook,
+		PointHistoryRepository pointHistoryRepository, ExecutorService pointExecutor,
+		PointProperties pointProperties) {
+		this.pointService = pointService;
+		this.pointLotBook = pointLotBook;
+		this.pointExecutor = pointExecutor;
+
+		if (!pointLotBook.isEnabled()) {
+			this.expiryThread = null;
+			return;
+		}
+
+		Iterator<PointHistory> histories = pointHistoryRepository.iterateAfter(0);
+		while (histories.hasNext())
+			pointLotBook.record(histories.next());
+
+		long tickNanos = pointProperties.getExpiry().getTick().toNanos();
+		this.expiryThread = new Thread(() -> run(tickNanos), "point-expiry");
+		this.expiryThread.setDaemon(true);
+		this.expiryThread.start();
+	}
+
+	/**
+	 * nowMillis 까지 만료 시각이 된 묶음을 만료
+	 * @return 만료한 묶음 수
+	 */
+	public int expire(long nowMillis) {
+		long[] dueUsers = pointLotBook.dueUsers(nowMillis);
+		if (dueUsers.length == 0)
+			return 0;
+
+		AtomicInteger expiredCount = new AtomicInteger();
+		List<CompletableFuture<Void>> futures = new ArrayList<>(dueUsers.length / USERS_PER_TASK + 1);
+		for (int from = 0; from < dueUsers.length; from += USERS_PER_TASK) {
+			int start = from;
+			int end = Math.min(from + USERS_PER_TASK, dueUsers.length);
+			futures.add(CompletableFuture.runAsync(() -> {
+				int expired = 0;
+				for (int i = start; i < end; i++)
+					expired += expireUser(dueUsers[i], nowMillis);
+				expiredCount.addAndGet(expired);
+			}, pointExecutor));
+		}
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+		return expiredCount.get();
+	}
+
+	@PreDestroy
+	public void close() {
+		if (expiryThread == null)
+			return;
+
+		expiryThread.interrupt();
+		try {
+			expiryThread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private int expireUser(long userId, long nowMillis) {
+		try {
+			return pointService.expireUserPoint(userId, nowMillis);
+		} catch (RuntimeException e) {
+			// 실패한 유저는 다시 예약되어 다음 tick 이후에 재시도됨
+			log.error("유저 {} 포인트를 만료하지 못했습니다.", userId, e);
+			return 0;
+		}
+	}
+
+	private void run(long tickNanos) {
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(tickNanos);
+			} catch (InterruptedException e) {
+				return;
+			}
+
+			try {
+				expire(System.currentTimeMillis());
+			} catch (RuntimeException e) {
+				log.error("포인트 만료를 처리하지 못했습니다.", e);
+			}
+		}
+	}
+}
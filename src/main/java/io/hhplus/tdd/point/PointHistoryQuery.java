@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이력 조회 조건
+ * - limit : 최대 조회 개수, 없으면 조건에 맞는 이력 전체
+ * - afterId : 이 ID 보다 큰 이력부터 오래된 순으로 조회 (다음 페이지)
+ * - beforeId : 이 ID 보다 작은 이력 중 최신 limit 개 조회 (이전 페이지)
+ * - from, to : 변경 시각 범위 [from, to) (millis)
+ * - type : 포인트 트랜잭션 종류
+ * afterId 가 없고 limit 이 있으면 최신 이력부터 limit 개를 조회하며, 결과는 항상 ID 오름차순
+ */
+public record PointHistoryQuery(
+	Integer limit,
+	Long afterId,
+	Long beforeId,
+	Long from,
+	Long to,
+	TransactionType type
+) {
+
+	public static PointHistoryQuery all() {
+		return new PointHistoryQuery(null, null, null, null, null, null);
+	}
+
+	public boolean matches(PointHistory pointHistory) {
+		return matches(pointHistory.updateMillis(), pointHistory.type());
+	}
+
+	/**
+	 * PointHistory 를 만들기 전에 변경 시각과 타입만으로 조건 확인
+	 */
+	public boolean matches(long updateMillis, TransactionType type) {
+		return (from == null || updateMillis >= from)
+			&& (to == null || updateMillis < to)
+			&& (this.type == null || type == this.type);
+	}
+
+	/**
+	 * @return 최신 이력부터 거꾸로 조회해야 하는지 여부
+	 */
+	public boolean latestFirst() {
+		return limit != null && afterId == null;
+	}
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 만료 시각이 같은 포인트 묶음 (충전, 이체 받기 한 건)
+ * @param amount 남은 포인트
+ * @param expireMillis 만료 시각
+ */
+public record PointLot(
+	long amount,
+	long expireMillis
+) {
+}
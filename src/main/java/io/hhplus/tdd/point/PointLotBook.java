@@ -0,0 +1,248 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저별 포인트 묶음(lot) 장부
+ * - 충전(CHARGE), 이체 받기(TRANSFER_IN) 이력마다 (금액, 이력 시각 + ttl) 묶음을 만들고,
+ *   사용(USE), 이체 보내기(TRANSFER_OUT), 만료(EXPIRE)는 먼저 만든 묶음부터 차감 (FIFO)
+ * - ttl 이 같으므로 먼저 만든 묶음이 먼저 만료되어, 만료 대상은 항상 앞쪽 묶음
+ * - 묶음 합보다 잔액이 크면(기능 도입 전 잔액) 그 차이는 만료되지 않는 잔액으로 남고 묶음을 다 쓴 뒤에 차감됨
+ * - 유저마다 가장 먼저 만료될 묶음 하나만 타이밍 휠에 예약하므로 예약 수는 묶음 수가 아닌 유저 수를 넘지 않음
+ * - 한 유저의 장부는 그 유저의 포인트 변경과 같은 직렬화(유저 락, 그룹 커밋, 낙관적 저장) 안에서만 바뀜
+ * - point.expiry.enabled 가 false 면 아무것도 기록하지 않음
+ */
+@Component
+public class PointLotBook {
+
+	private final boolean enabled;
+	private final long ttlMillis;
+	private final TimingWheel timingWheel;
+	private final ConcurrentHashMap<Long, UserLots> userLots = new ConcurrentHashMap<>();
+
+	private final LongAdder lotCount = new LongAdder();
+	private final LongAdder expiredCount = new LongAdder();
+
+	public PointLotBook(PointProperties pointProperties) {
+		PointProperties.Expiry expiry = pointProperties.getExpiry();
+		this.enabled = expiry.isEnabled();
+		this.ttlMillis = expiry.getTtl().toMillis();
+		this.timingWheel = new TimingWheel(System.currentTimeMillis(), expiry.getTick().toMillis());
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 포인트 변경 이력을 장부에 반영 (새 묶음의 만료 시각은 이력 시각 + ttl)
+	 */
+	public void record(PointHistory pointHistory) {
+		if (!enabled || pointHistory.amount() <= 0)
+			return;
+
+		long userId = pointHistory.userId();
+		TransactionType type = pointHistory.type();
+		long amount = pointHistory.amount();
+		long updateMillis = pointHistory.updateMillis();
+
+		if (type.isCredit()) {
+			UserLots lots = userLots.computeIfAbsent(userId, id -> new UserLots());
+			long expireMillis = updateMillis + ttlMillis;
+			boolean schedule;
+			synchronized (lots) {
+				lots.add(amount, expireMillis);
+				schedule = !lots.scheduled;
+				lots.scheduled = true;
+			}
+			lotCount.increment();
+			if (schedule)
+				schedule(userId, expireMillis);
+			return;
+		}
+
+		UserLots lots = userLots.get(userId);
+		if (lots == null)
+			return;
+
+		int consumed;
+		boolean empty;
+		synchronized (lots) {
+			consumed = lots.consume(amount);
+			empty = lots.size == 0;
+		}
+		lotCount.add(-consumed);
+		if (type == TransactionType.EXPIRE)
+			expiredCount.add(consumed);
+		if (empty)
+			userLots.remove(userId, lots);
+	}
+
+	/**
+	 * @return 만료 시각이 지난 앞쪽 묶음들의 남은 금액 (먼저 만든 묶음부터)
+	 */
+	public long[] expiredAmounts(long userId, long nowMillis) {
+		UserLots lots = userLots.get(userId);
+		if (lots == null)
+			return new long[0];
+
+		synchronized (lots) {
+			int count = 0;
+			while (count < lots.size && lots.expireMillis[lots.head + count] <= nowMillis)
+				count++;
+			return Arrays.copyOfRange(lots.amounts, lots.head, lots.head + count);
+		}
+	}
+
+	/**
+	 * @return 유저의 남은 묶음 목록 (먼저 만료되는 묶음부터)
+	 */
+	public List<PointLot> findAll(long userId) {
+		UserLots lots = userLots.get(userId);
+		if (lots == null)
+			return List.of();
+
+		synchronized (lots) {
+			List<PointLot> result = new ArrayList<>(lots.size);
+			for (int i = lots.head; i < lots.head + lots.size; i++)
+				result.add(new PointLot(lots.amounts[i], lots.expireMillis[i]));
+			return result;
+		}
+	}
+
+	/**
+	 * nowMillis 까지 만료 예약 시각이 된 유저 목록
+	 * 꺼낸 유저는 예약이 없는 상태가 되므로 만료 처리 후 reschedule 로 다음 묶음을 예약해야 함
+	 */
+	public long[] dueUsers(long nowMillis) {
+		LongList due = new LongList();
+		synchronized (timingWheel) {
+			timingWheel.advance(nowMillis, due::add);
+		}
+
+		for (int i = 0; i < due.size; i++) {
+			UserLots lots = userLots.get(due.values[i]);
+			if (lots != null) {
+				synchronized (lots) {
+					lots.scheduled = false;
+				}
+			}
+		}
+		return Arrays.copyOf(due.values, due.size);
+	}
+
+	/**
+	 * 예약이 없는 유저의 가장 먼저 만료될 묶음을 예약
+	 */
+	public void reschedule(long userId) {
+		UserLots lots = userLots.get(userId);
+		if (lots == null)
+			return;
+
+		long expireMillis;
+		synchronized (lots) {
+			if (lots.scheduled || lots.size == 0)
+				return;
+			lots.scheduled = true;
+			expireMillis = lots.expireMillis[lots.head];
+		}
+		schedule(userId, expireMillis);
+	}
+
+	public Stats stats() {
+		long scheduled;
+		synchronized (timingWheel) {
+			scheduled = timingWheel.size();
+		}
+		return new Stats(userLots.size(), lotCount.sum(), scheduled, expiredCount.sum());
+	}
+
+	private void schedule(long userId, long expireMillis) {
+		synchronized (timingWheel) {
+			timingWheel.schedule(userId, expireMillis);
+		}
+	}
+
+	/**
+	 * 묶음 통계
+	 * @param users 묶음이 남은 유저 수
+	 * @param lots 남은 묶음 수
+	 * @param scheduled 타이밍 휠에 예약된 유저 수
+	 * @param expiredCount 만료된 묶음 수
+	 */
+	public record Stats(
+		long users,
+		long lots,
+		long scheduled,
+		long expiredCount
+	) {
+	}
+
+	/**
+	 * 한 유저의 묶음 목록 (head 부터 size 개, 앞쪽을 차감하며 head 를 옮기고 뒤에 추가)
+	 */
+	private static final class UserLots {
+
+		private long[] amounts = new long[2];
+		private long[] expireMillis = new long[2];
+		private int head;
+		private int size;
+		private boolean scheduled;
+
+		private void add(long amount, long expireAt) {
+			if (head + size == amounts.length) {
+				// 앞쪽이 절반 넘게 비었으면 당겨오고, 아니면 늘림
+				if (head > amounts.length / 2) {
+					System.arraycopy(amounts, head, amounts, 0, size);
+					System.arraycopy(expireMillis, head, expireMillis, 0, size);
+				} else {
+					amounts = Arrays.copyOfRange(amounts, head, head + amounts.length * 2);
+					expireMillis = Arrays.copyOfRange(expireMillis, head, head + expireMillis.length * 2);
+				}
+				head = 0;
+			}
+			amounts[head + size] = amount;
+			expireMillis[head + size] = expireAt;
+			size++;
+		}
+
+		/**
+		 * 앞쪽 묶음부터 amount 만큼 차감
+		 * @return 다 써서 없어진 묶음 수
+		 */
+		private int consume(long amount) {
+			int removed = 0;
+			while (amount > 0 && size > 0) {
+				long used = Math.min(amount, amounts[head]);
+				amounts[head] -= used;
+				amount -= used;
+				if (amounts[head] == 0) {
+					head++;
+					size--;
+					removed++;
+				}
+			}
+			if (size == 0)
+				head = 0;
+			return removed;
+		}
+	}
+
+	private static final class LongList {
+
+		private long[] values = new long[16];
+		private int size;
+
+		private void add(long value) {
+			if (size == values.length)
+				values = Arrays.copyOf(values, size * 2);
+			values[size++] = value;
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package io.hhplus.tdd.point;
+
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.stereotype.Component;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryWriter;
+import io.hhplus.tdd.database.UserPointCache;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.WriteAheadLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 구성요소별 stats() 로 모으고 있던 통계를 지표로 노출
+ * 지표를 읽을 때마다 stats() 를 호출하므로 처리 경로에는 비용이 추가되지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class PointMeterBinder implements MeterBinder {
+
+	private final UserPointRepository userPointRepository;
+	private final PointHistoryRepository pointHistoryRepository;
+	private final UserLockManager userLockManager;
+	private final OptimisticPointStore optimisticPointStore;
+	private final IdempotencyCache idempotencyCache;
+	private final WriteAheadLog writeAheadLog;
+	private final PointEventHub pointEventHub;
+	private final PointLotBook pointLotBook;
+	private final PointRateLimiter pointRateLimiter;
+	private final UserSerialQueue userSerialQueue;
+	private final PointAggregates pointAggregates;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		gauge(registry, "point.cache.size", userPointRepository, r -> r.cacheStats().size());
+		cacheCounter(registry, "hit", UserPointCache.Stats::hitCount);
+		cacheCounter(registry, "miss", UserPointCache.Stats::missCount);
+		FunctionCounter.builder("point.cache.evictions", userPointRepository, r -> r.cacheStats().evictionCount())
+			.register(registry);
+		loadCounter(registry, "select", UserPointRepository.LoadStats::selectCount);
+		loadCounter(registry, "coalesced", UserPointRepository.LoadStats::coalescedCount);
+		gauge(registry, "point.cache.loads.in.flight", userPointRepository, r -> r.loadStats().inFlight());
+
+		gauge(registry, "point.lock.live", userLockManager, m -> m.stats().liveLocks());
+		FunctionCounter.builder("point.lock.acquires", userLockManager, m -> m.stats().acquireCount())
+			.register(registry);
+		FunctionCounter.builder("point.lock.contended", userLockManager, m -> m.stats().contendedCount())
+			.register(registry);
+
+		gauge(registry, "point.optimistic.live", optimisticPointStore, s -> s.stats().liveStates());
+		FunctionCounter.builder("point.optimistic.commits", optimisticPointStore, s -> s.stats().commitCount())
+			.register(registry);
+		FunctionCounter.builder("point.optimistic.retries", optimisticPointStore, s -> s.stats().retryCount())
+			.register(registry);
+		FunctionCounter.builder("point.optimistic.conflicts", optimisticPointStore, s -> s.stats().conflictCount())
+			.register(registry);
+
+		gauge(registry, "point.idempotency.size", idempotencyCache, c -> c.stats().size());
+		gauge(registry, "point.idempotency.estimated.bytes", idempotencyCache, c -> c.stats().estimatedBytes());
+		idempotencyCounter(registry, "hit", IdempotencyCache.Stats::hitCount);
+		idempotencyCounter(registry, "coalesced", IdempotencyCache.Stats::coalescedCount);
+		idempotencyCounter(registry, "miss", IdempotencyCache.Stats::missCount);
+		FunctionCounter.builder("point.idempotency.evictions", idempotencyCache, c -> c.stats().evictionCount())
+			.register(registry);
+
+		// WAL 을 사용하지 않으면 모두 0
+		FunctionCounter.builder("point.wal.appends", writeAheadLog, w -> w.stats().appendCount())
+			.register(registry);
+		FunctionCounter.builder("point.wal.syncs", writeAheadLog, w -> w.stats().syncCount())
+			.register(registry);
+		gauge(registry, "point.wal.position.bytes", writeAheadLog, w -> w.stats().position());
+		gauge(registry, "point.wal.unsynced.bytes", writeAheadLog,
+			w -> w.stats().position() - w.stats().durablePosition());
+		gauge(registry, "point.wal.segments", writeAheadLog, w -> w.stats().segmentCount());
+		// 재시작시 스냅샷 이후 다시 읽어야 하는 로그 크기
+		gauge(registry, "point.wal.replay.bytes", writeAheadLog,
+			w -> w.stats().position() - w.stats().snapshotPosition());
+
+		gauge(registry, "point.stream.subscribers", pointEventHub, h -> h.stats().subscribers());
+		FunctionCounter.builder("point.stream.published", pointEventHub, h -> h.stats().publishedCount())
+			.register(registry);
+		FunctionCounter.builder("point.stream.delivered", pointEventHub, h -> h.stats().deliveredCount())
+			.register(registry);
+		// 느리거나 전달에 실패해 끊은 구독
+		FunctionCounter.builder("point.stream.disconnected", pointEventHub, h -> h.stats().disconnectedCount())
+			.register(registry);
+		// 전송이 멈춰 대신 일할 스레드를 더 둔 전달 스레드
+		gauge(registry, "point.stream.stalled.senders", pointEventHub, h -> h.stats().stalledSenders());
+
+		// 만료를 사용하지 않으면 만료 지표는 항상 0
+		gauge(registry, "point.expiry.users", pointLotBook, b -> b.stats().users());
+		gauge(registry, "point.expiry.lots", pointLotBook, b -> b.stats().lots());
+		gauge(registry, "point.expiry.scheduled", pointLotBook, b -> b.stats().scheduled());
+		FunctionCounter.builder("point.expiry.expired", pointLotBook, b -> b.stats().expiredCount())
+			.register(registry);
+
+		// 거절 수는 point.rejections 의 TOO_MANY_* 로 집계
+		gauge(registry, "point.rate.limit.active.buckets", pointRateLimiter, l -> l.stats().activeBuckets());
+		FunctionCounter.builder("point.rate.limit.untracked", pointRateLimiter, l -> l.stats().untrackedCount())
+			.register(registry);
+
+		gauge(registry, "point.reactive.active.users", userSerialQueue, q -> q.stats().activeUsers());
+		FunctionCounter.builder("point.reactive.submitted", userSerialQueue, q -> q.stats().submittedCount())
+			.register(registry);
+		// 같은 유저의 앞 작업이 끝나기를 기다린 작업
+		FunctionCounter.builder("point.reactive.queued", userSerialQueue, q -> q.stats().queuedCount())
+			.register(registry);
+
+		gauge(registry, "point.aggregate.users", pointAggregates, a -> a.stats().users());
+		gauge(registry, "point.aggregate.allocated.bytes", pointAggregates, a -> a.stats().allocatedBytes());
+		gauge(registry, "point.aggregate.top.candidates", pointAggregates, a -> a.stats().topCandidates());
+		// 상위 유저 후보 카운터가 다른 유저에게 넘어간 횟수 (자주 늘면 point.aggregate.top-users 를 늘림)
+		FunctionCounter.builder("point.aggregate.top.replaced", pointAggregates, a -> a.stats().topReplacedCount())
+			.register(registry);
+
+		gauge(registry, "point.history.queue.depth", pointHistoryRepository,
+			r -> writerStat(r, PointHistoryWriter.Stats::queueDepth));
+		FunctionCounter.builder("point.history.written", pointHistoryRepository,
+				r -> writerStat(r, PointHistoryWriter.Stats::writtenCount))
+			.register(registry);
+		FunctionCounter.builder("point.history.blocked", pointHistoryRepository,
+				r -> writerStat(r, PointHistoryWriter.Stats::blockedCount))
+			.register(registry);
+		FunctionCounter.builder("point.history.failed", pointHistoryRepository,
+				r -> writerStat(r, PointHistoryWriter.Stats::failedCount))
+			.register(registry);
+	}
+
+	private void cacheCounter(MeterRegistry registry, String result, ToDoubleFunction<UserPointCache.Stats> count) {
+		FunctionCounter.builder("point.cache.requests", userPointRepository,
+				r -> count.applyAsDouble(r.cacheStats()))
+			.tag("result", result)
+			.register(registry);
+	}
+
+	private void loadCounter(MeterRegistry registry, String result,
+		ToDoubleFunction<UserPointRepository.LoadStats> count) {
+		FunctionCounter.builder("point.cache.loads", userPointRepository,
+				r -> count.applyAsDouble(r.loadStats()))
+			.tag("result", result)
+			.register(registry);
+	}
+
+	private void idempotencyCounter(MeterRegistry registry, String result,
+		ToDoubleFunction<IdempotencyCache.Stats> count) {
+		FunctionCounter.builder("point.idempotency.requests", idempotencyCache,
+				c -> count.applyAsDouble(c.stats()))
+			.tag("result", result)
+			.register(registry);
+	}
+
+	private static <T> void gauge(MeterRegistry registry, String name, T target, ToDoubleFunction<T> value) {
+		Gauge.builder(name, target, value).register(registry);
+	}
+
+	private static double writerStat(PointHistoryRepository repository,
+		ToDoubleFunction<PointHistoryWriter.Stats> value) {
+		return value.applyAsDouble(repository.writerStats());
+	}
+}
@@ -0,0 +1,108 @@
+package io.hhplus.tdd.point;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * 포인트 처리 지표
+ * - 유저 락 대기/보유 시간, 테이블 호출별 시간, WAL 반영 시간, 노드 간 전달 시간, 충전/사용 전체 처리 시간을 히스토그램이 있는 Timer 로 기록
+ * - 거절 사유(PointError)별 횟수를 Counter 로 기록
+ * - 태그는 변경 타입, 테이블, 거절 사유처럼 값의 종류가 정해진 것만 사용하고 유저 ID 는 태그로 쓰지 않음
+ * - 모든 지표는 생성 시점에 미리 등록하여 기록할 때 조회나 할당이 일어나지 않음
+ */
+@Component
+public class PointMetrics {
+
+	private final Timer lockWaitTimer;
+	private final Timer lockHoldTimer;
+	private final Timer userPointSelectTimer;
+	private final Timer userPointUpdateTimer;
+	private final Timer pointHistoryInsertTimer;
+	private final Timer walSyncTimer;
+	private final Timer nodeForwardTimer;
+	private final Map<TransactionType, Timer> operationTimers = new EnumMap<>(TransactionType.class);
+	private final Map<PointError, Counter> rejectionCounters = new EnumMap<>(PointError.class);
+
+	public PointMetrics(MeterRegistry meterRegistry) {
+		this.lockWaitTimer = timer("point.lock.wait", "유저 락 획득까지 대기한 시간")
+			.register(meterRegistry);
+		this.lockHoldTimer = timer("point.lock.hold", "유저 락을 잡고 있던 시간")
+			.register(meterRegistry);
+		this.userPointSelectTimer = tableTimer("user_point", "select_by_id").register(meterRegistry);
+		this.userPointUpdateTimer = tableTimer("user_point", "insert_or_update").register(meterRegistry);
+		this.pointHistoryInsertTimer = tableTimer("point_history", "insert").register(meterRegistry);
+		this.walSyncTimer = timer("point.wal.sync", "WAL 을 디스크에 반영하는 데 걸린 시간")
+			.register(meterRegistry);
+		this.nodeForwardTimer = timer("point.node.forward", "유저를 맡은 다른 노드로 전달한 요청의 응답 시간")
+			.register(meterRegistry);
+
+		for (TransactionType type : TransactionType.values()) {
+			operationTimers.put(type, timer("point.operation", "포인트 변경 요청 전체 처리 시간")
+				.tag("type", type.name().toLowerCase(Locale.ROOT))
+				.register(meterRegistry));
+		}
+
+		for (PointError error : PointError.values()) {
+			rejectionCounters.put(error, Counter.builder("point.rejections")
+				.description("거절 사유별 요청 수")
+				.tag("error", error.name())
+				.register(meterRegistry));
+		}
+	}
+
+	public void recordLockWait(long nanos) {
+		lockWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordLockHold(long nanos) {
+		lockHoldTimer.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordUserPointSelect(long nanos) {
+		userPointSelectTimer.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordUserPointUpdate(long nanos) {
+		userPointUpdateTimer.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordPointHistoryInsert(long nanos) {
+		pointHistoryInsertTimer.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordWalSync(long nanos) {
+		walSyncTimer.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordNodeForward(long nanos) {
+		nodeForwardTimer.record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordOperation(TransactionType type, long nanos) {
+		operationTimers.get(type).record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	public void recordRejection(PointError error) {
+		rejectionCounters.get(error).increment();
+	}
+
+	private static Timer.Builder timer(String name, String description) {
+		return Timer.builder(name)
+			.description(description)
+			.publishPercentileHistogram();
+	}
+
+	private static Timer.Builder tableTimer(String table, String operation) {
+		return timer("point.table.call", "테이블 호출 시간")
+			.tag("table", table)
+			.tag("operation", operation);
+	}
+}
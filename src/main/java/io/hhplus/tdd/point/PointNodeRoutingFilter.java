@@ -0,0 +1,166 @@
+package io.hhplus.tdd.point;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * 다른 노드가 맡은 유저의 단건 요청(/point/{id}/..., /reactive/point/{id}/...)을 그 노드로 전달하고 응답을 그대로 돌려줌
+ * - 노드 라우팅을 하지 않거나, 다른 노드가 서명해 전달한 요청이거나, 이 노드가 맡은 유저면 그대로 컨트롤러로 넘김
+ * - 서명이 맞지 않거나 오래된 FORWARDED_HEADER 는 무시하고 외부 요청과 똑같이 라우팅함 (서명에 본문 해시가 들어가므로 본문을 먼저 읽음)
+ * - 일괄 처리는 PointShardRouter 가 노드별로 나누어 전달하므로 여기서 다루지 않음
+ * - 변경 이벤트 구독(/point/{id}/stream)은 응답이 끝나지 않으므로 전달하지 않고 맡은 노드로 redirect (307)
+ * - 전달에 실패하면 503 응답
+ */
+@Component
+public class PointNodeRoutingFilter extends OncePerRequestFilter {
+
+	private static final Logger log = LoggerFactory.getLogger(PointNodeRoutingFilter.class);
+
+	private static final Pattern USER_PATH = Pattern.compile("^(?:/reactive)?/point/(-?\\d+)(/.*)?$");
+
+	private final PointNodes pointNodes;
+	private final ObjectMapper objectMapper;
+
+	public PointNodeRoutingFilter(PointNodes pointNodes, ObjectMapper objectMapper) {
+		this.pointNodes = pointNodes;
+		this.objectMapper = objectMapper;
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		return !pointNodes.isEnabled();
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		Matcher matcher = USER_PATH.matcher(request.getRequestURI());
+		long userId;
+		try {
+			userId = matcher.matches() ? Long.parseLong(matcher.group(1)) : 0;
+		} catch (NumberFormatException e) {
+			// long 범위를 넘는 ID 는 컨트롤러가 400 으로 응답
+			filterChain.doFilter(request, response);
+			return;
+		}
+		if (!matcher.matches() || pointNodes.isLocal(userId)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+
+		String pathAndQuery = request.getQueryString() == null
+			? request.getRequestURI()
+			: request.getRequestURI() + "?" + request.getQueryString();
+		String idempotencyKey = request.getHeader(PointController.IDEMPOTENCY_KEY_HEADER);
+		byte[] body = request.getInputStream().readAllBytes();
+		if (pointNodes.isForwarded(request.getMethod(), pathAndQuery, idempotencyKey, body,
+			request.getHeader(PointNodes.FORWARDED_HEADER))) {
+			// 서명을 확인하느라 읽은 본문을 컨트롤러가 다시 읽을 수 있도록 넘김
+			filterChain.doFilter(new ReadBodyRequest(request, body), response);
+			return;
+		}
+
+		String node = pointNodes.ownerOf(userId);
+		if ("/stream".equals(matcher.group(2))) {
+			response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+			response.setHeader("Location", node + pathAndQuery);
+			return;
+		}
+
+		try {
+			HttpResponse<byte[]> forwarded = pointNodes.forward(node, request.getMethod(), pathAndQuery,
+				request.getContentType(), idempotencyKey, body);
+
+			response.setStatus(forwarded.statusCode());
+			forwarded.headers().firstValue("Content-Type").ifPresent(response::setContentType);
+			response.getOutputStream().write(forwarded.body());
+		} catch (IOException | InterruptedException e) {
+			if (e instanceof InterruptedException)
+				Thread.currentThread().interrupt();
+			log.warn("노드 {} 로 요청을 전달하지 못했습니다. ({} {})", node, request.getMethod(), pathAndQuery, e);
+
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+			objectMapper.writeValue(response.getOutputStream(),
+				new ErrorResponse("503", "유저를 맡은 노드로 요청을 전달하지 못했습니다."));
+		}
+	}
+
+	/**
+	 * 이미 읽은 본문을 다시 읽을 수 있게 하는 요청
+	 */
+	private static class ReadBodyRequest extends HttpServletRequestWrapper {
+
+		private final byte[] body;
+
+		ReadBodyRequest(HttpServletRequest request, byte[] body) {
+			super(request);
+			this.body = body;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			ByteArrayInputStream input = new ByteArrayInputStream(body);
+			return new ServletInputStream() {
+
+				@Override
+				public int read() {
+					return input.read();
+				}
+
+				@Override
+				public int read(byte[] buffer, int offset, int length) {
+					return input.read(buffer, offset, length);
+				}
+
+				@Override
+				public boolean isFinished() {
+					return input.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				@Override
+				public void setReadListener(ReadListener readListener) {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		public BufferedReader getReader() {
+			Charset charset = getCharacterEncoding() == null
+				? StandardCharsets.UTF_8
+				: Charset.forName(getCharacterEncoding());
+			return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+		}
+	}
+}
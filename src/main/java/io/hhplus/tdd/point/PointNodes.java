@@ -0,0 +1,205 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 노드 간 유저 라우팅
+ * - point.sharding.nodes 의 노드 주소로 일관된 해시 링을 만들어 유저를 맡을 노드를 정함 (모든 노드가 같은 목록을 사용해야함)
+ * - 다른 노드가 맡은 유저의 요청은 그 노드로 그대로 전달하고, 전달받은 요청에는 FORWARDED_HEADER 를 붙여 다시 전달되지 않도록 함
+ * - FORWARDED_HEADER 값은 "{서명 시각 ms}.{HMAC}" 이며, HMAC 은 point.sharding.forward-secret 으로 메서드, 경로, 멱등키, 본문 해시,
+ *   서명 시각을 함께 서명하므로 비밀값을 모르는 외부 요청은 붙일 수 없고 가로챈 헤더를 다른 본문(금액)에 다시 쓸 수도 없음
+ * - 서명 시각이 forward-signature-ttl 보다 오래된 서명은 받지 않으므로 같은 요청을 다시 보내는 것도 그 시간 안으로 제한됨
+ *   (노드 간 시계 차이는 ttl 보다 작아야함)
+ * - nodes 가 비어있으면 모든 유저를 이 노드에서 처리
+ */
+@Component
+public class PointNodes {
+
+	public static final String FORWARDED_HEADER = "X-Point-Forwarded";
+
+	private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+	private static final String BODY_HASH_ALGORITHM = "SHA-256";
+
+	private static final TypeReference<List<PointCommandResult>> BATCH_RESULT_TYPE = new TypeReference<>() {
+	};
+
+	private final ConsistentHashRing ring;
+	private final int self;
+	private final Duration forwardTimeout;
+	private final long forwardSignatureTtlMillis;
+	private final SecretKeySpec forwardKey;
+	private final HttpClient httpClient;
+	private final ObjectMapper objectMapper;
+	private final PointMetrics pointMetrics;
+
+	public PointNodes(PointProperties pointProperties, ObjectMapper objectMapper, PointMetrics pointMetrics) {
+		PointProperties.Sharding sharding = pointProperties.getSharding();
+		List<String> nodes = sharding.getNodes().stream().map(PointNodes::normalize).toList();
+
+		this.objectMapper = objectMapper;
+		this.pointMetrics = pointMetrics;
+		this.forwardTimeout = sharding.getForwardTimeout();
+		this.forwardSignatureTtlMillis = sharding.getForwardSignatureTtl().toMillis();
+
+		if (nodes.isEmpty()) {
+			this.ring = null;
+			this.self = -1;
+			this.forwardKey = null;
+			this.httpClient = null;
+			return;
+		}
+
+		if (sharding.getForwardSecret() == null || sharding.getForwardSecret().isBlank())
+			throw new IllegalStateException("point.sharding.nodes 를 쓰려면 point.sharding.forward-secret 을 지정해야 합니다.");
+		this.forwardKey = new SecretKeySpec(sharding.getForwardSecret().getBytes(StandardCharsets.UTF_8),
+			SIGNATURE_ALGORITHM);
+
+		this.self = sharding.getSelf() == null ? -1 : nodes.indexOf(normalize(sharding.getSelf()));
+		if (self < 0)
+			throw new IllegalStateException("point.sharding.self 는 point.sharding.nodes 중 하나여야 합니다. ("
+				+ sharding.getSelf() + ")");
+
+		this.ring = new ConsistentHashRing(nodes, sharding.getVirtualNodes());
+		this.httpClient = HttpClient.newBuilder().connectTimeout(forwardTimeout).build();
+	}
+
+	public boolean isEnabled() {
+		return ring != null;
+	}
+
+	/**
+	 * @return 유저를 이 노드가 맡는지 여부 (노드 라우팅을 하지 않으면 항상 true)
+	 */
+	public boolean isLocal(long userId) {
+		return ring == null || ring.ownerOf(userId) == self;
+	}
+
+	/**
+	 * @return 유저를 맡은 노드 주소
+	 */
+	public String ownerOf(long userId) {
+		return ring.nameOf(ring.ownerOf(userId));
+	}
+
+	/**
+	 * 다른 노드가 전달한 요청인지 확인
+	 * @param method HTTP 메서드
+	 * @param pathAndQuery 경로와 쿼리 문자열
+	 * @param idempotencyKey 멱등키 헤더, 없으면 null
+	 * @param body 요청 본문
+	 * @param signature FORWARDED_HEADER 값, 없으면 null
+	 * @return 같은 비밀값을 가진 노드가 forward-signature-ttl 안에 이 요청 그대로 서명했으면 true
+	 */
+	public boolean isForwarded(String method, String pathAndQuery, String idempotencyKey, byte[] body,
+		String signature) {
+		if (forwardKey == null || signature == null)
+			return false;
+
+		int separator = signature.indexOf('.');
+		long signedAtMillis;
+		try {
+			signedAtMillis = Long.parseLong(signature.substring(0, Math.max(separator, 0)));
+		} catch (NumberFormatException e) {
+			return false;
+		}
+		if (Math.abs(System.currentTimeMillis() - signedAtMillis) > forwardSignatureTtlMillis)
+			return false;
+
+		return MessageDigest.isEqual(
+			sign(method, pathAndQuery, idempotencyKey, body, signedAtMillis).getBytes(StandardCharsets.US_ASCII),
+			signature.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	/**
+	 * 요청을 다른 노드로 그대로 전달
+	 * @param node 전달할 노드 주소
+	 * @param method HTTP 메서드
+	 * @param pathAndQuery 경로와 쿼리 문자열
+	 * @param contentType 요청 본문 타입, 없으면 null
+	 * @param idempotencyKey 멱등키 헤더, 없으면 null
+	 * @param body 요청 본문
+	 * @return 전달받은 노드의 응답
+	 */
+	public HttpResponse<byte[]> forward(String node, String method, String pathAndQuery, String contentType,
+		String idempotencyKey, byte[] body) throws IOException, InterruptedException {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(node + pathAndQuery))
+			.timeout(forwardTimeout)
+			.header(FORWARDED_HEADER, sign(method, pathAndQuery, idempotencyKey, body, System.currentTimeMillis()))
+			.method(method, body.length == 0
+				? HttpRequest.BodyPublishers.noBody()
+				: HttpRequest.BodyPublishers.ofByteArray(body));
+		if (contentType != null)
+			request.header("Content-Type", contentType);
+		if (idempotencyKey != null)
+			request.header(PointController.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+
+		long startNanos = System.nanoTime();
+		try {
+			return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+		} finally {
+			pointMetrics.recordNodeForward(System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * 다른 노드가 맡은 유저들의 요청을 그 노드에서 일괄 처리
+	 * @param node 전달할 노드 주소
+	 * @param commands 그 노드가 맡은 유저들의 요청
+	 * @return 요청 순서와 같은 순서의 요청별 결과 목록
+	 */
+	public List<PointCommandResult> forwardBatch(String node, List<PointCommand> commands) {
+		try {
+			HttpResponse<byte[]> response = forward(node, "PATCH", "/point/batch", "application/json", null,
+				objectMapper.writeValueAsBytes(commands));
+			if (response.statusCode() != 200)
+				throw new IllegalStateException("노드 " + node + " 일괄 처리 실패 (" + response.statusCode() + ")");
+
+			return objectMapper.readValue(response.body(), BATCH_RESULT_TYPE);
+		} catch (IOException e) {
+			throw new IllegalStateException("노드 " + node + " 로 요청을 전달하지 못했습니다.", e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("노드 " + node + " 로 요청을 전달하지 못했습니다.", e);
+		}
+	}
+
+	/**
+	 * @return FORWARDED_HEADER 값 ("{서명 시각 ms}.{HMAC}")
+	 */
+	String sign(String method, String pathAndQuery, String idempotencyKey, byte[] body, long signedAtMillis) {
+		try {
+			Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+			String bodyHash = encoder.encodeToString(MessageDigest.getInstance(BODY_HASH_ALGORITHM).digest(body));
+			String signed = String.join("\n", method, pathAndQuery, idempotencyKey == null ? "" : idempotencyKey,
+				bodyHash, Long.toString(signedAtMillis));
+
+			Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+			mac.init(forwardKey);
+			return signedAtMillis + "." + encoder.encodeToString(mac.doFinal(signed.getBytes(StandardCharsets.UTF_8)));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("노드 간 전달 요청을 서명하지 못했습니다.", e);
+		}
+	}
+
+	static String normalize(String node) {
+		return node.endsWith("/") ? node.substring(0, node.length() - 1) : node;
+	}
+}
@@ -0,0 +1,369 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import io.hhplus.tdd.database.WalFsyncPolicy;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "point")
+public class PointProperties {
+
+	/**
+	 * 포인트 변경 처리 방식
+	 */
+	private PointUpdateMode updateMode = PointUpdateMode.LOCK;
+
+	/**
+	 * 요청 처리 스레드 종류
+	 */
+	private PointExecutionMode executionMode = PointExecutionMode.PLATFORM;
+
+	private final GroupCommit groupCommit = new GroupCommit();
+
+	private final Cache cache = new Cache();
+
+	private final Batch batch = new Batch();
+
+	private final Optimistic optimistic = new Optimistic();
+
+	private final History history = new History();
+
+	private final Idempotency idempotency = new Idempotency();
+
+	private final Wal wal = new Wal();
+
+	private final Sharding sharding = new Sharding();
+
+	private final Stream stream = new Stream();
+
+	private final Expiry expiry = new Expiry();
+
+	private final RateLimit rateLimit = new RateLimit();
+
+	private final Reactive reactive = new Reactive();
+
+	private final Aggregate aggregate = new Aggregate();
+
+	@Getter
+	@Setter
+	public static class GroupCommit {
+
+		/**
+		 * 한번에 반영할 최대 요청 수
+		 */
+		private int maxBatchSize = 100;
+
+		/**
+		 * 0 이하이면 대기열에서 요청을 꺼내지 못해 반영이 끝나지 않으므로 바인딩할 때 거절
+		 */
+		public void setMaxBatchSize(int maxBatchSize) {
+			if (maxBatchSize < 1)
+				throw new IllegalArgumentException("point.group-commit.max-batch-size 는 1 이상이어야 합니다.");
+			this.maxBatchSize = maxBatchSize;
+		}
+	}
+
+	@Getter
+	@Setter
+	public static class Cache {
+
+		private boolean enabled = true;
+
+		/**
+		 * 캐시에 유지할 최대 유저 수
+		 */
+		private long maximumSize = 100_000;
+
+		/**
+		 * 마지막 접근 후 캐시에서 제거되기까지의 시간
+		 */
+		private Duration expireAfterAccess = Duration.ofMinutes(10);
+
+		/**
+		 * 같은 유저를 동시에 테이블에서 조회하면 한번만 조회하고 결과를 함께 사용할지 여부 (캐시 사용 여부와 무관)
+		 */
+		private boolean coalesceLoads = true;
+	}
+
+	@Getter
+	@Setter
+	public static class Batch {
+
+		/**
+		 * 한번에 처리할 수 있는 최대 요청 수
+		 */
+		private int maxSize = 10_000;
+
+		/**
+		 * 동시에 처리할 최대 유저 수
+		 */
+		private int parallelism = 64;
+	}
+
+	@Getter
+	@Setter
+	public static class Optimistic {
+
+		/**
+		 * 충돌시 최대 재시도 횟수
+		 */
+		private int maxRetries = 16;
+
+		/**
+		 * 메모리에 유지할 최대 유저 수
+		 */
+		private long maximumSize = 100_000;
+	}
+
+	@Getter
+	@Setter
+	public static class History {
+
+		/**
+		 * 이력 테이블 기록을 기다리지 않고 반환할지 여부
+		 * (테이블 기록은 항상 기록 스레드 하나가 처리하며, 끄면 요청이 자기 이력의 기록을 기다림)
+		 */
+		private boolean asyncWrite = true;
+
+		/**
+		 * 기록 대기열 크기 (가득 차면 저장 요청이 대기)
+		 */
+		private int queueCapacity = 10_000;
+
+		/**
+		 * 대기열에서 한번에 꺼내 기록할 최대 이력 수
+		 */
+		private int maxBatchSize = 100;
+	}
+
+	@Getter
+	@Setter
+	public static class Idempotency {
+
+		/**
+		 * 결과를 보관할 최대 멱등키 수
+		 */
+		private long maximumSize = 100_000;
+
+		/**
+		 * 처음 요청 후 결과를 보관하는 시간
+		 */
+		private Duration expireAfterWrite = Duration.ofHours(1);
+	}
+
+	@Getter
+	@Setter
+	public static class Wal {
+
+		/**
+		 * 잔액 변경과 이력을 WAL 에 기록하고 시작할 때 복구할지 여부
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 세그먼트 파일을 둘 디렉토리
+		 */
+		private String directory = "data/wal";
+
+		/**
+		 * 세그먼트 파일 하나의 크기 (최대 2GB)
+		 */
+		private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+		/**
+		 * 디스크 반영 시점
+		 */
+		private WalFsyncPolicy fsyncPolicy = WalFsyncPolicy.GROUP;
+
+		/**
+		 * INTERVAL 일 때 디스크에 반영하는 주기
+		 */
+		private Duration fsyncInterval = Duration.ofMillis(100);
+
+		/**
+		 * 전체 잔액 스냅샷을 남기고 로그를 압축하는 주기 (0 이면 남기지 않음)
+		 */
+		private Duration snapshotInterval = Duration.ofMinutes(10);
+	}
+
+	@Getter
+	@Setter
+	public static class Sharding {
+
+		/**
+		 * 이 노드 안에서 유저를 나누어 맡을 샤드 수 (샤드마다 테이블, 락, 실행 스레드를 따로 가짐)
+		 * WAL 을 쓰면 shard-count, virtual-nodes, nodes, self 는 처음 기록할 때 구성에서 바꿀 수 없음 (PointTopology)
+		 */
+		private int shardCount = 1;
+
+		/**
+		 * 일관된 해시 링에 샤드(노드)마다 배치할 가상 노드 수
+		 */
+		private int virtualNodes = 128;
+
+		/**
+		 * 유저를 나누어 맡을 전체 노드 주소 목록 (비어있으면 노드 간 라우팅을 하지 않음)
+		 */
+		private List<String> nodes = new ArrayList<>();
+
+		/**
+		 * nodes 중 이 노드의 주소
+		 */
+		private String self;
+
+		/**
+		 * 노드 간 전달 요청 서명에 쓰는 공유 비밀값 (nodes 를 쓰면 모든 노드에 같은 값으로 지정해야함)
+		 */
+		private String forwardSecret;
+
+		/**
+		 * 전달 요청 서명을 받아들이는 시간 (서명 후 이 시간이 지난 서명은 받지 않음, 노드 간 시계 차이보다 커야함)
+		 */
+		private Duration forwardSignatureTtl = Duration.ofSeconds(30);
+
+		/**
+		 * 다른 노드로 전달한 요청의 응답 대기 시간
+		 */
+		private Duration forwardTimeout = Duration.ofSeconds(5);
+	}
+
+	@Getter
+	@Setter
+	public static class Stream {
+
+		/**
+		 * 구독자마다 보내지 못하고 쌓아둘 수 있는 최대 이벤트 수 (넘치면 구독을 끊음)
+		 */
+		private int bufferSize = 64;
+
+		/**
+		 * 구독자에게 이벤트를 보내는 스레드 수 (전송이 멈춘 스레드는 세지 않음)
+		 */
+		private int dispatcherThreads = 4;
+
+		/**
+		 * 이벤트 하나를 보내는 데 이보다 오래 걸리면 구독을 끊고 멈춘 전달 스레드 대신 스레드를 하나 더 둠
+		 */
+		private Duration sendTimeout = Duration.ofSeconds(5);
+
+		/**
+		 * 구독 연결 유지 시간 (지나면 연결을 닫으므로 클라이언트가 다시 연결)
+		 */
+		private Duration timeout = Duration.ofMinutes(30);
+	}
+
+	@Getter
+	@Setter
+	public static class Expiry {
+
+		/**
+		 * 충전한 포인트를 묶음(lot)으로 관리하고 ttl 이 지나면 만료할지 여부
+		 */
+		private boolean enabled = false;
+
+		/**
+		 * 충전(이체 받기) 후 만료까지의 기간
+		 */
+		private Duration ttl = Duration.ofDays(365);
+
+		/**
+		 * 만료 확인 주기 (타이밍 휠 한 칸의 길이)
+		 */
+		private Duration tick = Duration.ofSeconds(1);
+	}
+
+	@Getter
+	@Setter
+	public static class RateLimit {
+
+		/**
+		 * 컨트롤러 앞에서 요청 수를 제한할지 여부
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * 유저 한명에게 초당 허용할 요청 수
+		 */
+		private int userPermitsPerSecond = 50;
+
+		/**
+		 * 유저 한명에게 한꺼번에 허용할 최대 요청 수
+		 */
+		private int userBurst = 100;
+
+		/**
+		 * 유저별 제한 상태를 담을 칸 수 (2의 거듭제곱으로 올림, 칸마다 8 바이트)
+		 * 최근에 요청한 유저만 칸을 차지하므로 전체 유저 수와 관계없이 메모리 사용량이 고정됨
+		 */
+		private int userBuckets = 65_536;
+
+		/**
+		 * 노드 전체에 초당 허용할 요청 수 (0 이면 제한하지 않음)
+		 */
+		private int globalPermitsPerSecond = 20_000;
+
+		/**
+		 * 노드 전체에 한꺼번에 허용할 최대 요청 수
+		 */
+		private int globalBurst = 2_000;
+
+		/**
+		 * 같은 유저 락을 잡았거나 기다리는 요청이 이 수 이상이면 변경 요청을 받지 않음
+		 */
+		private int maxLockWaiters = 32;
+	}
+
+	@Getter
+	@Setter
+	public static class Reactive {
+
+		/**
+		 * 리액티브 API 의 테이블 호출을 실행할 최대 스레드 수 (Tomcat 기본 최대 스레드 수와 같게 둠)
+		 */
+		private int schedulerThreads = 200;
+
+		/**
+		 * 스레드가 모두 사용 중일 때 기다릴 수 있는 최대 작업 수
+		 */
+		private int schedulerQueueSize = 100_000;
+
+		/**
+		 * 충전, 사용 시 다른 요청이 유저 락을 잡고 있으면 스레드를 멈추지 않고 다시 시도할 간격 (ms)
+		 */
+		private long lockRetryMillis = 5;
+
+		/**
+		 * 유저 락을 다시 시도할 최대 횟수 (넘으면 스케줄러 스레드에서 락을 기다림)
+		 */
+		private int lockRetries = 20;
+	}
+
+	@Getter
+	@Setter
+	public static class Aggregate {
+
+		/**
+		 * 거래량 상위 유저 후보로 유지할 카운터 수 (상위 유저 조회의 최대 수)
+		 */
+		private int topUsers = 1024;
+
+		/**
+		 * 1분 구간 합계를 유지할 구간 수
+		 */
+		private int minuteBuckets = 60;
+
+		/**
+		 * 1시간 구간 합계를 유지할 구간 수
+		 */
+		private int hourBuckets = 48;
+	}
+}
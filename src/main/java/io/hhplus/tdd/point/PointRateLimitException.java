@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point;
+
+import lombok.Getter;
+
+/**
+ * 요청 수 제한으로 받지 않은 요청
+ * - ApiControllerAdvice 가 400 대신 429 와 Retry-After 로 응답
+ */
+@Getter
+public class PointRateLimitException extends PointException {
+
+	/**
+	 * 다시 요청해도 받아들여질 때까지 남은 시간
+	 */
+	private final long retryAfterMillis;
+
+	public PointRateLimitException(PointError error, long retryAfterMillis) {
+		super(error);
+		this.retryAfterMillis = retryAfterMillis;
+	}
+}
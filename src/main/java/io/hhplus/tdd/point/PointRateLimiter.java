@@ -0,0 +1,168 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저별, 노드 전체 요청 수 제한 (토큰 버킷)
+ * - 버킷 하나를 "다음 요청이 허용될 이론상 도착 시각"(GCRA) long 하나로 표현하여 CAS 한번으로 토큰을 꺼냄 (락 없음)
+ * - 유저별 버킷은 고정 크기 배열에 두고 유저 ID 해시로 고른 8 칸(캐시 라인 하나) 안에서 찾음
+ *   칸에는 유저 ID 해시 16 비트와 시각 48 비트(시작 이후 µs, 약 8년)를 함께 담아 한번에 바꿈
+ * - 이론상 도착 시각이 지난 버킷은 가득 찬 새 버킷과 같으므로 다른 유저가 언제든 가져가도 제한이 틀어지지 않음
+ *   따라서 칸 수는 최근 (userBurst / userPermitsPerSecond) 초 안에 요청한 유저 수만큼만 있으면 되고 전체 유저 수와는 무관함
+ * - 8 칸이 모두 최근 요청한 유저로 차 있으면 그 유저는 유저별 제한 없이 허용 (노드 전체 제한은 그대로 받음)
+ * - 해시 16 비트까지 같은 두 유저가 같은 라인에 들어오면 버킷을 함께 쓰게 되지만 제한이 조금 빨리 걸릴 뿐 요청이 더 허용되지는 않음
+ */
+@Component
+public class PointRateLimiter {
+
+	private static final int LINE_BITS = 3;
+	private static final int LINE_SIZE = 1 << LINE_BITS;
+	private static final int TAT_BITS = 48;
+	private static final long TAT_MASK = (1L << TAT_BITS) - 1;
+
+	private final boolean enabled;
+	private final long startNanos = System.nanoTime();
+
+	private final AtomicLongArray userBuckets;
+	private final int lineMask;
+	private final long userIntervalMicros;
+	private final long userToleranceMicros;
+
+	private final AtomicLong globalBucket = new AtomicLong();
+	private final long globalIntervalNanos;
+	private final long globalToleranceNanos;
+
+	private final LongAdder untrackedCount = new LongAdder();
+
+	public PointRateLimiter(PointProperties pointProperties) {
+		PointProperties.RateLimit rateLimit = pointProperties.getRateLimit();
+		this.enabled = rateLimit.isEnabled();
+
+		int size = Math.max(LINE_SIZE, Integer.highestOneBit(Math.max(rateLimit.getUserBuckets() - 1, 1)) << 1);
+		this.userBuckets = new AtomicLongArray(size);
+		this.lineMask = (size >> LINE_BITS) - 1;
+		this.userIntervalMicros = Math.max(TimeUnit.SECONDS.toMicros(1) / rateLimit.getUserPermitsPerSecond(), 1);
+		this.userToleranceMicros = userIntervalMicros * rateLimit.getUserBurst();
+
+		this.globalIntervalNanos = rateLimit.getGlobalPermitsPerSecond() <= 0
+			? 0
+			: Math.max(TimeUnit.SECONDS.toNanos(1) / rateLimit.getGlobalPermitsPerSecond(), 1);
+		this.globalToleranceNanos = globalIntervalNanos * rateLimit.getGlobalBurst();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 유저 버킷에서 토큰 하나를 꺼냄
+	 * @return 허용하면 0, 아니면 다음 토큰이 생길 때까지 남은 ms
+	 */
+	public long acquireUser(long userId) {
+		return acquireUser(userId, System.nanoTime());
+	}
+
+	/**
+	 * 노드 전체 버킷에서 토큰 하나를 꺼냄
+	 * @return 허용하면 0, 아니면 다음 토큰이 생길 때까지 남은 ms
+	 */
+	public long acquireGlobal() {
+		return acquireGlobal(System.nanoTime());
+	}
+
+	long acquireUser(long userId, long nowNanos) {
+		if (!enabled)
+			return 0;
+
+		long hash = mix(userId);
+		int line = (int)(hash & lineMask) << LINE_BITS;
+		long fingerprint = Math.max(hash >>> TAT_BITS, 1);
+		long now = (nowNanos - startNanos) / 1000;
+
+		retry:
+		while (true) {
+			int reusable = -1;
+			for (int i = line; i < line + LINE_SIZE; i++) {
+				long value = userBuckets.get(i);
+				if (value >>> TAT_BITS == fingerprint) {
+					long next = Math.max(value & TAT_MASK, now) + userIntervalMicros;
+					if (next - now > userToleranceMicros)
+						return toMillis(next - userToleranceMicros - now, TimeUnit.MICROSECONDS);
+					if (userBuckets.compareAndSet(i, value, fingerprint << TAT_BITS | next))
+						return 0;
+					continue retry;
+				}
+
+				if (reusable < 0 && (value & TAT_MASK) <= now)
+					reusable = i;
+			}
+
+			if (reusable < 0) {
+				untrackedCount.increment();
+				return 0;
+			}
+
+			// 비어있거나 시각이 지난 칸을 가져와 토큰 하나를 꺼낸 새 버킷으로 씀
+			long value = userBuckets.get(reusable);
+			if ((value & TAT_MASK) <= now
+				&& userBuckets.compareAndSet(reusable, value, fingerprint << TAT_BITS | (now + userIntervalMicros)))
+				return 0;
+		}
+	}
+
+	long acquireGlobal(long nowNanos) {
+		if (!enabled || globalIntervalNanos == 0)
+			return 0;
+
+		long now = nowNanos - startNanos;
+		while (true) {
+			long tat = globalBucket.get();
+			long next = Math.max(tat, now) + globalIntervalNanos;
+			if (next - now > globalToleranceNanos)
+				return toMillis(next - globalToleranceNanos - now, TimeUnit.NANOSECONDS);
+			if (globalBucket.compareAndSet(tat, next))
+				return 0;
+		}
+	}
+
+	/**
+	 * 통계를 만들 때 유저 버킷 배열을 한번 훑음 (지표 수집 주기마다 호출하는 정도의 비용)
+	 */
+	public Stats stats() {
+		long now = (System.nanoTime() - startNanos) / 1000;
+		long activeBuckets = 0;
+		for (int i = 0; i < userBuckets.length(); i++) {
+			if ((userBuckets.get(i) & TAT_MASK) > now)
+				activeBuckets++;
+		}
+		return new Stats(activeBuckets, untrackedCount.sum());
+	}
+
+	private static long toMillis(long duration, TimeUnit unit) {
+		long nanos = unit.toNanos(duration);
+		return Math.max((nanos + TimeUnit.MILLISECONDS.toNanos(1) - 1) / TimeUnit.MILLISECONDS.toNanos(1), 1);
+	}
+
+	private static long mix(long value) {
+		long z = value + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * 요청 수 제한 통계
+	 * @param activeBuckets 아직 가득 차지 않은(최근 요청한 유저의) 유저 버킷 수
+	 * @param untrackedCount 칸이 모자라 유저별 제한 없이 허용한 요청 수
+	 */
+	public record Stats(
+		long activeBuckets,
+		long untrackedCount
+	) {
+	}
+}
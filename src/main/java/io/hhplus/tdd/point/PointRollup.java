@@ -0,0 +1,41 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 시간 구간 하나의 전체 유저 포인트 변경 집계
+ * @param startMillis 구간 시작 시각
+ * @param totalCharged 충전 합계
+ * @param totalUsed 사용 합계
+ * @param totalTransferredIn 이체 받은 합계
+ * @param totalTransferredOut 이체 보낸 합계
+ * @param totalExpired 만료 합계
+ * @param transactionCount 이력 수
+ */
+public record PointRollup(
+	long startMillis,
+	long totalCharged,
+	long totalUsed,
+	long totalTransferredIn,
+	long totalTransferredOut,
+	long totalExpired,
+	long transactionCount
+) {
+
+	/**
+	 * @param amounts TransactionType 순서(ordinal)별 금액 합계
+	 */
+	static PointRollup of(long startMillis, long[] amounts, long transactionCount) {
+		return new PointRollup(startMillis, amounts[TransactionType.CHARGE.ordinal()],
+			amounts[TransactionType.USE.ordinal()], amounts[TransactionType.TRANSFER_IN.ordinal()],
+			amounts[TransactionType.TRANSFER_OUT.ordinal()], amounts[TransactionType.EXPIRE.ordinal()],
+			transactionCount);
+	}
+
+	/**
+	 * @return 같은 구간의 두 집계를 더한 값 (샤드별 집계를 합칠 때 사용)
+	 */
+	PointRollup plus(PointRollup other) {
+		return new PointRollup(startMillis, totalCharged + other.totalCharged, totalUsed + other.totalUsed,
+			totalTransferredIn + other.totalTransferredIn, totalTransferredOut + other.totalTransferredOut,
+			totalExpired + other.totalExpired, transactionCount + other.transactionCount);
+	}
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+
+/**
+ * 전체 유저 포인트 변경 집계 구간 단위
+ * - MINUTE : 1분 (point.aggregate.minute-buckets 개 구간 유지)
+ * - HOUR : 1시간 (point.aggregate.hour-buckets 개 구간 유지)
+ */
+public enum PointRollupUnit {
+	MINUTE(Duration.ofMinutes(1)), HOUR(Duration.ofHours(1));
+
+	private final Duration duration;
+
+	PointRollupUnit(Duration duration) {
+		this.duration = duration;
+	}
+
+	public Duration duration() {
+		return duration;
+	}
+}
@@ -1,13 +1,19 @@
 package io.hhplus.tdd.point;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 
 import org.springframework.stereotype.Service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -16,20 +22,20 @@ public class PointService {
 
 	private static final long MIN_CHARGE_POINT = 500;
 	private static final long MAX_USE_POINT = 5000;
+	private static final int MAX_HISTORY_LIMIT = 1000;
 
-	private final UserPointTable userPointTable;
-	private final PointHistoryTable pointHistoryTable;
+	private final UserPointRepository userPointRepository;
+	private final PointHistoryRepository pointHistoryRepository;
+	private final UserLockManager userLockManager;
+	private final OptimisticPointStore optimisticPointStore;
+	private final IdempotencyCache idempotencyCache;
+	private final PointEventHub pointEventHub;
+	private final PointLotBook pointLotBook;
+	private final PointAggregates pointAggregates;
+	private final PointProperties pointProperties;
+	private final PointMetrics pointMetrics;
 
-	private final ConcurrentHashMap<Long, ReentrantLock> userLocks = new ConcurrentHashMap<>();
-
-	/**
-	 * 유저 락을 가져오거나 생성
-	 * @param userId 유저 ID
-	 * @return 해당 사용자 ReentrantLock
-	 */
-	private ReentrantLock getUserLock(long userId) {
-		return userLocks.computeIfAbsent(userId, id -> new ReentrantLock(true)); // 공정 모드를 사용해야 순서대로 처리됨
-	}
+	private final ConcurrentHashMap<Long, Queue<PendingCommand>> pendingCommands = new ConcurrentHashMap<>();
 
 	/**
 	 * 유저 포인트 조회
@@ -37,7 +43,10 @@ public class PointService {
 	 * @return 조회한 유저 포인트
 	 */
 	public UserPoint getUserPoint(long userId) {
-		return userPointTable.selectById(userId);
+		if (pointProperties.getUpdateMode() == PointUpdateMode.OPTIMISTIC)
+			return optimisticPointStore.find(userId);
+
+		return userPointRepository.findById(userId);
 	}
 
 	/**
@@ -46,7 +55,38 @@ public class PointService {
 	 * @return 조회한 유저 포인트 내역 목록
 	 */
 	public List<PointHistory> getUserPointHistories(long userId) {
-		return pointHistoryTable.selectAllByUserId(userId);
+		return pointHistoryRepository.findAllByUserId(userId);
+	}
+
+	/**
+	 * 조건에 맞는 유저 포인트 이력 조회
+	 * @param userId 조회할 유저 ID
+	 * @param query 조회 조건
+	 * @return 조회한 유저 포인트 내역 목록 (ID 오름차순)
+	 */
+	public List<PointHistory> getUserPointHistories(long userId, PointHistoryQuery query) {
+		validateHistoryQuery(query);
+		return pointHistoryRepository.findAllByUserId(userId, query);
+	}
+
+	/**
+	 * 조건에 맞는 유저 포인트 이력을 목록을 만들지 않고 순회 (리액티브 API 에서 이력을 하나씩 내려줄 때 사용)
+	 * @param userId 조회할 유저 ID
+	 * @param query 조회 조건
+	 * @return ID 오름차순 포인트 이력 Iterator
+	 */
+	public Iterator<PointHistory> iterateUserPointHistories(long userId, PointHistoryQuery query) {
+		validateHistoryQuery(query);
+		return pointHistoryRepository.iterateByUserId(userId, query);
+	}
+
+	/**
+	 * 전체 유저 포인트 이력 순회
+	 * @param afterId 이 ID 다음 이력부터 순회 (처음부터는 0)
+	 * @return ID 오름차순 포인트 이력 Iterator
+	 */
+	public Iterator<PointHistory> iteratePointHistories(long afterId) {
+		return pointHistoryRepository.iterateAfter(afterId);
 	}
 
 	/**
@@ -56,17 +96,14 @@ public class PointService {
 	 * @return 충전 후 유저 포인트
 	 */
 	public UserPoint chargeUserPoint(long userId, long amount) {
-		if (amount < MIN_CHARGE_POINT)
-			throw new IllegalArgumentException(PointError.BELOW_MIN_CHARGE_POINT.getMessage());
-
-		ReentrantLock lock = getUserLock(userId);
-		lock.lock();
+		long startNanos = System.nanoTime();
 		try {
-			UserPoint userPoint = userPointTable.selectById(userId);
-
-			return processUpdateUserPoint(userPoint.validateMaxPoint(amount), amount, TransactionType.CHARGE);
+			return charge(userId, amount);
+		} catch (PointException e) {
+			pointMetrics.recordRejection(e.getError());
+			throw e;
 		} finally {
-			lock.unlock();
+			pointMetrics.recordOperation(TransactionType.CHARGE, System.nanoTime() - startNanos);
 		}
 	}
 
@@ -77,35 +114,409 @@ public class PointService {
 	 * @return 사용 후 유저 포인트
 	 */
 	public UserPoint useUserPoint(long userId, long amount) {
-		if (amount > MAX_USE_POINT)
-			throw new IllegalArgumentException(PointError.EXCEED_MAX_USE_POINT.getMessage());
+		long startNanos = System.nanoTime();
+		try {
+			return use(userId, amount);
+		} catch (PointException e) {
+			pointMetrics.recordRejection(e.getError());
+			throw e;
+		} finally {
+			pointMetrics.recordOperation(TransactionType.USE, System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * 멱등키를 사용한 유저 포인트 충전
+	 * 같은 멱등키로 다시 요청하면 유저 락이나 테이블에 접근하지 않고 처음 요청의 결과를 반환
+	 * @param userId 충전할 유저 ID
+	 * @param amount 충전할 포인트 금액
+	 * @param idempotencyKey 멱등키 (null 이면 매번 새로 처리)
+	 * @return 충전 후 유저 포인트
+	 */
+	public UserPoint chargeUserPoint(long userId, long amount, String idempotencyKey) {
+		if (idempotencyKey == null)
+			return chargeUserPoint(userId, amount);
+
+		return idempotencyCache.execute(idempotencyKey, userId, TransactionType.CHARGE, amount,
+			() -> chargeUserPoint(userId, amount));
+	}
+
+	/**
+	 * 멱등키를 사용한 유저 포인트 사용
+	 * 같은 멱등키로 다시 요청하면 유저 락이나 테이블에 접근하지 않고 처음 요청의 결과를 반환
+	 * @param userId 사용할 유저 ID
+	 * @param amount 사용할 포인트 금액
+	 * @param idempotencyKey 멱등키 (null 이면 매번 새로 처리)
+	 * @return 사용 후 유저 포인트
+	 */
+	public UserPoint useUserPoint(long userId, long amount, String idempotencyKey) {
+		if (idempotencyKey == null)
+			return useUserPoint(userId, amount);
+
+		return idempotencyCache.execute(idempotencyKey, userId, TransactionType.USE, amount,
+			() -> useUserPoint(userId, amount));
+	}
+
+	/**
+	 * 멱등키로 한번만 처리하되 스레드를 멈추지 않고 결과를 기다림 (리액티브 API 용)
+	 * 멱등키를 유저 락보다 먼저 확인하므로, operation 은 멱등키 없이 충전, 사용을 처리해야함
+	 * @param operation 처음 요청일 때 시작할 처리
+	 * @return 처음 요청의 처리 결과
+	 */
+	public CompletableFuture<UserPoint> executeIdempotent(long userId, TransactionType transactionType, long amount,
+		String idempotencyKey, Supplier<CompletableFuture<UserPoint>> operation) {
+		return idempotencyCache.executeAsync(idempotencyKey, userId, transactionType, amount, operation);
+	}
+
+	/**
+	 * 유저 간 포인트 이체
+	 * 보내는 유저의 남은 포인트와 받는 유저의 최대 보유 포인트를 함께 검증하고, 두 잔액과 이력(TRANSFER_OUT, TRANSFER_IN)을 함께 저장
+	 * @param fromUserId 보낼 유저 ID
+	 * @param toUserId 받을 유저 ID
+	 * @param amount 이체할 포인트 금액
+	 * @return 이체 후 두 유저 포인트
+	 */
+	public PointTransfer transferUserPoint(long fromUserId, long toUserId, long amount) {
+		return transferUserPoint(fromUserId, toUserId, amount, this);
+	}
 
-		ReentrantLock lock = getUserLock(userId);
-		lock.lock();
+	/**
+	 * 받는 유저를 다른 샤드가 맡는 경우의 이체 (PointShardRouter 에서 사용)
+	 * @param toPointService 받는 유저를 맡은 샤드의 PointService
+	 */
+	PointTransfer transferUserPoint(long fromUserId, long toUserId, long amount, PointService toPointService) {
+		long startNanos = System.nanoTime();
 		try {
-			UserPoint userPoint = userPointTable.selectById(userId);
+			return transfer(fromUserId, toUserId, amount, toPointService);
+		} catch (PointException e) {
+			pointMetrics.recordRejection(e.getError());
+			throw e;
+		} finally {
+			pointMetrics.recordOperation(TransactionType.TRANSFER_OUT, System.nanoTime() - startNanos);
+		}
+	}
 
-			return processUpdateUserPoint(userPoint.validateLeftPoint(amount), amount, TransactionType.USE);
+	/**
+	 * 유저 락을 기다리지 않고 잡을 수 있을 때만 call 을 실행 (리액티브 API 의 UserSerialQueue 에서 사용)
+	 * - LOCK 방식이 아니면 충전, 사용이 유저 락을 잡지 않으므로 락 없이 바로 실행
+	 * - 다른 요청(서블릿 API, 이체, 만료)이 락을 잡고 있거나 기다리는 중이면 실행하지 않고 null 반환
+	 * - 락을 잡은 채로 call 을 실행하므로 call 안에서 잡는 같은 유저 락은 재진입으로 바로 획득됨
+	 * @param call 락 안에서 실행할 작업 (null 을 반환하지 않아야함)
+	 * @return call 의 결과, 락을 잡지 못하면 null
+	 */
+	public <T> T tryWithUserLock(long userId, Supplier<T> call) {
+		if (pointProperties.getUpdateMode() != PointUpdateMode.LOCK)
+			return call.get();
+
+		UserLockManager.UserLock userLock = userLockManager.tryAcquire(userId);
+		if (userLock == null)
+			return null;
+
+		try (userLock) {
+			return call.get();
+		}
+	}
+
+	/**
+	 * @return 유저 락을 잡았거나 기다리는 요청 수
+	 */
+	public int lockWaiters(long userId) {
+		return userLockManager.references(userId);
+	}
+
+	/**
+	 * 유저의 남은 포인트 묶음 조회
+	 * @return 먼저 만료되는 묶음부터의 목록 (만료를 사용하지 않으면 빈 목록)
+	 */
+	public List<PointLot> getUserPointLots(long userId) {
+		return pointLotBook.findAll(userId);
+	}
+
+	/**
+	 * 유저 포인트 누적 집계 조회 (이력을 다시 읽지 않음)
+	 */
+	public PointSummary getUserPointSummary(long userId) {
+		return pointAggregates.summary(userId);
+	}
+
+	/**
+	 * @return 이 샤드에서 거래량이 큰 순서로 최대 limit 명
+	 */
+	public List<PointVolume> getTopUsers(int limit) {
+		return pointAggregates.topUsers(limit);
+	}
+
+	/**
+	 * @return 이 샤드의 최근 구간별 합계 (오래된 구간부터)
+	 */
+	public List<PointRollup> getPointRollups(PointRollupUnit unit) {
+		return pointAggregates.rollups(unit, System.currentTimeMillis());
+	}
+
+	/**
+	 * 만료 시각이 지난 유저의 포인트 묶음을 만료 (PointExpiryScheduler 에서 호출)
+	 * - 유저 락 안에서 만료된 묶음 합만큼 잔액을 줄이고 묶음마다 EXPIRE 이력을 남김
+	 * - 낙관적 방식의 메모리 잔액은 이체와 같이 저장 후 내려놓고 테이블 잔액을 기준으로 변경
+	 * - 잔액이 묶음 합보다 적으면(테이블을 직접 바꾼 경우) 잔액은 0 까지만 줄임
+	 * - 끝나면 다음에 만료될 묶음을 다시 예약
+	 * @param nowMillis 이 시각까지 만료된 묶음을 처리
+	 * @return 만료한 묶음 수
+	 */
+	public int expireUserPoint(long userId, long nowMillis) {
+		long startNanos = System.nanoTime();
+		try (UserLockManager.UserLock ignored = userLockManager.acquire(userId)) {
+			// 낙관적 방식에서 아직 저장되지 않은 변경도 장부에 반영된 뒤 만료할 묶음을 정함
+			optimisticPointStore.release(userId);
+			long[] amounts = pointLotBook.expiredAmounts(userId, nowMillis);
+			if (amounts.length == 0)
+				return 0;
+
+			UserPoint userPoint = userPointRepository.findById(userId);
+			long total = 0;
+			for (long amount : amounts)
+				total += amount;
+			UserPoint updatedUserPoint = userPointRepository.save(userId, Math.max(userPoint.point() - total, 0));
+
+			long point = userPoint.point();
+			long updateMillis = System.currentTimeMillis();
+			for (long amount : amounts) {
+				record(pointHistoryRepository.save(userId, amount, TransactionType.EXPIRE, updateMillis));
+				point = Math.max(point - amount, 0);
+				if (pointEventHub.hasSubscribers()) {
+					pointEventHub.publish(new PointChangedEvent(userId, TransactionType.EXPIRE, amount, point,
+						updatedUserPoint.updateMillis()));
+				}
+			}
+			return amounts.length;
 		} finally {
-			lock.unlock();
+			pointLotBook.reschedule(userId);
+			pointMetrics.recordOperation(TransactionType.EXPIRE, System.nanoTime() - startNanos);
+		}
+	}
+
+	private void validateHistoryQuery(PointHistoryQuery query) {
+		if (query.limit() != null && (query.limit() < 1 || query.limit() > MAX_HISTORY_LIMIT)) {
+			pointMetrics.recordRejection(PointError.INVALID_HISTORY_LIMIT);
+			throw new PointException(PointError.INVALID_HISTORY_LIMIT);
+		}
+	}
+
+	private UserPoint charge(long userId, long amount) {
+		if (amount < MIN_CHARGE_POINT)
+			throw new PointException(PointError.BELOW_MIN_CHARGE_POINT);
+
+		if (pointProperties.getUpdateMode() == PointUpdateMode.GROUP_COMMIT)
+			return groupCommit(userId, amount, TransactionType.CHARGE);
+		if (pointProperties.getUpdateMode() == PointUpdateMode.OPTIMISTIC)
+			return optimisticPointStore.apply(userId, amount, TransactionType.CHARGE);
+
+		try (UserLockManager.UserLock ignored = userLockManager.acquire(userId)) {
+			UserPoint userPoint = userPointRepository.findById(userId);
+
+			return processUpdateUserPoint(userPoint.validateMaxPoint(amount), amount, TransactionType.CHARGE);
+		}
+	}
+
+	private UserPoint use(long userId, long amount) {
+		if (amount > MAX_USE_POINT)
+			throw new PointException(PointError.EXCEED_MAX_USE_POINT);
+
+		if (pointProperties.getUpdateMode() == PointUpdateMode.GROUP_COMMIT)
+			return groupCommit(userId, amount, TransactionType.USE);
+		if (pointProperties.getUpdateMode() == PointUpdateMode.OPTIMISTIC)
+			return optimisticPointStore.apply(userId, amount, TransactionType.USE);
+
+		try (UserLockManager.UserLock ignored = userLockManager.acquire(userId)) {
+			UserPoint userPoint = userPointRepository.findById(userId);
+
+			return processUpdateUserPoint(userPoint.validateLeftPoint(amount), amount, TransactionType.USE);
 		}
 	}
 
 	/**
-	 * UserPoint 수정 후 PointHistoryTable에 이력 저장
+	 * 두 유저 락을 잡고 이체
+	 * - 락은 샤드와 관계없이 항상 유저 ID 가 작은 쪽부터 잡으므로, 서로에게 동시에 이체해도 교착되지 않음
+	 * - 그룹 커밋 대기 중인 요청은 락을 잡은 스레드만 반영하고, 낙관적 방식의 메모리 잔액은 락 안에서 저장 후 내려놓으므로
+	 *   어느 변경 방식이든 락을 잡은 동안에는 테이블 잔액이 최신이며 다른 요청이 바꾸지 못함
+	 * - 받는 유저 잔액 저장에 실패하면 보낸 유저 잔액을 되돌림
+	 */
+	private PointTransfer transfer(long fromUserId, long toUserId, long amount, PointService toPointService) {
+		if (fromUserId == toUserId)
+			throw new PointException(PointError.SELF_TRANSFER);
+		if (amount <= 0)
+			throw new PointException(PointError.INVALID_TRANSFER_AMOUNT);
+
+		boolean fromFirst = fromUserId < toUserId;
+		PointService firstService = fromFirst ? this : toPointService;
+		PointService secondService = fromFirst ? toPointService : this;
+		try (UserLockManager.UserLock firstLock = firstService.userLockManager.acquire(Math.min(fromUserId, toUserId));
+			 UserLockManager.UserLock secondLock = secondService.userLockManager.acquire(Math.max(fromUserId, toUserId))) {
+			optimisticPointStore.release(fromUserId);
+			toPointService.optimisticPointStore.release(toUserId);
+
+			UserPoint from = userPointRepository.findById(fromUserId).validateLeftPoint(amount);
+			UserPoint to = toPointService.userPointRepository.findById(toUserId).validateMaxPoint(amount);
+
+			UserPoint updatedFrom = userPointRepository.save(fromUserId, from.point() - amount);
+			UserPoint updatedTo;
+			try {
+				updatedTo = toPointService.userPointRepository.save(toUserId, to.point() + amount);
+			} catch (RuntimeException e) {
+				userPointRepository.save(fromUserId, from.point());
+				throw e;
+			}
+
+			long updateMillis = System.currentTimeMillis();
+			record(pointHistoryRepository.save(fromUserId, amount, TransactionType.TRANSFER_OUT, updateMillis));
+			toPointService.record(
+				toPointService.pointHistoryRepository.save(toUserId, amount, TransactionType.TRANSFER_IN, updateMillis));
+
+			if (pointEventHub.hasSubscribers()) {
+				pointEventHub.publish(new PointChangedEvent(fromUserId, TransactionType.TRANSFER_OUT, amount,
+					updatedFrom.point(), updatedFrom.updateMillis()));
+				pointEventHub.publish(new PointChangedEvent(toUserId, TransactionType.TRANSFER_IN, amount,
+					updatedTo.point(), updatedTo.updateMillis()));
+			}
+
+			return new PointTransfer(updatedFrom, updatedTo);
+		}
+	}
+
+	/**
+	 * 저장한 이력을 묶음 장부와 누적 집계에 반영
+	 */
+	private void record(PointHistory pointHistory) {
+		pointLotBook.record(pointHistory);
+		pointAggregates.record(pointHistory);
+	}
+
+	/**
+	 * UserPoint 수정 후 포인트 이력 저장
 	 * @param userPoint 수정할 UserPoint
 	 * @param amount 수정할 금액
 	 * @param transactionType 수정 타입
 	 * @return 수정된 UserPoint
 	 */
 	private UserPoint processUpdateUserPoint(UserPoint userPoint, long amount, TransactionType transactionType) {
-		long calculateAmount = transactionType.equals(TransactionType.CHARGE)
-			? userPoint.point() + amount
-			: userPoint.point() - amount;
+		long calculateAmount = transactionType.apply(userPoint.point(), amount);
+
+		UserPoint updatedUserPoint = userPointRepository.save(userPoint.id(), calculateAmount);
+		record(pointHistoryRepository.save(userPoint.id(), amount, transactionType, System.currentTimeMillis()));
 
-		UserPoint updatedUserPoint = userPointTable.insertOrUpdate(userPoint.id(), calculateAmount);
-		pointHistoryTable.insert(userPoint.id(), amount, transactionType, System.currentTimeMillis());
+		if (pointEventHub.hasSubscribers()) {
+			pointEventHub.publish(new PointChangedEvent(userPoint.id(), transactionType, amount,
+				updatedUserPoint.point(), updatedUserPoint.updateMillis()));
+		}
 
 		return updatedUserPoint;
 	}
+
+	/**
+	 * 그룹 커밋 방식으로 포인트 변경
+	 * 요청을 유저별 대기열에 넣은 뒤 락을 획득한 스레드가 대기열에 쌓인 요청을 한번에 반영함
+	 * 내 요청이 앞선 스레드에 의해 이미 반영되었다면 테이블에 접근하지 않고 결과만 반환
+	 * @param userId 변경할 유저 ID
+	 * @param amount 변경할 포인트 금액
+	 * @param transactionType 변경 타입
+	 * @return 변경 후 유저 포인트
+	 */
+	private UserPoint groupCommit(long userId, long amount, TransactionType transactionType) {
+		PendingCommand command = new PendingCommand(amount, transactionType);
+		Queue<PendingCommand> queue = pendingCommands.computeIfAbsent(userId, id -> new ConcurrentLinkedQueue<>());
+		queue.add(command);
+
+		try (UserLockManager.UserLock ignored = userLockManager.acquire(userId)) {
+			while (!command.result.isDone())
+				flushPendingCommands(userId, queue);
+
+			// 비어있는 대기열은 제거하여 유저 수만큼 쌓이지 않도록 함
+			// 제거 직전에 대기열을 받아간 요청은 그 대기열을 직접 반영하므로 유실되지 않음
+			if (queue.isEmpty())
+				pendingCommands.remove(userId, queue);
+		}
+
+		return command.join();
+	}
+
+	/**
+	 * 대기열에 쌓인 요청을 순서대로 검증하고 한번의 insertOrUpdate 로 반영
+	 * 이력도 saveAll 로 한번에 저장하여 락과 WAL 반영 대기를 요청마다 반복하지 않음
+	 * 검증에 실패한 요청은 각자 PointException 으로 거절되고 나머지 요청은 계속 반영됨
+	 * @param userId 반영할 유저 ID
+	 * @param queue 유저 요청 대기열
+	 */
+	private void flushPendingCommands(long userId, Queue<PendingCommand> queue) {
+		List<PendingCommand> batch = new ArrayList<>();
+		PendingCommand polled;
+		while (batch.size() < pointProperties.getGroupCommit().getMaxBatchSize() && (polled = queue.poll()) != null)
+			batch.add(polled);
+
+		if (batch.isEmpty())
+			return;
+
+		try {
+			UserPoint userPoint = userPointRepository.findById(userId);
+			long runningPoint = userPoint.point();
+			List<PendingCommand> accepted = new ArrayList<>();
+
+			for (PendingCommand command : batch) {
+				try {
+					new UserPoint(userId, runningPoint, userPoint.updateMillis())
+						.validate(command.amount, command.transactionType);
+				} catch (PointException e) {
+					command.result.completeExceptionally(e);
+					continue;
+				}
+
+				runningPoint = command.transactionType.apply(runningPoint, command.amount);
+				command.point = runningPoint;
+				accepted.add(command);
+			}
+
+			if (accepted.isEmpty())
+				return;
+
+			UserPoint updatedUserPoint = userPointRepository.save(userId, runningPoint);
+			List<PointCommand> changes = accepted.stream()
+				.map(command -> new PointCommand(userId, command.transactionType, command.amount))
+				.toList();
+			pointHistoryRepository.saveAll(changes, System.currentTimeMillis()).forEach(this::record);
+
+			for (PendingCommand command : accepted) {
+				command.result.complete(new UserPoint(userId, command.point, updatedUserPoint.updateMillis()));
+				if (pointEventHub.hasSubscribers()) {
+					pointEventHub.publish(new PointChangedEvent(userId, command.transactionType, command.amount,
+						command.point, updatedUserPoint.updateMillis()));
+				}
+			}
+		} catch (RuntimeException e) {
+			batch.forEach(command -> command.result.completeExceptionally(e));
+		}
+	}
+
+	/**
+	 * 그룹 커밋 대기 중인 요청
+	 */
+	private static class PendingCommand {
+
+		private final long amount;
+		private final TransactionType transactionType;
+		private final CompletableFuture<UserPoint> result = new CompletableFuture<>();
+		private long point;
+
+		private PendingCommand(long amount, TransactionType transactionType) {
+			this.amount = amount;
+			this.transactionType = transactionType;
+		}
+
+		private UserPoint join() {
+			try {
+				return result.join();
+			} catch (CompletionException e) {
+				if (e.getCause() instanceof RuntimeException cause)
+					throw cause;
+				throw e;
+			}
+		}
+	}
 }
@@ -0,0 +1,106 @@
+package io.hhplus.tdd.point;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.WalSnapshotScheduler;
+import io.hhplus.tdd.database.WriteAheadLog;
+
+/**
+ * 유저 일부를 맡는 샤드
+ * - 샤드마다 테이블, 저장소, 유저 락, 멱등키 캐시, 실행 스레드, WAL 을 따로 가지므로 서로 다른 샤드의 요청은 자원을 공유하지 않음
+ *   (지표, 변경 이벤트 허브, 요청 수 제한기만 함께 사용)
+ * - 0번 샤드는 스프링 빈으로 만든 구성요소를 그대로 사용하고, 나머지 샤드는 create 로 만들어 close 로 닫음
+ */
+public class PointShard implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(PointShard.class);
+
+	private final int index;
+	private final PointService pointService;
+	private final PointBatchService pointBatchService;
+	private final List<AutoCloseable> resources;
+
+	public PointShard(int index, PointService pointService, PointBatchService pointBatchService) {
+		this(index, pointService, pointBatchService, List.of());
+	}
+
+	private PointShard(int index, PointService pointService, PointBatchService pointBatchService,
+		List<AutoCloseable> resources) {
+		this.index = index;
+		this.pointService = pointService;
+		this.pointBatchService = pointBatchService;
+		this.resources = resources;
+	}
+
+	/**
+	 * 전용 구성요소를 가진 샤드 생성
+	 * WAL 은 point.wal.directory 아래 shard-{index} 디렉토리에 따로 기록
+	 * @param index 샤드 번호
+	 * @param userPointTable 이 샤드만 사용할 잔액 테이블
+	 * @param pointHistoryTable 이 샤드만 사용할 이력 테이블
+	 * @param pointEventHub 변경 이벤트를 발행할 허브 (구독자가 샤드와 관계없이 받도록 모든 샤드가 함께 사용)
+	 * @param pointRateLimiter 일괄 처리 요청별 토큰을 꺼낼 제한기 (노드 전체 제한이 샤드 수와 관계없도록 모든 샤드가 함께 사용)
+	 */
+	public static PointShard create(int index, UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+		PointEventHub pointEventHub, PointRateLimiter pointRateLimiter, PointProperties pointProperties,
+		PointMetrics pointMetrics) {
+		Path walDirectory = Path.of(pointProperties.getWal().getDirectory(), "shard-" + index);
+		WriteAheadLog writeAheadLog = new WriteAheadLog(pointProperties, walDirectory, pointMetrics);
+		UserPointRepository userPointRepository =
+			new UserPointRepository(userPointTable, writeAheadLog, pointProperties, pointMetrics);
+		PointHistoryRepository pointHistoryRepository =
+			new PointHistoryRepository(pointHistoryTable, writeAheadLog, pointProperties, pointMetrics);
+		WalSnapshotScheduler walSnapshotScheduler =
+			new WalSnapshotScheduler(userPointRepository, pointHistoryRepository, writeAheadLog, pointProperties);
+		UserLockManager userLockManager = new UserLockManager(pointMetrics);
+		PointLotBook pointLotBook = new PointLotBook(pointProperties);
+		PointAggregates pointAggregates = new PointAggregates(pointHistoryRepository, pointProperties);
+		OptimisticPointStore optimisticPointStore = new OptimisticPointStore(userPointRepository,
+			pointHistoryRepository, userLockManager, pointEventHub, pointLotBook, pointAggregates, pointProperties);
+		PointService pointService = new PointService(userPointRepository, pointHistoryRepository, userLockManager,
+			optimisticPointStore, new IdempotencyCache(pointProperties, pointMetrics), pointEventHub, pointLotBook,
+			pointAggregates, pointProperties, pointMetrics);
+		ExecutorService pointExecutor = new PointExecutorConfig().pointExecutor(pointProperties);
+		PointBatchService pointBatchService =
+			new PointBatchService(pointService, pointExecutor, pointRateLimiter, pointProperties, pointMetrics);
+		PointExpiryScheduler pointExpiryScheduler = new PointExpiryScheduler(pointService, pointLotBook,
+			pointHistoryRepository, pointExecutor, pointProperties);
+
+		// 만료와 요청 처리 스레드부터 멈추고, 마지막 스냅샷과 남은 이력 기록을 마친 뒤 WAL 을 닫음
+		return new PointShard(index, pointService, pointBatchService,
+			List.of(pointExpiryScheduler::close, pointExecutor::shutdown, walSnapshotScheduler::close,
+				pointHistoryRepository::close, writeAheadLog));
+	}
+
+	public int index() {
+		return index;
+	}
+
+	public PointService pointService() {
+		return pointService;
+	}
+
+	public PointBatchService pointBatchService() {
+		return pointBatchService;
+	}
+
+	@Override
+	public void close() {
+		for (AutoCloseable resource : resources) {
+			try {
+				resource.close();
+			} catch (Exception e) {
+				log.warn("샤드 {} 구성요소를 닫지 못했습니다.", index, e);
+			}
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+
+/**
+ * 샤드 구성
+ * 0번 샤드는 스프링 빈(PointService, PointBatchService 와 그 구성요소)을 그대로 사용하고,
+ * point.sharding.shard-count 가 2 이상이면 나머지 샤드는 테이블부터 실행 스레드까지 따로 만듦
+ * WAL 을 쓰면 기록할 때와 샤드, 노드 구성이 같은지 먼저 확인함 (PointTopology)
+ */
+@Configuration
+public class PointShardConfig {
+
+	@Bean(destroyMethod = "close")
+	public PointShardRouter pointShardRouter(PointService pointService, PointBatchService pointBatchService,
+		PointNodes pointNodes, PointEventHub pointEventHub, PointRateLimiter pointRateLimiter,
+		PointProperties pointProperties, PointMetrics pointMetrics) {
+		int shardCount = pointProperties.getSharding().getShardCount();
+		if (shardCount < 1)
+			throw new IllegalStateException("point.sharding.shard-count 는 1 이상이어야 합니다. (" + shardCount + ")");
+		PointTopology.verify(pointProperties);
+
+		List<PointShard> shards = new ArrayList<>(shardCount);
+		shards.add(new PointShard(0, pointService, pointBatchService));
+		for (int index = 1; index < shardCount; index++) {
+			shards.add(PointShard.create(index, new UserPointTable(), new PointHistoryTable(), pointEventHub,
+				pointRateLimiter, pointProperties, pointMetrics));
+		}
+
+		return new PointShardRouter(shards, pointNodes, pointProperties, pointMetrics);
+	}
+}
@@ -0,0 +1,335 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * 유저 ID 로 샤드를 골라 요청을 전달
+ * - 유저는 일관된 해시 링(ConsistentHashRing)으로 샤드 하나에 고정되므로 유저 락, 잔액, 이력은 모두 그 샤드 안에서만 다룸
+ * - 이력 ID 는 샤드마다 따로 발급되므로 밖으로 내보낼 때 (샤드 이력 ID * 샤드 수 + 샤드 번호) 로 바꿔 전체에서 겹치지 않게 함
+ *   (샤드가 하나이면 그대로)
+ * - 일괄 처리는 샤드(다른 노드가 맡은 유저는 노드)별로 나누어 동시에 처리한 뒤 요청 순서대로 합침
+ * - 다른 노드가 맡은 유저의 단건 요청은 PointNodeRoutingFilter 가 컨트롤러 앞에서 전달함
+ * - 상위 유저와 구간별 합계는 이 노드의 샤드별 집계를 합친 값 (샤드마다 맡은 유저가 겹치지 않으므로 상위 유저는 이어붙여 정렬)
+ */
+public class PointShardRouter implements AutoCloseable {
+
+	private final List<PointShard> shards;
+	private final ConsistentHashRing ring;
+	private final PointNodes pointNodes;
+	private final PointProperties pointProperties;
+	private final PointMetrics pointMetrics;
+	private final ExecutorService fanOutExecutor;
+
+	public PointShardRouter(List<PointShard> shards, PointNodes pointNodes, PointProperties pointProperties,
+		PointMetrics pointMetrics) {
+		this.shards = List.copyOf(shards);
+		this.ring = new ConsistentHashRing(IntStream.range(0, shards.size()).mapToObj(i -> "shard-" + i).toList(),
+			pointProperties.getSharding().getVirtualNodes());
+		this.pointNodes = pointNodes;
+		this.pointProperties = pointProperties;
+		this.pointMetrics = pointMetrics;
+
+		// 나뉜 일괄 처리를 기다리기만 하는 스레드이므로 샤드 실행 스레드와 분리하여 서로를 기다리며 멈추지 않도록 함
+		AtomicInteger threadNumber = new AtomicInteger();
+		this.fanOutExecutor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "point-shard-fan-out-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public PointShard shardFor(long userId) {
+		return shards.get(ring.ownerOf(userId));
+	}
+
+	public int shardCount() {
+		return shards.size();
+	}
+
+	public UserPoint getUserPoint(long userId) {
+		return shardFor(userId).pointService().getUserPoint(userId);
+	}
+
+	public List<PointHistory> getUserPointHistories(long userId, PointHistoryQuery query) {
+		PointShard shard = shardFor(userId);
+		List<PointHistory> histories = shard.pointService().getUserPointHistories(userId, toLocal(query, shard));
+		if (shards.size() == 1)
+			return histories;
+
+		List<PointHistory> globalHistories = new ArrayList<>(histories.size());
+		for (PointHistory pointHistory : histories)
+			globalHistories.add(toGlobal(pointHistory, shard));
+		return globalHistories;
+	}
+
+	/**
+	 * 유저를 맡은 샤드의 이력을 목록을 만들지 않고 순회
+	 * @return ID 오름차순 포인트 이력 Iterator (샤드가 여럿이면 전역 ID)
+	 */
+	public Iterator<PointHistory> iterateUserPointHistories(long userId, PointHistoryQuery query) {
+		PointShard shard = shardFor(userId);
+		Iterator<PointHistory> histories = shard.pointService().iterateUserPointHistories(userId,
+			toLocal(query, shard));
+		if (shards.size() == 1)
+			return histories;
+
+		return new Iterator<>() {
+
+			@Override
+			public boolean hasNext() {
+				return histories.hasNext();
+			}
+
+			@Override
+			public PointHistory next() {
+				return toGlobal(histories.next(), shard);
+			}
+		};
+	}
+
+	public int lockWaiters(long userId) {
+		return shardFor(userId).pointService().lockWaiters(userId);
+	}
+
+	public List<PointLot> getUserPointLots(long userId) {
+		return shardFor(userId).pointService().getUserPointLots(userId);
+	}
+
+	public PointSummary getUserPointSummary(long userId) {
+		return shardFor(userId).pointService().getUserPointSummary(userId);
+	}
+
+	/**
+	 * @return 이 노드에서 거래량이 큰 순서로 최대 limit 명
+	 */
+	public List<PointVolume> getTopUsers(int limit) {
+		if (limit < 1 || limit > pointProperties.getAggregate().getTopUsers()) {
+			pointMetrics.recordRejection(PointError.INVALID_TOP_LIMIT);
+			throw new PointException(PointError.INVALID_TOP_LIMIT);
+		}
+
+		if (shards.size() == 1)
+			return shards.get(0).pointService().getTopUsers(limit);
+
+		List<PointVolume> volumes = new ArrayList<>();
+		for (PointShard shard : shards)
+			volumes.addAll(shard.pointService().getTopUsers(limit));
+		volumes.sort(Comparator.comparingLong(PointVolume::volume).reversed());
+		return volumes.size() > limit ? volumes.subList(0, limit) : volumes;
+	}
+
+	/**
+	 * @return 이 노드의 최근 구간별 합계 (오래된 구간부터)
+	 */
+	public List<PointRollup> getPointRollups(PointRollupUnit unit) {
+		if (shards.size() == 1)
+			return shards.get(0).pointService().getPointRollups(unit);
+
+		Map<Long, PointRollup> rollups = new TreeMap<>();
+		for (PointShard shard : shards) {
+			for (PointRollup rollup : shard.pointService().getPointRollups(unit))
+				rollups.merge(rollup.startMillis(), rollup, PointRollup::plus);
+		}
+		return new ArrayList<>(rollups.values());
+	}
+
+	public UserPoint chargeUserPoint(long userId, long amount, String idempotencyKey) {
+		return shardFor(userId).pointService().chargeUserPoint(userId, amount, idempotencyKey);
+	}
+
+	public UserPoint useUserPoint(long userId, long amount, String idempotencyKey) {
+		return shardFor(userId).pointService().useUserPoint(userId, amount, idempotencyKey);
+	}
+
+	/**
+	 * 유저를 맡은 샤드의 멱등키 캐시로 한번만 처리
+	 * @return 처음 요청의 처리 결과
+	 */
+	public CompletableFuture<UserPoint> executeIdempotent(long userId, TransactionType transactionType, long amount,
+		String idempotencyKey, Supplier<CompletableFuture<UserPoint>> operation) {
+		return shardFor(userId).pointService()
+			.executeIdempotent(userId, transactionType, amount, idempotencyKey, operation);
+	}
+
+	/**
+	 * 유저를 맡은 샤드의 유저 락을 기다리지 않고 잡을 수 있을 때만 call 을 실행
+	 * @return call 의 결과, 락을 잡지 못하면 null
+	 */
+	public <T> T tryWithUserLock(long userId, Supplier<T> call) {
+		return shardFor(userId).pointService().tryWithUserLock(userId, call);
+	}
+
+	/**
+	 * 유저 간 포인트 이체
+	 * 두 유저가 다른 샤드에 있어도 이 노드 안이면 두 샤드의 유저 락을 유저 ID 순서로 잡고 처리
+	 * 받는 유저를 다른 노드가 맡으면 두 잔액을 함께 바꿀 수 없으므로 거절
+	 */
+	public PointTransfer transferUserPoint(long fromUserId, long toUserId, long amount) {
+		if (!pointNodes.isLocal(toUserId)) {
+			pointMetrics.recordRejection(PointError.CROSS_NODE_TRANSFER);
+			throw new PointException(PointError.CROSS_NODE_TRANSFER);
+		}
+
+		return shardFor(fromUserId).pointService()
+			.transferUserPoint(fromUserId, toUserId, amount, shardFor(toUserId).pointService());
+	}
+
+	/**
+	 * 이 노드의 전체 포인트 이력을 ID 순서대로 순회 (샤드별 순회를 ID 순서로 합침)
+	 * @param afterId 이 ID 다음 이력부터 순회 (처음부터는 0)
+	 */
+	public Iterator<PointHistory> iteratePointHistories(long afterId) {
+		if (shards.size() == 1)
+			return shards.get(0).pointService().iteratePointHistories(afterId);
+
+		List<Iterator<PointHistory>> iterators = new ArrayList<>(shards.size());
+		for (PointShard shard : shards) {
+			long localAfterId = Math.floorDiv(afterId - shard.index(), shards.size());
+			Iterator<PointHistory> local = shard.pointService().iteratePointHistories(localAfterId);
+			iterators.add(new Iterator<>() {
+
+				@Override
+				public boolean hasNext() {
+					return local.hasNext();
+				}
+
+				@Override
+				public PointHistory next() {
+					return toGlobal(local.next(), shard);
+				}
+			});
+		}
+
+		return new MergingIterator(iterators);
+	}
+
+	/**
+	 * 포인트 충전, 사용 일괄 처리
+	 * 샤드별로 나누어 각 샤드의 PointBatchService 로 동시에 처리하고, 다른 노드가 맡은 유저의 요청은 그 노드로 전달
+	 * @return 요청 순서와 같은 순서의 요청별 결과 목록
+	 */
+	public List<PointCommandResult> execute(List<PointCommand> commands) {
+		if (commands.size() > pointProperties.getBatch().getMaxSize()) {
+			pointMetrics.recordRejection(PointError.EXCEED_MAX_BATCH_SIZE);
+			throw new PointException(PointError.EXCEED_MAX_BATCH_SIZE);
+		}
+
+		// 노드 주소 또는 로컬 샤드 번호별로 요청 위치를 모음 (비어있는 요청은 실패 결과를 만들 수 있도록 0번 유저와 함께 보냄)
+		Map<Object, List<Integer>> indexesByTarget = new LinkedHashMap<>();
+		for (int i = 0; i < commands.size(); i++) {
+			long userId = commands.get(i) == null ? 0 : commands.get(i).userId();
+			Object target = pointNodes.isLocal(userId) ? (Object)ring.ownerOf(userId) : pointNodes.ownerOf(userId);
+			indexesByTarget.computeIfAbsent(target, key -> new ArrayList<>()).add(i);
+		}
+
+		if (indexesByTarget.size() == 1 && indexesByTarget.keySet().iterator().next() instanceof Integer shard)
+			return shards.get(shard).pointBatchService().execute(commands);
+
+		PointCommandResult[] results = new PointCommandResult[commands.size()];
+		List<CompletableFuture<Void>> futures = new ArrayList<>(indexesByTarget.size());
+		for (Map.Entry<Object, List<Integer>> entry : indexesByTarget.entrySet()) {
+			List<Integer> indexes = entry.getValue();
+			List<PointCommand> targetCommands = indexes.stream().map(commands::get).toList();
+			Supplier<List<PointCommandResult>> task = entry.getKey() instanceof Integer shard
+				? () -> shards.get(shard).pointBatchService().execute(targetCommands)
+				: () -> pointNodes.forwardBatch((String)entry.getKey(), targetCommands);
+
+			futures.add(CompletableFuture.supplyAsync(task, fanOutExecutor).thenAccept(targetResults -> {
+				for (int i = 0; i < indexes.size(); i++)
+					results[indexes.get(i)] = targetResults.get(i);
+			}));
+		}
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+		return List.of(results);
+	}
+
+	/**
+	 * 직접 만든 샤드의 구성요소를 닫음 (스프링 빈을 사용하는 0번 샤드는 스프링이 닫음)
+	 */
+	@Override
+	public void close() {
+		fanOutExecutor.shutdown();
+		for (PointShard shard : shards)
+			shard.close();
+	}
+
+	private PointHistory toGlobal(PointHistory pointHistory, PointShard shard) {
+		return new PointHistory(pointHistory.id() * shards.size() + shard.index(), pointHistory.userId(),
+			pointHistory.amount(), pointHistory.type(), pointHistory.updateMillis());
+	}
+
+	/**
+	 * 전체 이력 ID 커서를 샤드 이력 ID 커서로 바꿈
+	 * 샤드 이력 ID local 의 전체 ID 는 local * n + index 이므로
+	 * - 전체 ID > afterId 는 local > floor((afterId - index) / n)
+	 * - 전체 ID < beforeId 는 local < floor((beforeId - index - 1) / n) + 1
+	 */
+	private PointHistoryQuery toLocal(PointHistoryQuery query, PointShard shard) {
+		int n = shards.size();
+		if (n == 1 || (query.afterId() == null && query.beforeId() == null))
+			return query;
+
+		Long afterId = query.afterId() == null ? null : Math.floorDiv(query.afterId() - shard.index(), n);
+		Long beforeId = query.beforeId() == null ? null : Math.floorDiv(query.beforeId() - shard.index() - 1, n) + 1;
+		return new PointHistoryQuery(query.limit(), afterId, beforeId, query.from(), query.to(), query.type());
+	}
+
+	/**
+	 * ID 오름차순인 샤드별 순회를 하나의 ID 오름차순 순회로 합침
+	 */
+	private static class MergingIterator implements Iterator<PointHistory> {
+
+		private final List<Iterator<PointHistory>> iterators;
+		private final PointHistory[] heads;
+
+		private MergingIterator(List<Iterator<PointHistory>> iterators) {
+			this.iterators = iterators;
+			this.heads = new PointHistory[iterators.size()];
+			for (int i = 0; i < heads.length; i++)
+				advance(i);
+		}
+
+		@Override
+		public boolean hasNext() {
+			for (PointHistory head : heads) {
+				if (head != null)
+					return true;
+			}
+			return false;
+		}
+
+		@Override
+		public PointHistory next() {
+			int min = -1;
+			for (int i = 0; i < heads.length; i++) {
+				if (heads[i] != null && (min < 0 || heads[i].id() < heads[min].id()))
+					min = i;
+			}
+			if (min < 0)
+				throw new NoSuchElementException();
+
+			PointHistory next = heads[min];
+			advance(min);
+			return next;
+		}
+
+		private void advance(int i) {
+			heads[i] = iterators.get(i).hasNext() ? iterators.get(i).next() : null;
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 유저 포인트 변경 누적 집계 (이력을 다시 읽지 않고 변경마다 더해둔 값)
+ * @param userId 유저 ID
+ * @param totalCharged 충전 합계
+ * @param totalUsed 사용 합계
+ * @param totalTransferredIn 이체 받은 합계
+ * @param totalTransferredOut 이체 보낸 합계
+ * @param totalExpired 만료 합계
+ * @param transactionCount 이력 수
+ * @param lastActivityMillis 마지막 이력 시각 (이력이 없으면 0)
+ */
+public record PointSummary(
+	long userId,
+	long totalCharged,
+	long totalUsed,
+	long totalTransferredIn,
+	long totalTransferredOut,
+	long totalExpired,
+	long transactionCount,
+	long lastActivityMillis
+) {
+
+	/**
+	 * @param amounts TransactionType 순서(ordinal)별 금액 합계
+	 */
+	static PointSummary of(long userId, long[] amounts, long transactionCount, long lastActivityMillis) {
+		return new PointSummary(userId, amounts[TransactionType.CHARGE.ordinal()],
+			amounts[TransactionType.USE.ordinal()], amounts[TransactionType.TRANSFER_IN.ordinal()],
+			amounts[TransactionType.TRANSFER_OUT.ordinal()], amounts[TransactionType.EXPIRE.ordinal()],
+			transactionCount, lastActivityMillis);
+	}
+}
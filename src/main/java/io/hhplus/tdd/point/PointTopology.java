@@ -0,0 +1,110 @@
+package io.hhplus.tdd.point;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * 유저를 샤드, 노드에 나누는 구성(토폴로지)
+ * - 유저를 맡을 샤드와 노드는 shard-count, virtual-nodes, nodes 로 정해지고 전체 이력 ID 도 shard-count 로 만들어지므로,
+ *   WAL 에 기록이 남아있는데 구성이 바뀌면 유저가 기록이 없는 샤드(노드)로 옮겨가고 이력 ID 가 달라짐
+ * - 처음 시작할 때 구성을 point.wal.directory 의 topology.properties 에 남기고, 이후 시작할 때 다르면 시작하지 않음
+ *   (구성을 바꾸려면 기록을 옮기고 WAL 디렉토리를 비운 뒤 시작해야함)
+ * - WAL 을 쓰지 않으면 다시 읽을 기록이 없으므로 확인하지 않음
+ */
+record PointTopology(
+	int shardCount,
+	int virtualNodes,
+	List<String> nodes,
+	String self
+) {
+
+	static final String FILE_NAME = "topology.properties";
+
+	static PointTopology of(PointProperties pointProperties) {
+		PointProperties.Sharding sharding = pointProperties.getSharding();
+		List<String> nodes = sharding.getNodes().stream().map(PointNodes::normalize).toList();
+		String self = nodes.isEmpty() || sharding.getSelf() == null ? null : PointNodes.normalize(sharding.getSelf());
+		return new PointTopology(sharding.getShardCount(), sharding.getVirtualNodes(), nodes, self);
+	}
+
+	/**
+	 * WAL 디렉토리에 남긴 구성과 지금 구성이 같은지 확인하고, 남긴 구성이 없으면 지금 구성을 남김
+	 * @throws IllegalStateException 남긴 구성과 다른 구성으로 시작한 경우
+	 */
+	static void verify(PointProperties pointProperties) {
+		if (!pointProperties.getWal().isEnabled())
+			return;
+
+		Path directory = Path.of(pointProperties.getWal().getDirectory());
+		Path path = directory.resolve(FILE_NAME);
+		PointTopology current = of(pointProperties);
+		try {
+			if (Files.notExists(path)) {
+				current.write(directory, path);
+				return;
+			}
+
+			PointTopology stored = read(path);
+			List<String> changes = current.changesFrom(stored);
+			if (!changes.isEmpty())
+				throw new IllegalStateException("WAL 을 기록할 때와 샤드, 노드 구성이 다릅니다. " + changes
+					+ " 구성을 바꾸려면 기록을 옮기고 " + directory + " 를 비운 뒤 시작해야 합니다.");
+		} catch (IOException e) {
+			throw new UncheckedIOException("샤드, 노드 구성을 확인하지 못했습니다. (" + path + ")", e);
+		}
+	}
+
+	private List<String> changesFrom(PointTopology stored) {
+		List<String> changes = new ArrayList<>();
+		if (shardCount != stored.shardCount)
+			changes.add("shard-count: " + stored.shardCount + " -> " + shardCount);
+		if (virtualNodes != stored.virtualNodes)
+			changes.add("virtual-nodes: " + stored.virtualNodes + " -> " + virtualNodes);
+		if (!nodes.equals(stored.nodes))
+			changes.add("nodes: " + stored.nodes + " -> " + nodes);
+		if (!Objects.equals(self, stored.self))
+			changes.add("self: " + stored.self + " -> " + self);
+		return changes;
+	}
+
+	private static PointTopology read(Path path) throws IOException {
+		Properties properties = new Properties();
+		try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		}
+
+		String nodes = properties.getProperty("nodes", "");
+		String self = properties.getProperty("self", "");
+		return new PointTopology(Integer.parseInt(properties.getProperty("shard-count")),
+			Integer.parseInt(properties.getProperty("virtual-nodes")),
+			nodes.isEmpty() ? List.of() : List.of(nodes.split(",")), self.isEmpty() ? null : self);
+	}
+
+	/**
+	 * 임시 파일에 쓰고 이름을 바꿔, 완성된 구성만 보이도록 함
+	 */
+	private void write(Path directory, Path path) throws IOException {
+		Properties properties = new Properties();
+		properties.setProperty("shard-count", Integer.toString(shardCount));
+		properties.setProperty("virtual-nodes", Integer.toString(virtualNodes));
+		properties.setProperty("nodes", String.join(",", nodes));
+		properties.setProperty("self", self == null ? "" : self);
+
+		Files.createDirectories(directory);
+		Path temporary = directory.resolve(FILE_NAME + ".tmp");
+		try (Writer writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+			properties.store(writer, null);
+		}
+		Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+}
@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이체 요청
+ * @param toUserId 받을 유저 ID
+ * @param amount 이체할 포인트 금액
+ */
+public record PointTransferRequest(
+	long toUserId,
+	long amount
+) {
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 변경 처리 방식
+ * - LOCK : 유저 락을 잡고 요청마다 조회, 수정, 이력 저장
+ * - GROUP_COMMIT : 같은 유저의 동시 요청을 모아 한번의 수정으로 반영
+ * - OPTIMISTIC : 메모리 잔액에 CAS 로 검증, 반영을 결정하고 테이블 저장은 그 이후에 처리
+ */
+public enum PointUpdateMode {
+	LOCK, GROUP_COMMIT, OPTIMISTIC
+}
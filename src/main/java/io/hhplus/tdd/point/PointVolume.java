@@ -0,0 +1,12 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 유저 거래량
+ * @param userId 유저 ID
+ * @param volume 충전, 사용, 이체 금액 합계 (만료 제외)
+ */
+public record PointVolume(
+	long userId,
+	long volume
+) {
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /point, /reactive/point 요청 앞에 요청 수 제한(PointAdmissionInterceptor)을 둠
+ */
+@Configuration
+@RequiredArgsConstructor
+public class PointWebConfig implements WebMvcConfigurer {
+
+	private final PointAdmissionInterceptor pointAdmissionInterceptor;
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(pointAdmissionInterceptor).addPathPatterns("/point", "/point/**", "/reactive/point",
+			"/reactive/point/**");
+	}
+}
@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * PointController 와 같은 조회, 충전, 사용 API 의 리액티브 버전
+ * - Mono, Flux 를 돌려주면 요청 처리 스레드는 바로 반환되고 응답은 결과가 나올 때 비동기로 씀
+ * - 테이블 호출처럼 멈추는 작업은 pointReactiveScheduler(bounded elastic)에서 실행
+ * - 이력은 목록을 만들지 않고 저장소 Iterator 에서 하나씩 꺼내 내려줌
+ * - 멱등키는 서블릿 API 와 같이 유저 락보다 먼저 확인하고, 처리 중인 같은 요청의 결과는 스레드를 멈추지 않고 기다림
+ *   (유저 락을 잡은 채 멱등키 결과를 기다리면 멱등키를 먼저 등록하고 유저 락을 기다리는 서블릿 요청과 서로를 기다리게 됨)
+ * - 같은 유저의 충전, 사용은 유저 락을 기다리는 대신 UserSerialQueue 로 순서대로 이어서 실행
+ * - 서블릿 API 와 같은 잔액을 다루므로 LOCK 방식에서는 유저 락을 잡되, 기다리지 않고 잡을 수 있을 때만 잡음
+ *   (다른 요청이 잡고 있으면 스레드를 놓고 point.reactive.lock-retry-millis 뒤에 다시 시도하고,
+ *   lock-retries 번을 넘으면 락을 기다려 서블릿 요청이 계속 들어와도 밀려나지 않도록 함)
+ * - 오류 응답과 요청 수 제한은 서블릿 API 와 같음 (ApiControllerAdvice, PointAdmissionInterceptor)
+ */
+@RestController
+@RequestMapping("/reactive/point")
+@RequiredArgsConstructor
+public class ReactivePointController {
+
+    private final PointShardRouter pointShardRouter;
+    private final UserSerialQueue userSerialQueue;
+    private final Scheduler pointReactiveScheduler;
+    private final PointProperties pointProperties;
+
+    @GetMapping("{id}")
+    public Mono<UserPoint> point(
+            @PathVariable long id
+    ) {
+        return blocking(() -> pointShardRouter.getUserPoint(id));
+    }
+
+    /**
+     * 쿼리 파라미터는 PointController 와 같음
+     * Accept 가 application/x-ndjson 이면 이력을 한 줄에 하나씩 나누어 내려주고, 그 외에는 JSON 배열로 내려줌
+     */
+    @GetMapping(value = "{id}/histories", produces = {MediaType.APPLICATION_JSON_VALUE,
+            MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<PointHistory> history(
+            @PathVariable long id,
+            PointHistoryQuery query
+    ) {
+        return Flux.fromIterable(() -> pointShardRouter.iterateUserPointHistories(id, query))
+                .subscribeOn(pointReactiveScheduler);
+    }
+
+    @PatchMapping("{id}/charge")
+    public Mono<UserPoint> charge(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotent(id, TransactionType.CHARGE, amount, idempotencyKey,
+                () -> serial(id, () -> pointShardRouter.chargeUserPoint(id, amount, null)));
+    }
+
+    @PatchMapping("{id}/use")
+    public Mono<UserPoint> use(
+            @PathVariable long id,
+            @RequestBody long amount,
+            @RequestHeader(value = PointController.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return idempotent(id, TransactionType.USE, amount, idempotencyKey,
+                () -> serial(id, () -> pointShardRouter.useUserPoint(id, amount, null)));
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(pointReactiveScheduler);
+    }
+
+    /**
+     * 멱등키가 있으면 처음 요청일 때만 operation 을 시작하고, 아니면 처음 요청의 결과를 그대로 돌려줌
+     */
+    private Mono<UserPoint> idempotent(long userId, TransactionType transactionType, long amount,
+            String idempotencyKey, Supplier<Mono<UserPoint>> operation) {
+        if (idempotencyKey == null)
+            return operation.get();
+
+        return Mono.defer(() -> Mono.fromFuture(pointShardRouter.executeIdempotent(userId, transactionType, amount,
+                idempotencyKey, () -> operation.get().toFuture())));
+    }
+
+    private <T> Mono<T> serial(long userId, Supplier<T> call) {
+        return userSerialQueue.submit(userId,
+                () -> withUserLock(userId, call, pointProperties.getReactive().getLockRetries()));
+    }
+
+    /**
+     * 유저 락을 잡을 수 있을 때만 실행하고, 잡지 못하면 스레드를 놓고 잠시 뒤 다시 시도
+     * 다시 시도할 횟수를 넘으면 스케줄러 스레드에서 락을 기다려 실행
+     */
+    private <T> Mono<T> withUserLock(long userId, Supplier<T> call, int retries) {
+        return blocking(() -> pointShardRouter.tryWithUserLock(userId, call))
+                .switchIfEmpty(Mono.defer(() -> retries > 0
+                        ? Mono.delay(Duration.ofMillis(pointProperties.getReactive().getLockRetryMillis()))
+                                .then(withUserLock(userId, call, retries - 1))
+                        : blocking(call::get)));
+    }
+}
@@ -0,0 +1,92 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 최근 시간 구간별 포인트 변경 합계를 담는 링 버퍼
+ * - 구간 번호(이력 시각 / 구간 길이)를 칸 수로 나눈 나머지 칸에 더하므로 최근 slots 개 구간만 남고 메모리 사용량이 고정됨
+ * - 칸에 지난 구간이 남아있으면 새 구간으로 CAS 교체하고, 교체 전 칸을 읽은 변경은 이미 범위를 벗어난 구간의 변경이므로 버려져도 됨
+ * - 칸 교체 외에는 락 없이 LongAdder 에만 더함
+ */
+final class RollupRing {
+
+	private static final TransactionType[] TYPES = TransactionType.values();
+
+	private final long bucketMillis;
+	private final AtomicReferenceArray<Bucket> buckets;
+
+	/**
+	 * @param bucketMillis 구간 하나의 길이
+	 * @param slots 유지할 구간 수
+	 */
+	RollupRing(long bucketMillis, int slots) {
+		if (bucketMillis < 1 || slots < 1)
+			throw new IllegalArgumentException("구간 길이와 구간 수는 1 이상이어야 합니다.");
+
+		this.bucketMillis = bucketMillis;
+		this.buckets = new AtomicReferenceArray<>(slots);
+	}
+
+	void record(PointHistory pointHistory) {
+		long index = Math.floorDiv(pointHistory.updateMillis(), bucketMillis);
+		int slot = (int)Math.floorMod(index, (long)buckets.length());
+		while (true) {
+			Bucket bucket = buckets.get(slot);
+			if (bucket != null && bucket.index == index) {
+				bucket.add(pointHistory);
+				return;
+			}
+			// 칸이 이미 더 최근 구간이면 범위를 벗어난 오래된 이력
+			if (bucket != null && bucket.index > index)
+				return;
+
+			buckets.compareAndSet(slot, bucket, new Bucket(index));
+		}
+	}
+
+	/**
+	 * @return nowMillis 가 속한 구간까지 최근 slots 개 구간 중 변경이 있는 구간의 합계 (오래된 구간부터)
+	 */
+	List<PointRollup> snapshot(long nowMillis) {
+		long current = Math.floorDiv(nowMillis, bucketMillis);
+		int slots = buckets.length();
+		List<PointRollup> rollups = new ArrayList<>();
+		for (long index = current - slots + 1; index <= current; index++) {
+			Bucket bucket = buckets.get((int)Math.floorMod(index, (long)slots));
+			if (bucket != null && bucket.index == index)
+				rollups.add(bucket.toRollup(index * bucketMillis));
+		}
+		return rollups;
+	}
+
+	/**
+	 * 구간 하나의 합계
+	 */
+	private static final class Bucket {
+
+		private final long index;
+		private final LongAdder count = new LongAdder();
+		private final LongAdder[] amounts = new LongAdder[TYPES.length];
+
+		private Bucket(long index) {
+			this.index = index;
+			for (int i = 0; i < amounts.length; i++)
+				amounts[i] = new LongAdder();
+		}
+
+		private void add(PointHistory pointHistory) {
+			amounts[pointHistory.type().ordinal()].add(pointHistory.amount());
+			count.increment();
+		}
+
+		private PointRollup toRollup(long startMillis) {
+			long[] sums = new long[amounts.length];
+			for (int i = 0; i < amounts.length; i++)
+				sums[i] = amounts[i].sum();
+			return PointRollup.of(startMillis, sums, count.sum());
+		}
+	}
+}
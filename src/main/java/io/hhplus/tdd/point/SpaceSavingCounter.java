@@ -0,0 +1,136 @@
+package io.hhplus.tdd.point;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * 가중치가 있는 Space-Saving 상위 키 집계
+ * - 카운터 capacity 개만 두고, 카운터가 없는 키가 들어오면 가장 작은 카운터를 그 키에 넘겨주며 (최소값 + 가중치) 로 시작
+ *   (넘겨받은 최소값은 error 로 남겨 실제 합이 count - error 이상 count 이하임을 보장)
+ * - 실제 합이 가장 작은 카운터 값보다 큰 키는 반드시 카운터에 남아있으므로 상위 키를 놓치지 않음
+ * - 카운터는 최소 힙으로 두어 추가와 교체 모두 O(log capacity), 키 수와 관계없이 메모리 사용량이 고정됨
+ * - 스레드 안전하지 않으므로 호출하는 쪽에서 동기화
+ */
+final class SpaceSavingCounter {
+
+	private final int capacity;
+	private final long[] keys;
+	private final long[] counts;
+	private final long[] errors;
+	private final HashMap<Long, Integer> positions;
+	private int size;
+	private long replacedCount;
+
+	/**
+	 * @param capacity 유지할 카운터 수
+	 */
+	SpaceSavingCounter(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("카운터는 1개 이상이어야 합니다.");
+
+		this.capacity = capacity;
+		this.keys = new long[capacity];
+		this.counts = new long[capacity];
+		this.errors = new long[capacity];
+		this.positions = new HashMap<>(capacity * 2);
+	}
+
+	void add(long key, long weight) {
+		Integer position = positions.get(key);
+		if (position != null) {
+			counts[position] += weight;
+			siftDown(position);
+			return;
+		}
+
+		if (size < capacity) {
+			set(size, key, weight, 0);
+			siftUp(size++);
+			return;
+		}
+
+		// 가장 작은 카운터를 새 키에 넘겨줌
+		long min = counts[0];
+		positions.remove(keys[0]);
+		set(0, key, min + weight, min);
+		siftDown(0);
+		replacedCount++;
+	}
+
+	/**
+	 * @return count 가 큰 순서로 최대 limit 개의 카운터
+	 */
+	List<Entry> top(int limit) {
+		List<Entry> entries = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+			entries.add(new Entry(keys[i], counts[i], errors[i]));
+		entries.sort(Comparator.comparingLong(Entry::count).reversed());
+		return entries.size() > limit ? entries.subList(0, limit) : entries;
+	}
+
+	int size() {
+		return size;
+	}
+
+	/**
+	 * @return 작은 카운터를 다른 키에 넘겨준 횟수
+	 */
+	long replacedCount() {
+		return replacedCount;
+	}
+
+	private void set(int position, long key, long count, long error) {
+		keys[position] = key;
+		counts[position] = count;
+		errors[position] = error;
+		positions.put(key, position);
+	}
+
+	private void siftUp(int position) {
+		while (position > 0) {
+			int parent = (position - 1) >>> 1;
+			if (counts[parent] <= counts[position])
+				return;
+			swap(position, parent);
+			position = parent;
+		}
+	}
+
+	private void siftDown(int position) {
+		while (true) {
+			int smallest = position;
+			int left = position * 2 + 1;
+			int right = left + 1;
+			if (left < size && counts[left] < counts[smallest])
+				smallest = left;
+			if (right < size && counts[right] < counts[smallest])
+				smallest = right;
+			if (smallest == position)
+				return;
+			swap(position, smallest);
+			position = smallest;
+		}
+	}
+
+	private void swap(int a, int b) {
+		long key = keys[a];
+		long count = counts[a];
+		long error = errors[a];
+		set(a, keys[b], counts[b], errors[b]);
+		set(b, key, count, error);
+	}
+
+	/**
+	 * @param key 키
+	 * @param count 집계된 합 (실제 합 이상)
+	 * @param error 다른 키에게 넘겨받은 값 (count - error 는 실제 합 이하)
+	 */
+	record Entry(
+		long key,
+		long count,
+		long error
+	) {
+	}
+}
@@ -0,0 +1,146 @@
+package io.hhplus.tdd.point;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * 계층형 타이밍 휠
+ * - 시각을 tick 단위로 나누고, 단계마다 64 칸짜리 휠을 둠 (0단계 한 칸 = 1 tick, 1단계 한 칸 = 64 tick, ...)
+ * - 만료까지 남은 tick 수에 맞는 단계의 칸에 넣고, 아래 단계 휠이 한바퀴 돌 때마다 윗 단계 칸을 아래로 내려 다시 배치
+ * - 예약과 만료 모두 전체를 훑지 않고 칸 단위로만 처리하므로 예약 수와 관계없이 tick 당 비용은 그 tick 에 만료되는 수에 비례
+ * - 칸마다 키와 만료 tick 을 long 배열로 들고 있어 예약 하나에 16 바이트
+ * - 스레드 안전하지 않으므로 호출하는 쪽에서 동기화
+ */
+final class TimingWheel {
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	// 1초 tick 이면 6단계로 약 2,200년까지 다룸
+	private static final int LEVELS = 6;
+
+	private final long startMillis;
+	private final long tickMillis;
+	private final Bucket[][] buckets = new Bucket[LEVELS][SLOTS];
+	private long currentTick;
+	private long size;
+
+	/**
+	 * @param startMillis 0번 tick 시각
+	 * @param tickMillis tick 하나의 길이
+	 */
+	TimingWheel(long startMillis, long tickMillis) {
+		this.startMillis = startMillis;
+		this.tickMillis = tickMillis;
+		for (Bucket[] level : buckets) {
+			for (int slot = 0; slot < SLOTS; slot++)
+				level[slot] = new Bucket();
+		}
+	}
+
+	/**
+	 * @param key 만료시 돌려줄 키
+	 * @param deadlineMillis 만료 시각 (이미 지났으면 다음 advance 에서 만료)
+	 */
+	void schedule(long key, long deadlineMillis) {
+		long tick = Math.max(Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis), currentTick);
+		place(key, tick);
+		size++;
+	}
+
+	/**
+	 * nowMillis 까지의 tick 을 처리하며 만료된 키를 넘겨줌
+	 * @return 만료된 키 수
+	 */
+	int advance(long nowMillis, LongConsumer expired) {
+		long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+		int expiredCount = 0;
+
+		while (currentTick <= targetTick) {
+			cascade();
+
+			Bucket bucket = buckets[0][(int)(currentTick & SLOT_MASK)];
+			int count = bucket.size;
+			long[] keys = bucket.keys;
+			long[] ticks = bucket.ticks;
+			bucket.detach();
+			for (int i = 0; i < count; i++) {
+				if (ticks[i] <= currentTick) {
+					size--;
+					expiredCount++;
+					expired.accept(keys[i]);
+				} else {
+					place(keys[i], ticks[i]);
+				}
+			}
+
+			currentTick++;
+		}
+
+		return expiredCount;
+	}
+
+	long size() {
+		return size;
+	}
+
+	/**
+	 * 아래 단계 휠이 한바퀴를 돌았으면 윗 단계의 지금 칸을 아래 단계로 내려 다시 배치
+	 */
+	private void cascade() {
+		for (int level = 1; level < LEVELS; level++) {
+			int shift = SLOT_BITS * level;
+			if ((currentTick & ((1L << shift) - 1)) != 0)
+				return;
+
+			Bucket bucket = buckets[level][(int)((currentTick >>> shift) & SLOT_MASK)];
+			int count = bucket.size;
+			long[] keys = bucket.keys;
+			long[] ticks = bucket.ticks;
+			bucket.detach();
+			for (int i = 0; i < count; i++)
+				place(keys[i], ticks[i]);
+		}
+	}
+
+	private void place(long key, long tick) {
+		long delta = tick - currentTick;
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1)))
+			level++;
+
+		buckets[level][(int)((tick >>> (SLOT_BITS * level)) & SLOT_MASK)].add(key, tick);
+	}
+
+	/**
+	 * 칸 하나의 예약 목록
+	 */
+	private static final class Bucket {
+
+		private static final long[] EMPTY = new long[0];
+
+		private long[] keys = EMPTY;
+		private long[] ticks = EMPTY;
+		private int size;
+
+		private void add(long key, long tick) {
+			if (size == keys.length) {
+				int capacity = Math.max(8, size * 2);
+				keys = Arrays.copyOf(keys, capacity);
+				ticks = Arrays.copyOf(ticks, capacity);
+			}
+			keys[size] = key;
+			ticks[size] = tick;
+			size++;
+		}
+
+		/**
+		 * 처리할 목록을 떼어내고 빈 칸으로 만듦 (떼어낸 배열을 돌며 다시 배치해도 섞이지 않도록)
+		 */
+		private void detach() {
+			keys = EMPTY;
+			ticks = EMPTY;
+			size = 0;
+		}
+	}
+}
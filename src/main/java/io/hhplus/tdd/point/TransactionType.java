@@ -5,7 +5,27 @@ package io.hhplus.tdd.point;
  * 포인트 트랜잭션 종류
  * - CHARGE : 충전
  * - USE : 사용
+ * - TRANSFER_OUT : 다른 유저에게 이체 (보내는 유저)
+ * - TRANSFER_IN : 다른 유저로부터 이체 (받는 유저)
+ * - EXPIRE : 만료 시각이 지난 포인트 묶음 소멸
+ * WAL 에 순서(ordinal)로 기록하므로 새 종류는 맨 뒤에 추가
  */
 public enum TransactionType {
-    CHARGE, USE
-}
\ No newline at end of file
+    CHARGE, USE, TRANSFER_OUT, TRANSFER_IN, EXPIRE;
+
+    /**
+     * @return 포인트가 늘어나는 종류인지 여부
+     */
+    public boolean isCredit() {
+        return this == CHARGE || this == TRANSFER_IN;
+    }
+
+    /**
+     * @param point 변경 전 포인트
+     * @param amount 변경 금액
+     * @return 변경 후 포인트
+     */
+    public long apply(long point, long amount) {
+        return isCredit() ? point + amount : point - amount;
+    }
+}
@@ -0,0 +1,216 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * long 유저 ID 로 찾는 유저별 누적 집계 저장소
+ * - UserPointStore 와 같이 유저마다 Long 키와 집계 객체를 두는 대신 세그먼트별 long[] 하나에
+ *   [id, 거래 수, 마지막 변경 시각, 종류별 합계...] 를 이어서 저장 (오픈 어드레싱, 선형 탐사)
+ * - 유저 한명이 long 8 개(64B, 캐시 라인 하나) / 적재율 만큼만 사용하고, 배열 안에 참조가 없어 GC 가 유저 수만큼 객체를 따라가지 않음
+ * - 더하기는 세그먼트 락, 조회는 낙관적 읽기 후 더하기와 겹쳤을 때만 읽기 락으로 다시 읽음
+ * - 누적 합계는 이력을 다시 읽지 않고는 되살릴 수 없으므로 삭제는 지원하지 않음
+ */
+final class UserAggregateStore {
+
+	private static final int TYPE_COUNT = TransactionType.values().length;
+	private static final int SEGMENT_COUNT = 64;
+	private static final int SEGMENT_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(SEGMENT_COUNT);
+	private static final int COUNT = 1;
+	private static final int LAST_ACTIVITY = 2;
+	private static final int AMOUNTS = 3;
+	private static final int STRIDE = AMOUNTS + TYPE_COUNT;
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int MAXIMUM_CAPACITY = 1 << 26;
+	private static final long EMPTY = 0;
+
+	private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+	UserAggregateStore() {
+		for (int i = 0; i < SEGMENT_COUNT; i++)
+			segments[i] = new Segment();
+	}
+
+	/**
+	 * 유저 집계에 변경 하나를 더함
+	 */
+	void add(long userId, TransactionType type, long amount, long updateMillis) {
+		long hash = hash(userId);
+		Segment segment = segments[(int)(hash >>> SEGMENT_SHIFT)];
+
+		long stamp = segment.lock.writeLock();
+		try {
+			segment.add(userId, hash, type.ordinal(), amount, updateMillis);
+		} finally {
+			segment.lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * @return 유저 누적 집계 (이력이 없으면 모두 0)
+	 */
+	PointSummary summary(long userId) {
+		long hash = hash(userId);
+		Segment segment = segments[(int)(hash >>> SEGMENT_SHIFT)];
+		long[] row = new long[STRIDE];
+
+		long stamp = segment.lock.tryOptimisticRead();
+		if (stamp != 0) {
+			segment.copy(userId, hash, row);
+			if (segment.lock.validate(stamp))
+				return summaryOf(userId, row);
+		}
+
+		stamp = segment.lock.readLock();
+		try {
+			segment.copy(userId, hash, row);
+		} finally {
+			segment.lock.unlockRead(stamp);
+		}
+		return summaryOf(userId, row);
+	}
+
+	long size() {
+		long size = 0;
+		for (Segment segment : segments) {
+			long stamp = segment.lock.readLock();
+			try {
+				size += segment.size + (segment.zeroRow == null ? 0 : 1);
+			} finally {
+				segment.lock.unlockRead(stamp);
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * 할당된 슬롯 배열 크기 합 (메모리 사용량 확인용)
+	 */
+	long allocatedBytes() {
+		long bytes = 0;
+		for (Segment segment : segments) {
+			long stamp = segment.lock.readLock();
+			try {
+				bytes += (long)segment.slots.length * Long.BYTES;
+			} finally {
+				segment.lock.unlockRead(stamp);
+			}
+		}
+		return bytes;
+	}
+
+	private static PointSummary summaryOf(long userId, long[] row) {
+		long[] amounts = new long[TYPE_COUNT];
+		System.arraycopy(row, AMOUNTS, amounts, 0, TYPE_COUNT);
+		return PointSummary.of(userId, amounts, row[COUNT], row[LAST_ACTIVITY]);
+	}
+
+	/**
+	 * 유저 ID 를 섞어 상위 비트로 세그먼트, 하위 비트로 슬롯을 고름 (연속된 ID 도 고르게 퍼지도록)
+	 */
+	private static long hash(long id) {
+		long hash = id * 0x9E3779B97F4A7C15L;
+		return hash ^ (hash >>> 32);
+	}
+
+	private static class Segment {
+
+		private final StampedLock lock = new StampedLock();
+		private long[] slots = new long[INITIAL_CAPACITY * STRIDE];
+		private int size;
+
+		// 빈 슬롯 표시로 0 을 쓰므로 ID 0 은 따로 보관
+		private long[] zeroRow;
+
+		/**
+		 * 락 없이 불릴 수 있으므로 필드를 한번만 읽고, 더하기와 겹쳐 깨진 값을 읽어도 끝나도록 탐사 횟수를 용량으로 제한
+		 * 유저가 없으면 row 를 그대로 둠 (모두 0)
+		 */
+		private void copy(long id, long hash, long[] row) {
+			if (id == EMPTY) {
+				long[] zeroRow = this.zeroRow;
+				if (zeroRow != null)
+					System.arraycopy(zeroRow, 0, row, 0, STRIDE);
+				return;
+			}
+
+			long[] slots = this.slots;
+			int capacity = slots.length / STRIDE;
+			int mask = capacity - 1;
+			int index = (int)hash & mask;
+			for (int probe = 0; probe < capacity; probe++) {
+				int offset = index * STRIDE;
+				long key = slots[offset];
+				if (key == id) {
+					System.arraycopy(slots, offset, row, 0, STRIDE);
+					return;
+				}
+				if (key == EMPTY)
+					return;
+				index = (index + 1) & mask;
+			}
+		}
+
+		private void add(long id, long hash, int type, long amount, long updateMillis) {
+			long[] row;
+			int offset;
+			if (id == EMPTY) {
+				if (zeroRow == null)
+					zeroRow = new long[STRIDE];
+				row = zeroRow;
+				offset = 0;
+			} else {
+				offset = slotOf(id, hash);
+				row = slots;
+			}
+
+			row[offset + AMOUNTS + type] += amount;
+			row[offset + COUNT]++;
+			row[offset + LAST_ACTIVITY] = Math.max(row[offset + LAST_ACTIVITY], updateMillis);
+		}
+
+		/**
+		 * @return 유저 자리의 시작 위치 (없으면 만들고, 적재율 3/4 를 넘으면 확장한 뒤 새 자리)
+		 */
+		private int slotOf(long id, long hash) {
+			int mask = slots.length / STRIDE - 1;
+			int index = (int)hash & mask;
+			while (true) {
+				int offset = index * STRIDE;
+				long key = slots[offset];
+				if (key == id)
+					return offset;
+				if (key == EMPTY)
+					break;
+				index = (index + 1) & mask;
+			}
+
+			if (size + 1 > slots.length / STRIDE / 4 * 3) {
+				resize();
+				return slotOf(id, hash);
+			}
+			slots[index * STRIDE] = id;
+			size++;
+			return index * STRIDE;
+		}
+
+		private void resize() {
+			int capacity = slots.length / STRIDE;
+			if (capacity >= MAXIMUM_CAPACITY)
+				throw new IllegalStateException("UserAggregateStore segment capacity exceeded: " + size);
+
+			long[] resized = new long[capacity * 2 * STRIDE];
+			int mask = capacity * 2 - 1;
+			for (int offset = 0; offset < slots.length; offset += STRIDE) {
+				long key = slots[offset];
+				if (key == EMPTY)
+					continue;
+
+				int index = (int)hash(key) & mask;
+				while (resized[index * STRIDE] != EMPTY)
+					index = (index + 1) & mask;
+				System.arraycopy(slots, offset, resized, index * STRIDE, STRIDE);
+			}
+			slots = resized;
+		}
+	}
+}
@@ -0,0 +1,210 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 유저 락 관리
+ * - 락을 잡았거나 기다리는 스레드 수(참조 수)를 세고, 아무도 쓰지 않는 락은 바로 제거하여
+ *   지금까지 요청한 유저 수가 아니라 현재 사용 중인 유저 수만큼만 락을 유지함
+ * - 공정 모드 ReentrantLock 을 사용하여 같은 유저의 요청은 도착 순서대로 처리됨
+ * - 획득 횟수, 경합 횟수, 대기 시간을 기록하고 락 대기/보유 시간을 PointMetrics 로 내보냄
+ */
+@Component
+public class UserLockManager {
+
+	private final PointMetrics pointMetrics;
+
+	private final ConcurrentHashMap<Long, Entry> entries = new ConcurrentHashMap<>();
+
+	private final LongAdder acquireCount = new LongAdder();
+	private final LongAdder contendedCount = new LongAdder();
+	private final LongAdder waitNanos = new LongAdder();
+
+	public UserLockManager(PointMetrics pointMetrics) {
+		this.pointMetrics = pointMetrics;
+	}
+
+	/**
+	 * 유저 락을 획득
+	 * try-with-resources 로 사용하면 블록을 벗어날 때 락 해제와 참조 반환이 함께 처리됨
+	 * @param userId 유저 ID
+	 * @return 획득한 유저 락
+	 */
+	public UserLock acquire(long userId) {
+		UserLock userLock = retain(userId);
+		userLock.lock();
+		return userLock;
+	}
+
+	/**
+	 * 기다리지 않고 잡을 수 있을 때만 유저 락을 획득
+	 * 다른 스레드가 잡고 있거나 기다리는 중이면 참조를 바로 반환하고 null 을 돌려줌 (경합 횟수에는 넣지 않음)
+	 * @param userId 유저 ID
+	 * @return 획득한 유저 락, 획득하지 못하면 null
+	 */
+	public UserLock tryAcquire(long userId) {
+		UserLock userLock = retain(userId);
+		if (userLock.tryLock())
+			return userLock;
+
+		userLock.close();
+		return null;
+	}
+
+	/**
+	 * 락을 잡지 않고 참조만 등록
+	 * 참조가 남아있는 동안에는 락이 제거되지 않음
+	 * @param userId 유저 ID
+	 * @return 참조 중인 유저 락
+	 */
+	public UserLock retain(long userId) {
+		Entry entry = entries.compute(userId, (id, current) -> {
+			Entry retained = current == null ? new Entry() : current;
+			retained.references++;
+			return retained;
+		});
+
+		return new UserLock(userId, entry);
+	}
+
+	/**
+	 * @param userId 유저 ID
+	 * @return 해당 유저 락을 잡고 있거나 기다리는 스레드 수
+	 */
+	public int references(long userId) {
+		Entry entry = entries.get(userId);
+		return entry == null ? 0 : entry.references;
+	}
+
+	public Stats stats() {
+		return new Stats(entries.size(), acquireCount.sum(), contendedCount.sum(), waitNanos.sum());
+	}
+
+	private void release(long userId, Entry entry) {
+		entries.computeIfPresent(userId, (id, current) -> {
+			if (current != entry)
+				return current;
+
+			return --current.references == 0 ? null : current;
+		});
+	}
+
+	/**
+	 * 유저 락 통계
+	 * @param liveLocks 현재 유지 중인 유저 락 수
+	 * @param acquireCount 락 획득 횟수
+	 * @param contendedCount 바로 획득하지 못하고 대기한 횟수
+	 * @param waitNanos 락 획득까지 대기한 시간 합계
+	 */
+	public record Stats(
+		long liveLocks,
+		long acquireCount,
+		long contendedCount,
+		long waitNanos
+	) {
+	}
+
+	/**
+	 * 참조 중인 유저 락
+	 * close 시 이 핸들로 잡은 횟수만큼만 락을 해제하고 참조를 반환함
+	 * (같은 스레드가 바깥에서 잡은 락은 그대로 유지되므로 락 안에서 같은 유저 락을 다시 잡고 닫아도 됨)
+	 */
+	public class UserLock implements AutoCloseable {
+
+		private final long userId;
+		private final Entry entry;
+		private boolean closed;
+		private int holds;
+		private long lockedNanos;
+
+		private UserLock(long userId, Entry entry) {
+			this.userId = userId;
+			this.entry = entry;
+		}
+
+		public void lock() {
+			acquireCount.increment();
+			long startNanos = System.nanoTime();
+
+			// 공정 모드에서 tryLock() 은 대기열을 무시하므로 타임아웃 버전으로 순서를 지키며 시도
+			boolean acquired = false;
+			try {
+				acquired = entry.lock.tryLock(0, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			if (!acquired) {
+				contendedCount.increment();
+				entry.lock.lock();
+			}
+
+			holds++;
+			long now = System.nanoTime();
+			if (!acquired)
+				waitNanos.add(now - startNanos);
+			pointMetrics.recordLockWait(now - startNanos);
+
+			// 재진입이 아닌 최초 획득 시점부터 보유 시간을 잼
+			if (entry.lock.getHoldCount() == 1)
+				lockedNanos = now;
+		}
+
+		/**
+		 * 기다리지 않고 잡을 수 있을 때만 락을 획득 (공정 모드이므로 기다리는 스레드가 있으면 실패)
+		 * @return 획득 여부
+		 */
+		public boolean tryLock() {
+			long startNanos = System.nanoTime();
+			boolean acquired = false;
+			try {
+				acquired = entry.lock.tryLock(0, TimeUnit.NANOSECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			if (!acquired)
+				return false;
+
+			acquireCount.increment();
+			holds++;
+			long now = System.nanoTime();
+			pointMetrics.recordLockWait(now - startNanos);
+			if (entry.lock.getHoldCount() == 1)
+				lockedNanos = now;
+			return true;
+		}
+
+		public void unlock() {
+			if (entry.lock.getHoldCount() == 1)
+				pointMetrics.recordLockHold(System.nanoTime() - lockedNanos);
+			entry.lock.unlock();
+			holds--;
+		}
+
+		public boolean isHeldByCurrentThread() {
+			return entry.lock.isHeldByCurrentThread();
+		}
+
+		@Override
+		public void close() {
+			if (closed)
+				return;
+
+			closed = true;
+			while (holds > 0)
+				unlock();
+			release(userId, entry);
+		}
+	}
+
+	private static class Entry {
+
+		private final ReentrantLock lock = new ReentrantLock(true);
+		private volatile int references;
+	}
+}
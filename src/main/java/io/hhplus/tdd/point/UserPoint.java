@@ -12,18 +12,25 @@ public record UserPoint(
 
     public UserPoint validateLeftPoint(long amount) {
         if (point - amount < 0)
-            throw new IllegalArgumentException(PointError.NOT_ENOUGH_POINT_TO_USE.getMessage());
+            throw new PointException(PointError.NOT_ENOUGH_POINT_TO_USE);
 
         return this;
     }
 
     public UserPoint validateMaxPoint(long amount) {
         if (point + amount > 100000)
-            throw new IllegalArgumentException(PointError.EXCEED_MAX_HOLD_POINT.getMessage());
+            throw new PointException(PointError.EXCEED_MAX_HOLD_POINT);
 
         return this;
     }
 
+    /**
+     * 변경 타입에 맞는 검증 수행 (충전, 이체 받기는 최대 보유 포인트, 사용, 이체 보내기는 남은 포인트)
+     */
+    public UserPoint validate(long amount, TransactionType type) {
+        return type.isCredit() ? validateMaxPoint(amount) : validateLeftPoint(amount);
+    }
+
     @Override
     public boolean equals(Object object) {
         if (this == object)
@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 유저별 작업 순서를 지키는 대기열 (리액티브 API 용)
+ * - 같은 유저의 작업은 앞 작업이 끝난 뒤에 시작되도록 유저별 마지막 작업(tail) 뒤에 이어 붙임
+ * - 앞 작업을 기다리는 동안 스레드를 잡고 있지 않음 (ReentrantLock 처럼 스레드가 멈춰 기다리지 않음)
+ * - 구독한 순서대로 처리되고, 구독을 취소해도 이미 이어 붙인 작업은 끝까지 실행되어 뒤 작업의 순서가 유지됨
+ * - 마지막 작업이 끝난 유저는 바로 제거하므로 지금 작업이 있는 유저 수만큼만 유지함
+ */
+@Component
+public class UserSerialQueue {
+
+	private static final CompletableFuture<Void> IDLE = CompletableFuture.completedFuture(null);
+
+	private final ConcurrentHashMap<Long, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+
+	private final LongAdder submittedCount = new LongAdder();
+	private final LongAdder queuedCount = new LongAdder();
+
+	/**
+	 * @param userId 유저 ID
+	 * @param task 앞 작업이 끝난 뒤 실행할 작업
+	 * @return 작업 결과 (구독할 때 대기열에 들어감)
+	 */
+	public <T> Mono<T> submit(long userId, Supplier<Mono<T>> task) {
+		return Mono.defer(() -> {
+			CompletableFuture<Void> tail = new CompletableFuture<>();
+			CompletableFuture<Void> previous = tails.put(userId, tail);
+
+			submittedCount.increment();
+			if (previous != null)
+				queuedCount.increment();
+
+			CompletableFuture<T> result = (previous == null ? IDLE : previous)
+				.thenCompose(ignored -> task.get().toFuture());
+			result.whenComplete((value, e) -> {
+				tails.remove(userId, tail);
+				tail.complete(null);
+			});
+			return Mono.fromFuture(result, true);
+		});
+	}
+
+	public Stats stats() {
+		return new Stats(tails.size(), submittedCount.sum(), queuedCount.sum());
+	}
+
+	/**
+	 * 유저별 대기열 통계
+	 * @param activeUsers 처리 중이거나 기다리는 작업이 있는 유저 수
+	 * @param submittedCount 들어온 작업 수
+	 * @param queuedCount 같은 유저의 앞 작업을 기다린 작업 수
+	 */
+	public record Stats(
+		long activeUsers,
+		long submittedCount,
+		long queuedCount
+	) {
+	}
+}
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.database;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * 무작위 지연 대신 고정 지연을 두고 동시 추가에도 안전한 테스트용 PointHistoryTable
+ */
+public class FakePointHistoryTable extends PointHistoryTable {
+
+	private final List<PointHistory> table = new ArrayList<>();
+	private final long latencyMillis;
+
+	public final AtomicInteger insertCount = new AtomicInteger();
+
+	public FakePointHistoryTable(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+	}
+
+	@Override
+	public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+		FakeUserPointTable.sleep(latencyMillis);
+		insertCount.incrementAndGet();
+		synchronized (table) {
+			PointHistory pointHistory = new PointHistory(table.size() + 1, userId, amount, type, updateMillis);
+			table.add(pointHistory);
+			return pointHistory;
+		}
+	}
+
+	@Override
+	public List<PointHistory> selectAllByUserId(long userId) {
+		synchronized (table) {
+			return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+		}
+	}
+}
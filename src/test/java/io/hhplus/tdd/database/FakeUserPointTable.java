@@ -0,0 +1,56 @@
+package io.hhplus.tdd.database;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 무작위 지연 대신 고정 지연을 두고 호출 횟수를 세는 테스트용 UserPointTable
+ */
+public class FakeUserPointTable extends UserPointTable {
+
+	private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+	private final long latencyMillis;
+
+	public final AtomicInteger selectCount = new AtomicInteger();
+	public final AtomicInteger updateCount = new AtomicInteger();
+	/** true 로 두면 다음 저장 한 번을 실패시킴 */
+	public final AtomicBoolean failNextUpdate = new AtomicBoolean();
+
+	public FakeUserPointTable(long latencyMillis) {
+		this.latencyMillis = latencyMillis;
+	}
+
+	@Override
+	public UserPoint selectById(Long id) {
+		sleep(latencyMillis);
+		selectCount.incrementAndGet();
+		return table.getOrDefault(id, UserPoint.empty(id));
+	}
+
+	@Override
+	public UserPoint insertOrUpdate(long id, long amount) {
+		sleep(latencyMillis);
+		if (failNextUpdate.compareAndSet(true, false))
+			throw new IllegalStateException("저장 실패");
+		updateCount.incrementAndGet();
+		UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+		table.put(id, userPoint);
+		return userPoint;
+	}
+
+	static void sleep(long millis) {
+		if (millis <= 0)
+			return;
+
+		try {
+			TimeUnit.MILLISECONDS.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+class PointHistoryColumnsTest {
+
+	private static final long USER_ID = 7;
+	private static final int ROW_COUNT = PointHistoryColumns.BLOCK_SIZE * 5 + 3;
+
+	private PointHistoryColumns columns;
+	private List<PointHistory> expected;
+
+	/**
+	 * ID 간격, 시각(역행 포함), 금액이 제각각인 이력을 여러 블록에 걸쳐 추가
+	 */
+	@BeforeEach
+	void beforeEach() {
+		columns = new PointHistoryColumns(USER_ID);
+		expected = new ArrayList<>();
+
+		Random random = new Random(1);
+		long id = 0;
+		long millis = System.currentTimeMillis();
+		for (int i = 0; i < ROW_COUNT; i++) {
+			id += 1 + random.nextInt(100_000);
+			millis += random.nextInt(20_000) - 1_000;
+			long amount = i == 0 ? Long.MAX_VALUE : random.nextInt(100_000);
+			TransactionType type = random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE;
+
+			columns.append(id, amount, type, millis);
+			expected.add(new PointHistory(id, USER_ID, amount, type, millis));
+		}
+	}
+
+	@Test
+	void 전체조회_ID로조회() {
+		assertThat(columns.size()).isEqualTo(ROW_COUNT);
+		assertThat(columns.findAll()).containsExactlyElementsOf(expected);
+
+		for (PointHistory pointHistory : expected) {
+			assertThat(columns.findById(pointHistory.id())).isEqualTo(pointHistory);
+			assertThat(columns.findById(pointHistory.id() + 1)).isNotEqualTo(pointHistory);
+		}
+		assertThat(columns.findById(expected.get(0).id() - 1)).isNull();
+	}
+
+	/**
+	 * 블록 경계 앞뒤를 커서로 주어도 전체 목록에서 걸러낸 결과와 같아야함
+	 */
+	@Test
+	void 커서조회_블록경계() {
+		for (int i = PointHistoryColumns.BLOCK_SIZE - 2; i < ROW_COUNT; i += PointHistoryColumns.BLOCK_SIZE) {
+			for (int cursor = i; cursor <= i + 2 && cursor < ROW_COUNT; cursor++) {
+				long id = expected.get(cursor).id();
+
+				assertThat(columns.find(new PointHistoryQuery(10, id, null, null, null, null)))
+					.containsExactlyElementsOf(expected.subList(cursor + 1, Math.min(cursor + 11, ROW_COUNT)));
+				assertThat(columns.find(new PointHistoryQuery(10, null, id, null, null, null)))
+					.containsExactlyElementsOf(expected.subList(Math.max(cursor - 10, 0), cursor));
+				assertThat(columns.find(new PointHistoryQuery(null, id - 1, id + 1, null, null, null)))
+					.containsExactly(expected.get(cursor));
+			}
+		}
+	}
+
+	@Test
+	void 시각범위_타입필터_최신순() {
+		long from = expected.get(ROW_COUNT / 4).updateMillis();
+		long to = expected.get(ROW_COUNT / 2).updateMillis();
+		PointHistoryQuery query = new PointHistoryQuery(30, null, null, from, to, TransactionType.USE);
+
+		List<PointHistory> matched = expected.stream().filter(query::matches).toList();
+
+		assertThat(columns.find(query))
+			.containsExactlyElementsOf(matched.subList(Math.max(matched.size() - 30, 0), matched.size()));
+	}
+}
@@ -0,0 +1,340 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PointHistoryRepositoryTest {
+
+	private PointHistoryTable pointHistoryTable;
+	private PointHistoryRepository pointHistoryRepository;
+
+	@BeforeEach
+	void beforeEach() {
+		pointHistoryTable = mock(PointHistoryTable.class);
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getHistory().setAsyncWrite(false);
+		pointHistoryRepository = repository(pointHistoryTable, pointProperties);
+	}
+
+	@Test
+	void 이력저장_테이블기록_및_유저별조회() {
+		PointHistory saved = pointHistoryRepository.save(1, 1000, TransactionType.CHARGE, 1L);
+		pointHistoryRepository.save(2, 2000, TransactionType.CHARGE, 2L);
+
+		verify(pointHistoryTable, times(1)).insert(1, 1000, TransactionType.CHARGE, 1L);
+		assertThat(pointHistoryRepository.findAllByUserId(1)).containsExactly(saved);
+		assertThat(pointHistoryRepository.findAllByUserId(3)).isEmpty();
+	}
+
+	/**
+	 * 다른 유저 이력이 아무리 많아도 조회 결과는 해당 유저 이력만 ID 순서대로 반환
+	 */
+	@Test
+	void 다른유저_이력이_많아도_유저이력만_조회() {
+		PointHistoryRepository pointHistoryRepository = noDelayRepository();
+		long userId = 1;
+		List<PointHistory> expected = new ArrayList<>();
+
+		for (int i = 0; i < 100_000; i++) {
+			if (i % 10_000 == 0)
+				expected.add(pointHistoryRepository.save(userId, i, TransactionType.USE, i));
+			else
+				pointHistoryRepository.save(2 + i % 1000, i, TransactionType.CHARGE, i);
+		}
+
+		assertThat(pointHistoryRepository.findAllByUserId(userId)).containsExactlyElementsOf(expected);
+		assertThat(pointHistoryRepository.lastId()).isEqualTo(100_000);
+	}
+
+	/**
+	 * 여러 유저가 동시에 이력을 추가해도 ID 중복이나 유실이 없어야함
+	 */
+	@Test
+	void 동시_이력추가() throws Exception {
+		PointHistoryRepository pointHistoryRepository = noDelayRepository();
+		int userCount = 10;
+		int historyCount = 1000;
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+		for (long userId = 1; userId <= userCount; userId++) {
+			long id = userId;
+			futures.add(CompletableFuture.runAsync(() -> {
+				for (int i = 0; i < historyCount; i++)
+					pointHistoryRepository.save(id, i, TransactionType.CHARGE, i);
+			}));
+		}
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+		assertThat(pointHistoryRepository.lastId()).isEqualTo((long)userCount * historyCount);
+		for (long userId = 1; userId <= userCount; userId++) {
+			List<PointHistory> histories = pointHistoryRepository.findAllByUserId(userId);
+			assertThat(histories).hasSize(historyCount);
+			assertThat(histories).extracting(PointHistory::amount).isSorted();
+			assertThat(histories).extracting(PointHistory::id).isSorted();
+		}
+	}
+
+	/**
+	 * 여러 유저가 동시에 저장해도 테이블에는 기록 스레드 하나만 한번에 하나씩 기록하고, 유저별 기록 순서는 저장 순서와 같아야함
+	 * 비동기 기록을 끄면 저장이 반환될 때 자기 이력은 테이블에 기록되어 있어야함
+	 */
+	@Test
+	void 테이블_순차기록_유저별순서_유지() throws Exception {
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		List<PointHistory> tableRows = new ArrayList<>();
+		ConcurrentHashMap<Long, Integer> writtenCounts = new ConcurrentHashMap<>();
+		PointHistoryTable unsafeTable = new PointHistoryTable() {
+
+			private long cursor = 1;
+
+			@Override
+			public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+				maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+				writtenCounts.merge(userId, 1, Integer::sum);
+				Thread.yield();
+				PointHistory pointHistory = new PointHistory(cursor++, userId, amount, type, updateMillis);
+				tableRows.add(pointHistory);
+				inFlight.decrementAndGet();
+				return pointHistory;
+			}
+		};
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getHistory().setAsyncWrite(false);
+		PointHistoryRepository pointHistoryRepository = repository(unsafeTable, pointProperties);
+		AtomicInteger unwrittenCount = new AtomicInteger();
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (long userId = 1; userId <= 8; userId++) {
+			long id = userId;
+			futures.add(CompletableFuture.runAsync(() -> {
+				for (int i = 0; i < 500; i++) {
+					pointHistoryRepository.save(id, i, TransactionType.CHARGE, i);
+					if (writtenCounts.getOrDefault(id, 0) != i + 1)
+						unwrittenCount.incrementAndGet();
+				}
+			}));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+		pointHistoryRepository.close();
+
+		assertThat(maxInFlight.get()).isEqualTo(1);
+		assertThat(unwrittenCount.get()).isZero();
+		assertThat(tableRows).hasSize(4000);
+		for (long userId = 1; userId <= 8; userId++) {
+			long id = userId;
+			assertThat(tableRows).filteredOn(row -> row.userId() == id)
+				.extracting(PointHistory::amount)
+				.containsExactlyElementsOf(LongStream.range(0, 500).boxed().toList());
+		}
+	}
+
+	/**
+	 * 커서 없이 limit 만 주면 최신 이력 limit 개를 ID 오름차순으로 반환
+	 */
+	@Test
+	void 이력조회_최신이력_limit() {
+		PointHistoryRepository pointHistoryRepository = noDelayRepository();
+		List<PointHistory> histories = saveHistories(pointHistoryRepository, 1, 10);
+
+		List<PointHistory> result = pointHistoryRepository.findAllByUserId(1,
+			new PointHistoryQuery(3, null, null, null, null, null));
+
+		assertThat(result).containsExactlyElementsOf(histories.subList(7, 10));
+	}
+
+	@Test
+	void 이력조회_afterId_다음페이지() {
+		PointHistoryRepository pointHistoryRepository = noDelayRepository();
+		List<PointHistory> histories = saveHistories(pointHistoryRepository, 1, 10);
+
+		List<PointHistory> result = pointHistoryRepository.findAllByUserId(1,
+			new PointHistoryQuery(3, histories.get(2).id(), null, null, null, null));
+
+		assertThat(result).containsExactlyElementsOf(histories.subList(3, 6));
+	}
+
+	@Test
+	void 이력조회_beforeId_이전페이지() {
+		PointHistoryRepository pointHistoryRepository = noDelayRepository();
+		List<PointHistory> histories = saveHistories(pointHistoryRepository, 1, 10);
+
+		List<PointHistory> result = pointHistoryRepository.findAllByUserId(1,
+			new PointHistoryQuery(3, null, histories.get(7).id(), null, null, null));
+
+		assertThat(result).containsExactlyElementsOf(histories.subList(4, 7));
+	}
+
+	/**
+	 * 시각 범위는 [from, to) 이고 타입 필터와 함께 적용
+	 */
+	@Test
+	void 이력조회_시각범위_타입필터() {
+		PointHistoryRepository pointHistoryRepository = noDelayRepository();
+		List<PointHistory> histories = saveHistories(pointHistoryRepository, 1, 10);
+
+		List<PointHistory> result = pointHistoryRepository.findAllByUserId(1,
+			new PointHistoryQuery(null, null, null, 2L, 8L, TransactionType.USE));
+
+		assertThat(result).containsExactly(histories.get(3), histories.get(5), histories.get(7));
+	}
+
+	/**
+	 * 유저 이력 순회는 여러 블록에 걸쳐도 같은 조건의 조회 결과와 같은 이력을 같은 순서로 내보냄
+	 */
+	@Test
+	void 유저이력_순회_조회결과와_일치() {
+		PointHistoryRepository pointHistoryRepository = noDelayRepository();
+		List<PointHistory> histories = saveHistories(pointHistoryRepository, 1, 300);
+		List<PointHistoryQuery> queries = List.of(
+			PointHistoryQuery.all(),
+			new PointHistoryQuery(100, histories.get(70).id(), null, null, null, null),
+			new PointHistoryQuery(null, histories.get(10).id(), histories.get(200).id(), null, null, null),
+			new PointHistoryQuery(20, null, histories.get(150).id(), null, null, null),
+			new PointHistoryQuery(null, null, null, 50L, 250L, TransactionType.USE));
+
+		for (PointHistoryQuery query : queries) {
+			List<PointHistory> iterated = new ArrayList<>();
+			pointHistoryRepository.iterateByUserId(1, query).forEachRemaining(iterated::add);
+
+			assertThat(iterated).as("%s", query).isNotEmpty()
+				.containsExactlyElementsOf(pointHistoryRepository.findAllByUserId(1, query));
+		}
+		assertThat(pointHistoryRepository.iterateByUserId(3, PointHistoryQuery.all()).hasNext()).isFalse();
+	}
+
+	/**
+	 * 전체 이력을 ID 순서대로 순회하고 afterId 부터 이어서 순회 가능
+	 */
+	@Test
+	void 전체이력_순회() {
+		PointHistoryRepository pointHistoryRepository = noDelayRepository();
+		saveHistories(pointHistoryRepository, 1, 5);
+
+		List<Long> ids = new ArrayList<>();
+		pointHistoryRepository.iterateAfter(4).forEachRemaining(pointHistory -> ids.add(pointHistory.id()));
+
+		assertThat(ids).containsExactly(5L, 6L, 7L, 8L, 9L, 10L);
+		assertThat(pointHistoryRepository.iterateAfter(10).hasNext()).isFalse();
+	}
+
+	/**
+	 * 이력을 동시에 추가하는 중에 순회해도 시작 시점까지 발급된 ID 를 빠짐없이 순서대로 순회해야함
+	 * (발급만 되고 아직 색인에 추가되지 않은 ID 에서 멈추면 안 됨)
+	 */
+	@Test
+	void 동시_추가중_전체이력_순회() throws Exception {
+		PointHistoryRepository pointHistoryRepository = noDelayRepository();
+		AtomicBoolean running = new AtomicBoolean(true);
+		ExecutorService executorService = Executors.newFixedThreadPool(4);
+		List<Future<?>> writers = new ArrayList<>();
+		for (long userId = 1; userId <= 4; userId++) {
+			long id = userId;
+			writers.add(executorService.submit(() -> {
+				for (int i = 0; running.get(); i++)
+					pointHistoryRepository.save(id, i, TransactionType.CHARGE, i);
+			}));
+		}
+
+		try {
+			// 막 발급된 ID 근처부터 순회해야 저장 중인 ID 를 만날 수 있음
+			for (int round = 0; round < 20_000; round++) {
+				long lastId = pointHistoryRepository.lastId();
+				long expectedId = Math.max(0, lastId - 4);
+				Iterator<PointHistory> histories = pointHistoryRepository.iterateAfter(expectedId);
+				while (expectedId < lastId && histories.hasNext())
+					assertThat(histories.next().id()).isEqualTo(++expectedId);
+				assertThat(expectedId).isEqualTo(lastId);
+			}
+		} finally {
+			running.set(false);
+			executorService.shutdown();
+		}
+		for (Future<?> writer : writers)
+			writer.get(10, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * 비동기 기록 시 테이블 기록을 기다리지 않고 반환하지만
+	 * 1. 저장 직후 조회에는 방금 저장한 이력이 모두 포함되어야함
+	 * 2. 종료 시 대기 중인 이력이 모두 유저별 저장 순서대로 테이블에 기록되어야함
+	 */
+	@Test
+	void 비동기기록_저장직후_조회_및_종료시_모두기록() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getHistory().setAsyncWrite(true);
+		pointProperties.getHistory().setQueueCapacity(8);
+		FakePointHistoryTable fakePointHistoryTable = new FakePointHistoryTable(5);
+		PointHistoryRepository asyncRepository = repository(fakePointHistoryTable, pointProperties);
+
+		List<PointHistory> histories = saveHistories(asyncRepository, 1, 20);
+
+		assertThat(asyncRepository.findAllByUserId(1)).containsExactlyElementsOf(histories);
+		assertThat(fakePointHistoryTable.insertCount.get()).isLessThan(40);
+
+		asyncRepository.close();
+
+		assertThat(fakePointHistoryTable.selectAllByUserId(1))
+			.extracting(PointHistory::amount)
+			.containsExactlyElementsOf(histories.stream().map(PointHistory::amount).toList());
+		PointHistoryWriter.Stats stats = asyncRepository.writerStats();
+		assertThat(stats.queueDepth()).isZero();
+		assertThat(stats.writtenCount()).isEqualTo(40);
+		assertThat(stats.blockedCount()).isPositive();
+	}
+
+	/**
+	 * updateMillis 가 i 이고 짝수번째는 충전, 홀수번째는 사용인 이력을 저장
+	 */
+	private List<PointHistory> saveHistories(PointHistoryRepository pointHistoryRepository, long userId, int count) {
+		List<PointHistory> histories = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+			pointHistoryRepository.save(userId + 1, i, type, i);
+			histories.add(pointHistoryRepository.save(userId, i, type, i));
+		}
+		return histories;
+	}
+
+	/**
+	 * 대량 저장시 지연 없이 기록만 무시하는 테이블로 저장소 생성
+	 */
+	private PointHistoryRepository noDelayRepository() {
+		return repository(new PointHistoryTable() {
+			@Override
+			public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+				return null;
+			}
+		}, new PointProperties());
+	}
+
+	private PointHistoryRepository repository(PointHistoryTable pointHistoryTable, PointProperties pointProperties) {
+		PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+		return new PointHistoryRepository(pointHistoryTable, new WriteAheadLog(pointProperties, pointMetrics),
+			pointProperties, pointMetrics);
+	}
+}
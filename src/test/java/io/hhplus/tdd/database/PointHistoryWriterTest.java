@@ -0,0 +1,60 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.TransactionType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PointHistoryWriterTest {
+
+	/**
+	 * 기록 요청과 종료가 겹쳐도 write 가 반환된 이력은 모두 테이블에 기록되어야함
+	 * (종료 여부를 확인한 뒤 대기열에 넣기 전에 종료되면 대기열에 남은 이력이 유실될 수 있음)
+	 */
+	@Test
+	void 종료와_겹친_기록요청_유실없음() throws Exception {
+		for (int round = 0; round < 20; round++) {
+			FakePointHistoryTable pointHistoryTable = new FakePointHistoryTable(0);
+			PointHistoryWriter writer = new PointHistoryWriter(pointHistoryTable, 16, 8,
+				new PointMetrics(new SimpleMeterRegistry()));
+			AtomicLong sequence = new AtomicLong();
+			CountDownLatch started = new CountDownLatch(4);
+			ExecutorService executorService = Executors.newFixedThreadPool(4);
+			List<Future<?>> futures = new ArrayList<>();
+			for (long userId = 1; userId <= 4; userId++) {
+				long id = userId;
+				futures.add(executorService.submit(() -> {
+					started.countDown();
+					for (int i = 0; i < 2000; i++)
+						writer.write(new PointHistory(sequence.incrementAndGet(), id, i, TransactionType.CHARGE, i));
+				}));
+			}
+
+			started.await();
+			writer.close();
+			for (Future<?> future : futures)
+				future.get(10, TimeUnit.SECONDS);
+			executorService.shutdown();
+
+			assertThat(pointHistoryTable.insertCount.get()).isEqualTo(8000);
+			for (long userId = 1; userId <= 4; userId++) {
+				assertThat(pointHistoryTable.selectAllByUserId(userId))
+					.extracting(PointHistory::amount)
+					.isSorted();
+			}
+		}
+	}
+}
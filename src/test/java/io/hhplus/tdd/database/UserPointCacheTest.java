@@ -0,0 +1,70 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.point.UserPoint;
+
+class UserPointCacheTest {
+
+	@Test
+	void 캐시_적중_미스_통계() {
+		UserPointCache cache = new UserPointCache(100, Duration.ofMinutes(1));
+		UserPoint userPoint = new UserPoint(1, 1000, System.currentTimeMillis());
+
+		assertThat(cache.get(1)).isNull();
+		cache.put(1, userPoint);
+
+		assertThat(cache.get(1).point()).isEqualTo(userPoint.point());
+		assertThat(cache.stats()).isEqualTo(new UserPointCache.Stats(1, 1, 0, 1));
+	}
+
+	/**
+	 * 유저 수가 아무리 많아도 최대 크기까지만 유지
+	 */
+	@Test
+	void 최대크기_초과시_제거() {
+		long maximumSize = 3200;
+		int userCount = 100_000;
+		UserPointCache cache = new UserPointCache(maximumSize, Duration.ofMinutes(1));
+
+		for (long id = 1; id <= userCount; id++)
+			cache.put(id, new UserPoint(id, id, System.currentTimeMillis()));
+
+		UserPointCache.Stats stats = cache.stats();
+		assertThat(stats.size()).isLessThanOrEqualTo(maximumSize);
+		assertThat(stats.evictionCount()).isEqualTo(userCount - stats.size());
+		assertThat(cache.get(userCount)).isNotNull();
+	}
+
+	@Test
+	void 유휴시간_초과시_제거() throws InterruptedException {
+		UserPointCache cache = new UserPointCache(100, Duration.ofMillis(1));
+		cache.put(1, new UserPoint(1, 1000, System.currentTimeMillis()));
+
+		TimeUnit.MILLISECONDS.sleep(10);
+
+		assertThat(cache.get(1)).isNull();
+		assertThat(cache.stats().evictionCount()).isEqualTo(1);
+	}
+
+	/**
+	 * 테이블 조회 중에 쓰기가 반영되었다면 조회한 이전 값으로 캐시를 덮어쓰지 않음
+	 */
+	@Test
+	void 조회중_쓰기가_있으면_조회값으로_채우지않음() {
+		UserPointCache cache = new UserPointCache(100, Duration.ofMinutes(1));
+		UserPoint loaded = new UserPoint(1, 1000, System.currentTimeMillis());
+		UserPoint written = new UserPoint(1, 2000, System.currentTimeMillis());
+
+		long writeVersion = cache.writeVersion(1);
+		cache.put(1, written);
+		cache.putIfUnchanged(1, loaded, writeVersion);
+
+		assertThat(cache.get(1).point()).isEqualTo(written.point());
+	}
+}
@@ -0,0 +1,119 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserPointRepositoryTest {
+
+	private static final long USER_ID = 1;
+	private static final int THREAD_SIZE = 50;
+
+	/**
+	 * 같은 유저 잔액을 동시에 조회하면 테이블 조회 한번의 결과를 함께 사용
+	 */
+	@Test
+	void 동시_조회시_테이블_한번만_조회() throws Exception {
+		FakeUserPointTable userPointTable = new FakeUserPointTable(200);
+		UserPointRepository userPointRepository = repository(userPointTable, true);
+		CountDownLatch startLatch = new CountDownLatch(1);
+		ExecutorService executorService = Executors.newFixedThreadPool(THREAD_SIZE);
+
+		try {
+			List<CompletableFuture<UserPoint>> futures = new ArrayList<>();
+			for (int i = 0; i < THREAD_SIZE; i++) {
+				futures.add(CompletableFuture.supplyAsync(() -> {
+					await(startLatch);
+					return userPointRepository.findById(USER_ID);
+				}, executorService));
+			}
+			startLatch.countDown();
+
+			for (CompletableFuture<UserPoint> future : futures)
+				assertThat(future.get(5, TimeUnit.SECONDS).point()).isZero();
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		UserPointRepository.LoadStats stats = userPointRepository.loadStats();
+		assertThat(userPointTable.selectCount.get()).isLessThan(THREAD_SIZE / 2);
+		assertThat(stats.selectCount() + stats.coalescedCount()).isEqualTo(THREAD_SIZE);
+		assertThat(stats.inFlight()).isZero();
+	}
+
+	@Test
+	void 조회_합치기_끄면_매번_조회() {
+		FakeUserPointTable userPointTable = new FakeUserPointTable(0);
+		UserPointRepository userPointRepository = repository(userPointTable, false);
+
+		userPointRepository.findById(USER_ID);
+		userPointRepository.findById(USER_ID);
+
+		assertThat(userPointTable.selectCount.get()).isEqualTo(2);
+		assertThat(userPointRepository.loadStats().coalescedCount()).isZero();
+	}
+
+	/**
+	 * 저장이 끝난 뒤 들어온 조회는 저장 전에 시작한 조회 결과를 함께 사용하지 않음
+	 */
+	@Test
+	void 저장후_조회는_이전_조회에_합류하지_않음() throws Exception {
+		CountDownLatch selecting = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		FakeUserPointTable userPointTable = new FakeUserPointTable(0) {
+			@Override
+			public UserPoint selectById(Long id) {
+				if (selecting.getCount() > 0) {
+					selecting.countDown();
+					await(release);
+				}
+				return super.selectById(id);
+			}
+		};
+		UserPointRepository userPointRepository = repository(userPointTable, true);
+
+		// 테이블 조회 중에 멈춰있는 조회
+		CompletableFuture<UserPoint> beforeSave = CompletableFuture.supplyAsync(
+			() -> userPointRepository.findById(USER_ID));
+		assertThat(selecting.await(5, TimeUnit.SECONDS)).isTrue();
+
+		userPointRepository.save(USER_ID, 1000);
+		UserPoint afterSave = CompletableFuture.supplyAsync(() -> userPointRepository.findById(USER_ID))
+			.get(5, TimeUnit.SECONDS);
+		release.countDown();
+
+		assertThat(afterSave.point()).isEqualTo(1000);
+		assertThat(beforeSave.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(userPointRepository.findById(USER_ID).point()).isEqualTo(1000);
+	}
+
+	private UserPointRepository repository(UserPointTable userPointTable, boolean coalesceLoads) {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getCache().setEnabled(false);
+		pointProperties.getCache().setCoalesceLoads(coalesceLoads);
+		PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+		return new UserPointRepository(userPointTable, new WriteAheadLog(pointProperties, pointMetrics),
+			pointProperties, pointMetrics);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
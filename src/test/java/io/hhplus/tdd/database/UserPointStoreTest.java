@@ -0,0 +1,129 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.point.UserPoint;
+
+class UserPointStoreTest {
+
+	@Test
+	void 저장_조회_갱신() {
+		UserPointStore store = new UserPointStore();
+
+		assertThat(store.get(1)).isNull();
+		store.put(1, 1000, 10);
+		store.put(1, 2000, 20);
+
+		UserPoint userPoint = store.get(1);
+		assertThat(userPoint.point()).isEqualTo(2000);
+		assertThat(userPoint.updateMillis()).isEqualTo(20);
+		assertThat(store.size()).isEqualTo(1);
+	}
+
+	/**
+	 * 빈 슬롯 표시로 쓰는 0 과 음수 ID 도 다른 유저와 구분되어야함
+	 */
+	@Test
+	void ID_0_음수_저장() {
+		UserPointStore store = new UserPointStore();
+
+		store.put(0, 100, 1);
+		store.put(-1, 200, 2);
+		store.put(Long.MIN_VALUE, 300, 3);
+
+		assertThat(store.get(0).point()).isEqualTo(100);
+		assertThat(store.get(-1).point()).isEqualTo(200);
+		assertThat(store.get(Long.MIN_VALUE).point()).isEqualTo(300);
+		assertThat(store.size()).isEqualTo(3);
+		assertThat(store).extracting(UserPoint::id).containsExactlyInAnyOrder(0L, -1L, Long.MIN_VALUE);
+	}
+
+	/**
+	 * 확장을 여러번 거쳐도 모든 유저를 찾을 수 있고 순회 결과가 같아야함
+	 */
+	@Test
+	void 확장후_조회_순회() {
+		int userCount = 200_000;
+		UserPointStore store = new UserPointStore();
+
+		for (long id = 1; id <= userCount; id++)
+			store.put(id, id * 10, id);
+
+		assertThat(store.size()).isEqualTo(userCount);
+		for (long id = 1; id <= userCount; id++)
+			assertThat(store.get(id).point()).isEqualTo(id * 10);
+		assertThat(store.get(userCount + 1)).isNull();
+
+		Map<Long, Long> iterated = new HashMap<>();
+		for (UserPoint userPoint : store)
+			iterated.put(userPoint.id(), userPoint.point());
+		assertThat(iterated).hasSize(userCount);
+		assertThat(iterated.get(12345L)).isEqualTo(123450L);
+	}
+
+	@Test
+	void 예상크기_지정시_공간_미리할당() {
+		UserPointStore store = new UserPointStore(100_000);
+		long allocatedBytes = store.allocatedBytes();
+
+		for (long id = 1; id <= 100_000; id++)
+			store.put(id, id, id);
+
+		assertThat(store.allocatedBytes()).isEqualTo(allocatedBytes);
+	}
+
+	/**
+	 * 여러 스레드가 서로 다른 유저를 쓰는 동안 조회하면 항상 쓴 값 중 하나가 보여야함 (point 와 updateMillis 가 섞이지 않음)
+	 */
+	@Test
+	void 동시_쓰기_조회() throws InterruptedException {
+		int writerCount = 4;
+		int userCount = 50_000;
+		UserPointStore store = new UserPointStore();
+		ExecutorService executorService = Executors.newFixedThreadPool(writerCount + 1);
+		CountDownLatch doneLatch = new CountDownLatch(writerCount);
+		AtomicBoolean torn = new AtomicBoolean();
+
+		try {
+			for (int writer = 0; writer < writerCount; writer++) {
+				long base = (long)writer * userCount;
+				executorService.submit(() -> {
+					for (long id = base + 1; id <= base + userCount; id++) {
+						store.put(id, id, id);
+						store.put(id, id * 2, id * 2);
+					}
+					doneLatch.countDown();
+				});
+			}
+
+			executorService.submit(() -> {
+				while (doneLatch.getCount() > 0) {
+					for (long id = 1; id <= (long)writerCount * userCount; id += 97) {
+						UserPoint userPoint = store.get(id);
+						if (userPoint != null && userPoint.point() != userPoint.updateMillis())
+							torn.set(true);
+					}
+				}
+			});
+
+			assertThat(doneLatch.await(30, TimeUnit.SECONDS)).isTrue();
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		assertThat(torn).isFalse();
+		assertThat(store.size()).isEqualTo((long)writerCount * userCount);
+		for (long id = 1; id <= (long)writerCount * userCount; id++)
+			assertThat(store.get(id).point()).isEqualTo(id * 2);
+	}
+}
@@ -0,0 +1,359 @@
+package io.hhplus.tdd.database;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.util.unit.DataSize;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointMetrics;
+import io.hhplus.tdd.point.PointProperties;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WriteAheadLogTest {
+
+	@TempDir
+	private Path directory;
+
+	@ParameterizedTest
+	@EnumSource(WalFsyncPolicy.class)
+	void 기록후_다시_열면_순서대로_복구(WalFsyncPolicy fsyncPolicy) {
+		PointProperties pointProperties = pointProperties(fsyncPolicy, DataSize.ofKilobytes(1));
+		List<Object> expectedBalances = new ArrayList<>();
+		List<Object> expectedHistories = new ArrayList<>();
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			for (int i = 1; i <= 200; i++) {
+				UserPoint userPoint = new UserPoint(i % 7, i * 100L, i);
+				PointHistory pointHistory = new PointHistory(i, i % 7, i, TransactionType.values()[i % 2], i);
+				writeAheadLog.sync(writeAheadLog.appendBalance(userPoint));
+				writeAheadLog.sync(writeAheadLog.appendHistory(pointHistory));
+				expectedBalances.add(userPoint);
+				expectedHistories.add(pointHistory);
+			}
+
+			WriteAheadLog.Stats stats = writeAheadLog.stats();
+			assertThat(stats.appendCount()).isEqualTo(400);
+			assertThat(stats.segmentCount()).isGreaterThan(1);
+			if (fsyncPolicy != WalFsyncPolicy.INTERVAL)
+				assertThat(stats.durablePosition()).isEqualTo(stats.position());
+		}
+
+		try (WriteAheadLog reopened = writeAheadLog(pointProperties)) {
+			List<Object> expected = new ArrayList<>(expectedBalances);
+			expected.addAll(expectedHistories);
+			assertThat(replay(reopened)).containsExactlyElementsOf(expected);
+		}
+	}
+
+	/**
+	 * 마지막 레코드가 쓰다 만 상태로 남으면 그 레코드만 버리고 그 자리부터 이어서 기록
+	 */
+	@Test
+	void 잘린_마지막_레코드는_버리고_이어서_기록() throws IOException {
+		PointProperties pointProperties = pointProperties(WalFsyncPolicy.PER_OP, DataSize.ofKilobytes(64));
+		long lastPosition;
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			writeAheadLog.appendBalance(new UserPoint(1, 1000, 1));
+			lastPosition = writeAheadLog.appendBalance(new UserPoint(1, 2000, 2));
+		}
+
+		// 마지막 레코드 본문의 한 바이트를 바꿔 CRC 가 맞지 않도록 함
+		try (FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] {(byte)0xFF}), lastPosition - 1);
+		}
+
+		try (WriteAheadLog reopened = writeAheadLog(pointProperties)) {
+			assertThat(replay(reopened)).containsExactly(new UserPoint(1, 1000, 1));
+
+			reopened.appendBalance(new UserPoint(1, 3000, 3));
+			assertThat(replay(reopened)).containsExactly(new UserPoint(1, 1000, 1), new UserPoint(1, 3000, 3));
+		}
+	}
+
+	/**
+	 * 여러 스레드가 동시에 기록을 기다리면 한번의 디스크 반영으로 묶임
+	 */
+	@Test
+	void 그룹_반영() {
+		PointProperties pointProperties = pointProperties(WalFsyncPolicy.GROUP, DataSize.ofMegabytes(1));
+		int count = 1000;
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			List<CompletableFuture<Void>> futures = new ArrayList<>();
+			for (int i = 0; i < count; i++) {
+				long userId = i;
+				futures.add(CompletableFuture.runAsync(() ->
+					writeAheadLog.sync(writeAheadLog.appendBalance(new UserPoint(userId, 1000, 1)))));
+			}
+			futures.forEach(CompletableFuture::join);
+
+			WriteAheadLog.Stats stats = writeAheadLog.stats();
+			assertThat(stats.durablePosition()).isEqualTo(stats.position());
+			assertThat(stats.syncCount()).isLessThanOrEqualTo(count);
+		}
+	}
+
+	@Test
+	void 사용하지_않으면_기록하지_않음() {
+		PointProperties pointProperties = pointProperties(WalFsyncPolicy.GROUP, DataSize.ofMegabytes(1));
+		pointProperties.getWal().setEnabled(false);
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			assertThat(writeAheadLog.appendBalance(new UserPoint(1, 1000, 1))).isZero();
+			assertThat(replay(writeAheadLog)).isEmpty();
+		}
+		assertThat(directory).isEmptyDirectory();
+	}
+
+	/**
+	 * 재시작 후 테이블이 비어있어도 WAL 로 잔액과 이력을 복구
+	 */
+	@Test
+	void 재시작후_저장소_복구() {
+		PointProperties pointProperties = pointProperties(WalFsyncPolicy.GROUP, DataSize.ofKilobytes(4));
+		List<PointHistory> saved = new ArrayList<>();
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			UserPointRepository userPointRepository = userPointRepository(writeAheadLog, pointProperties);
+			PointHistoryRepository pointHistoryRepository = pointHistoryRepository(writeAheadLog, pointProperties);
+			for (int i = 1; i <= 100; i++) {
+				userPointRepository.save(i % 3, i * 10L);
+				saved.add(pointHistoryRepository.save(i % 3, i, TransactionType.CHARGE, i));
+			}
+		}
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			UserPointRepository userPointRepository = userPointRepository(writeAheadLog, pointProperties);
+			PointHistoryRepository pointHistoryRepository = pointHistoryRepository(writeAheadLog, pointProperties);
+
+			assertThat(userPointRepository.findById(0).point()).isEqualTo(990);
+			assertThat(userPointRepository.findById(1).point()).isEqualTo(1000);
+			assertThat(userPointRepository.findById(2).point()).isEqualTo(980);
+			assertThat(userPointRepository.findById(3).point()).isZero();
+			assertThat(pointHistoryRepository.findAllByUserId(1))
+				.containsExactlyElementsOf(saved.stream().filter(h -> h.userId() == 1).toList());
+			assertThat(pointHistoryRepository.lastId()).isEqualTo(100);
+
+			// 복구 후 저장하면 새 값으로 조회되고 이력 ID 는 이어서 발급
+			userPointRepository.save(1, 5);
+			assertThat(userPointRepository.findById(1).point()).isEqualTo(5);
+			assertThat(userPointRepository.durablePoints()).hasSize(3);
+			assertThat(pointHistoryRepository.save(1, 5, TransactionType.USE, 101).id()).isEqualTo(101);
+		}
+	}
+
+	/**
+	 * 장애 직전 ID 만 발급되고 기록되지 못한 이력이 있어도 전체 순회가 그 자리에서 멈추지 않음
+	 */
+	@Test
+	void 복구후_빈_이력ID_건너뛰고_순회() {
+		PointProperties pointProperties = pointProperties(WalFsyncPolicy.PER_OP, DataSize.ofKilobytes(4));
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			writeAheadLog.appendHistory(new PointHistory(1, 1, 100, TransactionType.CHARGE, 1));
+			writeAheadLog.appendHistory(new PointHistory(3, 2, 300, TransactionType.CHARGE, 3));
+		}
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			PointHistoryRepository pointHistoryRepository = pointHistoryRepository(writeAheadLog, pointProperties);
+
+			List<Long> ids = new ArrayList<>();
+			Iterator<PointHistory> iterator = pointHistoryRepository.iterateAfter(0);
+			iterator.forEachRemaining(pointHistory -> ids.add(pointHistory.id()));
+			assertThat(ids).containsExactly(1L, 3L);
+		}
+	}
+
+	/**
+	 * 스냅샷 이후 재시작하면 스냅샷 잔액과 그 이후 잔액 레코드만 읽음
+	 */
+	@Test
+	void 스냅샷_이후_기록만_다시_읽어_복구() {
+		PointProperties pointProperties = pointProperties(WalFsyncPolicy.GROUP, DataSize.ofKilobytes(4));
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			UserPointRepository userPointRepository = userPointRepository(writeAheadLog, pointProperties);
+			for (int i = 1; i <= 1000; i++)
+				userPointRepository.save(i % 10, i);
+
+			assertThat(snapshot(writeAheadLog, userPointRepository)).isPositive();
+			userPointRepository.save(1, 5);
+			userPointRepository.save(2, 7);
+		}
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			List<UserPoint> replayed = new ArrayList<>();
+			writeAheadLog.replayBalances(replayed::add);
+			assertThat(replayed).hasSize(10 + 2);
+
+			UserPointRepository userPointRepository = userPointRepository(writeAheadLog, pointProperties);
+			assertThat(userPointRepository.findById(1).point()).isEqualTo(5);
+			assertThat(userPointRepository.findById(2).point()).isEqualTo(7);
+			assertThat(userPointRepository.findById(3).point()).isEqualTo(993);
+		}
+	}
+
+	/**
+	 * 두번째 스냅샷부터 첫번째 스냅샷 앞의 세그먼트에서 잔액 레코드를 지우고, 이력은 그대로 복구
+	 */
+	@Test
+	void 스냅샷_후_로그_압축() throws IOException {
+		PointProperties pointProperties = pointProperties(WalFsyncPolicy.GROUP, DataSize.ofKilobytes(4));
+		List<PointHistory> saved = new ArrayList<>();
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			UserPointRepository userPointRepository = userPointRepository(writeAheadLog, pointProperties);
+			PointHistoryRepository pointHistoryRepository = pointHistoryRepository(writeAheadLog, pointProperties);
+			for (int round = 0; round < 3; round++) {
+				for (int i = 1; i <= 500; i++) {
+					userPointRepository.save(i % 10, round * 1000L + i);
+					if (i % 50 == 0)
+						saved.add(pointHistoryRepository.save(i % 10, i, TransactionType.CHARGE, i));
+				}
+				snapshot(writeAheadLog, userPointRepository);
+			}
+
+			assertThat(snapshotFiles()).hasSize(2);
+		}
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			UserPointRepository userPointRepository = userPointRepository(writeAheadLog, pointProperties);
+			PointHistoryRepository pointHistoryRepository = pointHistoryRepository(writeAheadLog, pointProperties);
+
+			assertThat(userPointRepository.findById(0).point()).isEqualTo(2500);
+			assertThat(userPointRepository.findById(9).point()).isEqualTo(2499);
+			List<PointHistory> recovered = new ArrayList<>();
+			pointHistoryRepository.iterateAfter(0).forEachRemaining(recovered::add);
+			assertThat(recovered).containsExactlyElementsOf(saved);
+
+			// 압축된 세그먼트에는 이력 레코드만 남음
+			List<UserPoint> balances = new ArrayList<>();
+			writeAheadLog.replayBalances(balances::add);
+			assertThat(balances).hasSize(10);
+		}
+	}
+
+	/**
+	 * 최신 스냅샷이 손상되면 직전 스냅샷과 그 이후 기록으로 복구
+	 */
+	@Test
+	void 손상된_스냅샷은_건너뛰고_이전_스냅샷으로_복구() throws IOException {
+		PointProperties pointProperties = pointProperties(WalFsyncPolicy.GROUP, DataSize.ofKilobytes(4));
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			UserPointRepository userPointRepository = userPointRepository(writeAheadLog, pointProperties);
+			for (int round = 1; round <= 3; round++) {
+				for (int i = 1; i <= 500; i++)
+					userPointRepository.save(i % 10, round * 1000L + i);
+				snapshot(writeAheadLog, userPointRepository);
+			}
+		}
+
+		List<Path> snapshots = snapshotFiles();
+		try (FileChannel channel = FileChannel.open(snapshots.get(snapshots.size() - 1), StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] {(byte)0xFF}), 30);
+		}
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			UserPointRepository userPointRepository = userPointRepository(writeAheadLog, pointProperties);
+			assertThat(userPointRepository.findById(0).point()).isEqualTo(3500);
+			assertThat(userPointRepository.findById(1).point()).isEqualTo(3491);
+		}
+	}
+
+	/**
+	 * 디스크에 반영되지 못한 로그 끝이 유실되어 로그가 스냅샷 위치보다 짧아져도, 이후 기록은 복구됨
+	 */
+	@Test
+	void 로그가_스냅샷보다_짧아져도_이후_기록_복구() throws IOException {
+		PointProperties pointProperties = pointProperties(WalFsyncPolicy.PER_OP, DataSize.ofKilobytes(64));
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			UserPointRepository userPointRepository = userPointRepository(writeAheadLog, pointProperties);
+			userPointRepository.save(1, 1000);
+			userPointRepository.save(2, 2000);
+			snapshot(writeAheadLog, userPointRepository);
+		}
+
+		// 두번째 레코드부터 유실된 상황
+		try (FileChannel channel = FileChannel.open(onlySegment(), StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.allocate(64), WalSegment.HEADER_SIZE + 25);
+		}
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			userPointRepository(writeAheadLog, pointProperties).save(3, 3000);
+		}
+
+		try (WriteAheadLog writeAheadLog = writeAheadLog(pointProperties)) {
+			UserPointRepository userPointRepository = userPointRepository(writeAheadLog, pointProperties);
+			assertThat(userPointRepository.findById(2).point()).isEqualTo(2000);
+			assertThat(userPointRepository.findById(3).point()).isEqualTo(3000);
+		}
+	}
+
+	private static long snapshot(WriteAheadLog writeAheadLog, UserPointRepository userPointRepository) {
+		return writeAheadLog.snapshot(userPointRepository.durablePoints(), 0);
+	}
+
+	private List<Path> snapshotFiles() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(path -> path.toString().endsWith(".snapshot")).sorted().toList();
+		}
+	}
+
+	private PointProperties pointProperties(WalFsyncPolicy fsyncPolicy, DataSize segmentSize) {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getWal().setEnabled(true);
+		pointProperties.getWal().setDirectory(directory.toString());
+		pointProperties.getWal().setSegmentSize(segmentSize);
+		pointProperties.getWal().setFsyncPolicy(fsyncPolicy);
+		return pointProperties;
+	}
+
+	private WriteAheadLog writeAheadLog(PointProperties pointProperties) {
+		return new WriteAheadLog(pointProperties, pointMetrics());
+	}
+
+	private UserPointRepository userPointRepository(WriteAheadLog writeAheadLog, PointProperties pointProperties) {
+		return new UserPointRepository(new FakeUserPointTable(0), writeAheadLog, pointProperties, pointMetrics());
+	}
+
+	private PointHistoryRepository pointHistoryRepository(WriteAheadLog writeAheadLog,
+		PointProperties pointProperties) {
+		return new PointHistoryRepository(new FakePointHistoryTable(0), writeAheadLog, pointProperties,
+			pointMetrics());
+	}
+
+	private static List<Object> replay(WriteAheadLog writeAheadLog) {
+		List<Object> records = new ArrayList<>();
+		writeAheadLog.replayBalances(records::add);
+		writeAheadLog.replayHistories(records::add);
+		return records;
+	}
+
+	private Path onlySegment() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(path -> path.toString().endsWith(".wal")).sorted().findFirst().orElseThrow();
+		}
+	}
+
+	private static PointMetrics pointMetrics() {
+		return new PointMetrics(new SimpleMeterRegistry());
+	}
+}
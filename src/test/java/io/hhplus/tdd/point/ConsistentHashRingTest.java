@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+	private static final int USER_COUNT = 100_000;
+
+	/**
+	 * 연속된 유저 ID 도 샤드마다 고르게 나뉨
+	 */
+	@Test
+	void 유저_고르게_분배() {
+		ConsistentHashRing ring = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+
+		int[] counts = new int[ring.size()];
+		for (long userId = 1; userId <= USER_COUNT; userId++)
+			counts[ring.ownerOf(userId)]++;
+
+		for (int count : counts)
+			assertThat(count).isBetween(USER_COUNT / 4 * 7 / 10, USER_COUNT / 4 * 13 / 10);
+	}
+
+	/**
+	 * 샤드를 더하면 새 샤드로 옮겨가는 유저만 자리를 바꾸고, 옮겨가는 유저는 새 샤드 몫 정도
+	 */
+	@Test
+	void 샤드_추가시_일부만_이동() {
+		ConsistentHashRing before = new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3"), 128);
+		ConsistentHashRing after =
+			new ConsistentHashRing(List.of("shard-0", "shard-1", "shard-2", "shard-3", "shard-4"), 128);
+
+		int moved = 0;
+		for (long userId = 1; userId <= USER_COUNT; userId++) {
+			int owner = after.ownerOf(userId);
+			if (owner != before.ownerOf(userId)) {
+				assertThat(owner).isEqualTo(4);
+				moved++;
+			}
+		}
+
+		assertThat(moved).isBetween(USER_COUNT / 5 * 7 / 10, USER_COUNT / 5 * 13 / 10);
+	}
+
+	/**
+	 * 같은 이름 목록이면 따로 만든 링도 같은 샤드를 고름 (노드마다 같은 라우팅)
+	 */
+	@Test
+	void 같은_이름이면_같은_라우팅() {
+		ConsistentHashRing ring = new ConsistentHashRing(List.of("http://a:8080", "http://b:8080"), 64);
+		ConsistentHashRing other = new ConsistentHashRing(List.of("http://a:8080", "http://b:8080"), 64);
+
+		for (long userId = -1000; userId <= 1000; userId++)
+			assertThat(other.ownerOf(userId)).isEqualTo(ring.ownerOf(userId));
+	}
+}
@@ -0,0 +1,201 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyCacheTest {
+
+	private static final long USER_ID = 1;
+
+	@Test
+	void 같은_멱등키_재요청시_처음_결과_반환() {
+		IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+		AtomicInteger executeCount = new AtomicInteger();
+
+		UserPoint first = cache.execute("key", USER_ID, TransactionType.CHARGE, 1000,
+			() -> new UserPoint(USER_ID, 1000 * executeCount.incrementAndGet(), 1));
+		UserPoint retried = cache.execute("key", USER_ID, TransactionType.CHARGE, 1000,
+			() -> new UserPoint(USER_ID, 1000 * executeCount.incrementAndGet(), 2));
+
+		assertThat(retried.point()).isEqualTo(first.point());
+		assertThat(retried.updateMillis()).isEqualTo(first.updateMillis());
+		assertThat(executeCount.get()).isEqualTo(1);
+		assertThat(cache.stats().hitCount()).isEqualTo(1);
+	}
+
+	/**
+	 * 처리 중인 요청과 같은 멱등키로 동시에 들어온 요청은 새로 처리하지 않고 결과를 함께 기다림
+	 */
+	@Test
+	void 동시_중복요청은_한번만_처리() throws Exception {
+		IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+		AtomicInteger executeCount = new AtomicInteger();
+		CountDownLatch executing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<UserPoint> owner = CompletableFuture.supplyAsync(() ->
+			cache.execute("key", USER_ID, TransactionType.USE, 500, () -> {
+				executeCount.incrementAndGet();
+				executing.countDown();
+				await(release);
+				return new UserPoint(USER_ID, 500, 1);
+			}));
+		assertThat(executing.await(5, TimeUnit.SECONDS)).isTrue();
+
+		List<CompletableFuture<UserPoint>> duplicates = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			duplicates.add(CompletableFuture.supplyAsync(() ->
+				cache.execute("key", USER_ID, TransactionType.USE, 500, () -> {
+					executeCount.incrementAndGet();
+					return new UserPoint(USER_ID, 0, 2);
+				})));
+		}
+		release.countDown();
+
+		assertThat(owner.get(5, TimeUnit.SECONDS).point()).isEqualTo(500);
+		for (CompletableFuture<UserPoint> duplicate : duplicates)
+			assertThat(duplicate.get(5, TimeUnit.SECONDS).point()).isEqualTo(500);
+		assertThat(executeCount.get()).isEqualTo(1);
+	}
+
+	@Test
+	void 거절된_요청은_재요청시_같은_사유로_거절() {
+		IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+		AtomicInteger executeCount = new AtomicInteger();
+
+		for (int i = 0; i < 2; i++) {
+			assertThatThrownBy(() -> cache.execute("key", USER_ID, TransactionType.USE, 1000, () -> {
+				executeCount.incrementAndGet();
+				throw new PointException(PointError.NOT_ENOUGH_POINT_TO_USE);
+			}))
+				.isInstanceOf(PointException.class)
+				.extracting("error")
+				.isEqualTo(PointError.NOT_ENOUGH_POINT_TO_USE);
+		}
+
+		assertThat(executeCount.get()).isEqualTo(1);
+	}
+
+	/**
+	 * 동시 변경 충돌은 잠시 후 다시 보내면 처리될 수 있으므로 결과를 남기지 않음
+	 */
+	@Test
+	void 일시적인_거절은_재요청시_다시_처리() {
+		IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+
+		assertThatThrownBy(() -> cache.execute("key", USER_ID, TransactionType.CHARGE, 1000, () -> {
+			throw new PointException(PointError.CONCURRENT_UPDATE_CONFLICT);
+		}))
+			.isInstanceOf(PointException.class)
+			.extracting("error")
+			.isEqualTo(PointError.CONCURRENT_UPDATE_CONFLICT);
+
+		UserPoint retried = cache.execute("key", USER_ID, TransactionType.CHARGE, 1000,
+			() -> new UserPoint(USER_ID, 1000, 1));
+		assertThat(retried.point()).isEqualTo(1000);
+		assertThat(cache.stats().hitCount()).isZero();
+	}
+
+	@Test
+	void 예상하지_못한_예외는_재요청시_다시_처리() {
+		IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+
+		assertThatThrownBy(() -> cache.execute("key", USER_ID, TransactionType.CHARGE, 1000, () -> {
+			throw new IllegalStateException();
+		})).isInstanceOf(IllegalStateException.class);
+
+		UserPoint retried = cache.execute("key", USER_ID, TransactionType.CHARGE, 1000,
+			() -> new UserPoint(USER_ID, 1000, 1));
+		assertThat(retried.point()).isEqualTo(1000);
+	}
+
+	@Test
+	void 같은_멱등키_다른금액_거절() {
+		IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+		cache.execute("key", USER_ID, TransactionType.CHARGE, 1000, () -> new UserPoint(USER_ID, 1000, 1));
+
+		assertThatThrownBy(() -> cache.execute("key", USER_ID, TransactionType.CHARGE, 2000,
+			() -> new UserPoint(USER_ID, 3000, 2)))
+			.isInstanceOf(PointException.class)
+			.extracting("error")
+			.isEqualTo(PointError.IDEMPOTENCY_KEY_REUSED);
+	}
+
+	/**
+	 * 유저나 변경 타입이 다르면 같은 멱등키라도 서로 다른 요청
+	 */
+	@Test
+	void 유저_변경타입별로_멱등키_구분() {
+		IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+		AtomicInteger executeCount = new AtomicInteger();
+
+		cache.execute("key", 1, TransactionType.CHARGE, 1000, () -> new UserPoint(executeCount.incrementAndGet(), 0, 0));
+		cache.execute("key", 2, TransactionType.CHARGE, 1000, () -> new UserPoint(executeCount.incrementAndGet(), 0, 0));
+		cache.execute("key", 1, TransactionType.USE, 1000, () -> new UserPoint(executeCount.incrementAndGet(), 0, 0));
+
+		assertThat(executeCount.get()).isEqualTo(3);
+	}
+
+	@Test
+	void 최대크기_초과시_제거_및_메모리_추정() {
+		long maximumSize = 320;
+		IdempotencyCache cache = cache(maximumSize, Duration.ofMinutes(1));
+
+		for (int i = 0; i < 10_000; i++)
+			cache.execute("key-" + i, USER_ID, TransactionType.CHARGE, 1000, () -> new UserPoint(USER_ID, 1000, 1));
+
+		IdempotencyCache.Stats stats = cache.stats();
+		assertThat(stats.size()).isLessThanOrEqualTo(maximumSize);
+		assertThat(stats.evictionCount()).isEqualTo(10_000 - stats.size());
+		assertThat(stats.estimatedBytes()).isPositive().isLessThan(maximumSize * 1024);
+	}
+
+	@Test
+	void 만료된_멱등키는_다시_처리() throws InterruptedException {
+		IdempotencyCache cache = cache(100, Duration.ofMillis(1));
+		AtomicInteger executeCount = new AtomicInteger();
+
+		cache.execute("key", USER_ID, TransactionType.CHARGE, 1000, () -> new UserPoint(executeCount.incrementAndGet(), 0, 0));
+		TimeUnit.MILLISECONDS.sleep(10);
+		cache.execute("key", USER_ID, TransactionType.CHARGE, 1000, () -> new UserPoint(executeCount.incrementAndGet(), 0, 0));
+
+		assertThat(executeCount.get()).isEqualTo(2);
+	}
+
+	@Test
+	void 잘못된_멱등키_거절() {
+		IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+
+		assertThatThrownBy(() -> cache.execute(" ", USER_ID, TransactionType.CHARGE, 1000,
+			() -> new UserPoint(USER_ID, 1000, 1)))
+			.isInstanceOf(PointException.class)
+			.extracting("error")
+			.isEqualTo(PointError.INVALID_IDEMPOTENCY_KEY);
+	}
+
+	private IdempotencyCache cache(long maximumSize, Duration expireAfterWrite) {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getIdempotency().setMaximumSize(maximumSize);
+		pointProperties.getIdempotency().setExpireAfterWrite(expireAfterWrite);
+		return new IdempotencyCache(pointProperties, new PointMetrics(new SimpleMeterRegistry()));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
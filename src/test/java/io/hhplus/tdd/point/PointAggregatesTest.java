@@ -0,0 +1,204 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.WriteAheadLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PointAggregatesTest {
+
+	private static final long INIT_POINT = 50_000;
+	private static final int USER_COUNT = 20;
+	private static final int THREAD_SIZE = 8;
+	private static final int REQUESTS_PER_THREAD = 200;
+	private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+	private PointProperties pointProperties;
+	private PointHistoryRepository pointHistoryRepository;
+	private PointService pointService;
+	private ExecutorService executorService;
+
+	@AfterEach
+	void afterEach() {
+		if (executorService != null)
+			executorService.shutdownNow();
+	}
+
+	/**
+	 * 어느 변경 방식이든 동시에 충전, 사용, 이체해도 유저별 집계는 저장된 이력을 모두 더한 값과 같고,
+	 * 전체 구간 합계는 모든 유저 이력의 합과 같음
+	 */
+	@ParameterizedTest
+	@EnumSource(PointUpdateMode.class)
+	void 동시_변경_후_집계가_이력과_일치(PointUpdateMode updateMode) throws Exception {
+		setUp(updateMode);
+		executorService = Executors.newFixedThreadPool(THREAD_SIZE);
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int thread = 0; thread < THREAD_SIZE; thread++) {
+			Random random = new Random(thread);
+			futures.add(CompletableFuture.runAsync(() -> {
+				for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+					long userId = random.nextInt(USER_COUNT) + 1;
+					try {
+						switch (random.nextInt(3)) {
+							case 0 -> pointService.chargeUserPoint(userId, 500 + random.nextInt(1000));
+							case 1 -> pointService.useUserPoint(userId, 1 + random.nextInt(1000));
+							default -> pointService.transferUserPoint(userId,
+								(userId % USER_COUNT) + 1, 1 + random.nextInt(1000));
+						}
+					} catch (PointException ignored) {
+						// 잔액 한도에 걸린 요청은 이력이 남지 않음
+					}
+				}
+			}, executorService));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+		long[] totals = new long[TransactionType.values().length];
+		long totalCount = 0;
+		for (long userId = 1; userId <= USER_COUNT; userId++) {
+			List<PointHistory> histories = pointService.getUserPointHistories(userId);
+			long[] amounts = new long[TransactionType.values().length];
+			long lastMillis = 0;
+			for (PointHistory pointHistory : histories) {
+				amounts[pointHistory.type().ordinal()] += pointHistory.amount();
+				totals[pointHistory.type().ordinal()] += pointHistory.amount();
+				lastMillis = Math.max(lastMillis, pointHistory.updateMillis());
+			}
+			totalCount += histories.size();
+
+			assertThat(pointService.getUserPointSummary(userId))
+				.isEqualTo(PointSummary.of(userId, amounts, histories.size(), lastMillis));
+		}
+
+		List<PointRollup> rollups = pointService.getPointRollups(PointRollupUnit.HOUR);
+		PointRollup sum = rollups.stream().reduce(PointRollup::plus).orElseThrow();
+		assertThat(sum).isEqualTo(PointRollup.of(sum.startMillis(), totals, totalCount));
+	}
+
+	/**
+	 * 재시작하면 저장된 이력으로 집계를 다시 만듦
+	 */
+	@Test
+	void 재시작시_이력으로_집계_복구() {
+		setUp(PointUpdateMode.LOCK);
+		pointService.chargeUserPoint(1, 1000);
+		pointService.useUserPoint(1, 300);
+		pointService.transferUserPoint(1, 2, 200);
+
+		PointAggregates restored = new PointAggregates(pointHistoryRepository, pointProperties);
+
+		for (long userId = 1; userId <= 2; userId++)
+			assertThat(restored.summary(userId)).isEqualTo(pointService.getUserPointSummary(userId));
+		assertThat(restored.rollups(PointRollupUnit.MINUTE, System.currentTimeMillis()))
+			.isEqualTo(pointService.getPointRollups(PointRollupUnit.MINUTE));
+		assertThat(restored.topUsers(10)).isEqualTo(pointService.getTopUsers(10));
+	}
+
+	/**
+	 * 구간 합계는 최근 minute-buckets 개 구간만 남기고, 지난 구간이 있던 칸은 새 구간으로 바뀜
+	 */
+	@Test
+	void 최근_구간만_유지() {
+		pointProperties = new PointProperties();
+		pointProperties.getAggregate().setMinuteBuckets(3);
+		PointAggregates pointAggregates = new PointAggregates(emptyHistoryRepository(), pointProperties);
+
+		long start = 1_000 * MINUTE;
+		pointAggregates.record(new PointHistory(1, 1, 1000, TransactionType.CHARGE, start));
+		pointAggregates.record(new PointHistory(2, 1, 300, TransactionType.USE, start + 10));
+		pointAggregates.record(new PointHistory(3, 2, 700, TransactionType.CHARGE, start + MINUTE));
+		// start 구간과 같은 칸을 쓰는 3분 뒤 구간
+		pointAggregates.record(new PointHistory(4, 2, 100, TransactionType.USE, start + 3 * MINUTE));
+		// 이미 칸을 넘겨준 구간의 늦은 이력은 버려짐
+		pointAggregates.record(new PointHistory(5, 1, 500, TransactionType.CHARGE, start + 20));
+
+		assertThat(pointAggregates.rollups(PointRollupUnit.MINUTE, start + MINUTE)).containsExactly(
+			new PointRollup(start + MINUTE, 700, 0, 0, 0, 0, 1));
+		assertThat(pointAggregates.rollups(PointRollupUnit.MINUTE, start + 3 * MINUTE)).containsExactly(
+			new PointRollup(start + MINUTE, 700, 0, 0, 0, 0, 1),
+			new PointRollup(start + 3 * MINUTE, 0, 100, 0, 0, 0, 1));
+		assertThat(pointAggregates.rollups(PointRollupUnit.MINUTE, start + 10 * MINUTE)).isEmpty();
+
+		// 유저별 합계는 구간과 관계없이 모두 더함
+		assertThat(pointAggregates.summary(1)).isEqualTo(new PointSummary(1, 1500, 300, 0, 0, 0, 3, start + 20));
+		assertThat(pointAggregates.rollups(PointRollupUnit.HOUR, start + 3 * MINUTE))
+			.extracting(PointRollup::transactionCount).containsExactly(5L);
+	}
+
+	/**
+	 * 후보 카운터보다 유저가 많아도 거래량이 큰 유저는 실제 거래량 순서로 조회되고, 만료는 거래량에 넣지 않음
+	 */
+	@Test
+	void 거래량_상위_유저() {
+		pointProperties = new PointProperties();
+		pointProperties.getAggregate().setTopUsers(8);
+		PointAggregates pointAggregates = new PointAggregates(emptyHistoryRepository(), pointProperties);
+
+		long id = 0;
+		long now = System.currentTimeMillis();
+		for (int round = 0; round < 50; round++) {
+			for (long userId = 100; userId < 200; userId++)
+				pointAggregates.record(new PointHistory(++id, userId, 1, TransactionType.CHARGE, now));
+			pointAggregates.record(new PointHistory(++id, 1, 100, TransactionType.CHARGE, now));
+			pointAggregates.record(new PointHistory(++id, 2, 60, TransactionType.USE, now));
+			pointAggregates.record(new PointHistory(++id, 3, 50, TransactionType.TRANSFER_OUT, now));
+			pointAggregates.record(new PointHistory(++id, 4, 1000, TransactionType.EXPIRE, now));
+		}
+
+		assertThat(pointAggregates.topUsers(3)).containsExactly(
+			new PointVolume(1, 5000), new PointVolume(2, 3000), new PointVolume(3, 2500));
+		assertThat(pointAggregates.stats().topCandidates()).isEqualTo(8);
+		assertThat(pointAggregates.stats().users()).isEqualTo(104);
+	}
+
+	private void setUp(PointUpdateMode updateMode) {
+		pointProperties = new PointProperties();
+		pointProperties.setUpdateMode(updateMode);
+
+		FakeUserPointTable userPointTable = new FakeUserPointTable(0);
+		for (long userId = 1; userId <= USER_COUNT; userId++)
+			userPointTable.insertOrUpdate(userId, INIT_POINT);
+
+		PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+		WriteAheadLog writeAheadLog = new WriteAheadLog(pointProperties, pointMetrics);
+		UserPointRepository userPointRepository =
+			new UserPointRepository(userPointTable, writeAheadLog, pointProperties, pointMetrics);
+		pointHistoryRepository = new PointHistoryRepository(new FakePointHistoryTable(0), writeAheadLog,
+			pointProperties, pointMetrics);
+		UserLockManager userLockManager = new UserLockManager(pointMetrics);
+		PointEventHub pointEventHub = new PointEventHub(pointProperties);
+		PointLotBook pointLotBook = new PointLotBook(pointProperties);
+		PointAggregates pointAggregates = new PointAggregates(pointHistoryRepository, pointProperties);
+		OptimisticPointStore optimisticPointStore = new OptimisticPointStore(userPointRepository,
+			pointHistoryRepository, userLockManager, pointEventHub, pointLotBook, pointAggregates, pointProperties);
+		pointService = new PointService(userPointRepository, pointHistoryRepository, userLockManager,
+			optimisticPointStore, new IdempotencyCache(pointProperties, pointMetrics), pointEventHub, pointLotBook,
+			pointAggregates, pointProperties, pointMetrics);
+	}
+
+	private PointHistoryRepository emptyHistoryRepository() {
+		PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+		return new PointHistoryRepository(new FakePointHistoryTable(0),
+			new WriteAheadLog(pointProperties, pointMetrics), pointProperties, pointMetrics);
+	}
+}
@@ -0,0 +1,171 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class PointBatchServiceTest {
+
+	@Mock
+	private PointService pointService;
+
+	private ExecutorService executorService;
+	private PointProperties pointProperties;
+	private PointBatchService pointBatchService;
+
+	@BeforeEach
+	void beforeEach() {
+		executorService = Executors.newFixedThreadPool(4);
+		pointProperties = new PointProperties();
+		pointBatchService = new PointBatchService(pointService, executorService,
+			new PointRateLimiter(pointProperties), pointProperties,
+			new PointMetrics(new SimpleMeterRegistry()));
+	}
+
+	@AfterEach
+	void afterEach() {
+		executorService.shutdownNow();
+	}
+
+	/**
+	 * 요청별 결과는 요청 순서대로, 실패한 요청은 거절 사유와 함께 응답
+	 */
+	@Test
+	void 일괄처리_요청별_결과() {
+		UserPoint charged = new UserPoint(1, 1000, System.currentTimeMillis());
+		List<PointCommand> commands = List.of(
+			new PointCommand(1, TransactionType.CHARGE, 1000),
+			new PointCommand(2, TransactionType.USE, 1000)
+		);
+
+		when(pointService.chargeUserPoint(1, 1000)).thenReturn(charged);
+		when(pointService.useUserPoint(2, 1000)).thenThrow(new PointException(PointError.NOT_ENOUGH_POINT_TO_USE));
+
+		List<PointCommandResult> results = pointBatchService.execute(commands);
+
+		assertThat(results).containsExactly(
+			PointCommandResult.success(commands.get(0), charged),
+			PointCommandResult.failure(commands.get(1), PointError.NOT_ENOUGH_POINT_TO_USE)
+		);
+	}
+
+	/**
+	 * 비어있거나 변경 타입이 없는 요청, 예상하지 못한 예외로 실패한 요청은 해당 요청만 실패하고 나머지는 처리
+	 */
+	@Test
+	void 일괄처리_잘못된_요청과_예상하지_못한_예외는_요청별_실패() {
+		UserPoint charged = new UserPoint(1, 1000, System.currentTimeMillis());
+		List<PointCommand> commands = Arrays.asList(
+			null,
+			new PointCommand(2, null, 1000),
+			new PointCommand(3, TransactionType.USE, 1000),
+			new PointCommand(1, TransactionType.CHARGE, 1000)
+		);
+
+		when(pointService.useUserPoint(3, 1000)).thenThrow(new IllegalStateException("저장 실패"));
+		when(pointService.chargeUserPoint(1, 1000)).thenReturn(charged);
+
+		List<PointCommandResult> results = pointBatchService.execute(commands);
+
+		assertThat(results).containsExactly(
+			PointCommandResult.failure(null, PointError.INVALID_BATCH_COMMAND),
+			PointCommandResult.failure(commands.get(1), PointError.INVALID_BATCH_COMMAND),
+			PointCommandResult.failure(commands.get(2), PointError.BATCH_COMMAND_FAILED),
+			PointCommandResult.success(commands.get(3), charged)
+		);
+	}
+
+	/**
+	 * 같은 유저의 요청은 다른 유저 요청과 섞여 있어도 요청 순서대로 처리
+	 */
+	@Test
+	void 일괄처리_유저별_요청순서_보장() {
+		List<PointCommand> commands = List.of(
+			new PointCommand(1, TransactionType.CHARGE, 1000),
+			new PointCommand(2, TransactionType.CHARGE, 2000),
+			new PointCommand(1, TransactionType.USE, 500),
+			new PointCommand(2, TransactionType.USE, 700),
+			new PointCommand(1, TransactionType.CHARGE, 3000)
+		);
+
+		pointBatchService.execute(commands);
+
+		InOrder firstUser = inOrder(pointService);
+		firstUser.verify(pointService).chargeUserPoint(1, 1000);
+		firstUser.verify(pointService).useUserPoint(1, 500);
+		firstUser.verify(pointService).chargeUserPoint(1, 3000);
+
+		InOrder secondUser = inOrder(pointService);
+		secondUser.verify(pointService).chargeUserPoint(2, 2000);
+		secondUser.verify(pointService).useUserPoint(2, 700);
+	}
+
+	/**
+	 * 일괄 처리 요청도 요청마다 유저 버킷 토큰을 꺼내므로, 한 유저에게 몰린 요청은 버스트를 넘는 만큼 요청별로 거절
+	 */
+	@Test
+	void 일괄처리_유저별_요청수_제한() {
+		pointProperties.getRateLimit().setUserPermitsPerSecond(1);
+		pointProperties.getRateLimit().setUserBurst(2);
+		pointBatchService = new PointBatchService(pointService, executorService,
+			new PointRateLimiter(pointProperties), pointProperties, new PointMetrics(new SimpleMeterRegistry()));
+		List<PointCommand> commands = List.of(
+			new PointCommand(1, TransactionType.CHARGE, 1000),
+			new PointCommand(1, TransactionType.CHARGE, 1000),
+			new PointCommand(1, TransactionType.CHARGE, 1000),
+			new PointCommand(2, TransactionType.CHARGE, 1000)
+		);
+
+		List<PointCommandResult> results = pointBatchService.execute(commands);
+
+		assertThat(results).extracting(PointCommandResult::error)
+			.containsExactly(null, null, PointError.TOO_MANY_USER_REQUESTS, null);
+		verify(pointService, times(2)).chargeUserPoint(1, 1000);
+		verify(pointService).chargeUserPoint(2, 1000);
+	}
+
+	/**
+	 * 유저 락을 기다리는 요청이 많은 유저의 일괄 처리 요청은 락을 기다리지 않고 거절
+	 */
+	@Test
+	void 일괄처리_유저락_대기수_초과_거절() {
+		when(pointService.lockWaiters(1)).thenReturn(pointProperties.getRateLimit().getMaxLockWaiters());
+		List<PointCommand> commands = List.of(
+			new PointCommand(1, TransactionType.CHARGE, 1000),
+			new PointCommand(2, TransactionType.CHARGE, 1000)
+		);
+
+		List<PointCommandResult> results = pointBatchService.execute(commands);
+
+		assertThat(results).extracting(PointCommandResult::error)
+			.containsExactly(PointError.TOO_MANY_LOCK_WAITERS, null);
+		verify(pointService, never()).chargeUserPoint(1, 1000);
+	}
+
+	@Test
+	void 일괄처리_예외_최대요청수초과() {
+		pointProperties.getBatch().setMaxSize(1);
+		List<PointCommand> commands = Collections.nCopies(2, new PointCommand(1, TransactionType.CHARGE, 1000));
+
+		assertThrows(IllegalArgumentException.class, () -> pointBatchService.execute(commands));
+
+		verifyNoInteractions(pointService);
+	}
+}
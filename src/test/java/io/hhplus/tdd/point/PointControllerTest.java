@@ -1,6 +1,7 @@
 package io.hhplus.tdd.point;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -15,16 +16,23 @@ import java.util.concurrent.TimeoutException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
 import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 
-@SpringBootTest
+// 테이블에 기록된 이력을 검증하므로 이력 기록이 끝난 뒤 응답하도록 함
+@SpringBootTest(properties = "point.history.async-write=false")
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 class PointControllerTest {
 
 	@Autowired
@@ -36,6 +44,12 @@ class PointControllerTest {
 	@Autowired
 	private PointHistoryTable pointHistoryTable;
 
+	@Autowired
+	private PointHistoryRepository pointHistoryRepository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	private static long userId = 1;
 	private static final long INIT_POINT = 50000;
 	private static final int THREAD_SIZE = 10;
@@ -191,4 +205,245 @@ class PointControllerTest {
 
 	}
 
+	/**
+	 * 이력 페이지 조회
+	 * 최신 2건만 타입 필터를 적용하여 ID 오름차순으로 응답하는지 확인
+	 */
+	@Test
+	void 이력_페이지_조회_테스트() throws Exception {
+		pointHistoryRepository.save(userId, 1000, TransactionType.CHARGE, 1);
+		PointHistory second = pointHistoryRepository.save(userId, 2000, TransactionType.CHARGE, 2);
+		pointHistoryRepository.save(userId, 500, TransactionType.USE, 3);
+		PointHistory fourth = pointHistoryRepository.save(userId, 3000, TransactionType.CHARGE, 4);
+
+		mockMvc.perform(get("/point/{id}/histories", userId)
+				.param("limit", "2")
+				.param("type", "CHARGE"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[0].id").value(second.id()))
+			.andExpect(jsonPath("$[1].id").value(fourth.id()));
+
+		mockMvc.perform(get("/point/{id}/histories", userId)
+				.param("limit", "0"))
+			.andExpect(status().isBadRequest());
+	}
+
+	/**
+	 * 이력 내보내기
+	 * afterId 다음 이력부터 한 줄에 하나씩 ID 순서대로 응답하는지 확인
+	 */
+	@Test
+	void 이력_내보내기_테스트() throws Exception {
+		long afterId = pointHistoryRepository.lastId();
+		PointHistory first = pointHistoryRepository.save(userId, 1000, TransactionType.CHARGE, 1);
+		PointHistory second = pointHistoryRepository.save(userId, 500, TransactionType.USE, 2);
+
+		MvcResult mvcResult = mockMvc.perform(get("/point/histories/export")
+				.param("afterId", String.valueOf(afterId)))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		String body = mockMvc.perform(asyncDispatch(mvcResult))
+			.andExpect(status().isOk())
+			.andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+
+		List<PointHistory> exported = body.lines()
+			.map(line -> {
+				try {
+					return objectMapper.readValue(line, PointHistory.class);
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			})
+			.toList();
+		assertThat(exported).containsExactly(first, second);
+	}
+
+	/**
+	 * 일괄 처리
+	 * 요청별 결과가 요청 순서대로 응답되고 실패한 요청은 거절 사유를 응답하는지 확인
+	 */
+	@Test
+	void 일괄_처리_테스트() throws Exception {
+		long otherUserId = userId + 10_000;
+		String body = """
+			[
+			  {"userId": %d, "type": "CHARGE", "amount": 1000},
+			  {"userId": %d, "type": "USE", "amount": 1000}
+			]
+			""".formatted(userId, otherUserId);
+
+		mockMvc.perform(patch("/point/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)))
+			.andExpect(jsonPath("$[0].userPoint.point").value(INIT_POINT + 1000))
+			.andExpect(jsonPath("$[1].error").value(PointError.NOT_ENOUGH_POINT_TO_USE.name()));
+	}
+
+	/**
+	 * 일괄 처리 잘못된 요청
+	 * 비어있거나 변경 타입이 없는 요청은 500 없이 해당 요청만 실패로 응답하는지 확인
+	 */
+	@Test
+	void 일괄_처리_잘못된_요청_테스트() throws Exception {
+		String body = """
+			[
+			  null,
+			  {"userId": %d, "amount": 1000},
+			  {"userId": %d, "type": "CHARGE", "amount": 1000}
+			]
+			""".formatted(userId, userId);
+
+		mockMvc.perform(patch("/point/batch")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(body))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(3)))
+			.andExpect(jsonPath("$[0].error").value(PointError.INVALID_BATCH_COMMAND.name()))
+			.andExpect(jsonPath("$[1].error").value(PointError.INVALID_BATCH_COMMAND.name()))
+			.andExpect(jsonPath("$[2].userPoint.point").value(INIT_POINT + 1000));
+	}
+
+	/**
+	 * 멱등키 재요청
+	 * 응답을 받지 못해 같은 멱등키로 다시 충전 요청해도 한번만 충전되는지 확인
+	 */
+	@Test
+	void 멱등키_충전_재요청_테스트() throws Exception {
+		for (int i = 0; i < 2; i++) {
+			mockMvc.perform(patch("/point/{id}/charge", userId)
+					.header(PointController.IDEMPOTENCY_KEY_HEADER, "charge-" + userId)
+					.contentType(MediaType.APPLICATION_JSON)
+					.content("1000"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.point").value(INIT_POINT + 1000));
+		}
+
+		mockMvc.perform(patch("/point/{id}/charge", userId)
+				.header(PointController.IDEMPOTENCY_KEY_HEADER, "charge-" + userId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("2000"))
+			.andExpect(status().isBadRequest());
+
+		assertThat(userPointTable.selectById(userId).point()).isEqualTo(INIT_POINT + 1000);
+		assertThat(pointHistoryRepository.findAllByUserId(userId)).hasSize(1);
+	}
+
+	@Test
+	void 포인트_이체() throws Exception {
+		long toUserId = userId + 100_000;
+
+		mockMvc.perform(patch("/point/{id}/transfer", userId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new PointTransferRequest(toUserId, 3000))))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.from.point").value(INIT_POINT - 3000))
+			.andExpect(jsonPath("$.to.point").value(3000));
+
+		mockMvc.perform(patch("/point/{id}/transfer", userId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(new PointTransferRequest(toUserId, INIT_POINT))))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value(PointError.NOT_ENOUGH_POINT_TO_USE.getMessage()));
+	}
+
+	/**
+	 * 충전, 사용 후 유저 집계와 상위 유저, 구간별 합계 조회
+	 */
+	@Test
+	void 포인트_집계_조회() throws Exception {
+		mockMvc.perform(patch("/point/{id}/charge", userId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("40000"))
+			.andExpect(status().isOk());
+		mockMvc.perform(patch("/point/{id}/use", userId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("5000"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/point/{id}/summary", userId))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.userId").value(userId))
+			.andExpect(jsonPath("$.totalCharged").value(40000))
+			.andExpect(jsonPath("$.totalUsed").value(5000))
+			.andExpect(jsonPath("$.transactionCount").value(2));
+
+		mockMvc.perform(get("/point/top").param("limit", "1000"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[?(@.userId == %d)].volume", userId).value(45000));
+		mockMvc.perform(get("/point/top").param("limit", "0"))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value(PointError.INVALID_TOP_LIMIT.getMessage()));
+
+		mockMvc.perform(get("/point/rollups").param("unit", "HOUR"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[-1:].totalCharged").value(everyItem(greaterThanOrEqualTo(40000))));
+	}
+
+	/**
+	 * 구독 중인 유저 포인트가 바뀌면 변경 이벤트를 SSE 로 받음
+	 */
+	@Test
+	void 포인트_변경_이벤트_구독() throws Exception {
+		MvcResult stream = mockMvc.perform(get("/point/{id}/stream", userId))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		mockMvc.perform(patch("/point/{id}/charge", userId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("1000"))
+			.andExpect(status().isOk());
+
+		long deadline = System.currentTimeMillis() + 5000;
+		while (!stream.getResponse().getContentAsString().contains("\"point\":" + (INIT_POINT + 1000))
+			&& System.currentTimeMillis() < deadline)
+			Thread.sleep(10);
+
+		assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+		assertThat(stream.getResponse().getContentAsString())
+			.contains("event:point")
+			.contains("\"type\":\"CHARGE\"")
+			.contains("\"point\":" + (INIT_POINT + 1000));
+	}
+
+	/**
+	 * 한 유저에게 요청이 몰리면 컨트롤러에 들어가기 전에 429 와 Retry-After 로 거절되고 다른 유저는 그대로 처리됨
+	 */
+	@Test
+	void 유저_요청_수_제한() throws Exception {
+		MvcResult rejected = null;
+		for (int i = 0; i < 1000 && rejected == null; i++) {
+			MvcResult result = mockMvc.perform(get("/point/{id}", userId)).andReturn();
+			if (result.getResponse().getStatus() != 200)
+				rejected = result;
+		}
+
+		assertThat(rejected).isNotNull();
+		assertThat(rejected.getResponse().getStatus()).isEqualTo(429);
+		assertThat(rejected.getResponse().getHeader("Retry-After")).isEqualTo("1");
+		assertThat(rejected.getResponse().getContentAsString()).contains("\"code\":\"429\"");
+		mockMvc.perform(get("/point/{id}", userId + 1_000_000))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void 프로메테우스_지표_노출() throws Exception {
+		mockMvc.perform(patch("/point/{id}/charge", userId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("1000"))
+			.andExpect(status().isOk());
+
+		mockMvc.perform(get("/actuator/prometheus"))
+			.andExpect(status().isOk())
+			.andExpect(content().string(containsString("point_operation_seconds_bucket{type=\"charge\"")))
+			.andExpect(content().string(containsString("point_lock_wait_seconds_count")))
+			.andExpect(content().string(containsString("point_rejections_total{error=\"NOT_ENOUGH_POINT_TO_USE\"")))
+			.andExpect(content().string(containsString("point_cache_requests_total{result=\"hit\"")));
+	}
 }
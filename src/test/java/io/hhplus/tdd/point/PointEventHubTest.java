@@ -0,0 +1,147 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PointEventHubTest {
+
+	private static final long USER_ID = 1;
+
+	private PointProperties pointProperties;
+	private PointEventHub pointEventHub;
+
+	@BeforeEach
+	void beforeEach() {
+		pointProperties = new PointProperties();
+		pointProperties.getStream().setBufferSize(4);
+		pointEventHub = new PointEventHub(pointProperties);
+	}
+
+	@AfterEach
+	void afterEach() {
+		pointEventHub.close();
+	}
+
+	/**
+	 * 포인트 변경마다 그 유저 구독자와 전체 유저 구독자에게 변경 순서대로 전달
+	 */
+	@Test
+	void 포인트_변경_이벤트_전달() throws InterruptedException {
+		PointService pointService = PointServiceFactory.create(new UserPointTable(), new PointHistoryTable(),
+			pointProperties, new SimpleMeterRegistry(), pointEventHub);
+		List<PointChangedEvent> userEvents = new CopyOnWriteArrayList<>();
+		List<PointChangedEvent> allEvents = new CopyOnWriteArrayList<>();
+		pointEventHub.subscribe(USER_ID, userEvents::add, () -> {
+		});
+		pointEventHub.subscribe(null, allEvents::add, () -> {
+		});
+
+		pointService.chargeUserPoint(USER_ID, 1000);
+		pointService.useUserPoint(USER_ID, 300);
+		pointService.chargeUserPoint(USER_ID + 1, 500);
+
+		waitUntil(() -> userEvents.size() == 2 && allEvents.size() == 3);
+		assertThat(userEvents).extracting(PointChangedEvent::type, PointChangedEvent::point)
+			.containsExactly(tuple(TransactionType.CHARGE, 1000L), tuple(TransactionType.USE, 700L));
+		assertThat(allEvents).extracting(PointChangedEvent::userId).containsExactly(USER_ID, USER_ID, USER_ID + 1);
+	}
+
+	/**
+	 * 이벤트를 받지 못하는 구독자는 버퍼가 차면 끊기고, 발행하는 쪽과 다른 구독자는 기다리지 않음
+	 */
+	@Test
+	void 느린_구독자_구독_해제() throws InterruptedException {
+		CountDownLatch stalled = new CountDownLatch(1);
+		AtomicBoolean disconnected = new AtomicBoolean();
+		List<PointChangedEvent> received = new CopyOnWriteArrayList<>();
+		PointEventHub.Subscription slow = pointEventHub.subscribe(USER_ID, event -> stalled.await(),
+			() -> disconnected.set(true));
+		pointEventHub.subscribe(USER_ID, received::add, () -> {
+		});
+
+		for (int i = 1; i <= 100; i++) {
+			pointEventHub.publish(new PointChangedEvent(USER_ID, TransactionType.CHARGE, 500, 500L * i, i));
+			int published = i;
+			waitUntil(() -> received.size() == published);
+		}
+		stalled.countDown();
+
+		assertThat(slow.isClosed()).isTrue();
+		// 보내던 중에 끊겼으므로 onDisconnect 는 전송이 풀려난 뒤 호출
+		waitUntil(disconnected::get);
+		assertThat(pointEventHub.stats().subscribers()).isEqualTo(1);
+		assertThat(pointEventHub.stats().disconnectedCount()).isEqualTo(1);
+	}
+
+	/**
+	 * 전달 스레드 수만큼 구독자의 전송이 멈춰도 sendTimeout 이 지나면 그 구독을 끊고 스레드를 더 두어 다른 구독자에게 계속 전달
+	 * 멈춘 구독자의 onDisconnect 는 전송이 풀려난 뒤 보내던 전달 스레드가 호출
+	 */
+	@Test
+	void 전송이_멈춘_구독자_구독_해제() throws InterruptedException {
+		pointProperties.getStream().setSendTimeout(Duration.ofMillis(100));
+		int stalledCount = pointProperties.getStream().getDispatcherThreads();
+		CountDownLatch stalled = new CountDownLatch(1);
+		AtomicInteger disconnected = new AtomicInteger();
+		List<PointChangedEvent> received = new CopyOnWriteArrayList<>();
+		for (int i = 0; i < stalledCount; i++) {
+			pointEventHub.subscribe(USER_ID, event -> stalled.await(), disconnected::incrementAndGet);
+		}
+		pointEventHub.subscribe(USER_ID, received::add, () -> {
+		});
+
+		for (int i = 1; i <= 20; i++) {
+			pointEventHub.publish(new PointChangedEvent(USER_ID, TransactionType.CHARGE, 500, 500L * i, i));
+			int published = i;
+			waitUntil(() -> received.size() == published);
+		}
+
+		waitUntil(() -> pointEventHub.stats().stalledSenders() == stalledCount);
+		assertThat(pointEventHub.stats().subscribers()).isEqualTo(1);
+		assertThat(pointEventHub.stats().disconnectedCount()).isEqualTo(stalledCount);
+		assertThat(disconnected).hasValue(0);
+
+		stalled.countDown();
+		waitUntil(() -> pointEventHub.stats().stalledSenders() == 0 && disconnected.get() == stalledCount);
+	}
+
+	/**
+	 * 구독을 해제하면 더 이상 전달하지 않고, 구독자가 없으면 발행하지 않음
+	 */
+	@Test
+	void 구독_해제() {
+		List<PointChangedEvent> received = new CopyOnWriteArrayList<>();
+		PointEventHub.Subscription subscription = pointEventHub.subscribe(USER_ID, received::add, () -> {
+		});
+
+		subscription.close();
+		pointEventHub.publish(new PointChangedEvent(USER_ID, TransactionType.CHARGE, 500, 500, 0));
+
+		assertThat(pointEventHub.hasSubscribers()).isFalse();
+		assertThat(pointEventHub.stats().publishedCount()).isZero();
+		assertThat(received).isEmpty();
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (!condition.getAsBoolean()) {
+			assertThat(System.nanoTime()).as("대기 시간 초과").isLessThan(deadline);
+			Thread.sleep(1);
+		}
+	}
+}
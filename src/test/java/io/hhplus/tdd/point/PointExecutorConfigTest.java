@@ -0,0 +1,101 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+
+class PointExecutorConfigTest {
+
+	private final PointExecutorConfig pointExecutorConfig = new PointExecutorConfig();
+
+	@Test
+	void 플랫폼모드_고정크기_스레드풀() throws Exception {
+		ExecutorService executorService = pointExecutorConfig.pointExecutor(new PointProperties());
+
+		try {
+			String threadName = executorService.submit(() -> Thread.currentThread().getName()).get();
+
+			assertThat(threadName).startsWith("point-executor-");
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	/**
+	 * 가상 스레드를 지원하지 않는 런타임에서는 플랫폼 스레드 풀로 동작
+	 */
+	@Test
+	void 가상스레드모드_미지원런타임_플랫폼스레드로_동작() throws Exception {
+		assumeTrue(Runtime.version().feature() < 21);
+
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.setExecutionMode(PointExecutionMode.VIRTUAL);
+		ExecutorService executorService = pointExecutorConfig.pointExecutor(pointProperties);
+
+		try {
+			assertThat(executorService.submit(() -> Thread.currentThread().getName()).get())
+				.startsWith("point-executor-");
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
+	/**
+	 * 서로 다른 유저의 충전 요청을 1000건, 10000건 동시에 보냈을 때 처리량이 동시 요청 수에 비례해 늘어나는지 확인
+	 * 요청마다 테이블 지연(조회, 수정 100ms 씩)이 있으므로 플랫폼 스레드 풀이었다면 처리량이 풀 크기에서 멈춤
+	 * 기본 설정 그대로 실행하며, 이력 기록은 기록 스레드에 맡기고 대기열(기본 10000)에 들어가면 응답함
+	 * Java 21 런타임에서만 실행되므로 ./gradlew virtualThreadTest 로 실행
+	 */
+	@Test
+	void 가상스레드모드_동시요청수에_비례한_처리량() throws Exception {
+		assumeTrue(Runtime.version().feature() >= 21);
+
+		// JIT 컴파일이 측정 중에 CPU 를 나누어 쓰지 않도록 한번 먼저 실행
+		chargeConcurrently(10_000);
+		double lowThroughput = 1_000 / (chargeConcurrently(1_000) / 1e9);
+		double highThroughput = 10_000 / (chargeConcurrently(10_000) / 1e9);
+
+		// 플랫폼 스레드 풀(64개)이면 두 경우 모두 초당 약 320건으로 같고, 완전히 비례하면 10배
+		// 요청마다 드는 CPU 비용(스레드 생성, 락, 지표)이 10000건에서는 테이블 지연보다 커지므로 2배를 넘으면 통과
+		assertThat(highThroughput).as("1000건 %.0f/s, 10000건 %.0f/s", lowThroughput, highThroughput)
+			.isGreaterThan(lowThroughput * 2);
+	}
+
+	/**
+	 * @return 서로 다른 유저 userCount 명의 충전 요청을 동시에 보내 모두 끝날 때까지 걸린 시간 (ns)
+	 */
+	private long chargeConcurrently(int userCount) throws Exception {
+		long latencyMillis = 100;
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.setExecutionMode(PointExecutionMode.VIRTUAL);
+		PointService pointService = PointServiceFactory.create(new FakeUserPointTable(latencyMillis),
+			new FakePointHistoryTable(latencyMillis), pointProperties);
+		ExecutorService executorService = pointExecutorConfig.pointExecutor(pointProperties);
+
+		try {
+			long startNanos = System.nanoTime();
+			List<CompletableFuture<UserPoint>> futures = new ArrayList<>(userCount);
+			for (long userId = 1; userId <= userCount; userId++) {
+				long id = userId;
+				futures.add(CompletableFuture.supplyAsync(() -> pointService.chargeUserPoint(id, 1000), executorService));
+			}
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+			long elapsedNanos = System.nanoTime() - startNanos;
+
+			assertThat(futures).allSatisfy(future -> assertThat(future.join().point()).isEqualTo(1000));
+			return elapsedNanos;
+		} finally {
+			executorService.shutdown();
+		}
+	}
+}
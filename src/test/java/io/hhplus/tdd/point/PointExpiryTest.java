@@ -0,0 +1,151 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.WriteAheadLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PointExpiryTest {
+
+	private static final long USER_ID = 1;
+	private static final long LEGACY_POINT = 10_000;
+	private static final Duration TTL = Duration.ofHours(1);
+
+	private PointProperties pointProperties;
+	private PointHistoryRepository pointHistoryRepository;
+	private PointLotBook pointLotBook;
+	private PointService pointService;
+	private PointExpiryScheduler pointExpiryScheduler;
+	private ExecutorService executorService;
+
+	@AfterEach
+	void afterEach() {
+		if (pointExpiryScheduler != null)
+			pointExpiryScheduler.close();
+		if (executorService != null)
+			executorService.shutdownNow();
+	}
+
+	/**
+	 * 사용은 먼저 충전한 묶음부터 차감하고, ttl 이 지나면 남은 묶음만 만료됨
+	 * 만료 기능 이전부터 있던 잔액은 묶음이 없으므로 만료되지 않음
+	 */
+	@ParameterizedTest
+	@EnumSource(PointUpdateMode.class)
+	void 선입선출_사용_후_만료(PointUpdateMode updateMode) {
+		setUp(updateMode, true);
+
+		pointService.chargeUserPoint(USER_ID, 1000);
+		pointService.chargeUserPoint(USER_ID, 2000);
+		pointService.useUserPoint(USER_ID, 1500);
+
+		long expireAt = System.currentTimeMillis() + TTL.toMillis() + 1000;
+		assertThat(pointExpiryScheduler.expire(expireAt - TTL.toMillis())).isZero();
+		assertThat(pointExpiryScheduler.expire(expireAt)).isEqualTo(1);
+
+		assertThat(pointService.getUserPoint(USER_ID).point()).isEqualTo(LEGACY_POINT);
+		assertThat(pointService.getUserPointLots(USER_ID)).isEmpty();
+		assertThat(pointService.getUserPointHistories(USER_ID)).extracting(PointHistory::type, PointHistory::amount)
+			.containsExactly(
+				tuple(TransactionType.CHARGE, 1000L),
+				tuple(TransactionType.CHARGE, 2000L),
+				tuple(TransactionType.USE, 1500L),
+				tuple(TransactionType.EXPIRE, 1500L));
+		assertThat(pointLotBook.stats().expiredCount()).isEqualTo(1);
+
+		// 이미 만료한 묶음은 다시 만료하지 않음
+		assertThat(pointExpiryScheduler.expire(expireAt + TTL.toMillis())).isZero();
+	}
+
+	/**
+	 * 이체로 받은 포인트는 받은 시각부터 ttl 이 지나면 만료되는 새 묶음이 되고, 보낸 유저는 먼저 충전한 묶음부터 차감됨
+	 */
+	@Test
+	void 이체_받은_포인트_묶음() {
+		setUp(PointUpdateMode.LOCK, true);
+
+		pointService.chargeUserPoint(USER_ID, 1000);
+		pointService.chargeUserPoint(USER_ID, 2000);
+		pointService.transferUserPoint(USER_ID, 2, 1600);
+
+		assertThat(pointService.getUserPointLots(USER_ID)).extracting(PointLot::amount).containsExactly(1400L);
+		assertThat(pointService.getUserPointLots(2)).extracting(PointLot::amount).containsExactly(1600L);
+
+		assertThat(pointExpiryScheduler.expire(System.currentTimeMillis() + TTL.toMillis() + 1000)).isEqualTo(2);
+		assertThat(pointService.getUserPoint(USER_ID).point()).isEqualTo(LEGACY_POINT);
+		assertThat(pointService.getUserPoint(2).point()).isEqualTo(LEGACY_POINT);
+	}
+
+	/**
+	 * 재시작하면 저장된 이력으로 남은 묶음을 다시 만듦
+	 */
+	@Test
+	void 재시작시_이력으로_묶음_복구() {
+		setUp(PointUpdateMode.LOCK, true);
+		pointService.chargeUserPoint(USER_ID, 1000);
+		pointService.chargeUserPoint(USER_ID, 2000);
+		pointService.useUserPoint(USER_ID, 1500);
+
+		PointLotBook restoredLotBook = new PointLotBook(pointProperties);
+		PointExpiryScheduler restoredScheduler = new PointExpiryScheduler(pointService, restoredLotBook,
+			pointHistoryRepository, executorService, pointProperties);
+		restoredScheduler.close();
+
+		assertThat(restoredLotBook.findAll(USER_ID)).isEqualTo(pointService.getUserPointLots(USER_ID));
+		assertThat(restoredLotBook.stats().scheduled()).isEqualTo(1);
+	}
+
+	@Test
+	void 만료_사용_안함() {
+		setUp(PointUpdateMode.LOCK, false);
+
+		pointService.chargeUserPoint(USER_ID, 1000);
+
+		assertThat(pointService.getUserPointLots(USER_ID)).isEmpty();
+		assertThat(pointExpiryScheduler.expire(System.currentTimeMillis() + TTL.toMillis() * 2)).isZero();
+		assertThat(pointService.getUserPoint(USER_ID).point()).isEqualTo(LEGACY_POINT + 1000);
+	}
+
+	private void setUp(PointUpdateMode updateMode, boolean expiryEnabled) {
+		pointProperties = new PointProperties();
+		pointProperties.setUpdateMode(updateMode);
+		pointProperties.getExpiry().setEnabled(expiryEnabled);
+		pointProperties.getExpiry().setTtl(TTL);
+
+		FakeUserPointTable userPointTable = new FakeUserPointTable(0);
+		userPointTable.insertOrUpdate(USER_ID, LEGACY_POINT);
+		userPointTable.insertOrUpdate(2, LEGACY_POINT);
+
+		PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+		WriteAheadLog writeAheadLog = new WriteAheadLog(pointProperties, pointMetrics);
+		UserPointRepository userPointRepository =
+			new UserPointRepository(userPointTable, writeAheadLog, pointProperties, pointMetrics);
+		pointHistoryRepository = new PointHistoryRepository(new FakePointHistoryTable(0), writeAheadLog,
+			pointProperties, pointMetrics);
+		UserLockManager userLockManager = new UserLockManager(pointMetrics);
+		PointEventHub pointEventHub = new PointEventHub(pointProperties);
+		pointLotBook = new PointLotBook(pointProperties);
+		PointAggregates pointAggregates = new PointAggregates(pointHistoryRepository, pointProperties);
+		OptimisticPointStore optimisticPointStore = new OptimisticPointStore(userPointRepository,
+			pointHistoryRepository, userLockManager, pointEventHub, pointLotBook, pointAggregates, pointProperties);
+		pointService = new PointService(userPointRepository, pointHistoryRepository, userLockManager,
+			optimisticPointStore, new IdempotencyCache(pointProperties, pointMetrics), pointEventHub, pointLotBook,
+			pointAggregates, pointProperties, pointMetrics);
+		executorService = Executors.newFixedThreadPool(4);
+		pointExpiryScheduler = new PointExpiryScheduler(pointService, pointLotBook, pointHistoryRepository,
+			executorService, pointProperties);
+	}
+}
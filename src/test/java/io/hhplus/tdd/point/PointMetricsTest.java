@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PointMetricsTest {
+
+	private static final long USER_ID = 1;
+
+	private SimpleMeterRegistry meterRegistry;
+	private PointService pointService;
+
+	@BeforeEach
+	void beforeEach() {
+		meterRegistry = new SimpleMeterRegistry();
+		PointProperties pointProperties = new PointProperties();
+		// 이력 테이블 기록 지표를 검증하므로 기록이 끝난 뒤 반환되도록 함
+		pointProperties.getHistory().setAsyncWrite(false);
+		pointService = PointServiceFactory.create(new FakeUserPointTable(0), new FakePointHistoryTable(0),
+			pointProperties, meterRegistry);
+	}
+
+	@Test
+	void 충전_사용시_락_테이블_전체처리시간_기록() {
+		pointService.chargeUserPoint(USER_ID, 1000);
+		pointService.useUserPoint(USER_ID, 500);
+
+		assertThat(meterRegistry.get("point.operation").tag("type", "charge").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("point.operation").tag("type", "use").timer().count()).isEqualTo(1);
+		assertThat(meterRegistry.get("point.lock.wait").timer().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("point.lock.hold").timer().count()).isEqualTo(2);
+		assertThat(meterRegistry.get("point.table.call").tag("operation", "select_by_id").timer().count())
+			.isEqualTo(1);
+		assertThat(meterRegistry.get("point.table.call").tag("operation", "insert_or_update").timer().count())
+			.isEqualTo(2);
+		assertThat(meterRegistry.get("point.table.call").tag("operation", "insert").timer().count())
+			.isEqualTo(2);
+	}
+
+	@Test
+	void 거절사유별_횟수_기록() {
+		assertThatThrownBy(() -> pointService.useUserPoint(USER_ID, 1000)).isInstanceOf(PointException.class);
+		assertThatThrownBy(() -> pointService.chargeUserPoint(USER_ID, 100)).isInstanceOf(PointException.class);
+		assertThatThrownBy(() -> pointService.chargeUserPoint(USER_ID, 100)).isInstanceOf(PointException.class);
+
+		assertThat(meterRegistry.get("point.rejections").tag("error", "NOT_ENOUGH_POINT_TO_USE").counter().count())
+			.isEqualTo(1);
+		assertThat(meterRegistry.get("point.rejections").tag("error", "BELOW_MIN_CHARGE_POINT").counter().count())
+			.isEqualTo(2);
+		assertThat(meterRegistry.get("point.operation").tag("type", "charge").timer().count()).isEqualTo(2);
+	}
+
+	/**
+	 * 유저 수와 무관하게 지표 수가 늘어나지 않아야함 (유저 ID 를 태그로 쓰지 않음)
+	 */
+	@Test
+	void 유저수와_무관한_지표수() {
+		int meterCount = meterRegistry.getMeters().size();
+
+		for (long userId = 1; userId <= 100; userId++)
+			pointService.chargeUserPoint(userId, 1000);
+
+		assertThat(meterRegistry.getMeters()).hasSize(meterCount);
+		assertThat(meterRegistry.getMeters())
+			.flatExtracting(meter -> meter.getId().getTags())
+			.noneMatch(tag -> tag.getKey().contains("user"));
+	}
+}
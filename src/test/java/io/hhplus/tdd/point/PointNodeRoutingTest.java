@@ -0,0 +1,180 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.TddApplication;
+
+/**
+ * localhost 에 노드 두 개를 띄워 유저를 맡은 노드로 요청이 전달되는지 확인
+ */
+class PointNodeRoutingTest {
+
+	private static final HttpClient httpClient = HttpClient.newHttpClient();
+	private static final ObjectMapper objectMapper = new ObjectMapper();
+
+	private static String[] nodes;
+	private static ConfigurableApplicationContext[] contexts;
+
+	@BeforeAll
+	static void beforeAll() throws IOException {
+		nodes = new String[] {"http://localhost:" + freePort(), "http://localhost:" + freePort()};
+		contexts = new ConfigurableApplicationContext[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			contexts[i] = new SpringApplicationBuilder(TddApplication.class).run(
+				"--server.port=" + URI.create(nodes[i]).getPort(),
+				"--point.sharding.nodes=" + String.join(",", nodes),
+				"--point.sharding.self=" + nodes[i],
+				"--point.sharding.forward-secret=test-secret");
+		}
+	}
+
+	@AfterAll
+	static void afterAll() {
+		for (ConfigurableApplicationContext context : contexts) {
+			if (context != null)
+				context.close();
+		}
+	}
+
+	/**
+	 * 어느 노드로 요청해도 유저를 맡은 노드에서 처리되고, 맡은 노드에 직접 조회해도 같은 잔액
+	 */
+	@Test
+	void 단건_요청_노드_전달() throws Exception {
+		PointNodes pointNodes = contexts[0].getBean(PointNodes.class);
+		long remoteUserId = LongStream.rangeClosed(1, 1000)
+			.filter(userId -> !pointNodes.isLocal(userId))
+			.findFirst()
+			.orElseThrow();
+
+		HttpResponse<String> charged = send(nodes[0], "PATCH", "/point/" + remoteUserId + "/charge", "1000");
+		assertThat(charged.statusCode()).isEqualTo(200);
+		assertThat(objectMapper.readValue(charged.body(), UserPoint.class).point()).isEqualTo(1000);
+
+		String owner = pointNodes.ownerOf(remoteUserId);
+		assertThat(owner).isEqualTo(nodes[1]);
+		UserPoint ownerPoint = objectMapper.readValue(send(owner, "GET", "/point/" + remoteUserId, null).body(),
+			UserPoint.class);
+		assertThat(ownerPoint.point()).isEqualTo(1000);
+
+		HttpResponse<String> rejected = send(nodes[0], "PATCH", "/point/" + remoteUserId + "/use", "5000");
+		assertThat(rejected.statusCode()).isEqualTo(400);
+	}
+
+	/**
+	 * 외부 요청이 전달 헤더를 임의로 붙여도 맡은 노드로 전달되어 맡지 않은 노드에서 처리되지 않음
+	 */
+	@Test
+	void 위조된_전달_헤더_무시() throws Exception {
+		PointNodes pointNodes = contexts[0].getBean(PointNodes.class);
+		long remoteUserId = LongStream.rangeClosed(3001, 4000)
+			.filter(userId -> !pointNodes.isLocal(userId))
+			.findFirst()
+			.orElseThrow();
+
+		HttpRequest spoofed = HttpRequest.newBuilder(URI.create(nodes[0] + "/point/" + remoteUserId + "/charge"))
+			.header("Content-Type", "application/json")
+			.header(PointNodes.FORWARDED_HEADER, "true")
+			.method("PATCH", HttpRequest.BodyPublishers.ofString("1000"))
+			.build();
+		assertThat(httpClient.send(spoofed, HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(200);
+
+		UserPoint ownerPoint = objectMapper.readValue(
+			send(pointNodes.ownerOf(remoteUserId), "GET", "/point/" + remoteUserId, null).body(), UserPoint.class);
+		assertThat(ownerPoint.point()).isEqualTo(1000);
+		assertThat(pointNodes.isForwarded("PATCH", "/point/" + remoteUserId + "/charge", null,
+			"1000".getBytes(StandardCharsets.UTF_8), "true")).isFalse();
+	}
+
+	/**
+	 * 가로챈 전달 헤더를 다른 금액(본문)이나 멱등키로 다시 쓰거나, 서명 후 ttl 이 지난 헤더를 쓰면 받지 않고 맡은 노드로 전달
+	 */
+	@Test
+	void 가로챈_전달_헤더_재사용_거절() throws Exception {
+		PointNodes pointNodes = contexts[0].getBean(PointNodes.class);
+		long remoteUserId = LongStream.rangeClosed(4001, 5000)
+			.filter(userId -> !pointNodes.isLocal(userId))
+			.findFirst()
+			.orElseThrow();
+		String path = "/point/" + remoteUserId + "/charge";
+		byte[] body = "1000".getBytes(StandardCharsets.UTF_8);
+		long now = System.currentTimeMillis();
+		String captured = pointNodes.sign("PATCH", path, null, body, now);
+
+		assertThat(pointNodes.isForwarded("PATCH", path, null, body, captured)).isTrue();
+		assertThat(pointNodes.isForwarded("PATCH", path, null, "5000".getBytes(StandardCharsets.UTF_8), captured))
+			.isFalse();
+		assertThat(pointNodes.isForwarded("PATCH", path, "retry-1", body, captured)).isFalse();
+		assertThat(pointNodes.isForwarded("PATCH", path, null, body,
+			pointNodes.sign("PATCH", path, null, body, now - Duration.ofMinutes(1).toMillis()))).isFalse();
+
+		HttpRequest replayed = HttpRequest.newBuilder(URI.create(nodes[0] + path))
+			.header("Content-Type", "application/json")
+			.header(PointNodes.FORWARDED_HEADER, captured)
+			.method("PATCH", HttpRequest.BodyPublishers.ofString("5000"))
+			.build();
+		assertThat(httpClient.send(replayed, HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(200);
+
+		UserPoint ownerPoint = objectMapper.readValue(
+			send(pointNodes.ownerOf(remoteUserId), "GET", "/point/" + remoteUserId, null).body(), UserPoint.class);
+		assertThat(ownerPoint.point()).isEqualTo(5000);
+	}
+
+	/**
+	 * 일괄 처리는 노드별로 나누어 처리한 뒤 요청 순서대로 응답
+	 */
+	@Test
+	void 일괄처리_노드별_분배() throws Exception {
+		List<PointCommand> commands = LongStream.rangeClosed(2001, 2020)
+			.mapToObj(userId -> new PointCommand(userId, TransactionType.CHARGE, userId))
+			.toList();
+
+		HttpResponse<String> response = send(nodes[1], "PATCH", "/point/batch",
+			objectMapper.writeValueAsString(commands));
+		assertThat(response.statusCode()).isEqualTo(200);
+
+		List<PointCommandResult> results = objectMapper.readValue(response.body(), new TypeReference<>() {
+		});
+		assertThat(results).extracting(result -> result.userPoint().point())
+			.containsExactlyElementsOf(LongStream.rangeClosed(2001, 2020).boxed().toList());
+
+		PointNodes pointNodes = contexts[1].getBean(PointNodes.class);
+		assertThat(commands).anyMatch(command -> pointNodes.isLocal(command.userId()))
+			.anyMatch(command -> !pointNodes.isLocal(command.userId()));
+	}
+
+	private static HttpResponse<String> send(String node, String method, String path, String body)
+		throws IOException, InterruptedException {
+		HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(node + path))
+			.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+		if (body != null)
+			request.header("Content-Type", "application/json");
+		return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+}
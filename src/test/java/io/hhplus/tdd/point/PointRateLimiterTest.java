@@ -0,0 +1,127 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class PointRateLimiterTest {
+
+	private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private long startNanos;
+
+	/**
+	 * 한꺼번에는 userBurst 개까지 허용하고, 그 뒤로는 초당 userPermitsPerSecond 개씩 다시 허용
+	 * 다른 유저는 영향을 받지 않음
+	 */
+	@Test
+	void 유저_버킷() {
+		PointRateLimiter pointRateLimiter = create(10, 5, 1024, 0, 0);
+
+		for (int i = 0; i < 5; i++)
+			assertThat(pointRateLimiter.acquireUser(1, startNanos)).isZero();
+		assertThat(pointRateLimiter.acquireUser(1, startNanos)).isBetween(90L, 100L);
+		assertThat(pointRateLimiter.acquireUser(2, startNanos)).isZero();
+
+		assertThat(pointRateLimiter.acquireUser(1, startNanos + 100 * MILLIS)).isZero();
+		assertThat(pointRateLimiter.acquireUser(1, startNanos + 100 * MILLIS)).isPositive();
+	}
+
+	@Test
+	void 노드_전체_버킷() {
+		PointRateLimiter pointRateLimiter = create(10, 5, 1024, 1000, 100);
+
+		for (int i = 0; i < 100; i++)
+			assertThat(pointRateLimiter.acquireGlobal(startNanos)).isZero();
+		assertThat(pointRateLimiter.acquireGlobal(startNanos)).isEqualTo(1);
+		assertThat(pointRateLimiter.acquireGlobal(startNanos + MILLIS)).isZero();
+	}
+
+	/**
+	 * 유저 100만 명이 한번씩 요청하는 사이 한 유저가 계속 몰아서 요청해도
+	 * 고정된 1024 칸 안에서 몰아서 요청하는 유저만 제한되고 나머지는 모두 허용됨
+	 */
+	@Test
+	void 유저_수와_관계없이_고정된_칸() {
+		PointRateLimiter pointRateLimiter = create(50, 100, 1024, 0, 0);
+		long stepNanos = TimeUnit.MICROSECONDS.toNanos(100);
+
+		int hotAdmitted = 0;
+		int rejected = 0;
+		for (int i = 0; i < 1_000_000; i++) {
+			long nowNanos = startNanos + i * stepNanos;
+			if (pointRateLimiter.acquireUser(i + 1L, nowNanos) > 0)
+				rejected++;
+			if (i % 10 == 0 && pointRateLimiter.acquireUser(0, nowNanos) == 0)
+				hotAdmitted++;
+		}
+
+		// 100 초 동안 50 개씩 + 처음 100 개
+		assertThat(rejected).isZero();
+		assertThat(hotAdmitted).isBetween(5_000, 5_200);
+		// 라인 하나에 최근 요청한 유저가 8 명 넘게 몰리는 드문 경우만 유저별 제한 없이 허용
+		assertThat(pointRateLimiter.stats().untrackedCount()).isLessThan(1_000);
+	}
+
+	/**
+	 * 여러 스레드가 같은 유저 버킷에서 동시에 꺼내도 정확히 userBurst 개만 허용됨
+	 */
+	@Test
+	void 동시_요청() throws Exception {
+		PointRateLimiter pointRateLimiter = create(1, 1000, 1024, 0, 0);
+		AtomicInteger admitted = new AtomicInteger();
+		ExecutorService executorService = Executors.newFixedThreadPool(8);
+		try {
+			List<CompletableFuture<Void>> futures = new ArrayList<>();
+			for (int thread = 0; thread < 8; thread++) {
+				futures.add(CompletableFuture.runAsync(() -> {
+					for (int i = 0; i < 10_000; i++) {
+						if (pointRateLimiter.acquireUser(1, startNanos) == 0)
+							admitted.incrementAndGet();
+					}
+				}, executorService));
+			}
+			CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		assertThat(admitted).hasValue(1000);
+	}
+
+	@Test
+	void 제한_사용_안함() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.getRateLimit().setEnabled(false);
+		pointProperties.getRateLimit().setUserBurst(1);
+		PointRateLimiter pointRateLimiter = new PointRateLimiter(pointProperties);
+		startNanos = System.nanoTime();
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(pointRateLimiter.acquireUser(1, startNanos)).isZero();
+			assertThat(pointRateLimiter.acquireGlobal(startNanos)).isZero();
+		}
+	}
+
+	private PointRateLimiter create(int userPermitsPerSecond, int userBurst, int userBuckets,
+		int globalPermitsPerSecond, int globalBurst) {
+		PointProperties pointProperties = new PointProperties();
+		PointProperties.RateLimit rateLimit = pointProperties.getRateLimit();
+		rateLimit.setUserPermitsPerSecond(userPermitsPerSecond);
+		rateLimit.setUserBurst(userBurst);
+		rateLimit.setUserBuckets(userBuckets);
+		rateLimit.setGlobalPermitsPerSecond(globalPermitsPerSecond);
+		rateLimit.setGlobalBurst(globalBurst);
+		PointRateLimiter pointRateLimiter = new PointRateLimiter(pointProperties);
+		startNanos = System.nanoTime();
+		return pointRateLimiter;
+	}
+}
@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point;
+
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.database.WriteAheadLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 테스트용 PointService 생성
+ * 테이블만 바꿔 끼우고 나머지 구성요소는 실제 구현을 사용
+ */
+public final class PointServiceFactory {
+
+	private PointServiceFactory() {
+	}
+
+	public static PointService create(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+		PointProperties pointProperties) {
+		return create(userPointTable, pointHistoryTable, pointProperties, new SimpleMeterRegistry());
+	}
+
+	public static PointService create(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+		PointProperties pointProperties, MeterRegistry meterRegistry) {
+		return create(userPointTable, pointHistoryTable, pointProperties, meterRegistry,
+			new PointEventHub(pointProperties));
+	}
+
+	public static PointService create(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+		PointProperties pointProperties, MeterRegistry meterRegistry, PointEventHub pointEventHub) {
+		PointMetrics pointMetrics = new PointMetrics(meterRegistry);
+		WriteAheadLog writeAheadLog = new WriteAheadLog(pointProperties, pointMetrics);
+		UserPointRepository userPointRepository =
+			new UserPointRepository(userPointTable, writeAheadLog, pointProperties, pointMetrics);
+		PointHistoryRepository pointHistoryRepository =
+			new PointHistoryRepository(pointHistoryTable, writeAheadLog, pointProperties, pointMetrics);
+		UserLockManager userLockManager = new UserLockManager(pointMetrics);
+		PointLotBook pointLotBook = new PointLotBook(pointProperties);
+		PointAggregates pointAggregates = new PointAggregates(pointHistoryRepository, pointProperties);
+		OptimisticPointStore optimisticPointStore = new OptimisticPointStore(userPointRepository,
+			pointHistoryRepository, userLockManager, pointEventHub, pointLotBook, pointAggregates, pointProperties);
+		IdempotencyCache idempotencyCache = new IdempotencyCache(pointProperties, pointMetrics);
+
+		return new PointService(userPointRepository, pointHistoryRepository, userLockManager, optimisticPointStore,
+			idempotencyCache, pointEventHub, pointLotBook, pointAggregates, pointProperties, pointMetrics);
+	}
+}
@@ -0,0 +1,178 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.BindException;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+
+class PointServiceGroupCommitTest {
+
+	private static final long USER_ID = 1;
+	private static final int THREAD_SIZE = 100;
+
+	private FakeUserPointTable userPointTable;
+	private FakePointHistoryTable pointHistoryTable;
+	private PointService pointService;
+	private ExecutorService executorService;
+
+	@BeforeEach
+	void beforeEach() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.setUpdateMode(PointUpdateMode.GROUP_COMMIT);
+
+		userPointTable = new FakeUserPointTable(5);
+		pointHistoryTable = new FakePointHistoryTable(0);
+		pointService = PointServiceFactory.create(userPointTable, pointHistoryTable, pointProperties);
+		executorService = Executors.newFixedThreadPool(THREAD_SIZE);
+	}
+
+	@AfterEach
+	void afterEach() {
+		executorService.shutdownNow();
+	}
+
+	/**
+	 * 한 유저에게 충전, 사용 요청이 동시에 몰리는 상황 가정
+	 * 1. 반영된 요청마다 이력 순서대로 재계산한 잔액과 응답받은 잔액이 같아야함
+	 * 2. 잔액이 부족했던 사용 요청만 거절되어야함
+	 * 3. 여러 요청이 한번의 insertOrUpdate 로 묶여 반영되어야함
+	 */
+	@Test
+	void 그룹커밋_동시_충전_사용_요청_테스트() throws InterruptedException {
+		// 금액으로 요청을 구분할 수 있도록 충전 1000원대, 사용 100원대로 모두 다르게 설정
+		Map<Long, UserPoint> acceptedResults = new ConcurrentHashMap<>();
+		Map<Long, PointError> rejectedResults = new ConcurrentHashMap<>();
+		CountDownLatch startLatch = new CountDownLatch(1);
+		CountDownLatch doneLatch = new CountDownLatch(THREAD_SIZE);
+
+		for (int i = 0; i < THREAD_SIZE; i++) {
+			TransactionType transactionType = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+			long amount = transactionType == TransactionType.CHARGE ? 1000 + i : 100 + i;
+
+			executorService.submit(() -> {
+				try {
+					startLatch.await();
+					UserPoint result = transactionType == TransactionType.CHARGE
+						? pointService.chargeUserPoint(USER_ID, amount)
+						: pointService.useUserPoint(USER_ID, amount);
+					acceptedResults.put(amount, result);
+				} catch (PointException e) {
+					rejectedResults.put(amount, e.getError());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					doneLatch.countDown();
+				}
+			});
+		}
+
+		startLatch.countDown();
+		assertThat(doneLatch.await(30, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(acceptedResults.size() + rejectedResults.size()).isEqualTo(THREAD_SIZE);
+		assertThat(rejectedResults.values())
+			.allSatisfy(error -> assertThat(error).isEqualTo(PointError.NOT_ENOUGH_POINT_TO_USE));
+
+		// 이력 순서대로 잔액을 재계산하면 각 요청이 응답받은 잔액과 같아야함
+		List<PointHistory> histories = pointHistoryTable.selectAllByUserId(USER_ID);
+		assertThat(histories).hasSize(acceptedResults.size());
+
+		long runningPoint = 0;
+		for (PointHistory history : histories) {
+			runningPoint = history.type() == TransactionType.CHARGE
+				? runningPoint + history.amount()
+				: runningPoint - history.amount();
+
+			assertThat(runningPoint).isGreaterThanOrEqualTo(0);
+			assertThat(acceptedResults.get(history.amount()).point()).isEqualTo(runningPoint);
+		}
+
+		assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(runningPoint);
+		assertThat(userPointTable.updateCount.get()).isLessThan(acceptedResults.size());
+	}
+
+	@Test
+	void 그룹커밋_단건_사용_예외_포인트부족() {
+		assertThatThrownBy(() -> pointService.useUserPoint(USER_ID, 1000))
+			.isInstanceOf(PointException.class)
+			.extracting("error")
+			.isEqualTo(PointError.NOT_ENOUGH_POINT_TO_USE);
+
+		assertThat(userPointTable.updateCount.get()).isZero();
+		assertThat(pointHistoryTable.selectAllByUserId(USER_ID)).isEmpty();
+	}
+
+	/**
+	 * 한 유저에게 요청이 몰릴 때 그룹 커밋은 요청마다 테이블에 반영하는 LOCK 방식보다 훨씬 빨리 처리되어야함
+	 * 이력 테이블 기록은 비동기로 분리하여 잔액 반영 횟수 차이만 비교
+	 */
+	@Test
+	void 그룹커밋_처리량_LOCK_대비() throws Exception {
+		long lockMillis = chargeConcurrently(PointUpdateMode.LOCK);
+		long groupCommitMillis = chargeConcurrently(PointUpdateMode.GROUP_COMMIT);
+
+		assertThat(groupCommitMillis * 5).as("LOCK %dms, GROUP_COMMIT %dms", lockMillis, groupCommitMillis)
+			.isLessThan(lockMillis);
+	}
+
+	/**
+	 * 한번에 반영할 요청 수가 0 이하이면 대기열을 비우지 못하므로 설정을 바인딩할 때 거절
+	 */
+	@Test
+	void 그룹커밋_최대요청수_0이하_바인딩_거절() {
+		Binder binder = new Binder(new MapConfigurationPropertySource(Map.of("point.group-commit.max-batch-size", "0")));
+
+		assertThatThrownBy(() -> binder.bind("point", PointProperties.class))
+			.isInstanceOf(BindException.class)
+			.rootCause()
+			.hasMessageContaining("max-batch-size");
+	}
+
+	/**
+	 * 한 유저에게 충전 요청 THREAD_SIZE 개를 동시에 보내 모두 처리될 때까지 걸린 시간
+	 */
+	private long chargeConcurrently(PointUpdateMode updateMode) throws Exception {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.setUpdateMode(updateMode);
+		pointProperties.getHistory().setAsyncWrite(true);
+		FakeUserPointTable userPointTable = new FakeUserPointTable(10);
+		PointService pointService = PointServiceFactory.create(userPointTable, new FakePointHistoryTable(10),
+			pointProperties);
+		pointService.getUserPoint(USER_ID);
+
+		CountDownLatch startLatch = new CountDownLatch(1);
+		List<Future<UserPoint>> futures = new ArrayList<>();
+		for (int i = 0; i < THREAD_SIZE; i++) {
+			futures.add(executorService.submit(() -> {
+				startLatch.await();
+				return pointService.chargeUserPoint(USER_ID, 500);
+			}));
+		}
+
+		long startNanos = System.nanoTime();
+		startLatch.countDown();
+		for (Future<UserPoint> future : futures)
+			future.get(30, TimeUnit.SECONDS);
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+
+		assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(500L * THREAD_SIZE);
+		return elapsedMillis;
+	}
+}
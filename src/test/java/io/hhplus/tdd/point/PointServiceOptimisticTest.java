@@ -0,0 +1,169 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+import io.hhplus.tdd.database.PointHistoryRepository;
+import io.hhplus.tdd.database.UserPointRepository;
+import io.hhplus.tdd.database.WriteAheadLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PointServiceOptimisticTest {
+
+	private static final long USER_ID = 1;
+	private static final int THREAD_SIZE = 100;
+
+	private FakeUserPointTable userPointTable;
+	private FakePointHistoryTable pointHistoryTable;
+	private OptimisticPointStore optimisticPointStore;
+	private PointService pointService;
+	private ExecutorService executorService;
+
+	@BeforeEach
+	void beforeEach() {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.setUpdateMode(PointUpdateMode.OPTIMISTIC);
+
+		userPointTable = new FakeUserPointTable(5);
+		pointHistoryTable = new FakePointHistoryTable(0);
+		PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+		WriteAheadLog writeAheadLog = new WriteAheadLog(pointProperties, pointMetrics);
+		UserPointRepository userPointRepository =
+			new UserPointRepository(userPointTable, writeAheadLog, pointProperties, pointMetrics);
+		PointHistoryRepository pointHistoryRepository =
+			new PointHistoryRepository(pointHistoryTable, writeAheadLog, pointProperties, pointMetrics);
+		UserLockManager userLockManager = new UserLockManager(pointMetrics);
+		PointEventHub pointEventHub = new PointEventHub(pointProperties);
+		PointLotBook pointLotBook = new PointLotBook(pointProperties);
+		PointAggregates pointAggregates = new PointAggregates(pointHistoryRepository, pointProperties);
+		optimisticPointStore = new OptimisticPointStore(userPointRepository, pointHistoryRepository, userLockManager,
+			pointEventHub, pointLotBook, pointAggregates, pointProperties);
+		pointService = new PointService(userPointRepository, pointHistoryRepository, userLockManager,
+			optimisticPointStore, new IdempotencyCache(pointProperties, pointMetrics), pointEventHub, pointLotBook,
+			pointAggregates, pointProperties, pointMetrics);
+		executorService = Executors.newFixedThreadPool(THREAD_SIZE);
+	}
+
+	@AfterEach
+	void afterEach() {
+		executorService.shutdownNow();
+	}
+
+	/**
+	 * 한 유저에게 충전, 사용 요청이 동시에 몰리는 상황 가정
+	 * 1. 반영된 요청마다 이력 순서대로 재계산한 잔액과 응답받은 잔액이 같아야함
+	 * 2. 잔액이 부족했던 사용 요청만 거절되어야함
+	 * 3. 잔액 결정은 CAS 로 처리되고 테이블 저장은 여러 요청이 묶여 반영되어야함
+	 */
+	@Test
+	void 낙관적_동시_충전_사용_요청_테스트() throws InterruptedException {
+		// 금액으로 요청을 구분할 수 있도록 충전 1000원대, 사용 100원대로 모두 다르게 설정
+		Map<Long, UserPoint> acceptedResults = new ConcurrentHashMap<>();
+		Map<Long, PointError> rejectedResults = new ConcurrentHashMap<>();
+		CountDownLatch startLatch = new CountDownLatch(1);
+		CountDownLatch doneLatch = new CountDownLatch(THREAD_SIZE);
+
+		for (int i = 0; i < THREAD_SIZE; i++) {
+			TransactionType transactionType = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+			long amount = transactionType == TransactionType.CHARGE ? 1000 + i : 100 + i;
+
+			executorService.submit(() -> {
+				try {
+					startLatch.await();
+					UserPoint result = transactionType == TransactionType.CHARGE
+						? pointService.chargeUserPoint(USER_ID, amount)
+						: pointService.useUserPoint(USER_ID, amount);
+					acceptedResults.put(amount, result);
+				} catch (PointException e) {
+					rejectedResults.put(amount, e.getError());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} finally {
+					doneLatch.countDown();
+				}
+			});
+		}
+
+		startLatch.countDown();
+		assertThat(doneLatch.await(30, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(acceptedResults.size() + rejectedResults.size()).isEqualTo(THREAD_SIZE);
+		assertThat(rejectedResults.values())
+			.allSatisfy(error -> assertThat(error).isEqualTo(PointError.NOT_ENOUGH_POINT_TO_USE));
+
+		// 이력 순서대로 잔액을 재계산하면 각 요청이 응답받은 잔액과 같아야함
+		List<PointHistory> histories = pointHistoryTable.selectAllByUserId(USER_ID);
+		assertThat(histories).hasSize(acceptedResults.size());
+
+		long runningPoint = 0;
+		for (PointHistory history : histories) {
+			runningPoint = history.type() == TransactionType.CHARGE
+				? runningPoint + history.amount()
+				: runningPoint - history.amount();
+
+			assertThat(runningPoint).isGreaterThanOrEqualTo(0);
+			assertThat(acceptedResults.get(history.amount()).point()).isEqualTo(runningPoint);
+		}
+
+		assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(runningPoint);
+		assertThat(userPointTable.updateCount.get()).isLessThan(acceptedResults.size());
+		assertThat(optimisticPointStore.stats().commitCount()).isEqualTo(acceptedResults.size());
+		assertThat(pointService.getUserPoint(USER_ID).point()).isEqualTo(runningPoint);
+	}
+
+	@Test
+	void 낙관적_단건_사용_예외_포인트부족() {
+		assertThatThrownBy(() -> pointService.useUserPoint(USER_ID, 1000))
+			.isInstanceOf(PointException.class)
+			.extracting("error")
+			.isEqualTo(PointError.NOT_ENOUGH_POINT_TO_USE);
+
+		assertThat(userPointTable.updateCount.get()).isZero();
+		assertThat(pointHistoryTable.selectAllByUserId(USER_ID)).isEmpty();
+		assertThat(optimisticPointStore.stats().commitCount()).isZero();
+	}
+
+	@Test
+	void 낙관적_충전후_조회() {
+		pointService.chargeUserPoint(USER_ID, 1000);
+		UserPoint userPoint = pointService.useUserPoint(USER_ID, 300);
+
+		assertThat(userPoint.point()).isEqualTo(700);
+		assertThat(pointService.getUserPoint(USER_ID).point()).isEqualTo(700);
+		assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(700);
+		assertThat(optimisticPointStore.stats()).isEqualTo(new OptimisticPointStore.Stats(1, 2, 0, 0));
+	}
+
+	/**
+	 * 테이블 저장이 실패하면 메모리 잔액도 되돌려 테이블과 같아야 하고, 다음 요청은 테이블 잔액에서 이어서 반영되어야함
+	 */
+	@Test
+	void 낙관적_저장_실패시_테이블_잔액으로_복구() {
+		pointService.chargeUserPoint(USER_ID, 1000);
+		userPointTable.failNextUpdate.set(true);
+
+		assertThatThrownBy(() -> pointService.chargeUserPoint(USER_ID, 500))
+			.isInstanceOf(IllegalStateException.class);
+
+		assertThat(pointService.getUserPoint(USER_ID).point()).isEqualTo(1000);
+		assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(1000);
+		assertThat(pointHistoryTable.selectAllByUserId(USER_ID)).hasSize(1);
+
+		assertThat(pointService.chargeUserPoint(USER_ID, 700).point()).isEqualTo(1700);
+		assertThat(userPointTable.selectById(USER_ID).point()).isEqualTo(1700);
+		assertThat(pointHistoryTable.selectAllByUserId(USER_ID)).hasSize(2);
+	}
+}
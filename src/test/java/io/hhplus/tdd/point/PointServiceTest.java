@@ -6,9 +6,9 @@ import static org.mockito.Mockito.*;
 
 import java.util.List;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -18,7 +18,6 @@ import io.hhplus.tdd.database.UserPointTable;
 @ExtendWith(MockitoExtension.class)
 class PointServiceTest {
 
-	@InjectMocks
 	private PointService pointService;
 
 	@Mock
@@ -27,6 +26,14 @@ class PointServiceTest {
 	@Mock
 	private PointHistoryTable pointHistoryTable;
 
+	@BeforeEach
+	void beforeEach() {
+		PointProperties pointProperties = new PointProperties();
+		// 테이블 기록을 검증하므로 기록이 끝난 뒤 반환되도록 함
+		pointProperties.getHistory().setAsyncWrite(false);
+		pointService = PointServiceFactory.create(userPointTable, pointHistoryTable, pointProperties);
+	}
+
 	@Test
 	void 유저포인트조회_정상() {
 		long userId = 1;
@@ -40,20 +47,71 @@ class PointServiceTest {
 		assertThat(result).isEqualTo(userPoint);
 	}
 
+	/**
+	 * 한번 조회한 유저는 캐시에서 응답하여 테이블을 다시 조회하지 않음
+	 */
+	@Test
+	void 유저포인트조회_캐시적중() {
+		long userId = 1;
+		UserPoint userPoint = new UserPoint(userId, 1000, System.currentTimeMillis());
+
+		when(userPointTable.selectById(userId)).thenReturn(userPoint);
+
+		pointService.getUserPoint(userId);
+		UserPoint result = pointService.getUserPoint(userId);
+
+		verify(userPointTable, times(1)).selectById(userId);
+		assertThat(result.point()).isEqualTo(userPoint.point());
+	}
+
+	/**
+	 * 충전 후 조회시 테이블 조회 없이 충전된 잔액을 응답
+	 */
+	@Test
+	void 유저포인트충전후_조회_캐시갱신() {
+		long userId = 1;
+		long amount = 1000;
+		UserPoint userPoint = new UserPoint(userId, 10000, System.currentTimeMillis());
+		UserPoint updatedUserPoint = new UserPoint(userId, userPoint.point() + amount, System.currentTimeMillis());
+
+		when(userPointTable.selectById(userId)).thenReturn(userPoint);
+		when(userPointTable.insertOrUpdate(userId, userPoint.point() + amount)).thenReturn(updatedUserPoint);
+
+		pointService.chargeUserPoint(userId, amount);
+		UserPoint result = pointService.getUserPoint(userId);
+
+		verify(userPointTable, times(1)).selectById(userId);
+		assertThat(result.point()).isEqualTo(updatedUserPoint.point());
+	}
+
+	/**
+	 * 이력 조회는 전체 테이블을 훑지 않고 유저별 색인에서 응답
+	 */
 	@Test
 	void 유저포인트내역조회_정상() {
-		long pointHistoryId = 1;
 		long userId = 1;
-		List<PointHistory> pointHistories = List.of(
-			new PointHistory(pointHistoryId, userId, 100, TransactionType.CHARGE, System.currentTimeMillis())
-		);
+		long amount = 1000;
+		UserPoint userPoint = new UserPoint(userId, 10000, System.currentTimeMillis());
+		UserPoint updatedUserPoint = new UserPoint(userId, userPoint.point() + amount, System.currentTimeMillis());
 
-		when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(pointHistories);
+		when(userPointTable.selectById(userId)).thenReturn(userPoint);
+		when(userPointTable.insertOrUpdate(userId, userPoint.point() + amount)).thenReturn(updatedUserPoint);
 
+		pointService.chargeUserPoint(userId, amount);
 		List<PointHistory> result = pointService.getUserPointHistories(userId);
 
-		verify(pointHistoryTable, times(1)).selectAllByUserId(userId);
-		assertThat(result).isEqualTo(pointHistories);
+		verify(pointHistoryTable, never()).selectAllByUserId(userId);
+		assertThat(result).hasSize(1);
+		assertThat(result.get(0).userId()).isEqualTo(userId);
+		assertThat(result.get(0).amount()).isEqualTo(amount);
+		assertThat(result.get(0).type()).isEqualTo(TransactionType.CHARGE);
+	}
+
+	@Test
+	void 유저포인트내역조회_예외_조회개수초과() {
+		PointHistoryQuery query = new PointHistoryQuery(1001, null, null, null, null, null);
+
+		assertThrows(IllegalArgumentException.class, () -> pointService.getUserPointHistories(1, query));
 	}
 
 	@Test
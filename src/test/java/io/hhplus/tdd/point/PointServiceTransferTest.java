@@ -0,0 +1,141 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import io.hhplus.tdd.database.FakePointHistoryTable;
+import io.hhplus.tdd.database.FakeUserPointTable;
+
+class PointServiceTransferTest {
+
+	private static final long INIT_POINT = 50_000;
+	private static final int USER_COUNT = 1000;
+	private static final int THREAD_SIZE = 16;
+	private static final int TRANSFERS_PER_THREAD = 2000;
+
+	private FakeUserPointTable userPointTable;
+	private FakePointHistoryTable pointHistoryTable;
+	private PointService pointService;
+	private ExecutorService executorService;
+
+	@AfterEach
+	void afterEach() {
+		if (executorService != null)
+			executorService.shutdownNow();
+	}
+
+	@Test
+	void 이체_정상() {
+		setUp(PointUpdateMode.LOCK, 2);
+
+		PointTransfer transfer = pointService.transferUserPoint(1, 2, 3000);
+
+		assertThat(transfer.from().point()).isEqualTo(INIT_POINT - 3000);
+		assertThat(transfer.to().point()).isEqualTo(INIT_POINT + 3000);
+		assertThat(pointService.getUserPointHistories(1)).extracting(PointHistory::type, PointHistory::amount)
+			.containsExactly(tuple(TransactionType.TRANSFER_OUT, 3000L));
+		assertThat(pointService.getUserPointHistories(2)).extracting(PointHistory::type, PointHistory::amount)
+			.containsExactly(tuple(TransactionType.TRANSFER_IN, 3000L));
+	}
+
+	/**
+	 * 보내는 유저 잔액 부족, 받는 유저 최대 보유 포인트 초과, 자기 자신, 0 이하 금액은 거절되고 잔액과 이력은 그대로
+	 */
+	@Test
+	void 이체_거절() {
+		setUp(PointUpdateMode.LOCK, 2);
+		pointService.chargeUserPoint(2, 1000);
+
+		assertThat(assertThrows(PointException.class, () -> pointService.transferUserPoint(1, 2, INIT_POINT + 1))
+			.getError()).isEqualTo(PointError.NOT_ENOUGH_POINT_TO_USE);
+		assertThat(assertThrows(PointException.class, () -> pointService.transferUserPoint(1, 2, INIT_POINT))
+			.getError()).isEqualTo(PointError.EXCEED_MAX_HOLD_POINT);
+		assertThat(assertThrows(PointException.class, () -> pointService.transferUserPoint(1, 1, 1000))
+			.getError()).isEqualTo(PointError.SELF_TRANSFER);
+		assertThat(assertThrows(PointException.class, () -> pointService.transferUserPoint(1, 2, 0))
+			.getError()).isEqualTo(PointError.INVALID_TRANSFER_AMOUNT);
+
+		assertThat(pointService.getUserPoint(1).point()).isEqualTo(INIT_POINT);
+		assertThat(pointService.getUserPoint(2).point()).isEqualTo(INIT_POINT + 1000);
+		assertThat(pointService.getUserPointHistories(1)).isEmpty();
+		assertThat(pointService.getUserPointHistories(2)).hasSize(1);
+	}
+
+	/**
+	 * 1,000 명이 서로 무작위로 이체하고 그 사이 충전도 함께 들어와도 교착 없이 끝나고 전체 포인트가 보존됨
+	 */
+	@ParameterizedTest
+	@EnumSource(PointUpdateMode.class)
+	void 무작위_교차_이체_포인트_보존(PointUpdateMode updateMode) throws Exception {
+		setUp(updateMode, USER_COUNT);
+		executorService = Executors.newFixedThreadPool(THREAD_SIZE);
+		AtomicLong transferred = new AtomicLong();
+		AtomicLong charged = new AtomicLong();
+
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < THREAD_SIZE; i++) {
+			futures.add(CompletableFuture.runAsync(() -> {
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int j = 0; j < TRANSFERS_PER_THREAD; j++) {
+					long from = random.nextInt(USER_COUNT) + 1;
+					long to = random.nextInt(USER_COUNT) + 1;
+					try {
+						if (j % 10 == 0) {
+							pointService.chargeUserPoint(from, 500);
+							charged.addAndGet(500);
+						} else if (from != to) {
+							pointService.transferUserPoint(from, to, random.nextInt(1, 5000));
+							transferred.incrementAndGet();
+						}
+					} catch (PointException e) {
+						// 잔액 부족, 최대 보유 포인트 초과는 거절되어도 보존에는 영향 없음
+					}
+				}
+			}, executorService));
+		}
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+		long total = 0;
+		long transferOutCount = 0;
+		long transferInCount = 0;
+		for (long userId = 1; userId <= USER_COUNT; userId++) {
+			total += pointService.getUserPoint(userId).point();
+			for (PointHistory pointHistory : pointService.getUserPointHistories(userId)) {
+				if (pointHistory.type() == TransactionType.TRANSFER_OUT)
+					transferOutCount++;
+				else if (pointHistory.type() == TransactionType.TRANSFER_IN)
+					transferInCount++;
+			}
+		}
+
+		assertThat(transferred.get()).isPositive();
+		assertThat(total).isEqualTo(INIT_POINT * USER_COUNT + charged.get());
+		assertThat(transferOutCount).isEqualTo(transferred.get()).isEqualTo(transferInCount);
+	}
+
+	private void setUp(PointUpdateMode updateMode, int userCount) {
+		PointProperties pointProperties = new PointProperties();
+		pointProperties.setUpdateMode(updateMode);
+		userPointTable = new FakeUserPointTable(0);
+		pointHistoryTable = new FakePointHistoryTable(0);
+		for (long userId = 1; userId <= userCount; userId++)
+			userPointTable.insertOrUpdate(userId, INIT_POINT);
+
+		pointService = PointServiceFactory.create(userPointTable, pointHistoryTable, pointProperties);
+	}
+}
@@ -0,0 +1,145 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PointShardRouterTest {
+
+	private static final int SHARD_COUNT = 4;
+	private static final int USER_COUNT = 40;
+
+	private PointShardRouter pointShardRouter;
+
+	@BeforeEach
+	void beforeEach() {
+		PointProperties pointProperties = new PointProperties();
+		PointMetrics pointMetrics = new PointMetrics(new SimpleMeterRegistry());
+
+		PointEventHub pointEventHub = new PointEventHub(pointProperties);
+		List<PointShard> shards = new ArrayList<>();
+		for (int index = 0; index < SHARD_COUNT; index++) {
+			shards.add(PointShard.create(index, new UserPointTable(), new PointHistoryTable(), pointEventHub,
+				new PointRateLimiter(pointProperties), pointProperties, pointMetrics));
+		}
+		pointShardRouter = new PointShardRouter(shards,
+			new PointNodes(pointProperties, new ObjectMapper(), pointMetrics), pointProperties, pointMetrics);
+
+		// 유저마다 충전 후 사용 (이력 2건씩)
+		pointShardRouter.execute(commands(TransactionType.CHARGE, 1000));
+		pointShardRouter.execute(commands(TransactionType.USE, 100));
+	}
+
+	@AfterEach
+	void afterEach() {
+		pointShardRouter.close();
+	}
+
+	/**
+	 * 일괄 처리 결과는 샤드가 달라도 요청 순서대로, 잔액은 유저를 맡은 샤드에서 조회
+	 */
+	@Test
+	void 샤드별_일괄처리_요청순서_결과() {
+		List<PointCommandResult> results = pointShardRouter.execute(commands(TransactionType.CHARGE, 500));
+
+		assertThat(results).hasSize(USER_COUNT);
+		for (int i = 0; i < USER_COUNT; i++) {
+			long userId = i + 1;
+			assertThat(results.get(i).userPoint().id()).isEqualTo(userId);
+			assertThat(results.get(i).userPoint().point()).isEqualTo(1400);
+			assertThat(pointShardRouter.getUserPoint(userId).point()).isEqualTo(1400);
+		}
+
+		Set<Integer> usedShards = new HashSet<>();
+		for (long userId = 1; userId <= USER_COUNT; userId++)
+			usedShards.add(pointShardRouter.shardFor(userId).index());
+		assertThat(usedShards).hasSize(SHARD_COUNT);
+	}
+
+	/**
+	 * 이력 ID 는 샤드가 달라도 겹치지 않고, 유저 이력 조회 커서는 전체 이력 ID 로 동작
+	 */
+	@Test
+	void 전체_이력_ID_와_커서() {
+		Set<Long> ids = new HashSet<>();
+		for (long userId = 1; userId <= USER_COUNT; userId++) {
+			List<PointHistory> histories = pointShardRouter.getUserPointHistories(userId, PointHistoryQuery.all());
+			assertThat(histories).extracting(PointHistory::type)
+				.containsExactly(TransactionType.CHARGE, TransactionType.USE);
+
+			PointHistory charge = histories.get(0);
+			PointHistory use = histories.get(1);
+			assertThat(charge.id() % SHARD_COUNT).isEqualTo(pointShardRouter.shardFor(userId).index());
+			assertThat(pointShardRouter.getUserPointHistories(userId,
+				new PointHistoryQuery(null, charge.id(), null, null, null, null))).containsExactly(use);
+			assertThat(pointShardRouter.getUserPointHistories(userId,
+				new PointHistoryQuery(null, null, use.id(), null, null, null))).containsExactly(charge);
+
+			ids.add(charge.id());
+			ids.add(use.id());
+		}
+
+		assertThat(ids).hasSize(USER_COUNT * 2);
+	}
+
+	/**
+	 * 전체 이력 순회는 샤드별 이력을 ID 순서로 합치고, afterId 다음부터 이어받음
+	 */
+	@Test
+	void 샤드_이력_병합_순회() {
+		List<Long> ids = new ArrayList<>();
+		pointShardRouter.iteratePointHistories(0).forEachRemaining(pointHistory -> ids.add(pointHistory.id()));
+
+		assertThat(ids).hasSize(USER_COUNT * 2).isSorted().doesNotHaveDuplicates();
+
+		long afterId = ids.get(ids.size() / 2);
+		Iterator<PointHistory> resumed = pointShardRouter.iteratePointHistories(afterId);
+		List<Long> resumedIds = new ArrayList<>();
+		resumed.forEachRemaining(pointHistory -> resumedIds.add(pointHistory.id()));
+
+		assertThat(resumedIds).isEqualTo(ids.subList(ids.size() / 2 + 1, ids.size()));
+	}
+
+	/**
+	 * 다른 샤드가 맡은 유저에게도 이체하고, 두 샤드의 잔액과 이력이 함께 바뀜
+	 */
+	@Test
+	void 샤드_간_이체() {
+		long fromUserId = 1;
+		long toUserId = LongStream.rangeClosed(2, USER_COUNT)
+			.filter(userId -> pointShardRouter.shardFor(userId) != pointShardRouter.shardFor(fromUserId))
+			.findFirst()
+			.orElseThrow();
+
+		PointTransfer transfer = pointShardRouter.transferUserPoint(fromUserId, toUserId, 400);
+
+		assertThat(transfer.from().point()).isEqualTo(500);
+		assertThat(transfer.to().point()).isEqualTo(1300);
+		assertThat(pointShardRouter.getUserPoint(toUserId).point()).isEqualTo(1300);
+		assertThat(pointShardRouter.getUserPointHistories(toUserId, PointHistoryQuery.all()))
+			.extracting(PointHistory::type)
+			.containsExactly(TransactionType.CHARGE, TransactionType.USE, TransactionType.TRANSFER_IN);
+	}
+
+	private static List<PointCommand> commands(TransactionType type, long amount) {
+		return IntStream.rangeClosed(1, USER_COUNT)
+			.mapToObj(userId -> new PointCommand(userId, type, amount))
+			.toList();
+	}
+}
@@ -0,0 +1,75 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PointTopologyTest {
+
+	@TempDir
+	private Path directory;
+
+	private PointProperties pointProperties;
+
+	@BeforeEach
+	void beforeEach() {
+		pointProperties = new PointProperties();
+		pointProperties.getWal().setEnabled(true);
+		pointProperties.getWal().setDirectory(directory.toString());
+		pointProperties.getSharding().setShardCount(2);
+	}
+
+	/**
+	 * 처음 시작할 때 구성을 남기고, 같은 구성(주소 끝의 / 차이 포함)으로 다시 시작하면 통과
+	 */
+	@Test
+	void 같은_구성으로_재시작() {
+		pointProperties.getSharding().setNodes(List.of("http://a:8080", "http://b:8080"));
+		pointProperties.getSharding().setSelf("http://a:8080");
+		PointTopology.verify(pointProperties);
+		assertThat(directory.resolve(PointTopology.FILE_NAME)).exists();
+
+		pointProperties.getSharding().setNodes(List.of("http://a:8080/", "http://b:8080/"));
+		pointProperties.getSharding().setSelf("http://a:8080/");
+
+		assertThatCode(() -> PointTopology.verify(pointProperties)).doesNotThrowAnyException();
+	}
+
+	/**
+	 * 샤드 수나 노드 목록이 바뀌면 유저가 기록이 없는 샤드로 옮겨가므로 시작하지 않음
+	 */
+	@Test
+	void 구성이_바뀌면_시작하지_않음() {
+		PointTopology.verify(pointProperties);
+
+		pointProperties.getSharding().setShardCount(4);
+		assertThatThrownBy(() -> PointTopology.verify(pointProperties))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("shard-count: 2 -> 4");
+
+		pointProperties.getSharding().setShardCount(2);
+		pointProperties.getSharding().setNodes(List.of("http://a:8080", "http://b:8080"));
+		pointProperties.getSharding().setSelf("http://a:8080");
+		assertThatThrownBy(() -> PointTopology.verify(pointProperties))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("nodes: [] -> [http://a:8080, http://b:8080]");
+	}
+
+	/**
+	 * WAL 을 쓰지 않으면 다시 읽을 기록이 없으므로 구성을 남기지도 확인하지도 않음
+	 */
+	@Test
+	void WAL_미사용시_확인하지_않음() {
+		pointProperties.getWal().setEnabled(false);
+
+		PointTopology.verify(pointProperties);
+
+		assertThat(Files.exists(directory.resolve(PointTopology.FILE_NAME))).isFalse();
+	}
+}
@@ -0,0 +1,245 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+
+// 테이블에 기록된 이력을 검증하므로 이력 기록이 끝난 뒤 응답하도록 함
+@SpringBootTest(properties = "point.history.async-write=false")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ReactivePointControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private UserPointTable userPointTable;
+
+	@Autowired
+	private PointHistoryTable pointHistoryTable;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private PointShardRouter pointShardRouter;
+
+	@Autowired
+	private PointProperties pointProperties;
+
+	// PointControllerTest 와 같은 테이블을 쓰므로 겹치지 않는 유저 ID 사용
+	private static long userId = 1_000_000;
+	private static final long INIT_POINT = 50000;
+	private static final int THREAD_SIZE = 10;
+
+	@BeforeEach
+	void beforeEach() {
+		userId++;
+		userPointTable.insertOrUpdate(userId, INIT_POINT);
+	}
+
+	/**
+	 * 같은 유저에게 충전, 사용이 동시에 들어와도 하나씩 순서대로 반영됨
+	 */
+	@Test
+	void 동시_충전_사용() throws Exception {
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < THREAD_SIZE; i++) {
+			String path = i % 2 == 0 ? "/reactive/point/{id}/charge" : "/reactive/point/{id}/use";
+			futures.add(CompletableFuture.runAsync(() -> {
+				try {
+					perform(patch(path, userId).contentType(MediaType.APPLICATION_JSON).content("1000"))
+						.andExpect(status().isOk());
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			}));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+		perform(get("/reactive/point/{id}", userId))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.point").value(INIT_POINT));
+		assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(THREAD_SIZE);
+	}
+
+	/**
+	 * 다른 요청이 유저 락을 잡고 있으면 리액티브 요청은 락을 기다리지 않고(락 대기 수에 들어가지 않고) 다시 시도하며,
+	 * 락이 풀리면 반영됨
+	 */
+	@Test
+	void 유저_락_점유중_기다리지않고_재시도() throws Exception {
+		PointProperties.Reactive reactive = pointProperties.getReactive();
+		int lockRetries = reactive.getLockRetries();
+		reactive.setLockRetries(Integer.MAX_VALUE);
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch unlock = new CountDownLatch(1);
+		try {
+			CompletableFuture<Boolean> holder = CompletableFuture.supplyAsync(
+				() -> pointShardRouter.tryWithUserLock(userId, () -> {
+					locked.countDown();
+					try {
+						return unlock.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return false;
+					}
+				}));
+			assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+			MvcResult mvcResult = mockMvc.perform(patch("/reactive/point/{id}/charge", userId)
+					.contentType(MediaType.APPLICATION_JSON).content("1000"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+			Thread.sleep(100);
+
+			assertThat(pointShardRouter.lockWaiters(userId)).isEqualTo(1);
+			assertThat(pointHistoryTable.selectAllByUserId(userId)).isEmpty();
+
+			unlock.countDown();
+			assertThat(holder.get(5, TimeUnit.SECONDS)).isTrue();
+			mockMvc.perform(asyncDispatch(mvcResult))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.point").value(INIT_POINT + 1000));
+		} finally {
+			unlock.countDown();
+			reactive.setLockRetries(lockRetries);
+		}
+	}
+
+	/**
+	 * 같은 멱등키의 서블릿 요청이 유저 락을 기다리는 동안 들어온 리액티브 요청은 유저 락을 잡지 않고 그 결과를 함께 기다리며,
+	 * 두 요청 모두 한번만 처리된 같은 결과를 받음
+	 */
+	@Test
+	void 서블릿_요청과_같은_멱등키_한번만_처리() throws Exception {
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch unlock = new CountDownLatch(1);
+		try {
+			CompletableFuture<Boolean> holder = CompletableFuture.supplyAsync(
+				() -> pointShardRouter.tryWithUserLock(userId, () -> {
+					locked.countDown();
+					try {
+						return unlock.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return false;
+					}
+				}));
+			assertThat(locked.await(5, TimeUnit.SECONDS)).isTrue();
+
+			CompletableFuture<String> servlet = CompletableFuture.supplyAsync(() -> {
+				try {
+					return mockMvc.perform(patch("/point/{id}/charge", userId)
+							.header(PointController.IDEMPOTENCY_KEY_HEADER, "same-key")
+							.contentType(MediaType.APPLICATION_JSON).content("1000"))
+						.andExpect(status().isOk())
+						.andReturn()
+						.getResponse()
+						.getContentAsString();
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			});
+			// 서블릿 요청이 멱등키를 등록하고 유저 락을 기다릴 때까지 대기
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+			while (pointShardRouter.lockWaiters(userId) < 2 && System.nanoTime() < deadline)
+				Thread.sleep(10);
+			assertThat(pointShardRouter.lockWaiters(userId)).isEqualTo(2);
+
+			MvcResult mvcResult = mockMvc.perform(patch("/reactive/point/{id}/charge", userId)
+					.header(PointController.IDEMPOTENCY_KEY_HEADER, "same-key")
+					.contentType(MediaType.APPLICATION_JSON).content("1000"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+			unlock.countDown();
+			assertThat(holder.get(5, TimeUnit.SECONDS)).isTrue();
+			String reactiveBody = mockMvc.perform(asyncDispatch(mvcResult))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.point").value(INIT_POINT + 1000))
+				.andReturn()
+				.getResponse()
+				.getContentAsString();
+			assertThat(servlet.get(5, TimeUnit.SECONDS)).isEqualTo(reactiveBody);
+			assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(1);
+		} finally {
+			unlock.countDown();
+		}
+	}
+
+	/**
+	 * 이력은 JSON 배열로, Accept 가 NDJSON 이면 한 줄에 하나씩 내려줌
+	 */
+	@Test
+	void 이력_조회() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			perform(patch("/reactive/point/{id}/charge", userId).contentType(MediaType.APPLICATION_JSON).content("1000"))
+				.andExpect(status().isOk());
+		}
+
+		perform(get("/reactive/point/{id}/histories", userId).accept(MediaType.APPLICATION_JSON))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(3)))
+			.andExpect(jsonPath("$[0].type").value("CHARGE"));
+
+		String body = perform(get("/reactive/point/{id}/histories", userId).param("limit", "2")
+				.accept(MediaType.APPLICATION_NDJSON))
+			.andExpect(status().isOk())
+			.andReturn()
+			.getResponse()
+			.getContentAsString();
+		List<PointHistory> histories = body.lines()
+			.map(line -> {
+				try {
+					return objectMapper.readValue(line, PointHistory.class);
+				} catch (Exception e) {
+					throw new RuntimeException(e);
+				}
+			})
+			.toList();
+		assertThat(histories).hasSize(2).allMatch(history -> history.userId() == userId);
+	}
+
+	/**
+	 * 정책 위반은 서블릿 API 와 같이 400 으로 응답
+	 */
+	@Test
+	void 잔액_부족_거절() throws Exception {
+		perform(patch("/reactive/point/{id}/use", userId).contentType(MediaType.APPLICATION_JSON).content("5001"))
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value(PointError.EXCEED_MAX_USE_POINT.getMessage()));
+	}
+
+	private ResultActions perform(RequestBuilder request) throws Exception {
+		MvcResult mvcResult = mockMvc.perform(request)
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		return mockMvc.perform(asyncDispatch(mvcResult));
+	}
+}
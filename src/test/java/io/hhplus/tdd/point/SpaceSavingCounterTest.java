@@ -0,0 +1,66 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class SpaceSavingCounterTest {
+
+	/**
+	 * 카운터보다 키가 적으면 모든 키의 합이 정확함
+	 */
+	@Test
+	void 카운터가_남으면_정확한_합() {
+		SpaceSavingCounter counter = new SpaceSavingCounter(4);
+		counter.add(1, 10);
+		counter.add(2, 30);
+		counter.add(1, 25);
+		counter.add(3, 5);
+
+		assertThat(counter.top(10)).containsExactly(
+			new SpaceSavingCounter.Entry(1, 35, 0),
+			new SpaceSavingCounter.Entry(2, 30, 0),
+			new SpaceSavingCounter.Entry(3, 5, 0));
+		assertThat(counter.replacedCount()).isZero();
+	}
+
+	/**
+	 * 치우친 분포에서 카운터보다 키가 훨씬 많아도
+	 * - 모든 카운터는 count - error <= 실제 합 <= count 를 만족하고
+	 * - 실제 합이 가장 작은 카운터보다 큰 키는 모두 카운터에 남아있음
+	 */
+	@Test
+	void 치우친_분포의_상위_키_보장() {
+		int capacity = 64;
+		SpaceSavingCounter counter = new SpaceSavingCounter(capacity);
+		Map<Long, Long> actual = new HashMap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 200_000; i++) {
+			// 키 0 ~ 9999 중 작은 키일수록 자주, 가중치 1 ~ 100
+			long key = (long)Math.floor(Math.pow(10_000, random.nextDouble())) - 1;
+			long weight = 1 + random.nextInt(100);
+			counter.add(key, weight);
+			actual.merge(key, weight, Long::sum);
+		}
+
+		List<SpaceSavingCounter.Entry> entries = counter.top(capacity);
+		assertThat(entries).hasSize(capacity);
+		for (SpaceSavingCounter.Entry entry : entries) {
+			long sum = actual.getOrDefault(entry.key(), 0L);
+			assertThat(sum).as("키 %d", entry.key()).isBetween(entry.count() - entry.error(), entry.count());
+		}
+
+		long min = entries.get(entries.size() - 1).count();
+		List<Long> keys = entries.stream().map(SpaceSavingCounter.Entry::key).toList();
+		actual.forEach((key, sum) -> {
+			if (sum > min)
+				assertThat(keys).as("합 %d 인 키 %d", sum, key).contains(key);
+		});
+		assertThat(counter.replacedCount()).isPositive();
+	}
+}
@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+	private static final long START_MILLIS = 1_000_000;
+	private static final long TICK_MILLIS = 1000;
+
+	/**
+	 * 여러 단계에 걸쳐 예약해도 각 키는 만료 시각이 속한 tick 에 정확히 한번씩 만료됨
+	 */
+	@Test
+	void 단계별_만료_시각() {
+		TimingWheel timingWheel = new TimingWheel(START_MILLIS, TICK_MILLIS);
+		// 0단계, 1단계(64 tick 이상), 2단계(4096 tick 이상), 3단계(262144 tick 이상)
+		long[] delayTicks = {1, 63, 64, 100, 4095, 4096, 5000, 262_144, 300_000};
+		for (int i = 0; i < delayTicks.length; i++)
+			timingWheel.schedule(i, START_MILLIS + delayTicks[i] * TICK_MILLIS);
+
+		assertThat(timingWheel.size()).isEqualTo(delayTicks.length);
+
+		for (int i = 0; i < delayTicks.length; i++) {
+			List<Long> expired = new ArrayList<>();
+			timingWheel.advance(START_MILLIS + (delayTicks[i] - 1) * TICK_MILLIS, expired::add);
+			assertThat(expired).as("%d tick 전", delayTicks[i]).isEmpty();
+
+			timingWheel.advance(START_MILLIS + delayTicks[i] * TICK_MILLIS, expired::add);
+			assertThat(expired).as("%d tick", delayTicks[i]).containsExactly((long)i);
+		}
+
+		assertThat(timingWheel.size()).isZero();
+	}
+
+	/**
+	 * tick 중간의 만료 시각은 다음 tick 으로 올려 만료 시각 전에는 만료되지 않고, 이미 지난 시각은 다음 advance 에서 만료됨
+	 */
+	@Test
+	void 지난_시각과_tick_중간_시각() {
+		TimingWheel timingWheel = new TimingWheel(START_MILLIS, TICK_MILLIS);
+		timingWheel.schedule(1, START_MILLIS + 1500);
+		timingWheel.schedule(2, START_MILLIS - 10_000);
+
+		List<Long> expired = new ArrayList<>();
+		assertThat(timingWheel.advance(START_MILLIS + 1000, expired::add)).isEqualTo(1);
+		assertThat(expired).containsExactly(2L);
+
+		assertThat(timingWheel.advance(START_MILLIS + 2000, expired::add)).isEqualTo(1);
+		assertThat(expired).containsExactly(2L, 1L);
+	}
+
+	/**
+	 * 많은 키를 무작위 시각에 예약해도 모두 만료 시각이 지난 뒤에만, 한번씩 만료됨
+	 */
+	@Test
+	void 대량_예약() {
+		TimingWheel timingWheel = new TimingWheel(START_MILLIS, TICK_MILLIS);
+		int keyCount = 100_000;
+		long[] deadlines = new long[keyCount];
+		Random random = new Random(42);
+		for (int key = 0; key < keyCount; key++) {
+			deadlines[key] = START_MILLIS + random.nextInt(20_000) * TICK_MILLIS;
+			timingWheel.schedule(key, deadlines[key]);
+		}
+
+		int[] fired = new int[keyCount];
+		for (long now = START_MILLIS; now <= START_MILLIS + 20_000 * TICK_MILLIS; now += 37 * TICK_MILLIS) {
+			long nowMillis = now;
+			timingWheel.advance(nowMillis, key -> {
+				assertThat(deadlines[(int)key]).isLessThanOrEqualTo(nowMillis);
+				fired[(int)key]++;
+			});
+		}
+		timingWheel.advance(START_MILLIS + 20_000 * TICK_MILLIS, key -> fired[(int)key]++);
+
+		assertThat(fired).containsOnly(1);
+		assertThat(timingWheel.size()).isZero();
+	}
+}
@@ -0,0 +1,117 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class UserAggregateStoreTest {
+
+	@Test
+	void 종류별_합계_누적() {
+		UserAggregateStore store = new UserAggregateStore();
+
+		store.add(1, TransactionType.CHARGE, 1000, 10);
+		store.add(1, TransactionType.USE, 300, 30);
+		store.add(1, TransactionType.CHARGE, 500, 20);
+
+		PointSummary summary = store.summary(1);
+		assertThat(summary.totalCharged()).isEqualTo(1500);
+		assertThat(summary.totalUsed()).isEqualTo(300);
+		assertThat(summary.transactionCount()).isEqualTo(3);
+		assertThat(summary.lastActivityMillis()).isEqualTo(30);
+		assertThat(store.summary(2).transactionCount()).isZero();
+		assertThat(store.size()).isEqualTo(1);
+	}
+
+	/**
+	 * 빈 슬롯 표시로 쓰는 0 과 음수 ID 도 다른 유저와 구분되어야함
+	 */
+	@Test
+	void ID_0_음수_누적() {
+		UserAggregateStore store = new UserAggregateStore();
+
+		store.add(0, TransactionType.CHARGE, 100, 1);
+		store.add(-1, TransactionType.CHARGE, 200, 2);
+		store.add(Long.MIN_VALUE, TransactionType.CHARGE, 300, 3);
+
+		assertThat(store.summary(0).totalCharged()).isEqualTo(100);
+		assertThat(store.summary(-1).totalCharged()).isEqualTo(200);
+		assertThat(store.summary(Long.MIN_VALUE).totalCharged()).isEqualTo(300);
+		assertThat(store.size()).isEqualTo(3);
+	}
+
+	/**
+	 * 확장을 여러번 거쳐도 모든 유저의 합계가 유지되어야함
+	 */
+	@Test
+	void 확장후_조회() {
+		int userCount = 200_000;
+		UserAggregateStore store = new UserAggregateStore();
+
+		for (long id = 1; id <= userCount; id++) {
+			store.add(id, TransactionType.CHARGE, id, id);
+			store.add(id, TransactionType.USE, 1, id);
+		}
+
+		assertThat(store.size()).isEqualTo(userCount);
+		for (long id = 1; id <= userCount; id++) {
+			PointSummary summary = store.summary(id);
+			assertThat(summary.totalCharged()).isEqualTo(id);
+			assertThat(summary.transactionCount()).isEqualTo(2);
+		}
+		assertThat(store.summary(userCount + 1).transactionCount()).isZero();
+		// 유저당 64B / 적재율 3/4 이상 2배 이하
+		assertThat(store.allocatedBytes()).isBetween(userCount * 64L * 4 / 3, userCount * 64L * 8 / 3 + 64L * 16 * 64);
+	}
+
+	/**
+	 * 여러 스레드가 서로 다른 유저에 더하는 동안 조회하면 항상 더하기 전 또는 후 값이 보여야함 (합계와 거래 수가 섞이지 않음)
+	 */
+	@Test
+	void 동시_더하기_조회() throws InterruptedException {
+		int writerCount = 4;
+		int userCount = 50_000;
+		UserAggregateStore store = new UserAggregateStore();
+		ExecutorService executorService = Executors.newFixedThreadPool(writerCount + 1);
+		CountDownLatch doneLatch = new CountDownLatch(writerCount);
+		AtomicBoolean torn = new AtomicBoolean();
+
+		try {
+			for (int writer = 0; writer < writerCount; writer++) {
+				long base = (long)writer * userCount;
+				executorService.submit(() -> {
+					for (long id = base + 1; id <= base + userCount; id++) {
+						store.add(id, TransactionType.CHARGE, 1000, id);
+						store.add(id, TransactionType.CHARGE, 1000, id);
+					}
+					doneLatch.countDown();
+				});
+			}
+
+			executorService.submit(() -> {
+				while (doneLatch.getCount() > 0) {
+					for (long id = 1; id <= (long)writerCount * userCount; id += 97) {
+						PointSummary summary = store.summary(id);
+						if (summary.totalCharged() != summary.transactionCount() * 1000)
+							torn.set(true);
+					}
+				}
+			});
+
+			assertThat(doneLatch.await(30, TimeUnit.SECONDS)).isTrue();
+		} finally {
+			executorService.shutdownNow();
+		}
+
+		assertThat(torn).isFalse();
+		assertThat(store.size()).isEqualTo((long)writerCount * userCount);
+		for (long id = 1; id <= (long)writerCount * userCount; id++)
+			assertThat(store.summary(id).totalCharged()).isEqualTo(2000);
+	}
+}
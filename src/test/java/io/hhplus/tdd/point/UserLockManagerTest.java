@@ -0,0 +1,153 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UserLockManagerTest {
+
+	private final UserLockManager userLockManager = new UserLockManager(new PointMetrics(new SimpleMeterRegistry()));
+
+	/**
+	 * 500만명의 서로 다른 유저가 락을 사용해도 사용이 끝난 락은 남지 않음
+	 * 동시에 유지되는 락은 동시에 실행 중인 스레드 수를 넘지 않음
+	 */
+	@Test
+	void 유저500만명_사용후_락_미보유() throws Exception {
+		int threadSize = 8;
+		int userCount = 5_000_000;
+		AtomicLong maxLiveLocks = new AtomicLong();
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+		for (int t = 0; t < threadSize; t++) {
+			int offset = t;
+			futures.add(CompletableFuture.runAsync(() -> {
+				for (long userId = offset; userId < userCount; userId += threadSize) {
+					try (UserLockManager.UserLock ignored = userLockManager.acquire(userId)) {
+						if (userId % 100_000 == 0)
+							maxLiveLocks.accumulateAndGet(userLockManager.stats().liveLocks(), Math::max);
+					}
+				}
+			}));
+		}
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+
+		UserLockManager.Stats stats = userLockManager.stats();
+		assertThat(stats.liveLocks()).isZero();
+		assertThat(stats.acquireCount()).isEqualTo(userCount);
+		assertThat(maxLiveLocks.get()).isLessThanOrEqualTo(threadSize);
+	}
+
+	/**
+	 * 같은 유저에 대한 작업은 절대 겹쳐서 실행되지 않아야함
+	 */
+	@Test
+	void 같은유저_작업_겹치지않음() throws Exception {
+		int threadSize = 16;
+		int repeat = 3_000;
+		long[] userIds = {1, 2, 3};
+		AtomicInteger[] running = {new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+		AtomicInteger overlapCount = new AtomicInteger();
+		long[] counters = new long[userIds.length];
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+		for (int t = 0; t < threadSize; t++) {
+			futures.add(CompletableFuture.runAsync(() -> {
+				for (int i = 0; i < repeat; i++) {
+					int index = i % userIds.length;
+					try (UserLockManager.UserLock ignored = userLockManager.acquire(userIds[index])) {
+						if (running[index].incrementAndGet() != 1)
+							overlapCount.incrementAndGet();
+						counters[index]++;
+						running[index].decrementAndGet();
+					}
+				}
+			}));
+		}
+
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+
+		assertThat(overlapCount.get()).isZero();
+		assertThat(counters).containsOnly((long)threadSize * repeat / userIds.length);
+		assertThat(userLockManager.stats().liveLocks()).isZero();
+		assertThat(userLockManager.stats().contendedCount()).isPositive();
+	}
+
+	/**
+	 * 락을 잡고 있거나 기다리는 동안에는 참조 수가 유지되고 모두 반환되면 제거됨
+	 */
+	@Test
+	void 참조수_관리() {
+		UserLockManager.UserLock holder = userLockManager.acquire(1);
+		UserLockManager.UserLock waiter = userLockManager.retain(1);
+
+		assertThat(userLockManager.references(1)).isEqualTo(2);
+
+		holder.close();
+		assertThat(userLockManager.references(1)).isEqualTo(1);
+
+		waiter.close();
+		assertThat(userLockManager.references(1)).isZero();
+		assertThat(userLockManager.stats().liveLocks()).isZero();
+	}
+
+	/**
+	 * 락 안에서 같은 유저 락을 다시 잡고 닫아도 바깥 락은 유지되어 다른 스레드가 잡지 못함
+	 */
+	@Test
+	void 중첩_획득_후_바깥_락_유지() throws Exception {
+		try (UserLockManager.UserLock outer = userLockManager.acquire(1)) {
+			try (UserLockManager.UserLock ignored = userLockManager.acquire(1)) {
+				assertThat(userLockManager.references(1)).isEqualTo(2);
+			}
+
+			assertThat(outer.isHeldByCurrentThread()).isTrue();
+			assertThat(userLockManager.references(1)).isEqualTo(1);
+
+			CompletableFuture<Void> other = CompletableFuture.runAsync(() -> {
+				try (UserLockManager.UserLock ignored = userLockManager.acquire(1)) {
+					// 바깥 락이 풀린 뒤에야 들어옴
+				}
+			});
+			Thread.sleep(100);
+			assertThat(other).isNotDone();
+
+			outer.close();
+			other.get(5, TimeUnit.SECONDS);
+		}
+
+		assertThat(userLockManager.stats().liveLocks()).isZero();
+	}
+
+	/**
+	 * 다른 스레드가 락을 잡고 있으면 기다리지 않고 null 을 돌려주며 참조도 남기지 않음
+	 */
+	@Test
+	void 기다리지않는_획득() throws Exception {
+		try (UserLockManager.UserLock holder = userLockManager.acquire(1)) {
+			UserLockManager.UserLock other = CompletableFuture.supplyAsync(() -> userLockManager.tryAcquire(1))
+				.get(5, TimeUnit.SECONDS);
+
+			assertThat(other).isNull();
+			assertThat(userLockManager.references(1)).isEqualTo(1);
+			assertThat(userLockManager.stats().contendedCount()).isZero();
+		}
+
+		try (UserLockManager.UserLock acquired = userLockManager.tryAcquire(1)) {
+			assertThat(acquired).isNotNull();
+			assertThat(acquired.isHeldByCurrentThread()).isTrue();
+		}
+		assertThat(userLockManager.stats().liveLocks()).isZero();
+		assertThat(userLockManager.stats().acquireCount()).isEqualTo(2);
+	}
+}
@@ -0,0 +1,93 @@
+package io.hhplus.tdd.point;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+class UserSerialQueueTest {
+
+	private final UserSerialQueue userSerialQueue = new UserSerialQueue();
+	private final Scheduler scheduler = Schedulers.newBoundedElastic(16, 10_000, "test");
+
+	@AfterEach
+	void afterEach() {
+		scheduler.dispose();
+	}
+
+	/**
+	 * 같은 유저의 작업은 동시에 실행되지 않고 구독한 순서대로 실행됨
+	 * 앞 작업이 실패해도 뒤 작업은 이어서 실행됨
+	 */
+	@Test
+	void 같은_유저_순서대로_실행() {
+		AtomicInteger running = new AtomicInteger();
+		List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+
+		List<Mono<Integer>> tasks = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			int index = i;
+			tasks.add(userSerialQueue.submit(1, () -> Mono.fromCallable(() -> {
+				assertThat(running.incrementAndGet()).isEqualTo(1);
+				TimeUnit.MICROSECONDS.sleep(200);
+				order.add(index);
+				running.decrementAndGet();
+				if (index % 10 == 0)
+					throw new IllegalStateException("실패");
+				return index;
+			}).subscribeOn(scheduler)));
+		}
+
+		List<Integer> results = Flux.mergeSequential(tasks.stream()
+				.map(task -> task.onErrorResume(IllegalStateException.class, e -> Mono.just(-1)))
+				.toList())
+			.collectList()
+			.block(Duration.ofSeconds(10));
+
+		assertThat(order).isSorted().hasSize(100);
+		assertThat(results).hasSize(100).filteredOn(result -> result < 0).hasSize(10);
+		assertThat(userSerialQueue.stats().activeUsers()).isZero();
+		assertThat(userSerialQueue.stats().queuedCount()).isPositive();
+	}
+
+	/**
+	 * 다른 유저의 작업은 앞 유저의 작업을 기다리지 않음
+	 */
+	@Test
+	void 다른_유저_동시_실행() {
+		Mono<String> slow = userSerialQueue.submit(1, () -> Mono.delay(Duration.ofSeconds(5)).thenReturn("slow"));
+		slow.subscribe();
+
+		String fast = userSerialQueue.submit(2, () -> Mono.just("fast")).block(Duration.ofSeconds(1));
+
+		assertThat(fast).isEqualTo("fast");
+		assertThat(userSerialQueue.stats().activeUsers()).isEqualTo(1);
+	}
+
+	/**
+	 * 구독을 취소해도 이어 붙인 작업은 끝까지 실행되어 다음 작업이 그 뒤에 실행됨
+	 */
+	@Test
+	void 구독_취소해도_순서_유지() {
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+		userSerialQueue.submit(1, () -> Mono.delay(Duration.ofMillis(200)).doOnNext(ignored -> order.add("first")))
+			.subscribe()
+			.dispose();
+
+		userSerialQueue.submit(1, () -> Mono.fromRunnable(() -> order.add("second"))).block(Duration.ofSeconds(1));
+
+		assertThat(order).containsExactly("first", "second");
+	}
+}